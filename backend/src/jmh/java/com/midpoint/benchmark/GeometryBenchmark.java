@@ -0,0 +1,68 @@
+package com.midpoint.benchmark;
+
+import com.midpoint.dto.Coordinates;
+import com.midpoint.service.MidpointService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Linear geometry paths over groups of 2 to 100,000 origins: the centroid of the group, the distance
+ * from every origin to a fixed point and the geodesic midpoint of every consecutive pair
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeometryBenchmark {
+
+    @Param({"2", "10", "100", "1000", "10000", "100000"})
+    private int size;
+
+    private final MidpointService service = new MidpointService();
+    private List<Coordinates> origins;
+    private Coordinates center;
+
+    @Setup
+    public void setUp() {
+        origins = origins(size);
+        center = service.calculateCentroid(origins);
+    }
+
+    @Benchmark
+    public Coordinates calculateCentroid() {
+        return service.calculateCentroid(origins);
+    }
+
+    @Benchmark
+    public void calculateDistance(Blackhole blackhole) {
+        for (Coordinates origin : origins) {
+            blackhole.consume(service.calculateDistance(origin, center));
+        }
+    }
+
+    @Benchmark
+    public void calculateGeodesicMidpoint(Blackhole blackhole) {
+        for (int i = 1; i < origins.size(); i++) {
+            blackhole.consume(service.calculateGeodesicMidpoint(origins.get(i - 1), origins.get(i)));
+        }
+    }
+
+    /**
+     * Origins spread over a metro area, the same for every run
+     */
+    static List<Coordinates> origins(int size) {
+        Random random = new Random(42);
+        List<Coordinates> origins = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            origins.add(new Coordinates(40.5 + random.nextDouble() * 0.5, -74.2 + random.nextDouble() * 0.5));
+        }
+        return origins;
+    }
+}
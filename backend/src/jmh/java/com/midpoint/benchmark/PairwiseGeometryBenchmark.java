@@ -0,0 +1,45 @@
+package com.midpoint.benchmark;
+
+import com.midpoint.dto.Coordinates;
+import com.midpoint.service.MidpointService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Geometry paths that scan every pair of origins: the dynamic search radius and the midpoint
+ * validation. Both are O(n²), so the default sizes stop at 10,000 (5·10⁷ pairs); 100,000 origins
+ * (5·10⁹ pairs) takes minutes per call and has to be asked for with {@code -p size=100000}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PairwiseGeometryBenchmark {
+
+    @Param({"2", "10", "100", "1000", "10000"})
+    private int size;
+
+    private final MidpointService service = new MidpointService();
+    private List<Coordinates> origins;
+    private Coordinates centroid;
+
+    @Setup
+    public void setUp() {
+        origins = GeometryBenchmark.origins(size);
+        centroid = service.calculateCentroid(origins);
+    }
+
+    @Benchmark
+    public int computeDynamicRadiusMeters() {
+        return service.computeDynamicRadiusMeters(origins);
+    }
+
+    @Benchmark
+    public Coordinates validateAndCorrectMidpoint() {
+        return service.validateAndCorrectMidpoint(centroid, origins);
+    }
+}
@@ -0,0 +1,64 @@
+package com.midpoint.benchmark;
+
+import com.midpoint.dto.Coordinates;
+import com.midpoint.dto.Place;
+import com.midpoint.dto.RankingObjective;
+import com.midpoint.service.PlaceRanker;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded top-K ranking against ranking (sorting) every candidate, at thousands of candidates
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlaceRankerBenchmark {
+
+    private static final int TOP_K = 20;
+
+    @Param({"1000", "5000", "20000"})
+    private int candidates;
+
+    @Param({"8"})
+    private int origins;
+
+    @Param({"MAX_TIME", "TOTAL_TIME", "VARIANCE"})
+    private RankingObjective objective;
+
+    private final PlaceRanker ranker = new PlaceRanker();
+    private List<Place> places;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        places = new ArrayList<>(candidates);
+        for (int i = 0; i < candidates; i++) {
+            Place place = new Place("p" + i, "Place " + i, "addr", new Coordinates(40.7, -74.0));
+            place.setDistance(random.nextDouble() * 5);
+            List<Place.TravelSummary> summaries = new ArrayList<>(origins);
+            for (int j = 0; j < origins; j++) {
+                summaries.add(new Place.TravelSummary(j, null, 60 + random.nextInt(3600), null, null, "driving"));
+            }
+            place.setTravelSummaries(summaries);
+            places.add(place);
+        }
+    }
+
+    @Benchmark
+    public List<Place> boundedHeapTopK() {
+        return ranker.rankTopK(places, origins, objective, TOP_K);
+    }
+
+    @Benchmark
+    public List<Place> fullSortThenLimit() {
+        return ranker.rankTopK(places, origins, objective, places.size()).subList(0, TOP_K);
+    }
+}
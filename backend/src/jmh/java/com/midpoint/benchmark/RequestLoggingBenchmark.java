@@ -0,0 +1,175 @@
+package com.midpoint.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import com.midpoint.dto.Coordinates;
+import com.midpoint.dto.MidpointRequest;
+import com.midpoint.dto.MidpointResponse;
+import com.midpoint.service.MidpointService;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cost of one midpoint request (20 places × 10 origins, canned Google responses, no network) with
+ * the service's log written to a file at DEBUG, INFO or OFF (the cost without logging), through a
+ * synchronous or an asynchronous appender. Log lines and bytes per request are printed per trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 20, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestLoggingBenchmark {
+
+    private static final int PLACES = 20;
+    private static final int ORIGINS = 10;
+
+    @Param({"DEBUG", "INFO", "OFF"})
+    private String level;
+
+    @Param({"sync", "async"})
+    private String appender;
+
+    private MidpointService service;
+    private MidpointRequest request;
+    private File logFile;
+    private Appender<ILoggingEvent> root;
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong lines = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        logFile = File.createTempFile("request-logging", ".log");
+        configureLogging();
+
+        String places = placesBody();
+        String matrix = matrixBody();
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(clientRequest -> {
+                    String path = clientRequest.url().getPath();
+                    String body = path.endsWith("/geocode/json")
+                            ? "{\"status\":\"OK\",\"results\":[{\"formatted_address\":\"New York, NY, USA\"}]}"
+                            : path.endsWith("/nearbysearch/json") ? places : matrix;
+                    return Mono.just(ClientResponse.create(HttpStatus.OK)
+                            .header(HttpHeaders.CONTENT_TYPE, "application/json")
+                            .body(body)
+                            .build());
+                })
+                .build();
+
+        service = new MidpointService();
+        ReflectionTestUtils.setField(service, "apiKey", "test-key");
+        ReflectionTestUtils.setField(service, "webClient", webClient);
+        // Every request goes through the Distance Matrix parse instead of the travel-time cache
+        ReflectionTestUtils.setField(service, "travelCacheEnabled", false);
+
+        List<Coordinates> coords = new ArrayList<>();
+        for (int i = 0; i < ORIGINS; i++) {
+            coords.add(new Coordinates(40.65 + i * 0.01, -74.02 + i * 0.01));
+        }
+        request = new MidpointRequest(coords, List.of("restaurant"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        root.stop();
+        System.out.printf("%n[request-logging] level=%s appender=%s lines/request=%.1f bytes/request=%.0f%n",
+                level, appender, lines.get() / (double) requests.get(), logFile.length() / (double) requests.get());
+        ((LoggerContext) LoggerFactory.getILoggerFactory()).reset();
+        logFile.delete();
+    }
+
+    @Benchmark
+    public MidpointResponse midpointRequest() {
+        requests.incrementAndGet();
+        return service.findMidpointAndPlaces(request).block();
+    }
+
+    private void configureLogging() {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        context.reset();
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        // Spring Boot's default console pattern, without colors
+        encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p %pid --- [%15.15t] %-40.40logger{39} : %m%n");
+        encoder.start();
+
+        FileAppender<ILoggingEvent> file = new FileAppender<>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                lines.incrementAndGet();
+                super.append(event);
+            }
+        };
+        file.setContext(context);
+        file.setFile(logFile.getAbsolutePath());
+        file.setEncoder(encoder);
+        file.start();
+        root = file;
+
+        if ("async".equals(appender)) {
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setQueueSize(8192);
+            // Block instead of dropping, so both appenders write every line
+            async.setDiscardingThreshold(0);
+            async.addAppender(file);
+            async.start();
+            root = async;
+        }
+
+        Logger rootLogger = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        rootLogger.setLevel(ch.qos.logback.classic.Level.INFO);
+        rootLogger.addAppender(root);
+        context.getLogger("com.midpoint").setLevel(ch.qos.logback.classic.Level.toLevel(level));
+    }
+
+    private static String placesBody() {
+        StringBuilder body = new StringBuilder("{\"status\":\"OK\",\"results\":[");
+        for (int i = 0; i < PLACES; i++) {
+            body.append(i > 0 ? "," : "")
+                    .append("{\"place_id\":\"place-").append(i).append("\",\"name\":\"Place ").append(i)
+                    .append("\",\"vicinity\":\"Address ").append(i).append("\",\"rating\":4.").append(i % 10)
+                    .append(",\"types\":[\"restaurant\"],\"geometry\":{\"location\":{\"lat\":")
+                    .append(40.7 + i * 0.001).append(",\"lng\":").append(-73.95 - i * 0.001).append("}}}");
+        }
+        return body.append("]}").toString();
+    }
+
+    private static String matrixBody() {
+        // 10 origins × 10 destinations per request: the 100-element limit splits 20 places into two tiles
+        StringBuilder body = new StringBuilder("{\"status\":\"OK\",\"rows\":[");
+        for (int r = 0; r < ORIGINS; r++) {
+            body.append(r > 0 ? "," : "").append("{\"elements\":[");
+            for (int e = 0; e < PLACES / 2; e++) {
+                int meters = 1000 + 100 * r + 10 * e;
+                body.append(e > 0 ? "," : "")
+                        .append("{\"status\":\"OK\",\"distance\":{\"value\":").append(meters)
+                        .append(",\"text\":\"").append(meters).append(" m\"},\"duration\":{\"value\":")
+                        .append(meters / 10).append(",\"text\":\"").append(meters / 10).append(" s\"}}");
+            }
+            body.append("]}");
+        }
+        return body.append("]}").toString();
+    }
+}
@@ -0,0 +1,101 @@
+package com.midpoint.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.midpoint.dto.Coordinates;
+import com.midpoint.dto.MidpointResponse;
+import com.midpoint.dto.Place;
+import com.midpoint.dto.RankingObjective;
+import com.midpoint.dto.ResponseViews;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization time of a representative midpoint response as JSON, CBOR and Smile, using the same
+ * mapper builders the HTTP codecs use. Encoded sizes are printed once per trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseEncodingBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"markers", "full"})
+    private String view;
+
+    @Param({"20"})
+    private int places;
+
+    @Param({"4"})
+    private int origins;
+
+    private ObjectWriter writer;
+    private ObjectMapper mapper;
+    private MidpointResponse response;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws Exception {
+        switch (format) {
+            case "cbor" -> mapper = Jackson2ObjectMapperBuilder.cbor().build();
+            case "smile" -> mapper = Jackson2ObjectMapperBuilder.smile().build();
+            default -> mapper = Jackson2ObjectMapperBuilder.json().build();
+        }
+        writer = mapper.writerWithView(ResponseViews.forName(view));
+        response = response(places, origins);
+        encoded = writer.writeValueAsBytes(response);
+        System.out.printf("%n%s/%s: %d bytes for %d places x %d origins%n", format, view, encoded.length, places, origins);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return writer.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public MidpointResponse deserialize() throws Exception {
+        return mapper.readValue(encoded, MidpointResponse.class);
+    }
+
+    private static MidpointResponse response(int placeCount, int originCount) {
+        List<Place> places = new ArrayList<>();
+        for (int i = 0; i < placeCount; i++) {
+            Place place = new Place("place-" + i, "Place " + i, i + " Main St, New York, NY 10001, USA",
+                    new Coordinates(40.7 + i * 0.001, -73.99 - i * 0.001));
+            place.setRating(4.2);
+            place.setUserRatingsTotal(1200 + i);
+            place.setPriceLevel(2);
+            place.setDistance(0.4 + i * 0.1);
+            place.setTypes(new String[]{"restaurant", "food", "point_of_interest", "establishment"});
+            List<Place.Photo> photos = new ArrayList<>();
+            for (int p = 0; p < 3; p++) {
+                String reference = "AUjq9jmrEXAMPLEPHOTOREFERENCE" + i + "x" + p + "aBcDeFgHiJkLmNoPqRsTuVwXyZ0123456789";
+                photos.add(new Place.Photo(reference, 3024, 4032,
+                        "https://maps.googleapis.com/maps/api/place/photo?maxwidth=400&photo_reference=" + reference + "&key=API_KEY"));
+            }
+            place.setPhotos(photos);
+            List<Place.TravelSummary> summaries = new ArrayList<>();
+            for (int o = 0; o < originCount; o++) {
+                summaries.add(new Place.TravelSummary(o, 5000 + o * 700, 900 + o * 120, "3.1 mi", "15 mins", "driving"));
+            }
+            place.setTravelSummaries(summaries);
+            Place.Ranking ranking = new Place.Ranking();
+            ranking.setRank(i + 1);
+            ranking.setObjective(RankingObjective.MAX_TIME);
+            ranking.setScore(1260.0);
+            ranking.setReason("Longest trip 21 min, total 72 min, spread ±3 min across " + originCount + " origins");
+            place.setRanking(ranking);
+            places.add(place);
+        }
+        return new MidpointResponse(new Coordinates(40.7359, -73.9955), "New York, NY, USA", places, 8046);
+    }
+}
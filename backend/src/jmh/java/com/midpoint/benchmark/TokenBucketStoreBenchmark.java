@@ -0,0 +1,89 @@
+package com.midpoint.benchmark;
+
+import com.midpoint.config.ClientRateLimiter;
+import com.midpoint.config.TokenBucketStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one rate-limit decision under concurrent callers: the striped compare-and-set store
+ * against a single synchronized map of buckets, for one hot key and for keys spread over many
+ * clients, plus the full per-request check (IP and sessionToken buckets)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Threads(4)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenBucketStoreBenchmark {
+
+    // Large enough that every call takes a token: the benchmark measures the decision, not rejection
+    private static final int CAPACITY = 8000;
+    private static final double REFILL_PER_SECOND = 1_000_000;
+
+    @Param({"1", "100000"})
+    private int clients;
+
+    private String[] keys;
+    private TokenBucketStore store;
+    private SynchronizedStore synchronizedStore;
+    private ClientRateLimiter limiter;
+
+    @Setup
+    public void setUp() {
+        keys = new String[clients];
+        for (int i = 0; i < clients; i++) {
+            keys[i] = "10." + (i >> 16 & 255) + "." + (i >> 8 & 255) + "." + (i & 255);
+        }
+        store = new TokenBucketStore(Duration.ofMinutes(10));
+        synchronizedStore = new SynchronizedStore();
+        limiter = new ClientRateLimiter(new TokenBucketStore(Duration.ofMinutes(10)),
+                CAPACITY, REFILL_PER_SECOND, CAPACITY, REFILL_PER_SECOND);
+    }
+
+    @Benchmark
+    public long stripedStore() {
+        return store.tryAcquire(key(), CAPACITY, REFILL_PER_SECOND);
+    }
+
+    @Benchmark
+    public long synchronizedMap() {
+        return synchronizedStore.tryAcquire(key(), CAPACITY, REFILL_PER_SECOND);
+    }
+
+    @Benchmark
+    public long clientCheck() {
+        String key = key();
+        return limiter.check(key, key);
+    }
+
+    private String key() {
+        return clients == 1 ? keys[0] : keys[ThreadLocalRandom.current().nextInt(clients)];
+    }
+
+    /**
+     * The straightforward alternative: one lock around a map of mutable buckets
+     */
+    private static final class SynchronizedStore {
+        private final Map<String, double[]> buckets = new HashMap<>();
+
+        synchronized long tryAcquire(String key, int capacity, double refillPerSecond) {
+            long now = System.currentTimeMillis();
+            double[] bucket = buckets.computeIfAbsent(key, k -> new double[]{capacity, now});
+            bucket[0] = Math.min(capacity, bucket[0] + (now - bucket[1]) * refillPerSecond / 1000);
+            bucket[1] = now;
+            if (bucket[0] < 1) {
+                return (long) Math.ceil((1 - bucket[0]) * 1000 / refillPerSecond);
+            }
+            bucket[0] -= 1;
+            return 0;
+        }
+    }
+}
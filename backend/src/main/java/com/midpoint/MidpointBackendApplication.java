@@ -2,6 +2,7 @@ package com.midpoint;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.web.SecurityFilterChain;
@@ -12,10 +13,16 @@ public class MidpointBackendApplication {
         SpringApplication.run(MidpointBackendApplication.class, args);
     }
 
+    /**
+     * Servlet (Tomcat) runtime; the reactive profile uses {@code ReactiveSecurityConfig} instead
+     */
     @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
             .csrf(csrf -> csrf.disable())
+            // Controllers set their own Cache-Control (midpoint/details are revalidated by ETag)
+            .headers(headers -> headers.cacheControl(cacheControl -> cacheControl.disable()))
             .authorizeHttpRequests(authz -> authz
                 .anyRequest().permitAll()
             );
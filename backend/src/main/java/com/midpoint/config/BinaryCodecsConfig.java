@@ -0,0 +1,73 @@
+package com.midpoint.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.reactivestreams.Publisher;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.MimeType;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * CBOR and Smile responses for clients that send {@code Accept: application/cbor} or
+ * {@code Accept: application/x-jackson-smile}.
+ * <p>
+ * With both dataformats on the classpath Spring MVC registers the converters itself, so the servlet
+ * runtime needs nothing here. WebFlux registers Smile and the CBOR decoder; only the CBOR encoder
+ * has to be added, for the reactive runtime. The mappers come from
+ * {@link Jackson2ObjectMapperBuilder}, so {@code @JsonProperty} names and {@code view=} projections
+ * apply exactly as they do for JSON.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class BinaryCodecsConfig implements WebFluxConfigurer {
+
+    @Override
+    public void configureHttpMessageCodecs(ServerCodecConfigurer configurer) {
+        configurer.customCodecs().registerWithDefaultConfig(
+                new ExplicitCborEncoder(Jackson2ObjectMapperBuilder.cbor().build()));
+    }
+
+    /**
+     * Custom codecs are consulted before the default JSON encoder, so CBOR is only offered when the
+     * client asked for it by name; {@code Accept: *}{@code /*} and error bodies stay JSON.
+     */
+    static class ExplicitCborEncoder extends Jackson2CborEncoder {
+
+        ExplicitCborEncoder(ObjectMapper mapper) {
+            super(mapper, MediaType.APPLICATION_CBOR);
+        }
+
+        @Override
+        public boolean canEncode(ResolvableType elementType, MimeType mimeType) {
+            return mimeType != null && MediaType.APPLICATION_CBOR.equalsTypeAndSubtype(mimeType)
+                    && super.canEncode(elementType, mimeType);
+        }
+
+        /**
+         * The stock encoder rejects every publisher; single-value bodies are all the midpoint
+         * endpoints produce, so encode those and leave streams unsupported
+         */
+        @Override
+        public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory,
+                                       ResolvableType elementType, MimeType mimeType,
+                                       Map<String, Object> hints) {
+            if (inputStream instanceof Mono) {
+                return Mono.from(inputStream)
+                        .map(value -> encodeValue(value, bufferFactory, elementType, mimeType, hints))
+                        .flux();
+            }
+            return super.encode(inputStream, bufferFactory, elementType, mimeType, hints);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.midpoint.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-client token buckets for the API: one per client IP for every request, and one per
+ * autocomplete/details {@code sessionToken} when the request carries one. The IP bucket is checked
+ * first, so a client cannot create session buckets faster than its IP allows.
+ */
+public class ClientRateLimiter implements MeterBinder {
+
+    private final TokenBucketStore store;
+    private final int ipCapacity;
+    private final double ipRefillPerSecond;
+    private final int sessionCapacity;
+    private final double sessionRefillPerSecond;
+    private final AtomicLong limitedByIp = new AtomicLong();
+    private final AtomicLong limitedBySession = new AtomicLong();
+
+    public ClientRateLimiter(TokenBucketStore store, int ipCapacity, double ipRefillPerSecond,
+                             int sessionCapacity, double sessionRefillPerSecond) {
+        this.store = store;
+        this.ipCapacity = ipCapacity;
+        this.ipRefillPerSecond = ipRefillPerSecond;
+        this.sessionCapacity = sessionCapacity;
+        this.sessionRefillPerSecond = sessionRefillPerSecond;
+    }
+
+    /**
+     * 0 when the request may proceed, otherwise the milliseconds until the client may retry
+     */
+    public long check(String clientIp, String sessionToken) {
+        long ipWait = store.tryAcquire("ip:" + clientIp, ipCapacity, ipRefillPerSecond);
+        if (ipWait > 0) {
+            limitedByIp.incrementAndGet();
+            return ipWait;
+        }
+        if (sessionToken == null || sessionToken.isEmpty()) {
+            return 0;
+        }
+        long sessionWait = store.tryAcquire("session:" + sessionToken, sessionCapacity, sessionRefillPerSecond);
+        if (sessionWait > 0) {
+            limitedBySession.incrementAndGet();
+        }
+        return sessionWait;
+    }
+
+    /**
+     * Whole seconds for a Retry-After header, rounded up
+     */
+    public static long retryAfterSeconds(long waitMillis) {
+        return Math.max(1, (waitMillis + 999) / 1000);
+    }
+
+    /**
+     * Requests rejected by a client IP's bucket since startup
+     */
+    public long getLimitedByIp() {
+        return limitedByIp.get();
+    }
+
+    /**
+     * Requests rejected by a sessionToken's bucket since startup
+     */
+    public long getLimitedBySession() {
+        return limitedBySession.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("midpoint.rate_limit.rejected", limitedByIp, AtomicLong::get)
+                .description("Requests rejected with 429")
+                .tag("bucket", "ip")
+                .register(registry);
+        FunctionCounter.builder("midpoint.rate_limit.rejected", limitedBySession, AtomicLong::get)
+                .description("Requests rejected with 429")
+                .tag("bucket", "session")
+                .register(registry);
+        Gauge.builder("midpoint.rate_limit.buckets", this, ClientRateLimiter::bucketCount)
+                .description("Token buckets held in memory")
+                .register(registry);
+    }
+
+    public int bucketCount() {
+        return store.size();
+    }
+}
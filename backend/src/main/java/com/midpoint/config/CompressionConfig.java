@@ -0,0 +1,27 @@
+package com.midpoint.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * {@code server.compression} covers every response without an ETag; the ETag-bearing midpoint and
+ * details responses go through {@link ETagCompressionFilter} with the same settings. Servlet runtime
+ * only: Netty compresses by the same settings regardless of ETags, which is safe because the tags
+ * already vary with Accept-Encoding.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class CompressionConfig {
+
+    @Bean
+    public FilterRegistrationBean<ETagCompressionFilter> etagCompressionFilter(ServerProperties serverProperties) {
+        FilterRegistrationBean<ETagCompressionFilter> registration =
+                new FilterRegistrationBean<>(new ETagCompressionFilter(serverProperties.getCompression()));
+        // Exact paths: /midpoint/batch and /midpoint/stream stream their bodies and must not be buffered
+        registration.addUrlPatterns("/api/places/midpoint", "/api/places/details");
+        return registration;
+    }
+}
@@ -0,0 +1,100 @@
+package com.midpoint.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.web.server.Compression;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.MimeType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * gzip for responses that carry a strong ETag.
+ * <p>
+ * Tomcat never compresses strong-ETag responses, because one tag would then cover two different
+ * bodies. Midpoint and details tags already include whether the client accepts gzip, so the body is
+ * buffered here and compressed with the {@code server.compression} threshold and MIME types. Apply
+ * this only to single-value endpoints: buffering would hold back a streamed response until it ends.
+ */
+public class ETagCompressionFilter extends OncePerRequestFilter {
+
+    private final Compression compression;
+
+    public ETagCompressionFilter(Compression compression) {
+        this.compression = compression;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        HttpServletResponse responseToUse = response;
+        if (!isAsyncDispatch(request) && !(response instanceof ContentCachingResponseWrapper)) {
+            responseToUse = new ContentCachingResponseWrapper(response);
+        }
+        try {
+            chain.doFilter(request, responseToUse);
+        } finally {
+            if (!isAsyncStarted(request)) {
+                writeResponse(request, responseToUse);
+            }
+        }
+    }
+
+    private void writeResponse(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ContentCachingResponseWrapper wrapper =
+                WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class);
+        if (wrapper == null) {
+            return;
+        }
+        HttpServletResponse raw = (HttpServletResponse) wrapper.getResponse();
+        if (shouldCompress(request, wrapper)) {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(wrapper.getContentSize() / 4 + 64);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                wrapper.getContentInputStream().transferTo(gzip);
+            }
+            raw.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            raw.setContentLength(compressed.size());
+            compressed.writeTo(raw.getOutputStream());
+            raw.flushBuffer();
+        } else {
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private boolean shouldCompress(HttpServletRequest request, ContentCachingResponseWrapper wrapper) {
+        if (!compression.getEnabled()
+                || wrapper.getStatus() != HttpServletResponse.SC_OK
+                || wrapper.getHeader(HttpHeaders.ETAG) == null
+                || wrapper.getHeader(HttpHeaders.CONTENT_ENCODING) != null
+                || wrapper.getContentSize() < compression.getMinResponseSize().toBytes()) {
+            return false;
+        }
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null || !acceptEncoding.toLowerCase().contains("gzip")) {
+            return false;
+        }
+        String contentType = wrapper.getContentType();
+        if (contentType == null) {
+            return false;
+        }
+        MimeType mimeType = MimeType.valueOf(contentType);
+        for (String compressible : compression.getMimeTypes()) {
+            if (MimeType.valueOf(compressible).equalsTypeAndSubtype(mimeType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
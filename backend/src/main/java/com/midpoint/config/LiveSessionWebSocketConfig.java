@@ -0,0 +1,32 @@
+package com.midpoint.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.midpoint.service.LiveGroupRegistry;
+import com.midpoint.websocket.LiveSessionWebSocketHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@EnableWebSocket
+@ConditionalOnProperty(name = "midpoint.live.websocket.enabled", havingValue = "true")
+public class LiveSessionWebSocketConfig implements WebSocketConfigurer {
+
+    private final LiveGroupRegistry liveGroupRegistry;
+    private final ObjectMapper objectMapper;
+
+    public LiveSessionWebSocketConfig(LiveGroupRegistry liveGroupRegistry, ObjectMapper objectMapper) {
+        this.liveGroupRegistry = liveGroupRegistry;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(new LiveSessionWebSocketHandler(liveGroupRegistry, objectMapper), "/ws/midpoint/sessions/*")
+                .setAllowedOriginPatterns("*");
+    }
+}
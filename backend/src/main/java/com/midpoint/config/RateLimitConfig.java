@@ -0,0 +1,78 @@
+package com.midpoint.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.WebFilter;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+
+/**
+ * Per-client rate limits on the API, ahead of security and the controllers. The health endpoint is
+ * exempt so load balancer checks are never limited.
+ */
+@Configuration
+@ConditionalOnProperty(name = "midpoint.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig {
+
+    static final String SESSION_TOKEN_PARAM = "sessionToken";
+    private static final String API_PREFIX = "/api/places/";
+    static final String HEALTH_PATH = "/api/places/health";
+
+    @Bean(destroyMethod = "close")
+    public TokenBucketStore tokenBucketStore(@Value("${midpoint.rate-limit.idle-seconds:600}") long idleSeconds) {
+        return new TokenBucketStore(Duration.ofSeconds(idleSeconds))
+                .startSweeper(Duration.ofSeconds(Math.max(1, idleSeconds / 4)));
+    }
+
+    @Bean
+    public ClientRateLimiter clientRateLimiter(TokenBucketStore tokenBucketStore,
+                                               @Value("${midpoint.rate-limit.per-ip.capacity:120}") int ipCapacity,
+                                               @Value("${midpoint.rate-limit.per-ip.refill-per-second:20}") double ipRefill,
+                                               @Value("${midpoint.rate-limit.per-session.capacity:30}") int sessionCapacity,
+                                               @Value("${midpoint.rate-limit.per-session.refill-per-second:5}") double sessionRefill) {
+        return new ClientRateLimiter(tokenBucketStore, ipCapacity, ipRefill, sessionCapacity, sessionRefill);
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(ClientRateLimiter clientRateLimiter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(new RateLimitFilter(clientRateLimiter));
+        registration.addUrlPatterns(API_PREFIX + "*");
+        // Before the security chain, so rejected requests cost as little as possible
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public WebFilter rateLimitWebFilter(ClientRateLimiter clientRateLimiter) {
+        return (exchange, chain) -> {
+            String path = exchange.getRequest().getPath().value();
+            if (!path.startsWith(API_PREFIX) || path.equals(HEALTH_PATH)) {
+                return chain.filter(exchange);
+            }
+            InetSocketAddress remote = exchange.getRequest().getRemoteAddress();
+            String clientIp = remote != null && remote.getAddress() != null
+                    ? remote.getAddress().getHostAddress() : "unknown";
+            long waitMillis = clientRateLimiter.check(clientIp,
+                    exchange.getRequest().getQueryParams().getFirst(SESSION_TOKEN_PARAM));
+            if (waitMillis > 0) {
+                exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+                exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER,
+                        String.valueOf(ClientRateLimiter.retryAfterSeconds(waitMillis)));
+                return exchange.getResponse().setComplete();
+            }
+            return chain.filter(exchange);
+        };
+    }
+}
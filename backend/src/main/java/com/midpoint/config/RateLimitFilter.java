@@ -0,0 +1,41 @@
+package com.midpoint.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * 429 with Retry-After for clients over their per-IP or per-sessionToken rate (servlet runtime).
+ * The client IP is the remote address, so behind a proxy set {@code server.forward-headers-strategy}.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final ClientRateLimiter limiter;
+
+    public RateLimitFilter(ClientRateLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return RateLimitConfig.HEALTH_PATH.equals(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long waitMillis = limiter.check(request.getRemoteAddr(), request.getParameter(RateLimitConfig.SESSION_TOKEN_PARAM));
+        if (waitMillis > 0) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(ClientRateLimiter.retryAfterSeconds(waitMillis)));
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,23 @@
+package com.midpoint.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Netty for the reactive runtime (profile {@code reactive}).
+ * <p>
+ * Tomcat is on the classpath for the servlet runtime, and Boot prefers it for reactive applications
+ * too, so the Netty factory is declared explicitly. {@code server.*} settings (port, compression)
+ * still apply through Boot's factory customizers.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveServerConfig {
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
@@ -0,0 +1,59 @@
+package com.midpoint.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.midpoint.service.AutocompleteChannel;
+import com.midpoint.service.LiveGroupRegistry;
+import com.midpoint.websocket.ReactiveAutocompleteWebSocketHandler;
+import com.midpoint.websocket.ReactiveLiveSessionWebSocketHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.reactive.handler.SimpleUrlHandlerMapping;
+import org.springframework.web.reactive.socket.WebSocketHandler;
+import org.springframework.web.reactive.socket.server.support.HandshakeWebSocketService;
+import org.springframework.web.reactive.socket.server.support.WebSocketHandlerAdapter;
+import org.springframework.web.reactive.socket.server.upgrade.ReactorNettyRequestUpgradeStrategy;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * WebSocket endpoints for the reactive runtime, under the same paths and opt-in properties as
+ * {@link WebSocketConfig} and {@link LiveSessionWebSocketConfig}
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveWebSocketConfig {
+
+    @Bean
+    public HandlerMapping reactiveWebSocketMapping(
+            AutocompleteChannel autocompleteChannel,
+            LiveGroupRegistry liveGroupRegistry,
+            ObjectMapper objectMapper,
+            @Value("${midpoint.autocomplete.websocket.enabled:false}") boolean autocompleteEnabled,
+            @Value("${midpoint.live.websocket.enabled:false}") boolean liveEnabled) {
+        Map<String, WebSocketHandler> handlers = new LinkedHashMap<>();
+        if (autocompleteEnabled) {
+            handlers.put("/ws/autocomplete", new ReactiveAutocompleteWebSocketHandler(autocompleteChannel, objectMapper));
+        }
+        if (liveEnabled) {
+            handlers.put("/ws/midpoint/sessions/*", new ReactiveLiveSessionWebSocketHandler(liveGroupRegistry, objectMapper));
+        }
+        // Ahead of the annotated controllers
+        return new SimpleUrlHandlerMapping(handlers, -1);
+    }
+
+    /**
+     * Upgrades through Reactor Netty. The default adapter detects Tomcat on the classpath and would
+     * try a servlet upgrade, so this one is ordered ahead of it.
+     */
+    @Bean
+    public WebSocketHandlerAdapter nettyWebSocketHandlerAdapter() {
+        WebSocketHandlerAdapter adapter = new WebSocketHandlerAdapter(
+                new HandshakeWebSocketService(new ReactorNettyRequestUpgradeStrategy()));
+        adapter.setOrder(1);
+        return adapter;
+    }
+}
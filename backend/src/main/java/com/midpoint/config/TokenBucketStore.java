@@ -0,0 +1,137 @@
+package com.midpoint.config;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets by key, for per-client rate limits at high request rates.
+ * <p>
+ * A bucket is a single {@link AtomicLong} packing its tokens (in thousandths) and the time of its
+ * last refill, so taking a token is one compare-and-set with no lock and no allocation. Buckets
+ * are spread over independent map stripes by key hash. Buckets idle for longer than the idle
+ * timeout are removed by {@link #sweep()}; with a timeout at least as long as a bucket takes to
+ * refill, a removed bucket was full anyway, so removal never changes a decision.
+ */
+public class TokenBucketStore implements AutoCloseable {
+
+    private static final int STRIPES = 64;
+    private static final long MILLI_TOKENS = 1000;
+    private static final int TIME_BITS = 40;
+    private static final long TIME_MASK = (1L << TIME_BITS) - 1;
+    // Tokens share the long with the timestamp: capacity * 1000 must fit in the remaining 23 bits
+    static final int MAX_CAPACITY = (int) (((1L << (63 - TIME_BITS)) - 1) / MILLI_TOKENS);
+
+    private final ConcurrentHashMap<String, AtomicLong>[] stripes;
+    private final LongSupplier clockMillis;
+    private final long epochMillis;
+    private final long idleMillis;
+    private ScheduledExecutorService sweeper;
+
+    public TokenBucketStore(Duration idleTimeout) {
+        this(System::currentTimeMillis, idleTimeout);
+    }
+
+    @SuppressWarnings("unchecked")
+    public TokenBucketStore(LongSupplier clockMillis, Duration idleTimeout) {
+        this.clockMillis = clockMillis;
+        this.epochMillis = clockMillis.getAsLong();
+        this.idleMillis = idleTimeout.toMillis();
+        this.stripes = new ConcurrentHashMap[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ConcurrentHashMap<>();
+        }
+    }
+
+    /**
+     * Take one token from {@code key}'s bucket, creating it full if absent. Returns 0 when a token
+     * was taken, otherwise the milliseconds until one will be available.
+     */
+    public long tryAcquire(String key, int capacity, double refillPerSecond) {
+        if (capacity < 1 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Capacity must be between 1 and " + MAX_CAPACITY);
+        }
+        long now = elapsedMillis();
+        long capacityMilli = capacity * MILLI_TOKENS;
+        ConcurrentHashMap<String, AtomicLong> stripe = stripe(key);
+        AtomicLong bucket = stripe.get(key);
+        if (bucket == null) {
+            bucket = stripe.computeIfAbsent(key, k -> new AtomicLong(pack(capacityMilli, now)));
+        }
+        while (true) {
+            long state = bucket.get();
+            long last = state & TIME_MASK;
+            // refillPerSecond tokens per second is the same number of thousandths per millisecond
+            long refilled = Math.min(capacityMilli,
+                    (state >>> TIME_BITS) + (long) (Math.max(0, now - last) * refillPerSecond));
+            if (refilled < MILLI_TOKENS) {
+                return Math.max(1, (long) Math.ceil((MILLI_TOKENS - refilled) / refillPerSecond));
+            }
+            if (bucket.compareAndSet(state, pack(refilled - MILLI_TOKENS, Math.max(now, last)))) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Remove buckets not refilled within the idle timeout
+     */
+    public int sweep() {
+        long now = elapsedMillis();
+        int removed = 0;
+        for (ConcurrentHashMap<String, AtomicLong> stripe : stripes) {
+            int before = stripe.size();
+            stripe.values().removeIf(bucket -> now - (bucket.get() & TIME_MASK) > idleMillis);
+            removed += before - stripe.size();
+        }
+        return removed;
+    }
+
+    /**
+     * Sweep idle buckets on a daemon thread every {@code interval}
+     */
+    public synchronized TokenBucketStore startSweeper(Duration interval) {
+        if (sweeper == null) {
+            sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "token-bucket-sweeper");
+                thread.setDaemon(true);
+                return thread;
+            });
+            sweeper.scheduleWithFixedDelay(this::sweep, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        return this;
+    }
+
+    public int size() {
+        int size = 0;
+        for (ConcurrentHashMap<String, AtomicLong> stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (sweeper != null) {
+            sweeper.shutdownNow();
+            sweeper = null;
+        }
+    }
+
+    private ConcurrentHashMap<String, AtomicLong> stripe(String key) {
+        int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+    }
+
+    private long elapsedMillis() {
+        return Math.max(0, clockMillis.getAsLong() - epochMillis) & TIME_MASK;
+    }
+
+    private static long pack(long milliTokens, long timeMillis) {
+        return (milliTokens << TIME_BITS) | (timeMillis & TIME_MASK);
+    }
+}
@@ -0,0 +1,32 @@
+package com.midpoint.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.midpoint.service.AutocompleteChannel;
+import com.midpoint.websocket.AutocompleteWebSocketHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@EnableWebSocket
+@ConditionalOnProperty(name = "midpoint.autocomplete.websocket.enabled", havingValue = "true")
+public class WebSocketConfig implements WebSocketConfigurer {
+
+    private final AutocompleteChannel autocompleteChannel;
+    private final ObjectMapper objectMapper;
+
+    public WebSocketConfig(AutocompleteChannel autocompleteChannel, ObjectMapper objectMapper) {
+        this.autocompleteChannel = autocompleteChannel;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(new AutocompleteWebSocketHandler(autocompleteChannel, objectMapper), "/ws/autocomplete")
+                .setAllowedOriginPatterns("*");
+    }
+}
@@ -0,0 +1,88 @@
+package com.midpoint.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * Strong entity tags for query responses.
+ * <p>
+ * The tag is a SHA-256 over the canonical request, the canonical result, the view and the
+ * representation (encoding and content coding), so equal tags mean byte-identical bodies. Canonical
+ * JSON sorts properties and map keys, which keeps the tag independent of field order.
+ */
+final class EntityTags {
+
+    private static final ObjectMapper CANONICAL = JsonMapper.builder()
+            .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+            .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+            .addModule(new JavaTimeModule())
+            .build();
+
+    private EntityTags() {}
+
+    /**
+     * Quoted strong ETag for a result of the given request
+     */
+    static String of(Object request, Object result, Class<?> view, String representation) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(CANONICAL.writeValueAsBytes(request));
+            digest.update((byte) 0);
+            digest.update(CANONICAL.writeValueAsBytes(result));
+            digest.update((byte) 0);
+            digest.update((view != null ? view.getName() : "").getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(representation.getBytes(StandardCharsets.UTF_8));
+            byte[] hash = digest.digest();
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(hash).substring(0, 27) + "\"";
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Cannot compute ETag", e);
+        }
+    }
+
+    /**
+     * Which of the negotiable bodies the client will get: the binary encoding it asked for by name
+     * (else JSON), and whether it accepts gzip
+     */
+    static String representation(String accept, String acceptEncoding) {
+        String encoding = "json";
+        if (accept != null && accept.contains("application/cbor")) {
+            encoding = "cbor";
+        } else if (accept != null && accept.contains("application/x-jackson-smile")) {
+            encoding = "smile";
+        }
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+        return gzip ? encoding + "+gzip" : encoding;
+    }
+
+    /**
+     * If-None-Match uses weak comparison: {@code *} or any listed tag equal after dropping {@code W/}
+     */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,42 @@
+package com.midpoint.controller;
+
+import com.midpoint.dto.BatchMidpointRequest;
+import com.midpoint.dto.BatchMidpointResult;
+import com.midpoint.service.MidpointBatchService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+
+@RestController
+@RequestMapping("/api/places")
+@CrossOrigin(origins = "*")
+public class MidpointBatchController {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MidpointBatchController.class);
+
+    private final MidpointBatchService midpointBatchService;
+
+    public MidpointBatchController(MidpointBatchService midpointBatchService) {
+        this.midpointBatchService = midpointBatchService;
+    }
+
+    /**
+     * Compute many groups at once; one NDJSON line per group, in completion order
+     */
+    @PostMapping(value = "/midpoint/batch", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<Flux<BatchMidpointResult>> findMidpoints(@RequestBody BatchMidpointRequest request) {
+        int groupCount = request.getGroups() != null ? request.getGroups().size() : 0;
+        LOGGER.info("🌐 [CONTROLLER] Received batch midpoint request with {} groups", groupCount);
+
+        if (groupCount == 0 || groupCount > midpointBatchService.getMaxGroups()) {
+            LOGGER.warn("⚠️  [CONTROLLER] Rejecting batch with {} groups (limit {})", groupCount, midpointBatchService.getMaxGroups());
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(midpointBatchService.processBatch(request.getGroups()));
+    }
+}
@@ -0,0 +1,96 @@
+package com.midpoint.controller;
+
+import com.midpoint.dto.MidpointJob;
+import com.midpoint.dto.MidpointJobRequest;
+import com.midpoint.service.MidpointJobService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+
+import java.net.URI;
+import java.util.NoSuchElementException;
+
+@RestController
+@RequestMapping("/api/places/midpoint/jobs")
+@CrossOrigin(origins = "*")
+public class MidpointJobController {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MidpointJobController.class);
+
+    private final MidpointJobService midpointJobService;
+
+    public MidpointJobController(MidpointJobService midpointJobService) {
+        this.midpointJobService = midpointJobService;
+    }
+
+    /**
+     * Queue a midpoint computation; 202 with the job id, to be polled or watched
+     */
+    @PostMapping
+    public ResponseEntity<MidpointJob> submitJob(@RequestBody MidpointJobRequest request) {
+        LOGGER.info("🌐 [CONTROLLER] Received midpoint job with {} coordinates",
+                request.getCoords() != null ? request.getCoords().size() : 0);
+        try {
+            MidpointJob job = midpointJobService.submit(request);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/places/midpoint/jobs/" + job.getJobId()))
+                    .body(job);
+        } catch (RuntimeException e) {
+            return errorResponse(e);
+        }
+    }
+
+    @GetMapping(value = "/{jobId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<MidpointJob> getJob(@PathVariable String jobId) {
+        try {
+            return ResponseEntity.ok(midpointJobService.get(jobId));
+        } catch (RuntimeException e) {
+            return errorResponse(e);
+        }
+    }
+
+    /**
+     * Status changes as server-sent events named after the status; the stream ends when the job finishes
+     */
+    @GetMapping(value = "/{jobId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<Flux<ServerSentEvent<MidpointJob>>> watchJob(@PathVariable String jobId) {
+        try {
+            return ResponseEntity.ok(midpointJobService.watch(jobId)
+                    .map(job -> ServerSentEvent.builder(job)
+                            .event(job.getStatus())
+                            .build()));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @DeleteMapping("/{jobId}")
+    public ResponseEntity<MidpointJob> cancelJob(@PathVariable String jobId) {
+        try {
+            return ResponseEntity.ok(midpointJobService.cancel(jobId));
+        } catch (RuntimeException e) {
+            return errorResponse(e);
+        }
+    }
+
+    private static ResponseEntity<MidpointJob> errorResponse(RuntimeException error) {
+        if (error instanceof NoSuchElementException) {
+            return ResponseEntity.notFound().build();
+        }
+        if (error instanceof IllegalArgumentException) {
+            LOGGER.warn("⚠️  [CONTROLLER] Rejected midpoint job: {}", error.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+        if (error instanceof IllegalStateException) {
+            LOGGER.warn("⚠️  [CONTROLLER] {}", error.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        LOGGER.error("❌ [CONTROLLER] Error processing midpoint job request", error);
+        return ResponseEntity.internalServerError().build();
+    }
+}
@@ -0,0 +1,75 @@
+package com.midpoint.controller;
+
+import com.midpoint.dto.Coordinates;
+import com.midpoint.dto.MidpointRequest;
+import com.midpoint.dto.MidpointSessionResponse;
+import com.midpoint.service.MidpointSessionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.NoSuchElementException;
+
+@RestController
+@RequestMapping("/api/places/midpoint/sessions")
+@CrossOrigin(origins = "*")
+public class MidpointSessionController {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MidpointSessionController.class);
+
+    private final MidpointSessionService midpointSessionService;
+
+    public MidpointSessionController(MidpointSessionService midpointSessionService) {
+        this.midpointSessionService = midpointSessionService;
+    }
+
+    /**
+     * Open a session for a group; the response carries the session id used for later moves
+     */
+    @PostMapping
+    public Mono<ResponseEntity<MidpointSessionResponse>> createSession(@RequestBody MidpointRequest request) {
+        LOGGER.info("🌐 [CONTROLLER] Opening midpoint session with {} coordinates",
+                request.getCoords() != null ? request.getCoords().size() : 0);
+        return midpointSessionService.create(request)
+                .map(response -> ResponseEntity.status(HttpStatus.CREATED).body(response))
+                .onErrorResume(error -> Mono.just(errorResponse(error)));
+    }
+
+    /**
+     * One participant moved; only what depends on that origin is recomputed
+     */
+    @PutMapping("/{sessionId}/origins/{originIndex}")
+    public Mono<ResponseEntity<MidpointSessionResponse>> moveOrigin(@PathVariable String sessionId,
+                                                                    @PathVariable int originIndex,
+                                                                    @RequestBody Coordinates coordinates) {
+        return midpointSessionService.moveOrigin(sessionId, originIndex, coordinates)
+                .map(ResponseEntity::ok)
+                .onErrorResume(error -> Mono.just(errorResponse(error)));
+    }
+
+    @DeleteMapping("/{sessionId}")
+    public ResponseEntity<Void> closeSession(@PathVariable String sessionId) {
+        return midpointSessionService.close(sessionId)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    private static ResponseEntity<MidpointSessionResponse> errorResponse(Throwable error) {
+        if (error instanceof NoSuchElementException) {
+            return ResponseEntity.notFound().build();
+        }
+        if (error instanceof IllegalArgumentException) {
+            LOGGER.warn("⚠️  [CONTROLLER] Rejected session request: {}", error.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+        if (error instanceof IllegalStateException) {
+            LOGGER.warn("⚠️  [CONTROLLER] {}", error.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        LOGGER.error("❌ [CONTROLLER] Error processing midpoint session request", error);
+        return ResponseEntity.internalServerError().build();
+    }
+}
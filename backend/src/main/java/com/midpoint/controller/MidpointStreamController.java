@@ -0,0 +1,46 @@
+package com.midpoint.controller;
+
+import com.midpoint.dto.MidpointEvent;
+import com.midpoint.dto.MidpointRequest;
+import com.midpoint.service.MidpointService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+
+@RestController
+@RequestMapping("/api/places")
+@CrossOrigin(origins = "*")
+public class MidpointStreamController {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MidpointStreamController.class);
+
+    private final MidpointService midpointService;
+
+    public MidpointStreamController(MidpointService midpointService) {
+        this.midpointService = midpointService;
+    }
+
+    /**
+     * Progressive midpoint result as newline-delimited JSON, one {@link MidpointEvent} per line
+     */
+    @PostMapping(value = "/midpoint/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<MidpointEvent> streamMidpoint(@RequestBody MidpointRequest request) {
+        LOGGER.info("🌐 [CONTROLLER] Received streamed midpoint request (ndjson)");
+        return midpointService.streamMidpointAndPlaces(request);
+    }
+
+    /**
+     * Progressive midpoint result as server-sent events named after each event's type
+     */
+    @PostMapping(value = "/midpoint/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<MidpointEvent>> streamMidpointEvents(@RequestBody MidpointRequest request) {
+        LOGGER.info("🌐 [CONTROLLER] Received streamed midpoint request (sse)");
+        return midpointService.streamMidpointAndPlaces(request)
+                .map(event -> ServerSentEvent.builder(event)
+                        .event(event.getType())
+                        .build());
+    }
+}
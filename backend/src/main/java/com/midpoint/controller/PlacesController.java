@@ -1,30 +1,68 @@
 package com.midpoint.controller;
 
 import com.midpoint.dto.*;
+import com.midpoint.service.AdmissionLimiter;
 import com.midpoint.service.GoogleMapsService;
+import com.midpoint.service.MidpointFinder;
 import com.midpoint.service.MidpointService;
+import com.midpoint.service.ServerTiming;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/places")
 @CrossOrigin(origins = "*")
-public class PlacesController {
+public class PlacesController implements MeterBinder {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(PlacesController.class);
+    private static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+    private static final String AUTOCOMPLETE = "autocomplete";
+    private static final String DETAILS = "details";
+    private static final String MIDPOINT = "midpoint";
 
     private final GoogleMapsService googleMapsService;
-    private final MidpointService midpointService;
+    private final MidpointFinder midpointFinder;
+    private final AdmissionLimiter admissionLimiter;
 
-    public PlacesController(GoogleMapsService googleMapsService, MidpointService midpointService) {
+    @Value("${midpoint.http-cache.max-age-seconds:0}")
+    private long cacheMaxAgeSeconds = 0;
+
+    @Value("${midpoint.admission.retry-after-seconds:1}")
+    private long retryAfterSeconds = 1;
+
+    @Value("${midpoint.server-timing.enabled:false}")
+    private boolean serverTimingEnabled = false;
+
+    public PlacesController(GoogleMapsService googleMapsService, MidpointFinder midpointFinder,
+                            @Value("${midpoint.admission.autocomplete.max-concurrent:256}") int autocompleteMaxConcurrent,
+                            @Value("${midpoint.admission.details.max-concurrent:128}") int detailsMaxConcurrent,
+                            @Value("${midpoint.admission.midpoint.max-concurrent:64}") int midpointMaxConcurrent) {
         this.googleMapsService = googleMapsService;
-        this.midpointService = midpointService;
+        this.midpointFinder = midpointFinder;
+        this.admissionLimiter = new AdmissionLimiter()
+                .limit(AUTOCOMPLETE, autocompleteMaxConcurrent)
+                .limit(DETAILS, detailsMaxConcurrent)
+                .limit(MIDPOINT, midpointMaxConcurrent);
     }
 
     @GetMapping("/autocomplete")
@@ -35,37 +73,199 @@ public class PlacesController {
         // Generate session token if not provided
         String token = sessionToken != null ? sessionToken : UUID.randomUUID().toString();
         
-        return googleMapsService.getPlaceAutocomplete(input, token)
+        return admit(AUTOCOMPLETE, () -> googleMapsService.getPlaceAutocomplete(input, token)
                 .map(ResponseEntity::ok)
-                .onErrorReturn(ResponseEntity.internalServerError().build());
+                .onErrorReturn(ResponseEntity.internalServerError().build()));
     }
 
-    @GetMapping("/details")
-    public Mono<ResponseEntity<PlaceDetails>> getPlaceDetails(
+    @GetMapping(value = "/details", produces = {
+            MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE})
+    public Mono<ResponseEntity<MappingJacksonValue>> getPlaceDetails(
             @RequestParam String placeId,
-            @RequestParam(required = false) String sessionToken) {
+            @RequestParam(required = false) String sessionToken,
+            @RequestParam(required = false) String view,
+            @RequestHeader HttpHeaders headers) {
         
+        Class<?> serializationView;
+        try {
+            serializationView = ResponseViews.forName(view);
+        } catch (IllegalArgumentException e) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+
         // Generate session token if not provided
         String token = sessionToken != null ? sessionToken : UUID.randomUUID().toString();
         
-        return googleMapsService.getPlaceDetails(placeId, token)
-                .map(ResponseEntity::ok)
-                .onErrorReturn(ResponseEntity.internalServerError().build());
+        return admit(DETAILS, () -> googleMapsService.getPlaceDetails(placeId, token)
+                .map(details -> conditionalResponse(Map.of("place_id", placeId), details, serializationView, headers))
+                .onErrorReturn(ResponseEntity.internalServerError().build()));
     }
 
-    @PostMapping("/midpoint")
-    public Mono<ResponseEntity<MidpointResponse>> findMidpoint(@RequestBody MidpointRequest request) {
-        LOGGER.info("🌐 [CONTROLLER] Received midpoint request with {} coordinates and {} filters",
+    @PostMapping(value = "/midpoint", produces = {
+            MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE})
+    public Mono<ResponseEntity<MappingJacksonValue>> findMidpoint(
+            @RequestBody MidpointRequest request,
+            @RequestParam(required = false) String view,
+            @RequestHeader HttpHeaders headers) {
+        LOGGER.debug("🌐 [CONTROLLER] Received midpoint request with {} coordinates and {} filters",
                 request.getCoords() != null ? request.getCoords().size() : 0,
                 request.getFilters() != null ? request.getFilters().size() : 0);
+        return midpoint(request, view, headers);
+    }
+
+    /**
+     * Cacheable form of the midpoint query: {@code coords=lat,lng;lat,lng}, comma-separated
+     * {@code filters} and {@code modes} (one per origin), optional ISO-8601 {@code departure_time},
+     * {@code objective} and {@code view}
+     */
+    @GetMapping(value = "/midpoint", produces = {
+            MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE})
+    public Mono<ResponseEntity<MappingJacksonValue>> findMidpointByQuery(
+            @RequestParam String coords,
+            @RequestParam(required = false) List<String> filters,
+            @RequestParam(required = false) List<String> modes,
+            @RequestParam(name = "departure_time", required = false) String departureTime,
+            @RequestParam(required = false) String objective,
+            @RequestParam(required = false) String view,
+            @RequestHeader HttpHeaders headers) {
+        MidpointRequest request;
+        try {
+            request = new MidpointRequest(parseCoords(coords), filters);
+            if (modes != null) {
+                request.setModes(modes.stream().map(TravelMode::fromValue).toList());
+            }
+            if (departureTime != null) {
+                request.setDepartureTime(OffsetDateTime.parse(departureTime));
+            }
+            if (objective != null) {
+                request.setObjective(RankingObjective.fromValue(objective));
+            }
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            LOGGER.warn("⚠️  [CONTROLLER] Invalid midpoint query: {}", e.getMessage());
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        LOGGER.debug("🌐 [CONTROLLER] Received midpoint query with {} coordinates and {} filters",
+                request.getCoords().size(), filters != null ? filters.size() : 0);
+        return midpoint(request, view, headers);
+    }
+
+    private Mono<ResponseEntity<MappingJacksonValue>> midpoint(MidpointRequest request, String view, HttpHeaders headers) {
+        Class<?> serializationView;
+        try {
+            serializationView = ResponseViews.forName(view);
+        } catch (IllegalArgumentException e) {
+            LOGGER.warn("⚠️  [CONTROLLER] Unknown view: {}", view);
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        try {
+            MidpointService.validate(request);
+        } catch (IllegalArgumentException e) {
+            LOGGER.warn("⚠️  [CONTROLLER] Invalid midpoint request: {}", e.getMessage());
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
         
-        return midpointService.findMidpointAndPlaces(request)
+        return admit(MIDPOINT, () -> Mono.defer(() -> midpointFinder.findMidpointAndPlaces(request))
                 .map(response -> {
-                    LOGGER.info("✅ [CONTROLLER] Returning midpoint response with {} places", response.getPlaces().size());
-                    return ResponseEntity.ok(response);
+                    ResponseEntity<MappingJacksonValue> entity = conditionalResponse(request, response, serializationView, headers);
+                    if (entity.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+                        LOGGER.debug("✅ [CONTROLLER] Midpoint response unchanged ({}), returning 304", entity.getHeaders().getETag());
+                    } else {
+                        LOGGER.debug("✅ [CONTROLLER] Returning midpoint response with {} places", response.getPlaces().size());
+                    }
+                    return entity;
                 })
                 .doOnError(error -> LOGGER.error("❌ [CONTROLLER] Error processing midpoint request", error))
-                .onErrorReturn(ResponseEntity.badRequest().build());
+                .onErrorReturn(ResponseEntity.badRequest().build()));
+    }
+
+    /**
+     * Run a handler within its group's concurrency limit; over the limit the request is answered
+     * at once with 503 and Retry-After instead of waiting for a slot
+     */
+    private <T> Mono<ResponseEntity<T>> admit(String group, Supplier<Mono<ResponseEntity<T>>> handler) {
+        Mono<ResponseEntity<T>> admitted = admissionLimiter.admit(group, handler,
+                () -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                        .<T>build());
+        return serverTimingEnabled ? withServerTiming(admitted) : admitted;
+    }
+
+    /**
+     * Add a Server-Timing header with the stage durations, cache markers and Google call count of
+     * the request, collected through the Reactor Context while it ran
+     */
+    private static <T> Mono<ResponseEntity<T>> withServerTiming(Mono<ResponseEntity<T>> response) {
+        return Mono.defer(() -> {
+            ServerTiming timing = new ServerTiming();
+            return response
+                    .map(entity -> ResponseEntity.status(entity.getStatusCode())
+                            .headers(entity.getHeaders())
+                            .header(ServerTiming.HEADER, timing.header())
+                            .body(entity.getBody()))
+                    .contextWrite(timing.context());
+        });
+    }
+
+    /**
+     * 200 with a strong ETag, or a bodiless 304 when If-None-Match already names that ETag
+     */
+    private ResponseEntity<MappingJacksonValue> conditionalResponse(Object request, Object body,
+                                                                    Class<?> serializationView, HttpHeaders headers) {
+        String etag = EntityTags.of(request, body, serializationView, EntityTags.representation(
+                headers.getFirst(HttpHeaders.ACCEPT), headers.getFirst(HttpHeaders.ACCEPT_ENCODING)));
+        CacheControl cacheControl = cacheMaxAgeSeconds > 0
+                ? CacheControl.maxAge(Duration.ofSeconds(cacheMaxAgeSeconds)).cachePrivate()
+                : CacheControl.noCache().cachePrivate();
+        if (EntityTags.matches(headers.getFirst(HttpHeaders.IF_NONE_MATCH), etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(cacheControl)
+                    .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)
+                .body(withView(body, serializationView));
+    }
+
+    private static List<Coordinates> parseCoords(String coords) {
+        List<Coordinates> parsed = new ArrayList<>();
+        for (String pair : coords.split(";")) {
+            String[] latLng = pair.split(",");
+            if (latLng.length != 2) {
+                throw new IllegalArgumentException("Expected lat,lng but got '" + pair + "'");
+            }
+            try {
+                parsed.add(new Coordinates(Double.parseDouble(latLng[0].trim()), Double.parseDouble(latLng[1].trim())));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Expected lat,lng but got '" + pair + "'");
+            }
+        }
+        return parsed;
+    }
+
+    /**
+     * Wrap a body so only the fields of the requested view are serialized; no view means every field
+     */
+    private static MappingJacksonValue withView(Object body, Class<?> serializationView) {
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        value.setSerializationView(serializationView);
+        return value;
+    }
+
+    /**
+     * Accepted and shed request counts per endpoint group
+     */
+    @GetMapping("/admission")
+    public ResponseEntity<List<AdmissionStats>> admission() {
+        return ResponseEntity.ok(admissionLimiter.stats());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        admissionLimiter.bindTo(registry);
     }
 
     @GetMapping("/health")
@@ -0,0 +1,34 @@
+package com.midpoint.controller;
+
+import com.midpoint.dto.UpstreamLimitStats;
+import com.midpoint.service.GoogleMapsService;
+import com.midpoint.service.MidpointService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/places")
+@CrossOrigin(origins = "*")
+public class UpstreamLimitsController {
+
+    private final GoogleMapsService googleMapsService;
+    private final MidpointService midpointService;
+
+    public UpstreamLimitsController(GoogleMapsService googleMapsService, MidpointService midpointService) {
+        this.googleMapsService = googleMapsService;
+        this.midpointService = midpointService;
+    }
+
+    /**
+     * Adaptive concurrency limit, in-flight and queued calls for every Google endpoint used so far
+     */
+    @GetMapping("/upstream-limits")
+    public ResponseEntity<List<UpstreamLimitStats>> upstreamLimits() {
+        List<UpstreamLimitStats> limits = new ArrayList<>(googleMapsService.getUpstreamLimits());
+        limits.addAll(midpointService.getUpstreamLimits());
+        return ResponseEntity.ok(limits);
+    }
+}
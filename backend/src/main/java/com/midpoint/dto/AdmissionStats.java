@@ -0,0 +1,68 @@
+package com.midpoint.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Inbound admission counters for one endpoint group since startup
+ */
+public class AdmissionStats {
+    private String group;
+    @JsonProperty("max_concurrent")
+    private Integer maxConcurrent;
+    @JsonProperty("in_flight")
+    private Integer inFlight;
+    private Long accepted;
+    private Long shed;
+
+    // Constructors
+    public AdmissionStats() {}
+
+    public AdmissionStats(String group, Integer maxConcurrent, Integer inFlight, Long accepted, Long shed) {
+        this.group = group;
+        this.maxConcurrent = maxConcurrent;
+        this.inFlight = inFlight;
+        this.accepted = accepted;
+        this.shed = shed;
+    }
+
+    // Getters and Setters
+    public String getGroup() {
+        return group;
+    }
+
+    public void setGroup(String group) {
+        this.group = group;
+    }
+
+    public Integer getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public void setMaxConcurrent(Integer maxConcurrent) {
+        this.maxConcurrent = maxConcurrent;
+    }
+
+    public Integer getInFlight() {
+        return inFlight;
+    }
+
+    public void setInFlight(Integer inFlight) {
+        this.inFlight = inFlight;
+    }
+
+    public Long getAccepted() {
+        return accepted;
+    }
+
+    public void setAccepted(Long accepted) {
+        this.accepted = accepted;
+    }
+
+    public Long getShed() {
+        return shed;
+    }
+
+    public void setShed(Long shed) {
+        this.shed = shed;
+    }
+}
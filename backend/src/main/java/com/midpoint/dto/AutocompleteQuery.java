@@ -0,0 +1,34 @@
+package com.midpoint.dto;
+
+/**
+ * One keystroke on the autocomplete WebSocket channel
+ */
+public class AutocompleteQuery {
+    private String input;
+    private String sessionToken;
+
+    // Constructors
+    public AutocompleteQuery() {}
+
+    public AutocompleteQuery(String input, String sessionToken) {
+        this.input = input;
+        this.sessionToken = sessionToken;
+    }
+
+    // Getters and Setters
+    public String getInput() {
+        return input;
+    }
+
+    public void setInput(String input) {
+        this.input = input;
+    }
+
+    public String getSessionToken() {
+        return sessionToken;
+    }
+
+    public void setSessionToken(String sessionToken) {
+        this.sessionToken = sessionToken;
+    }
+}
@@ -0,0 +1,36 @@
+package com.midpoint.dto;
+
+import java.util.List;
+
+/**
+ * Predictions for the input they answer, so clients can drop replies for text already edited away
+ */
+public class AutocompleteReply {
+    private String input;
+    private List<PlacePrediction> predictions;
+
+    // Constructors
+    public AutocompleteReply() {}
+
+    public AutocompleteReply(String input, List<PlacePrediction> predictions) {
+        this.input = input;
+        this.predictions = predictions;
+    }
+
+    // Getters and Setters
+    public String getInput() {
+        return input;
+    }
+
+    public void setInput(String input) {
+        this.input = input;
+    }
+
+    public List<PlacePrediction> getPredictions() {
+        return predictions;
+    }
+
+    public void setPredictions(List<PlacePrediction> predictions) {
+        this.predictions = predictions;
+    }
+}
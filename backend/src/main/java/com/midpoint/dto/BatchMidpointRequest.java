@@ -0,0 +1,23 @@
+package com.midpoint.dto;
+
+import java.util.List;
+
+public class BatchMidpointRequest {
+    private List<MidpointRequest> groups;
+
+    // Constructors
+    public BatchMidpointRequest() {}
+
+    public BatchMidpointRequest(List<MidpointRequest> groups) {
+        this.groups = groups;
+    }
+
+    // Getters and Setters
+    public List<MidpointRequest> getGroups() {
+        return groups;
+    }
+
+    public void setGroups(List<MidpointRequest> groups) {
+        this.groups = groups;
+    }
+}
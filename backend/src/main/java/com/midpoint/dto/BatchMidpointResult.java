@@ -0,0 +1,55 @@
+package com.midpoint.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * One group's outcome in a batch, streamed as soon as that group completes
+ */
+public class BatchMidpointResult {
+    @JsonProperty("group_index")
+    private Integer groupIndex;
+    private MidpointResponse response;
+    private String error;
+
+    // Constructors
+    public BatchMidpointResult() {}
+
+    public BatchMidpointResult(Integer groupIndex, MidpointResponse response, String error) {
+        this.groupIndex = groupIndex;
+        this.response = response;
+        this.error = error;
+    }
+
+    public static BatchMidpointResult success(int groupIndex, MidpointResponse response) {
+        return new BatchMidpointResult(groupIndex, response, null);
+    }
+
+    public static BatchMidpointResult failure(int groupIndex, String error) {
+        return new BatchMidpointResult(groupIndex, null, error);
+    }
+
+    // Getters and Setters
+    public Integer getGroupIndex() {
+        return groupIndex;
+    }
+
+    public void setGroupIndex(Integer groupIndex) {
+        this.groupIndex = groupIndex;
+    }
+
+    public MidpointResponse getResponse() {
+        return response;
+    }
+
+    public void setResponse(MidpointResponse response) {
+        this.response = response;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -1,5 +1,8 @@
 package com.midpoint.dto;
 
+import com.fasterxml.jackson.annotation.JsonView;
+
+@JsonView(ResponseViews.Markers.class)
 public class Coordinates {
     private Double lat;
     private Double lng;
@@ -0,0 +1,124 @@
+package com.midpoint.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+
+/**
+ * Frame pushed to live session subscribers: a full {@code snapshot}, a {@code diff} against the
+ * previous version, or an {@code error}.
+ * <p>
+ * A diff carries only the places that changed (added or updated), the ids of places that left the
+ * result, and the new order by place id.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LiveUpdate {
+    public static final String SNAPSHOT = "snapshot";
+    public static final String DIFF = "diff";
+    public static final String ERROR = "error";
+
+    private String type;
+    @JsonProperty("session_id")
+    private String sessionId;
+    private Integer version;
+    private Coordinates midpoint;
+    @JsonProperty("midpoint_address")
+    private String midpointAddress;
+    private List<Place> places;
+    @JsonProperty("removed_place_ids")
+    private List<String> removedPlaceIds;
+    private List<String> order;
+    @JsonProperty("candidates_reused")
+    private Boolean candidatesReused;
+    private String error;
+
+    // Constructors
+    public LiveUpdate() {}
+
+    public LiveUpdate(String type, String sessionId, Integer version) {
+        this.type = type;
+        this.sessionId = sessionId;
+        this.version = version;
+    }
+
+    // Getters and Setters
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    public void setSessionId(String sessionId) {
+        this.sessionId = sessionId;
+    }
+
+    public Integer getVersion() {
+        return version;
+    }
+
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
+
+    public Coordinates getMidpoint() {
+        return midpoint;
+    }
+
+    public void setMidpoint(Coordinates midpoint) {
+        this.midpoint = midpoint;
+    }
+
+    public String getMidpointAddress() {
+        return midpointAddress;
+    }
+
+    public void setMidpointAddress(String midpointAddress) {
+        this.midpointAddress = midpointAddress;
+    }
+
+    public List<Place> getPlaces() {
+        return places;
+    }
+
+    public void setPlaces(List<Place> places) {
+        this.places = places;
+    }
+
+    public List<String> getRemovedPlaceIds() {
+        return removedPlaceIds;
+    }
+
+    public void setRemovedPlaceIds(List<String> removedPlaceIds) {
+        this.removedPlaceIds = removedPlaceIds;
+    }
+
+    public List<String> getOrder() {
+        return order;
+    }
+
+    public void setOrder(List<String> order) {
+        this.order = order;
+    }
+
+    public Boolean getCandidatesReused() {
+        return candidatesReused;
+    }
+
+    public void setCandidatesReused(Boolean candidatesReused) {
+        this.candidatesReused = candidatesReused;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
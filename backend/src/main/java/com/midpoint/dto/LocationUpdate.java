@@ -0,0 +1,47 @@
+package com.midpoint.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * One participant's position pushed over a live midpoint session
+ */
+public class LocationUpdate {
+    @JsonProperty("origin_index")
+    private Integer originIndex;
+    private Double lat;
+    private Double lng;
+
+    // Constructors
+    public LocationUpdate() {}
+
+    public LocationUpdate(Integer originIndex, Double lat, Double lng) {
+        this.originIndex = originIndex;
+        this.lat = lat;
+        this.lng = lng;
+    }
+
+    // Getters and Setters
+    public Integer getOriginIndex() {
+        return originIndex;
+    }
+
+    public void setOriginIndex(Integer originIndex) {
+        this.originIndex = originIndex;
+    }
+
+    public Double getLat() {
+        return lat;
+    }
+
+    public void setLat(Double lat) {
+        this.lat = lat;
+    }
+
+    public Double getLng() {
+        return lng;
+    }
+
+    public void setLng(Double lng) {
+        this.lng = lng;
+    }
+}
@@ -0,0 +1,111 @@
+package com.midpoint.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * One step of a streamed midpoint result. Events arrive as: {@code midpoint}, then {@code address}
+ * and {@code places} (whichever resolves first), one {@code travel} event per Distance Matrix tile,
+ * and finally {@code ranked} with the top places; {@code error} ends the stream early.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class MidpointEvent {
+    public static final String MIDPOINT = "midpoint";
+    public static final String ADDRESS = "address";
+    public static final String PLACES = "places";
+    public static final String TRAVEL = "travel";
+    public static final String RANKED = "ranked";
+    public static final String ERROR = "error";
+
+    private String type;
+    private Coordinates midpoint;
+    @JsonProperty("radius_meters")
+    private Integer radiusMeters;
+    @JsonProperty("midpoint_address")
+    private String midpointAddress;
+    private List<Place> places;
+    private String error;
+
+    // Constructors
+    public MidpointEvent() {}
+
+    public MidpointEvent(String type) {
+        this.type = type;
+    }
+
+    public static MidpointEvent midpoint(Coordinates midpoint, int radiusMeters) {
+        MidpointEvent event = new MidpointEvent(MIDPOINT);
+        event.setMidpoint(midpoint);
+        event.setRadiusMeters(radiusMeters);
+        return event;
+    }
+
+    public static MidpointEvent address(String midpointAddress) {
+        MidpointEvent event = new MidpointEvent(ADDRESS);
+        event.setMidpointAddress(midpointAddress);
+        return event;
+    }
+
+    public static MidpointEvent places(String type, List<Place> places) {
+        MidpointEvent event = new MidpointEvent(type);
+        event.setPlaces(places);
+        return event;
+    }
+
+    public static MidpointEvent error(String error) {
+        MidpointEvent event = new MidpointEvent(ERROR);
+        event.setError(error);
+        return event;
+    }
+
+    // Getters and Setters
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Coordinates getMidpoint() {
+        return midpoint;
+    }
+
+    public void setMidpoint(Coordinates midpoint) {
+        this.midpoint = midpoint;
+    }
+
+    public Integer getRadiusMeters() {
+        return radiusMeters;
+    }
+
+    public void setRadiusMeters(Integer radiusMeters) {
+        this.radiusMeters = radiusMeters;
+    }
+
+    public String getMidpointAddress() {
+        return midpointAddress;
+    }
+
+    public void setMidpointAddress(String midpointAddress) {
+        this.midpointAddress = midpointAddress;
+    }
+
+    public List<Place> getPlaces() {
+        return places;
+    }
+
+    public void setPlaces(List<Place> places) {
+        this.places = places;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
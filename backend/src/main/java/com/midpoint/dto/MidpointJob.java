@@ -0,0 +1,134 @@
+package com.midpoint.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.time.Instant;
+
+/**
+ * Status of a background midpoint job; {@code response} is set once it has succeeded
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class MidpointJob {
+    public static final String QUEUED = "queued";
+    public static final String RUNNING = "running";
+    public static final String SUCCEEDED = "succeeded";
+    public static final String FAILED = "failed";
+    public static final String EXPIRED = "expired";
+    public static final String CANCELLED = "cancelled";
+
+    @JsonProperty("job_id")
+    private String jobId;
+    private String status;
+    @JsonProperty("group_size")
+    private Integer groupSize;
+    @JsonProperty("submitted_at")
+    private Instant submittedAt;
+    private Instant deadline;
+    @JsonProperty("started_at")
+    private Instant startedAt;
+    @JsonProperty("completed_at")
+    private Instant completedAt;
+    @JsonProperty("queue_position")
+    private Integer queuePosition;
+    private MidpointResponse response;
+    private String error;
+
+    // Constructors
+    public MidpointJob() {}
+
+    public MidpointJob(String jobId, String status) {
+        this.jobId = jobId;
+        this.status = status;
+    }
+
+    /**
+     * True once the job will not change any more
+     */
+    @JsonIgnore
+    public boolean isFinished() {
+        return SUCCEEDED.equals(status) || FAILED.equals(status) || EXPIRED.equals(status)
+                || CANCELLED.equals(status);
+    }
+
+    // Getters and Setters
+    public String getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Integer getGroupSize() {
+        return groupSize;
+    }
+
+    public void setGroupSize(Integer groupSize) {
+        this.groupSize = groupSize;
+    }
+
+    public Instant getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public void setSubmittedAt(Instant submittedAt) {
+        this.submittedAt = submittedAt;
+    }
+
+    public Instant getDeadline() {
+        return deadline;
+    }
+
+    public void setDeadline(Instant deadline) {
+        this.deadline = deadline;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(Instant startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public Instant getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(Instant completedAt) {
+        this.completedAt = completedAt;
+    }
+
+    public Integer getQueuePosition() {
+        return queuePosition;
+    }
+
+    public void setQueuePosition(Integer queuePosition) {
+        this.queuePosition = queuePosition;
+    }
+
+    public MidpointResponse getResponse() {
+        return response;
+    }
+
+    public void setResponse(MidpointResponse response) {
+        this.response = response;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
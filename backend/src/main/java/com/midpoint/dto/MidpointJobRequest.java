@@ -0,0 +1,29 @@
+package com.midpoint.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+
+/**
+ * Midpoint request submitted as a background job, with an optional deadline
+ */
+public class MidpointJobRequest extends MidpointRequest {
+    @JsonProperty("deadline_seconds")
+    private Integer deadlineSeconds;
+
+    // Constructors
+    public MidpointJobRequest() {}
+
+    public MidpointJobRequest(List<Coordinates> coords, List<String> filters, Integer deadlineSeconds) {
+        super(coords, filters);
+        this.deadlineSeconds = deadlineSeconds;
+    }
+
+    // Getters and Setters
+    public Integer getDeadlineSeconds() {
+        return deadlineSeconds;
+    }
+
+    public void setDeadlineSeconds(Integer deadlineSeconds) {
+        this.deadlineSeconds = deadlineSeconds;
+    }
+}
@@ -1,10 +1,21 @@
 package com.midpoint.dto;
 
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.OffsetDateTime;
 import java.util.List;
 
 public class MidpointRequest {
     private List<Coordinates> coords;
     private List<String> filters;
+    private RankingObjective objective;
+    // Per origin, aligned with coords; missing entries travel by driving
+    private List<TravelMode> modes;
+    // Planned departure with its local offset, e.g. 2025-06-06T18:30:00-04:00; absent means now
+    @JsonProperty("departure_time")
+    @JsonFormat(without = JsonFormat.Feature.ADJUST_DATES_TO_CONTEXT_TIME_ZONE)
+    private OffsetDateTime departureTime;
 
     // Constructors
     public MidpointRequest() {}
@@ -30,4 +41,28 @@ public class MidpointRequest {
     public void setFilters(List<String> filters) {
         this.filters = filters;
     }
+
+    public RankingObjective getObjective() {
+        return objective;
+    }
+
+    public void setObjective(RankingObjective objective) {
+        this.objective = objective;
+    }
+
+    public List<TravelMode> getModes() {
+        return modes;
+    }
+
+    public void setModes(List<TravelMode> modes) {
+        this.modes = modes;
+    }
+
+    public OffsetDateTime getDepartureTime() {
+        return departureTime;
+    }
+
+    public void setDepartureTime(OffsetDateTime departureTime) {
+        this.departureTime = departureTime;
+    }
 }
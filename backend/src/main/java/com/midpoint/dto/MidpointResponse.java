@@ -1,13 +1,18 @@
 package com.midpoint.dto;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonView;
 import java.util.List;
 
 public class MidpointResponse {
+    @JsonView(ResponseViews.Markers.class)
     private Coordinates midpoint;
+    @JsonView(ResponseViews.Markers.class)
     @JsonProperty("midpoint_address")
     private String midpointAddress;
+    @JsonView(ResponseViews.Markers.class)
     private List<Place> places;
+    @JsonView(ResponseViews.Markers.class)
     @JsonProperty("radius_meters")
     private Integer radiusMeters;
 
@@ -0,0 +1,59 @@
+package com.midpoint.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Current result of an incremental midpoint session
+ */
+public class MidpointSessionResponse {
+    @JsonProperty("session_id")
+    private String sessionId;
+    private Integer version;
+    @JsonProperty("candidates_reused")
+    private Boolean candidatesReused;
+    private MidpointResponse response;
+
+    // Constructors
+    public MidpointSessionResponse() {}
+
+    public MidpointSessionResponse(String sessionId, Integer version, Boolean candidatesReused,
+                                   MidpointResponse response) {
+        this.sessionId = sessionId;
+        this.version = version;
+        this.candidatesReused = candidatesReused;
+        this.response = response;
+    }
+
+    // Getters and Setters
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    public void setSessionId(String sessionId) {
+        this.sessionId = sessionId;
+    }
+
+    public Integer getVersion() {
+        return version;
+    }
+
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
+
+    public Boolean getCandidatesReused() {
+        return candidatesReused;
+    }
+
+    public void setCandidatesReused(Boolean candidatesReused) {
+        this.candidatesReused = candidatesReused;
+    }
+
+    public MidpointResponse getResponse() {
+        return response;
+    }
+
+    public void setResponse(MidpointResponse response) {
+        this.response = response;
+    }
+}
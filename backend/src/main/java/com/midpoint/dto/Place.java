@@ -1,25 +1,39 @@
 package com.midpoint.dto;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonView;
 import java.util.List;
 
 public class Place {
+    @JsonView(ResponseViews.Markers.class)
     @JsonProperty("place_id")
     private String placeId;
     
+    @JsonView(ResponseViews.Markers.class)
     private String name;
+    @JsonView(ResponseViews.Listing.class)
     private String address;
+    @JsonView(ResponseViews.Listing.class)
     private Double rating;
+    @JsonView(ResponseViews.Listing.class)
     @JsonProperty("user_ratings_total")
     private Integer userRatingsTotal;
+    @JsonView(ResponseViews.Listing.class)
     @JsonProperty("price_level")
     private Integer priceLevel;
+    @JsonView(ResponseViews.Full.class)
     private List<Photo> photos;
+    @JsonView(ResponseViews.Full.class)
     private String[] types;
+    @JsonView(ResponseViews.Listing.class)
     private Double distance;
+    @JsonView(ResponseViews.Markers.class)
     private Coordinates coordinates;
+    @JsonView(ResponseViews.Full.class)
     @JsonProperty("travel_summaries")
     private List<TravelSummary> travelSummaries;
+    @JsonView(ResponseViews.Listing.class)
+    private Ranking ranking;
 
     // Constructors
     public Place() {}
@@ -120,6 +134,15 @@ public class Place {
         this.travelSummaries = travelSummaries;
     }
 
+    public Ranking getRanking() {
+        return ranking;
+    }
+
+    public void setRanking(Ranking ranking) {
+        this.ranking = ranking;
+    }
+
+    @JsonView(ResponseViews.Markers.class)
     public static class Photo {
         @JsonProperty("photo_reference")
         private String photoReference;
@@ -171,6 +194,7 @@ public class Place {
         }
     }
 
+    @JsonView(ResponseViews.Markers.class)
     public static class TravelSummary {
         @JsonProperty("origin_index")
         private Integer originIndex;
@@ -183,6 +207,8 @@ public class Place {
         @JsonProperty("duration_text")
         private String durationText;
         private String mode;
+        @JsonProperty("representative_offset_meters")
+        private Integer representativeOffsetMeters;
 
         // Constructors
         public TravelSummary() {}
@@ -245,5 +271,101 @@ public class Place {
         public void setMode(String mode) {
             this.mode = mode;
         }
+
+        /**
+         * Distance from this origin to the clustered origin whose route was used; null when the
+         * route was computed from this origin itself
+         */
+        public Integer getRepresentativeOffsetMeters() {
+            return representativeOffsetMeters;
+        }
+
+        public void setRepresentativeOffsetMeters(Integer representativeOffsetMeters) {
+            this.representativeOffsetMeters = representativeOffsetMeters;
+        }
+    }
+
+    @JsonView(ResponseViews.Markers.class)
+    public static class Ranking {
+        private Integer rank;
+        private RankingObjective objective;
+        private Double score;
+        @JsonProperty("max_duration_seconds")
+        private Integer maxDurationSeconds;
+        @JsonProperty("total_duration_seconds")
+        private Integer totalDurationSeconds;
+        @JsonProperty("duration_stddev_seconds")
+        private Double durationStddevSeconds;
+        @JsonProperty("unreachable_origins")
+        private Integer unreachableOrigins;
+        private String reason;
+
+        // Constructors
+        public Ranking() {}
+
+        // Getters and Setters
+        public Integer getRank() {
+            return rank;
+        }
+
+        public void setRank(Integer rank) {
+            this.rank = rank;
+        }
+
+        public RankingObjective getObjective() {
+            return objective;
+        }
+
+        public void setObjective(RankingObjective objective) {
+            this.objective = objective;
+        }
+
+        public Double getScore() {
+            return score;
+        }
+
+        public void setScore(Double score) {
+            this.score = score;
+        }
+
+        public Integer getMaxDurationSeconds() {
+            return maxDurationSeconds;
+        }
+
+        public void setMaxDurationSeconds(Integer maxDurationSeconds) {
+            this.maxDurationSeconds = maxDurationSeconds;
+        }
+
+        public Integer getTotalDurationSeconds() {
+            return totalDurationSeconds;
+        }
+
+        public void setTotalDurationSeconds(Integer totalDurationSeconds) {
+            this.totalDurationSeconds = totalDurationSeconds;
+        }
+
+        public Double getDurationStddevSeconds() {
+            return durationStddevSeconds;
+        }
+
+        public void setDurationStddevSeconds(Double durationStddevSeconds) {
+            this.durationStddevSeconds = durationStddevSeconds;
+        }
+
+        public Integer getUnreachableOrigins() {
+            return unreachableOrigins;
+        }
+
+        public void setUnreachableOrigins(Integer unreachableOrigins) {
+            this.unreachableOrigins = unreachableOrigins;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+
+        public void setReason(String reason) {
+            this.reason = reason;
+        }
     }
 }
@@ -1,17 +1,26 @@
 package com.midpoint.dto;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonView;
 
 public class PlaceDetails {
+    @JsonView(ResponseViews.Markers.class)
     @JsonProperty("place_id")
     private String placeId;
     
+    @JsonView(ResponseViews.Markers.class)
     private String name;
+    @JsonView(ResponseViews.Listing.class)
     private String formattedAddress;
+    @JsonView(ResponseViews.Markers.class)
     private Geometry geometry;
+    @JsonView(ResponseViews.Full.class)
     private String formattedPhoneNumber;
+    @JsonView(ResponseViews.Full.class)
     private String website;
+    @JsonView(ResponseViews.Listing.class)
     private Double rating;
+    @JsonView(ResponseViews.Full.class)
     private String[] types;
 
     // Constructors
@@ -89,6 +98,7 @@ public class PlaceDetails {
         this.types = types;
     }
 
+    @JsonView(ResponseViews.Markers.class)
     public static class Geometry {
         private Location location;
 
@@ -106,6 +116,7 @@ public class PlaceDetails {
             this.location = location;
         }
 
+        @JsonView(ResponseViews.Markers.class)
         public static class Location {
             private Double lat;
             private Double lng;
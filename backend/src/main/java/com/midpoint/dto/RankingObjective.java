@@ -0,0 +1,39 @@
+package com.midpoint.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * How candidate places are scored from their per-origin travel durations (lower is better)
+ */
+public enum RankingObjective {
+    /** Longest single trip: nobody travels much further than the rest */
+    @JsonProperty("max_time")
+    MAX_TIME("max_time"),
+
+    /** Sum of every participant's trip */
+    @JsonProperty("total_time")
+    TOTAL_TIME("total_time"),
+
+    /** Variance of trip durations: everyone travels about as long as everyone else */
+    @JsonProperty("variance")
+    VARIANCE("variance");
+
+    private final String value;
+
+    RankingObjective(String value) {
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public static RankingObjective fromValue(String value) {
+        for (RankingObjective objective : values()) {
+            if (objective.value.equalsIgnoreCase(value) || objective.name().equalsIgnoreCase(value)) {
+                return objective;
+            }
+        }
+        throw new IllegalArgumentException("Unknown ranking objective: " + value);
+    }
+}
@@ -0,0 +1,38 @@
+package com.midpoint.dto;
+
+/**
+ * Jackson views selected by the {@code view} request parameter. Each view includes the previous
+ * one; fields outside the active view are skipped during serialization.
+ */
+public final class ResponseViews {
+
+    /** Map pins: id, name and coordinates */
+    public interface Markers {}
+
+    /** Result list rows: adds address, rating, price, distance and ranking */
+    public interface Listing extends Markers {}
+
+    /** Everything, including photos, types and per-origin travel summaries */
+    public interface Full extends Listing {}
+
+    private ResponseViews() {}
+
+    /**
+     * View class for a {@code view} parameter value; null when no view was requested
+     */
+    public static Class<?> forName(String view) {
+        if (view == null || view.isBlank()) {
+            return null;
+        }
+        switch (view.trim().toLowerCase()) {
+            case "markers":
+                return Markers.class;
+            case "list":
+                return Listing.class;
+            case "full":
+                return Full.class;
+            default:
+                throw new IllegalArgumentException("Unknown view: " + view);
+        }
+    }
+}
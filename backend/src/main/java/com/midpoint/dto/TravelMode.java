@@ -0,0 +1,39 @@
+package com.midpoint.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * How a participant travels, as understood by the Distance Matrix {@code mode} parameter
+ */
+public enum TravelMode {
+    @JsonProperty("driving")
+    DRIVING("driving"),
+
+    @JsonProperty("walking")
+    WALKING("walking"),
+
+    @JsonProperty("bicycling")
+    BICYCLING("bicycling"),
+
+    @JsonProperty("transit")
+    TRANSIT("transit");
+
+    private final String value;
+
+    TravelMode(String value) {
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public static TravelMode fromValue(String value) {
+        for (TravelMode mode : values()) {
+            if (mode.value.equalsIgnoreCase(value) || mode.name().equalsIgnoreCase(value)) {
+                return mode;
+            }
+        }
+        throw new IllegalArgumentException("Unknown travel mode: " + value);
+    }
+}
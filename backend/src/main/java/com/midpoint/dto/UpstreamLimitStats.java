@@ -0,0 +1,89 @@
+package com.midpoint.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Current adaptive concurrency limit of one upstream endpoint and its counters since startup
+ */
+public class UpstreamLimitStats {
+    private String endpoint;
+    private Integer limit;
+    @JsonProperty("in_flight")
+    private Integer inFlight;
+    private Integer queued;
+    private Long rejected;
+    private Long dropped;
+    @JsonProperty("average_latency_ms")
+    private Double averageLatencyMs;
+
+    // Constructors
+    public UpstreamLimitStats() {}
+
+    public UpstreamLimitStats(String endpoint, Integer limit, Integer inFlight, Integer queued, Long rejected,
+                              Long dropped, Double averageLatencyMs) {
+        this.endpoint = endpoint;
+        this.limit = limit;
+        this.inFlight = inFlight;
+        this.queued = queued;
+        this.rejected = rejected;
+        this.dropped = dropped;
+        this.averageLatencyMs = averageLatencyMs;
+    }
+
+    // Getters and Setters
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public void setEndpoint(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public Integer getLimit() {
+        return limit;
+    }
+
+    public void setLimit(Integer limit) {
+        this.limit = limit;
+    }
+
+    public Integer getInFlight() {
+        return inFlight;
+    }
+
+    public void setInFlight(Integer inFlight) {
+        this.inFlight = inFlight;
+    }
+
+    public Integer getQueued() {
+        return queued;
+    }
+
+    public void setQueued(Integer queued) {
+        this.queued = queued;
+    }
+
+    public Long getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(Long rejected) {
+        this.rejected = rejected;
+    }
+
+    public Long getDropped() {
+        return dropped;
+    }
+
+    public void setDropped(Long dropped) {
+        this.dropped = dropped;
+    }
+
+    public Double getAverageLatencyMs() {
+        return averageLatencyMs;
+    }
+
+    public void setAverageLatencyMs(Double averageLatencyMs) {
+        this.averageLatencyMs = averageLatencyMs;
+    }
+}
@@ -0,0 +1,18 @@
+package com.midpoint.exception;
+
+/**
+ * Exception thrown when an upstream endpoint is at its concurrency limit and its wait queue is full
+ */
+public class UpstreamQueueFullException extends RuntimeException {
+
+    private final String endpoint;
+
+    public UpstreamQueueFullException(String endpoint) {
+        super("Upstream queue full: " + endpoint);
+        this.endpoint = endpoint;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+}
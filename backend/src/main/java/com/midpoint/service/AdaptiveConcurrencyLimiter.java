@@ -0,0 +1,194 @@
+package com.midpoint.service;
+
+import com.midpoint.dto.UpstreamLimitStats;
+import com.midpoint.exception.UpstreamQueueFullException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToIntFunction;
+
+/**
+ * Concurrency limit for one upstream endpoint that follows its latency.
+ * <p>
+ * Each successful call is a latency sample. The limit moves by a gradient: the long-term average
+ * latency over the sample. While samples match the average the limit grows by about its square
+ * root per call; once latency rises above it (Google queueing, slow network) the limit shrinks in
+ * proportion. Each failed call cuts the limit by 10%, the multiplicative decrease of AIMD. Calls
+ * over the limit wait in a bounded FIFO queue; when it is full they fail with
+ * {@link UpstreamQueueFullException} so the caller degrades instead of piling up.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    // Latency may rise this much over the long-term average before the limit shrinks
+    private static final double TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final double BACKOFF_RATIO = 0.9;
+    private static final int LONG_WINDOW = 600;
+    private static final double MIN_LIMIT = 1;
+
+    private final String endpoint;
+    private final double maxLimit;
+    private final int maxQueue;
+    private final ArrayDeque<Permit> queue = new ArrayDeque<>();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    // Guarded by this
+    private double limit;
+    private double longRttNanos;
+    private int inFlight;
+
+    public AdaptiveConcurrencyLimiter(String endpoint, int initialLimit, int maxLimit, int maxQueue) {
+        this.endpoint = endpoint;
+        this.limit = Math.max(MIN_LIMIT, Math.min(initialLimit, maxLimit));
+        this.maxLimit = maxLimit;
+        this.maxQueue = maxQueue;
+    }
+
+    /**
+     * Run {@code call} once a slot is free; the slot is returned when the call terminates or is
+     * cancelled, and only completed calls feed the limit
+     */
+    public <T> Mono<T> run(Mono<T> call) {
+        return Mono.defer(() -> {
+            Permit permit = new Permit();
+            return acquire(permit)
+                    .then(Mono.defer(() -> {
+                        permit.startNanos = System.nanoTime();
+                        return call;
+                    }))
+                    .doOnSuccess(value -> release(permit, Outcome.SUCCESS))
+                    .doOnError(error -> release(permit, error instanceof UpstreamQueueFullException
+                            ? Outcome.IGNORED : Outcome.DROPPED))
+                    .doOnCancel(() -> release(permit, Outcome.IGNORED));
+        });
+    }
+
+    private Mono<Void> acquire(Permit permit) {
+        synchronized (this) {
+            if (queue.isEmpty() && inFlight < (int) limit) {
+                inFlight++;
+                permit.acquired = true;
+                return Mono.empty();
+            }
+            if (queue.size() >= maxQueue) {
+                rejected.incrementAndGet();
+                return Mono.error(new UpstreamQueueFullException(endpoint));
+            }
+            queue.add(permit);
+        }
+        return permit.ready.asMono();
+    }
+
+    private void release(Permit permit, Outcome outcome) {
+        if (!permit.released.compareAndSet(false, true)) {
+            return;
+        }
+        List<Permit> admitted;
+        synchronized (this) {
+            if (!permit.acquired) {
+                queue.remove(permit);
+                return;
+            }
+            inFlight--;
+            if (outcome == Outcome.DROPPED) {
+                dropped.incrementAndGet();
+                limit = Math.max(MIN_LIMIT, limit * BACKOFF_RATIO);
+            } else if (outcome == Outcome.SUCCESS && permit.startNanos > 0) {
+                sample(System.nanoTime() - permit.startNanos);
+            }
+            admitted = drain();
+        }
+        // Complete waiters outside the lock: their calls subscribe on this thread
+        admitted.forEach(waiter -> waiter.ready.tryEmitEmpty());
+    }
+
+    /**
+     * Feed one completed call's latency into the limit
+     */
+    synchronized void sample(long rttNanos) {
+        double rtt = Math.max(1, rttNanos);
+        longRttNanos = longRttNanos == 0 ? rtt : longRttNanos + (rtt - longRttNanos) / LONG_WINDOW;
+        // Recovering from a slow period: let the average catch up faster than the window allows
+        if (longRttNanos / rtt > 2) {
+            longRttNanos *= 0.95;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRttNanos / rtt));
+        double target = limit * gradient + Math.sqrt(limit);
+        // Do not grow a limit the traffic is not using
+        if (target > limit && inFlight + 1 < limit / 2) {
+            return;
+        }
+        limit = Math.max(MIN_LIMIT, Math.min(maxLimit, limit * (1 - SMOOTHING) + target * SMOOTHING));
+    }
+
+    private List<Permit> drain() {
+        List<Permit> admitted = new ArrayList<>();
+        while (!queue.isEmpty() && inFlight < (int) limit) {
+            Permit next = queue.poll();
+            next.acquired = true;
+            inFlight++;
+            admitted.add(next);
+        }
+        return admitted;
+    }
+
+    public synchronized UpstreamLimitStats stats() {
+        return new UpstreamLimitStats(endpoint, (int) limit, inFlight, queue.size(), rejected.get(), dropped.get(),
+                longRttNanos / 1_000_000.0);
+    }
+
+    /**
+     * Gauges and counters for the limiter of {@code endpoint} in {@code limiters}; limiters are
+     * created on first use, so the meters read NaN (gauges) or 0 (counters) until then
+     */
+    static void bindTo(MeterRegistry registry, String endpoint, Map<String, AdaptiveConcurrencyLimiter> limiters) {
+        gauge(registry, "midpoint.upstream.limit", "Adaptive concurrency limit", endpoint, limiters,
+                UpstreamLimitStats::getLimit);
+        gauge(registry, "midpoint.upstream.in_flight", "Calls holding a slot", endpoint, limiters,
+                UpstreamLimitStats::getInFlight);
+        gauge(registry, "midpoint.upstream.queued", "Calls waiting for a slot", endpoint, limiters,
+                UpstreamLimitStats::getQueued);
+        FunctionCounter.builder("midpoint.upstream.rejected", limiters,
+                        map -> map.containsKey(endpoint) ? map.get(endpoint).rejected.get() : 0)
+                .description("Calls failed because the limiter's queue was full")
+                .tag("endpoint", endpoint)
+                .register(registry);
+        FunctionCounter.builder("midpoint.upstream.dropped", limiters,
+                        map -> map.containsKey(endpoint) ? map.get(endpoint).dropped.get() : 0)
+                .description("Failed calls, each cutting the limit")
+                .tag("endpoint", endpoint)
+                .register(registry);
+    }
+
+    private static void gauge(MeterRegistry registry, String name, String description, String endpoint,
+                              Map<String, AdaptiveConcurrencyLimiter> limiters,
+                              ToIntFunction<UpstreamLimitStats> value) {
+        Gauge.builder(name, limiters, map -> {
+                    AdaptiveConcurrencyLimiter limiter = map.get(endpoint);
+                    return limiter != null ? value.applyAsInt(limiter.stats()) : Double.NaN;
+                })
+                .description(description)
+                .tag("endpoint", endpoint)
+                .register(registry);
+    }
+
+    private enum Outcome { SUCCESS, DROPPED, IGNORED }
+
+    private static final class Permit {
+        private final Sinks.One<Void> ready = Sinks.one();
+        private final AtomicBoolean released = new AtomicBoolean();
+        // Guarded by the limiter
+        private boolean acquired;
+        private volatile long startNanos;
+    }
+}
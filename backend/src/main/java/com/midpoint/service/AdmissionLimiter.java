@@ -0,0 +1,111 @@
+package com.midpoint.service;
+
+import com.midpoint.dto.AdmissionStats;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import reactor.core.publisher.Mono;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Caps in-flight requests per endpoint group and sheds the rest immediately instead of queueing
+ * them. A permit is taken on subscription and returned when the call terminates or is cancelled,
+ * so a client that goes away frees its slot.
+ */
+public class AdmissionLimiter implements MeterBinder {
+
+    private final Map<String, Group> groups = new ConcurrentHashMap<>();
+
+    /**
+     * Allow at most {@code maxConcurrent} calls of {@code group} in flight; 0 or less means unlimited
+     */
+    public AdmissionLimiter limit(String group, int maxConcurrent) {
+        groups.put(group, new Group(group, maxConcurrent));
+        return this;
+    }
+
+    /**
+     * Run {@code call} if {@code group} has a free slot, otherwise return {@code shed} without
+     * subscribing to the call
+     */
+    public <T> Mono<T> admit(String group, Supplier<Mono<T>> call, Supplier<T> shed) {
+        return Mono.defer(() -> {
+            Group limits = groups.computeIfAbsent(group, name -> new Group(name, 0));
+            if (!limits.tryAcquire()) {
+                limits.shed.incrementAndGet();
+                return Mono.fromSupplier(shed);
+            }
+            limits.accepted.incrementAndGet();
+            return Mono.defer(call).doFinally(signal -> limits.inFlight.decrementAndGet());
+        });
+    }
+
+    /**
+     * Counters per group, by group name
+     */
+    public List<AdmissionStats> stats() {
+        return groups.values().stream()
+                .sorted(Comparator.comparing(group -> group.name))
+                .map(group -> new AdmissionStats(group.name, group.maxConcurrent, group.inFlight.get(),
+                        group.accepted.get(), group.shed.get()))
+                .toList();
+    }
+
+    /**
+     * In-flight gauge, limit and accepted/shed counters for each group configured so far
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Group group : groups.values()) {
+            Gauge.builder("midpoint.admission.in_flight", group.inFlight, AtomicInteger::get)
+                    .description("Requests holding an admission slot")
+                    .tag("group", group.name)
+                    .register(registry);
+            Gauge.builder("midpoint.admission.max_concurrent", group, limits -> limits.maxConcurrent)
+                    .description("Admission slots; 0 is unlimited")
+                    .tag("group", group.name)
+                    .register(registry);
+            FunctionCounter.builder("midpoint.admission.requests", group.accepted, AtomicLong::get)
+                    .description("Requests admitted or shed with 503")
+                    .tags("group", group.name, "result", "accepted")
+                    .register(registry);
+            FunctionCounter.builder("midpoint.admission.requests", group.shed, AtomicLong::get)
+                    .description("Requests admitted or shed with 503")
+                    .tags("group", group.name, "result", "shed")
+                    .register(registry);
+        }
+    }
+
+    private static final class Group {
+        private final String name;
+        private final int maxConcurrent;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicLong accepted = new AtomicLong();
+        private final AtomicLong shed = new AtomicLong();
+
+        private Group(String name, int maxConcurrent) {
+            this.name = name;
+            this.maxConcurrent = maxConcurrent;
+        }
+
+        private boolean tryAcquire() {
+            while (true) {
+                int current = inFlight.get();
+                if (maxConcurrent > 0 && current >= maxConcurrent) {
+                    return false;
+                }
+                if (inFlight.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.midpoint.service;
+
+import com.midpoint.dto.AutocompleteQuery;
+import com.midpoint.dto.AutocompleteReply;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Transport-agnostic autocomplete session: keystrokes in, predictions out.
+ * <p>
+ * Keystrokes are debounced server-side (only the latest input after a quiet period is looked up)
+ * and a newer lookup cancels the one still in flight, so a fast typist costs one upstream call per
+ * pause rather than one per character.
+ */
+@Service
+public class AutocompleteChannel {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AutocompleteChannel.class);
+
+    private final GoogleMapsService googleMapsService;
+    private final AtomicLong keystrokesReceived = new AtomicLong();
+    private final AtomicLong lookupsStarted = new AtomicLong();
+
+    @Value("${midpoint.autocomplete.debounce-millis:250}")
+    private long debounceMillis = 250;
+
+    public AutocompleteChannel(GoogleMapsService googleMapsService) {
+        this.googleMapsService = googleMapsService;
+    }
+
+    /**
+     * Answer a stream of keystrokes from one client; cancelling the result ends the session
+     */
+    public Flux<AutocompleteReply> connect(Flux<AutocompleteQuery> queries) {
+        String fallbackToken = UUID.randomUUID().toString();
+        Duration quietPeriod = Duration.ofMillis(debounceMillis);
+
+        return queries
+                .filter(query -> query.getInput() != null && !query.getInput().isBlank())
+                .doOnNext(query -> keystrokesReceived.incrementAndGet())
+                .sampleTimeout(query -> Mono.delay(quietPeriod))
+                .doOnNext(query -> lookupsStarted.incrementAndGet())
+                .switchMap(query -> {
+                    String token = query.getSessionToken() != null ? query.getSessionToken() : fallbackToken;
+                    return googleMapsService.getPlaceAutocomplete(query.getInput(), token)
+                            .map(predictions -> new AutocompleteReply(query.getInput(), predictions));
+                })
+                .doOnCancel(() -> LOGGER.debug("🔌 Autocomplete channel closed"));
+    }
+
+    /**
+     * Keystrokes dropped by debouncing since startup (including any still inside the quiet period)
+     */
+    public long getDebouncedKeystrokes() {
+        return keystrokesReceived.get() - lookupsStarted.get();
+    }
+
+    /**
+     * Lookups sent upstream after debouncing since startup
+     */
+    public long getLookupsStarted() {
+        return lookupsStarted.get();
+    }
+}
@@ -0,0 +1,59 @@
+package com.midpoint.service;
+
+import com.midpoint.dto.Coordinates;
+
+/**
+ * Small spherical geometry helpers shared by the in-process planning stages
+ */
+public final class GeoMath {
+
+    public static final double EARTH_RADIUS_METERS = 6_371_008.8;
+    public static final double METERS_PER_MILE = 1609.34;
+    public static final double METERS_PER_DEGREE_LAT = 111_320.0;
+
+    private GeoMath() {}
+
+    /**
+     * Haversine distance between two lat/lng pairs in meters
+     */
+    public static double distanceMeters(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double sinLat = Math.sin(dLat / 2);
+        double sinLng = Math.sin(dLng / 2);
+        double a = sinLat * sinLat +
+                   Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * sinLng * sinLng;
+        return 2 * EARTH_RADIUS_METERS * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+    }
+
+    public static double distanceMeters(Coordinates a, Coordinates b) {
+        return distanceMeters(a.getLat(), a.getLng(), b.getLat(), b.getLng());
+    }
+
+    /**
+     * Degrees of longitude spanned by the given number of meters at a latitude
+     */
+    public static double metersToLngDegrees(double meters, double lat) {
+        double cos = Math.max(0.01, Math.cos(Math.toRadians(lat)));
+        return meters / (METERS_PER_DEGREE_LAT * cos);
+    }
+
+    public static double metersToLatDegrees(double meters) {
+        return meters / METERS_PER_DEGREE_LAT;
+    }
+
+    /**
+     * Spherical mean of {@code count} points given the sum of their unit vectors
+     */
+    public static Coordinates fromVectorSum(double x, double y, double z, int count) {
+        x = x / count;
+        y = y / count;
+        z = z / count;
+
+        double lngRad = Math.atan2(y, x);
+        double hyp = Math.sqrt(x * x + y * y);
+        double latRad = Math.atan2(z, hyp);
+
+        return new Coordinates(Math.toDegrees(latRad), Math.toDegrees(lngRad));
+    }
+}
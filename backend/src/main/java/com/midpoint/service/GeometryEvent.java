@@ -0,0 +1,40 @@
+package com.midpoint.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for one geometry computation over a group of coordinates
+ */
+@Name("com.midpoint.Geometry")
+@Label("Geometry Batch")
+@Category({"Midpoint", "Geometry"})
+@Description("Geometry computed over a group of coordinates")
+@StackTrace(false)
+class GeometryEvent extends jdk.jfr.Event {
+
+    @Label("Coordinates")
+    int n;
+
+    @Label("Algorithm")
+    @Description("centroid, farthest_pair or dynamic_radius")
+    String algorithm;
+
+    static GeometryEvent started() {
+        GeometryEvent event = new GeometryEvent();
+        event.begin();
+        return event;
+    }
+
+    void commit(String algorithm, int n) {
+        end();
+        if (shouldCommit()) {
+            this.algorithm = algorithm;
+            this.n = n;
+            commit();
+        }
+    }
+}
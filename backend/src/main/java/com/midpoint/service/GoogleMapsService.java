@@ -6,7 +6,12 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.midpoint.dto.PlaceDetails;
 import com.midpoint.dto.PlacePrediction;
+import com.midpoint.dto.UpstreamLimitStats;
 import com.midpoint.exception.PlacesResponseParsingException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -17,25 +22,97 @@ import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
-public class GoogleMapsService {
+public class GoogleMapsService implements MeterBinder {
     
     private static final Logger LOGGER = LoggerFactory.getLogger(GoogleMapsService.class);
     
     private final WebClient webClient;
     private final ObjectMapper objectMapper;
+    private final LatestRequestTracker autocompleteRequests;
+    private final Map<String, AdaptiveConcurrencyLimiter> upstreamLimiters = new ConcurrentHashMap<>();
+    // Replaced by Spring's registry when the service is bound
+    private volatile MeterRegistry meterRegistry = Metrics.globalRegistry;
     
     @Value("${google.maps.api.key}")
     private String apiKey;
+
+    // Adaptive concurrency limit per upstream endpoint
+    @Value("${google.maps.api.concurrency.enabled:true}")
+    private boolean upstreamLimitsEnabled = true;
+
+    @Value("${google.maps.api.concurrency.initial-limit:20}")
+    private int upstreamInitialLimit = 20;
+
+    @Value("${google.maps.api.concurrency.max-limit:200}")
+    private int upstreamMaxLimit = 200;
+
+    @Value("${google.maps.api.concurrency.max-queue:500}")
+    private int upstreamMaxQueue = 500;
     
     private static final String PLACES_AUTOCOMPLETE_URL = "https://places.googleapis.com/v1/places:autocomplete";
     private static final String PLACE_DETAILS_URL = "https://maps.googleapis.com/maps/api/place/details/json";
+    private static final String AUTOCOMPLETE_ENDPOINT = "autocomplete";
+    private static final String DETAILS_ENDPOINT = "details";
 
     public GoogleMapsService() {
-        this.webClient = WebClient.builder().build();
+        this.webClient = WebClient.builder().filter(new UpstreamMetrics(() -> meterRegistry)).build();
         this.objectMapper = new ObjectMapper();
+        this.autocompleteRequests = new LatestRequestTracker();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.meterRegistry = registry;
+        FunctionCounter.builder("midpoint.autocomplete.superseded", this, GoogleMapsService::getSupersededAutocompleteCalls)
+                .description("Autocomplete calls replaced by a newer keystroke for the same sessionToken")
+                .register(registry);
+        FunctionCounter.builder("midpoint.autocomplete.cancelled", this, GoogleMapsService::getCancelledAutocompleteCalls)
+                .description("In-flight autocomplete upstream calls cancelled")
+                .register(registry);
+        for (String endpoint : List.of(AUTOCOMPLETE_ENDPOINT, DETAILS_ENDPOINT)) {
+            AdaptiveConcurrencyLimiter.bindTo(registry, endpoint, upstreamLimiters);
+        }
+    }
+
+    /**
+     * Autocomplete calls replaced by a newer keystroke for the same sessionToken since startup
+     */
+    public long getSupersededAutocompleteCalls() {
+        return autocompleteRequests.getSupersededCount();
+    }
+
+    /**
+     * In-flight autocomplete upstream calls cancelled since startup
+     */
+    public long getCancelledAutocompleteCalls() {
+        return autocompleteRequests.getCancelledCount();
+    }
+
+    /**
+     * Run an upstream call within its endpoint's adaptive concurrency limit
+     */
+    private Mono<String> limited(String endpoint, Mono<String> call) {
+        if (!upstreamLimitsEnabled) {
+            return call;
+        }
+        return upstreamLimiters.computeIfAbsent(endpoint, name -> new AdaptiveConcurrencyLimiter(
+                name, upstreamInitialLimit, upstreamMaxLimit, upstreamMaxQueue)).run(call);
+    }
+
+    /**
+     * Current limit, in-flight and queued calls per upstream endpoint used so far
+     */
+    public List<UpstreamLimitStats> getUpstreamLimits() {
+        return upstreamLimiters.values().stream()
+                .map(AdaptiveConcurrencyLimiter::stats)
+                .sorted(Comparator.comparing(UpstreamLimitStats::getEndpoint))
+                .toList();
     }
 
     public Mono<List<PlacePrediction>> getPlaceAutocomplete(String input, String sessionToken) {
@@ -49,16 +126,21 @@ public class GoogleMapsService {
             
             String requestBodyJson = objectMapper.writeValueAsString(requestBody);
 
-            return webClient.post()
+            Mono<String> upstream = limited(AUTOCOMPLETE_ENDPOINT, webClient.post()
                     .uri(PLACES_AUTOCOMPLETE_URL)
                     .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
                     .header("X-Goog-Api-Key", apiKey)
                     .bodyValue(requestBodyJson)
                     .retrieve()
-                    .bodyToMono(String.class)
+                    .bodyToMono(String.class));
+
+            // A newer keystroke for the same session cancels this call; the stale caller gets no predictions
+            Mono<String> latest = sessionToken != null ? autocompleteRequests.latestOnly(sessionToken, upstream) : upstream;
+            return latest
                     .map(this::parseAutocompleteResponse)
                     .doOnError(error -> LOGGER.error("Autocomplete error: {}", error.getMessage(), error))
-                    .onErrorReturn(new ArrayList<>());
+                    .onErrorReturn(new ArrayList<>())
+                    .defaultIfEmpty(new ArrayList<>());
         } catch (JsonProcessingException e) {
             LOGGER.error("Error building autocomplete request", e);
             return Mono.just(new ArrayList<>());
@@ -72,17 +154,17 @@ public class GoogleMapsService {
                 apiKey, 
                 sessionToken);
 
-        return webClient.get()
+        return limited(DETAILS_ENDPOINT, webClient.get()
                 .uri(url)
                 .retrieve()
-                .bodyToMono(String.class)
+                .bodyToMono(String.class))
                 .map(this::parsePlaceDetailsResponse)
                 .onErrorReturn(new PlaceDetails());
     }
 
     private List<PlacePrediction> parseAutocompleteResponse(String response) {
         try {
-            JsonNode root = objectMapper.readTree(response);
+            JsonNode root = JsonParseEvent.readTree(objectMapper, AUTOCOMPLETE_ENDPOINT, response);
             // New API uses "suggestions" instead of "predictions"
             JsonNode suggestions = root.has("suggestions") ? root.get("suggestions") : root.get("predictions");
             
@@ -208,7 +290,7 @@ public class GoogleMapsService {
 
     private PlaceDetails parsePlaceDetailsResponse(String response) {
         try {
-            JsonNode root = objectMapper.readTree(response);
+            JsonNode root = JsonParseEvent.readTree(objectMapper, DETAILS_ENDPOINT, response);
             JsonNode result = root.get("result");
             
             if (result == null) {
@@ -0,0 +1,156 @@
+package com.midpoint.service;
+
+import com.midpoint.dto.Coordinates;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.function.ToDoubleBiFunction;
+
+/**
+ * Centroid and farthest pair of a group of origins, maintained as single origins move.
+ * <p>
+ * The centroid is kept as the running sum of the origins' unit vectors, so a move is one subtract
+ * and one add. Pair distances live in an ordered set. A move replaces the n−1 pairs that touch
+ * the moved origin, at O(log n) each, and the farthest pair is read from the head of the set.
+ * Recomputing everything costs O(n²) distance evaluations per move. Ties are broken by origin
+ * index, so the pair matches the first maximum found by a full scan in index order.
+ * <p>
+ * Subtracting and re-adding vectors leaves rounding error in the sums, so they are rebuilt from
+ * the origins every n moves; the centroid then stays within rounding of a full recompute rather
+ * than drifting over a long session. Memory is O(n²) pairs, so callers must bound n.
+ */
+public class GroupGeometry {
+
+    private static final Comparator<Pair> FARTHEST_FIRST = Comparator
+            .comparingDouble((Pair pair) -> pair.miles).reversed()
+            .thenComparingInt(pair -> pair.first)
+            .thenComparingInt(pair -> pair.second);
+
+    private final ToDoubleBiFunction<Coordinates, Coordinates> distanceMiles;
+    private final List<Coordinates> origins;
+    private final Pair[][] pairs;
+    private final TreeSet<Pair> byDistance = new TreeSet<>(FARTHEST_FIRST);
+    private double sumX;
+    private double sumY;
+    private double sumZ;
+    private int movesSinceRebuild;
+
+    /**
+     * @param distanceMiles the distance used for the farthest pair, normally
+     *                      {@link MidpointService#calculateDistance}
+     */
+    public GroupGeometry(List<Coordinates> origins, ToDoubleBiFunction<Coordinates, Coordinates> distanceMiles) {
+        if (origins.isEmpty()) {
+            throw new IllegalArgumentException("No coordinates provided");
+        }
+        this.distanceMiles = distanceMiles;
+        this.origins = new ArrayList<>(origins);
+        this.pairs = new Pair[origins.size()][];
+        for (int i = 0; i < origins.size(); i++) {
+            addVector(origins.get(i), 1);
+            pairs[i] = new Pair[i];
+            for (int j = 0; j < i; j++) {
+                pairs[i][j] = new Pair(j, i, distanceMiles.applyAsDouble(origins.get(j), origins.get(i)));
+                byDistance.add(pairs[i][j]);
+            }
+        }
+    }
+
+    /**
+     * Move one origin and refresh only the state that depends on it
+     */
+    public void move(int index, Coordinates to) {
+        addVector(origins.get(index), -1);
+        origins.set(index, to);
+        addVector(to, 1);
+        if (++movesSinceRebuild >= origins.size()) {
+            rebuildSums();
+        }
+        for (int other = 0; other < origins.size(); other++) {
+            if (other == index) {
+                continue;
+            }
+            int high = Math.max(index, other);
+            int low = Math.min(index, other);
+            byDistance.remove(pairs[high][low]);
+            pairs[high][low] = new Pair(low, high, distanceMiles.applyAsDouble(origins.get(low), origins.get(high)));
+            byDistance.add(pairs[high][low]);
+        }
+    }
+
+    /**
+     * Same spherical mean as {@link MidpointService#calculateCentroid}
+     */
+    public Coordinates centroid() {
+        return GeoMath.fromVectorSum(sumX, sumY, sumZ, origins.size());
+    }
+
+    /**
+     * Farthest pair of origins, or null for a group of one
+     */
+    public Pair farthestPair() {
+        return byDistance.isEmpty() ? null : byDistance.first();
+    }
+
+    public Coordinates origin(int index) {
+        return origins.get(index);
+    }
+
+    /**
+     * Snapshot of the current origins
+     */
+    public List<Coordinates> origins() {
+        return new ArrayList<>(origins);
+    }
+
+    public int size() {
+        return origins.size();
+    }
+
+    private void rebuildSums() {
+        sumX = 0;
+        sumY = 0;
+        sumZ = 0;
+        for (Coordinates origin : origins) {
+            addVector(origin, 1);
+        }
+        movesSinceRebuild = 0;
+    }
+
+    private void addVector(Coordinates coord, int sign) {
+        double latRad = Math.toRadians(coord.getLat());
+        double lngRad = Math.toRadians(coord.getLng());
+        sumX += sign * Math.cos(latRad) * Math.cos(lngRad);
+        sumY += sign * Math.cos(latRad) * Math.sin(lngRad);
+        sumZ += sign * Math.sin(latRad);
+    }
+
+    /**
+     * Two origins, by index (first &lt; second), and the distance between them in miles
+     */
+    public static final class Pair {
+        private final int first;
+        private final int second;
+        private final double miles;
+
+        private Pair(int first, int second, double miles) {
+            this.first = first;
+            this.second = second;
+            this.miles = miles;
+        }
+
+        public int getFirst() {
+            return first;
+        }
+
+        public int getSecond() {
+            return second;
+        }
+
+        public double getMiles() {
+            return miles;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.midpoint.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for parsing one Google Maps response into a JSON tree
+ */
+@Name("com.midpoint.JsonParse")
+@Label("JSON Parse")
+@Category({"Midpoint", "Parsing"})
+@Description("Google Maps response parsed into a JSON tree")
+@StackTrace(false)
+class JsonParseEvent extends jdk.jfr.Event {
+
+    @Label("Parser")
+    @Description("Response parsed: autocomplete, details, geocode, nearbysearch or distancematrix")
+    String parser;
+
+    @Label("Length")
+    @Description("Response length in characters")
+    long length;
+
+    @Label("Failed")
+    boolean failed;
+
+    /**
+     * {@code objectMapper.readTree(json)}, recorded as a {@code parser} event
+     */
+    static JsonNode readTree(ObjectMapper objectMapper, String parser, String json) throws JsonProcessingException {
+        JsonParseEvent event = new JsonParseEvent();
+        event.begin();
+        boolean failed = true;
+        try {
+            JsonNode root = objectMapper.readTree(json);
+            failed = false;
+            return root;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.parser = parser;
+                event.length = json != null ? json.length() : 0;
+                event.failed = failed;
+                event.commit();
+            }
+        }
+    }
+}
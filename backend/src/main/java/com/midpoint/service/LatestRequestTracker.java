@@ -0,0 +1,54 @@
+package com.midpoint.service;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps only the newest call per key alive: starting a call for a key cancels the call that key
+ * already has in flight, which then completes empty. Used to drop superseded autocomplete
+ * keystrokes for a sessionToken instead of letting every one of them run to completion upstream.
+ */
+public class LatestRequestTracker {
+
+    private final ConcurrentHashMap<String, Sinks.One<Boolean>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong superseded = new AtomicLong();
+    private final AtomicLong cancelled = new AtomicLong();
+
+    /**
+     * Run {@code call} as the newest call for {@code key}; registration happens on subscription
+     */
+    public <T> Mono<T> latestOnly(String key, Mono<T> call) {
+        return Mono.defer(() -> {
+            Sinks.One<Boolean> supersededSignal = Sinks.one();
+            Sinks.One<Boolean> previous = inFlight.put(key, supersededSignal);
+            if (previous != null && previous.tryEmitValue(Boolean.TRUE).isSuccess()) {
+                superseded.incrementAndGet();
+            }
+            return call
+                    .doOnCancel(cancelled::incrementAndGet)
+                    .takeUntilOther(supersededSignal.asMono())
+                    .doFinally(signal -> inFlight.remove(key, supersededSignal));
+        });
+    }
+
+    /**
+     * Calls replaced by a newer call for the same key since startup
+     */
+    public long getSupersededCount() {
+        return superseded.get();
+    }
+
+    /**
+     * In-flight upstream calls cancelled since startup, by supersession or by the caller going away
+     */
+    public long getCancelledCount() {
+        return cancelled.get();
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+}
@@ -0,0 +1,324 @@
+package com.midpoint.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.midpoint.dto.Coordinates;
+import com.midpoint.dto.LiveUpdate;
+import com.midpoint.dto.MidpointResponse;
+import com.midpoint.dto.MidpointSessionResponse;
+import com.midpoint.dto.Place;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Subscribers of one midpoint session and the location updates they push.
+ * <p>
+ * Updates are coalesced: the first one opens a window, later ones for the same origin overwrite
+ * it, and when the window closes every moved origin is applied in one
+ * {@link MidpointSessionService#moveOrigins} call. At most one recompute runs per group; updates
+ * arriving meanwhile open the next window once it finishes. Each result is sent to subscribers as
+ * a diff against the previous version.
+ * <p>
+ * Backpressure is per subscriber: while a subscriber's unsent bytes exceed the buffer limit its
+ * diffs are dropped. Once it has drained it gets a full snapshot, either when its connection
+ * reports {@link #drained} or instead of the next diff, so it catches up even if the group goes
+ * quiet right after the update it skipped.
+ */
+public class LiveGroup {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LiveGroup.class);
+
+    /**
+     * Outbound side of one connection
+     */
+    public interface Subscriber {
+        /**
+         * Bytes queued for this subscriber but not yet written
+         */
+        int pendingBytes();
+
+        /**
+         * Queue a frame; must not block, since it is called under the group's monitor and often
+         * on the event loop that completed a recompute
+         */
+        void send(LiveUpdate update);
+    }
+
+    private final String sessionId;
+    private final MidpointSessionService sessionService;
+    private final ObjectMapper objectMapper;
+    private final Duration window;
+    private final int bufferLimitBytes;
+
+    private final Map<Integer, Coordinates> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final List<Member> members = new CopyOnWriteArrayList<>();
+    private MidpointSessionResponse latest;
+
+    private final AtomicLong updatesReceived = new AtomicLong();
+    private final AtomicLong updatesCoalesced = new AtomicLong();
+    private final AtomicLong recomputes = new AtomicLong();
+    private final AtomicLong diffsSent = new AtomicLong();
+    private final AtomicLong snapshotsSent = new AtomicLong();
+    private final AtomicLong updatesSkipped = new AtomicLong();
+
+    public LiveGroup(String sessionId, MidpointSessionService sessionService, ObjectMapper objectMapper,
+                     Duration window, int bufferLimitBytes) {
+        this.sessionId = sessionId;
+        this.sessionService = sessionService;
+        this.objectMapper = objectMapper;
+        this.window = window;
+        this.bufferLimitBytes = bufferLimitBytes;
+    }
+
+    /**
+     * Add a subscriber; it receives the current result as a snapshot
+     */
+    public void join(Subscriber subscriber) {
+        welcome(enroll(subscriber));
+    }
+
+    /**
+     * Add a subscriber without sending anything yet; it gets snapshots instead of diffs until
+     * {@link #welcome} or a publish has sent it one
+     */
+    Member enroll(Subscriber subscriber) {
+        Member member = new Member(subscriber);
+        members.add(member);
+        return member;
+    }
+
+    /**
+     * Send an enrolled subscriber its first snapshot, unless a publish already did
+     */
+    void welcome(Member member) {
+        synchronized (this) {
+            if (!member.stale || !members.contains(member)) {
+                return;
+            }
+            if (latest != null) {
+                sendSnapshot(member, latest);
+                return;
+            }
+        }
+        sessionService.current(sessionId).subscribe(
+                response -> {
+                    synchronized (this) {
+                        if (latest == null || latest.getVersion() < response.getVersion()) {
+                            latest = response;
+                        }
+                        if (member.stale && members.contains(member)) {
+                            sendSnapshot(member, latest);
+                        }
+                    }
+                },
+                error -> member.subscriber.send(error(error)));
+    }
+
+    /**
+     * Called by a subscriber whose queue has emptied; if it skipped updates while over the buffer
+     * limit, it gets the latest result as a snapshot now
+     */
+    public void drained(Subscriber subscriber) {
+        for (Member member : members) {
+            if (member.subscriber != subscriber || !member.stale) {
+                continue;
+            }
+            synchronized (this) {
+                if (member.stale && latest != null && subscriber.pendingBytes() <= bufferLimitBytes) {
+                    sendSnapshot(member, latest);
+                }
+            }
+        }
+    }
+
+    /**
+     * Remove a subscriber; true if the group has none left
+     */
+    public boolean leave(Subscriber subscriber) {
+        members.removeIf(member -> member.subscriber == subscriber);
+        return members.isEmpty();
+    }
+
+    /**
+     * Queue a participant's new position for the next recompute
+     */
+    public void submit(int originIndex, Coordinates to) {
+        int originCount = sessionService.originCount(sessionId);
+        if (originIndex < 0 || originIndex >= originCount || to == null
+                || to.getLat() == null || to.getLng() == null) {
+            throw new IllegalArgumentException("Invalid origin update for index " + originIndex);
+        }
+        updatesReceived.incrementAndGet();
+        if (pending.put(originIndex, to) != null) {
+            updatesCoalesced.incrementAndGet();
+        }
+        scheduleFlush();
+    }
+
+    public int subscriberCount() {
+        return members.size();
+    }
+
+    private void scheduleFlush() {
+        if (!pending.isEmpty() && flushScheduled.compareAndSet(false, true)) {
+            Mono.delay(window).subscribe(tick -> flush());
+        }
+    }
+
+    private void flush() {
+        Map<Integer, Coordinates> moves = new HashMap<>();
+        for (Integer originIndex : List.copyOf(pending.keySet())) {
+            Coordinates to = pending.remove(originIndex);
+            if (to != null) {
+                moves.put(originIndex, to);
+            }
+        }
+        if (moves.isEmpty()) {
+            flushScheduled.set(false);
+            scheduleFlush();
+            return;
+        }
+        recomputes.incrementAndGet();
+        sessionService.moveOrigins(sessionId, moves)
+                .doFinally(signal -> {
+                    flushScheduled.set(false);
+                    scheduleFlush();
+                })
+                .subscribe(this::publish, error -> {
+                    LOGGER.warn("⚠️  [LIVE] Recompute failed for session {}: {}", sessionId, error.getMessage());
+                    LiveUpdate update = error(error);
+                    members.forEach(member -> member.subscriber.send(update));
+                });
+    }
+
+    private synchronized void publish(MidpointSessionResponse next) {
+        MidpointSessionResponse previous = latest;
+        latest = next;
+        LiveUpdate diff = previous != null ? diff(previous, next) : null;
+        for (Member member : members) {
+            if (member.subscriber.pendingBytes() > bufferLimitBytes) {
+                member.stale = true;
+                updatesSkipped.incrementAndGet();
+            } else if (member.stale || diff == null) {
+                sendSnapshot(member, next);
+            } else {
+                member.subscriber.send(diff);
+                diffsSent.incrementAndGet();
+            }
+        }
+    }
+
+    private void sendSnapshot(Member member, MidpointSessionResponse response) {
+        member.stale = false;
+        member.subscriber.send(snapshot(response));
+        snapshotsSent.incrementAndGet();
+    }
+
+    private LiveUpdate snapshot(MidpointSessionResponse response) {
+        LiveUpdate update = new LiveUpdate(LiveUpdate.SNAPSHOT, sessionId, response.getVersion());
+        MidpointResponse result = response.getResponse();
+        update.setMidpoint(result.getMidpoint());
+        update.setMidpointAddress(result.getMidpointAddress());
+        update.setPlaces(result.getPlaces() != null ? result.getPlaces() : List.of());
+        update.setCandidatesReused(response.getCandidatesReused());
+        return update;
+    }
+
+    /**
+     * Places added or changed since {@code previous}, ids that left, and the new order
+     */
+    LiveUpdate diff(MidpointSessionResponse previous, MidpointSessionResponse next) {
+        Map<String, JsonNode> before = new HashMap<>();
+        for (Place place : places(previous)) {
+            before.put(place.getPlaceId(), objectMapper.valueToTree(place));
+        }
+        List<Place> changed = new ArrayList<>();
+        List<String> order = new ArrayList<>();
+        for (Place place : places(next)) {
+            order.add(place.getPlaceId());
+            JsonNode old = before.remove(place.getPlaceId());
+            if (old == null || !old.equals(objectMapper.valueToTree(place))) {
+                changed.add(place);
+            }
+        }
+
+        LiveUpdate update = new LiveUpdate(LiveUpdate.DIFF, sessionId, next.getVersion());
+        MidpointResponse result = next.getResponse();
+        update.setMidpoint(result.getMidpoint());
+        if (!Objects.equals(previous.getResponse().getMidpointAddress(), result.getMidpointAddress())) {
+            update.setMidpointAddress(result.getMidpointAddress());
+        }
+        update.setPlaces(changed);
+        update.setRemovedPlaceIds(new ArrayList<>(before.keySet()));
+        update.setOrder(order);
+        update.setCandidatesReused(next.getCandidatesReused());
+        return update;
+    }
+
+    private static List<Place> places(MidpointSessionResponse response) {
+        List<Place> places = response.getResponse().getPlaces();
+        return places != null ? places : List.of();
+    }
+
+    private LiveUpdate error(Throwable error) {
+        LiveUpdate update = new LiveUpdate(LiveUpdate.ERROR, sessionId, null);
+        update.setError(error.getMessage());
+        return update;
+    }
+
+    /**
+     * Location updates received since the group was created
+     */
+    public long getUpdatesReceived() {
+        return updatesReceived.get();
+    }
+
+    /**
+     * Updates overwritten by a newer position for the same origin before they were applied
+     */
+    public long getUpdatesCoalesced() {
+        return updatesCoalesced.get();
+    }
+
+    public long getRecomputes() {
+        return recomputes.get();
+    }
+
+    public long getDiffsSent() {
+        return diffsSent.get();
+    }
+
+    public long getSnapshotsSent() {
+        return snapshotsSent.get();
+    }
+
+    /**
+     * Frames not sent because the subscriber's buffer was over the limit
+     */
+    public long getUpdatesSkipped() {
+        return updatesSkipped.get();
+    }
+
+    static final class Member {
+        private final Subscriber subscriber;
+        // Starts stale: a diff is useless until the subscriber has had a snapshot
+        private volatile boolean stale = true;
+
+        private Member(Subscriber subscriber) {
+            this.subscriber = subscriber;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.midpoint.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Live groups on this node, one per midpoint session that has at least one subscriber.
+ * <p>
+ * The number of live groups is capped per node; joining a new group beyond the cap fails with
+ * {@link IllegalStateException} so the transport can turn the client away.
+ */
+@Service
+public class LiveGroupRegistry {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LiveGroupRegistry.class);
+
+    private final MidpointSessionService sessionService;
+    private final ObjectMapper objectMapper;
+    private final Map<String, LiveGroup> groups = new ConcurrentHashMap<>();
+
+    @Value("${midpoint.live.coalesce-millis:250}")
+    private long coalesceMillis = 250;
+
+    @Value("${midpoint.live.max-sessions:2000}")
+    private int maxSessions = 2000;
+
+    @Value("${midpoint.live.subscriber-buffer-bytes:65536}")
+    private int subscriberBufferBytes = 65536;
+
+    public LiveGroupRegistry(MidpointSessionService sessionService, ObjectMapper objectMapper) {
+        this.sessionService = sessionService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Subscribe to a session, creating its live group if needed
+     */
+    public LiveGroup join(String sessionId, LiveGroup.Subscriber subscriber) {
+        if (sessionService.originCount(sessionId) < 0) {
+            throw new NoSuchElementException("Unknown midpoint session: " + sessionId);
+        }
+        // Enrolled inside compute so a concurrent leave cannot drop the group before the subscriber is
+        // in it; the first snapshot is sent afterwards, outside the map's lock
+        LiveGroup.Member[] member = new LiveGroup.Member[1];
+        LiveGroup joined = groups.compute(sessionId, (id, existing) -> {
+            LiveGroup group = existing;
+            if (group == null) {
+                if (groups.size() >= maxSessions) {
+                    throw new IllegalStateException("Live session limit reached (" + maxSessions + ")");
+                }
+                LOGGER.debug("📡 [LIVE] Opening live group for session {}", id);
+                group = new LiveGroup(id, sessionService, objectMapper,
+                        Duration.ofMillis(coalesceMillis), subscriberBufferBytes);
+            }
+            member[0] = group.enroll(subscriber);
+            return group;
+        });
+        joined.welcome(member[0]);
+        return joined;
+    }
+
+    /**
+     * Unsubscribe; the group is dropped with its last subscriber
+     */
+    public void leave(String sessionId, LiveGroup.Subscriber subscriber) {
+        groups.computeIfPresent(sessionId, (id, group) -> group.leave(subscriber) ? null : group);
+    }
+
+    public int activeGroups() {
+        return groups.size();
+    }
+}
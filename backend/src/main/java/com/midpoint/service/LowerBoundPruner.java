@@ -0,0 +1,124 @@
+package com.midpoint.service;
+
+import com.midpoint.dto.Coordinates;
+import com.midpoint.dto.Place;
+import com.midpoint.dto.RankingObjective;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Straight-line lower bounds on travel time, used to skip Distance Matrix elements for candidates
+ * that can never reach the top K.
+ * <p>
+ * No route is shorter than the great-circle distance, so distance divided by the fastest plausible
+ * speed bounds every origin-to-place duration from below. Aggregating those bounds with a monotone
+ * objective (max or total time) bounds the place's score; once K places with real travel data are
+ * known, any candidate whose bound exceeds the K-th best real score is pruned without changing the
+ * final top K. Variance is not monotone in the per-origin durations, so it is never pruned.
+ */
+public class LowerBoundPruner {
+
+    public boolean supports(RankingObjective objective) {
+        return objective == RankingObjective.MAX_TIME || objective == RankingObjective.TOTAL_TIME;
+    }
+
+    /**
+     * N×M matrix of lower bounds in seconds, [origin][place]; 0 for places without coordinates
+     */
+    public double[][] lowerBoundMatrix(List<Coordinates> origins, List<Place> places, double maxSpeedMps) {
+        double[][] bounds = new double[origins.size()][places.size()];
+        for (int i = 0; i < origins.size(); i++) {
+            Coordinates origin = origins.get(i);
+            for (int j = 0; j < places.size(); j++) {
+                Coordinates destination = places.get(j).getCoordinates();
+                if (destination != null) {
+                    bounds[i][j] = GeoMath.distanceMeters(origin, destination) / maxSpeedMps;
+                }
+            }
+        }
+        return bounds;
+    }
+
+    /**
+     * Order candidates by their bound and split them into a first wave of the K most promising
+     * places and the rest, which can later be pruned against the first wave's K-th best score
+     */
+    public Plan plan(List<Coordinates> origins, List<Place> candidates, RankingObjective objective,
+                     int k, double maxSpeedMps) {
+        double[][] matrix = lowerBoundMatrix(origins, candidates, maxSpeedMps);
+        Integer[] order = new Integer[candidates.size()];
+        double[] scores = new double[candidates.size()];
+        for (int j = 0; j < candidates.size(); j++) {
+            order[j] = j;
+            double aggregate = 0;
+            for (double[] row : matrix) {
+                aggregate = objective == RankingObjective.TOTAL_TIME ? aggregate + row[j] : Math.max(aggregate, row[j]);
+            }
+            scores[j] = aggregate;
+        }
+        Arrays.sort(order, Comparator.comparingDouble(j -> scores[j]));
+
+        int firstWaveSize = Math.min(k, candidates.size());
+        List<Place> firstWave = new ArrayList<>(firstWaveSize);
+        List<Place> remaining = new ArrayList<>(candidates.size() - firstWaveSize);
+        double[] remainingBounds = new double[candidates.size() - firstWaveSize];
+        for (int n = 0; n < order.length; n++) {
+            Place place = candidates.get(order[n]);
+            if (n < firstWaveSize) {
+                firstWave.add(place);
+            } else {
+                remainingBounds[n - firstWaveSize] = scores[order[n]];
+                remaining.add(place);
+            }
+        }
+        return new Plan(firstWave, remaining, remainingBounds, origins.size());
+    }
+
+    /**
+     * Candidate split produced by {@link #plan}
+     */
+    public static final class Plan {
+        private final List<Place> firstWave;
+        private final List<Place> remaining;
+        private final double[] remainingBounds;
+        private final int originCount;
+
+        private Plan(List<Place> firstWave, List<Place> remaining, double[] remainingBounds, int originCount) {
+            this.firstWave = firstWave;
+            this.remaining = remaining;
+            this.remainingBounds = remainingBounds;
+            this.originCount = originCount;
+        }
+
+        public List<Place> getFirstWave() {
+            return firstWave;
+        }
+
+        public List<Place> getRemaining() {
+            return remaining;
+        }
+
+        /**
+         * Remaining candidates whose bound does not exceed the threshold (ties survive)
+         */
+        public List<Place> survivors(double threshold) {
+            List<Place> survivors = new ArrayList<>();
+            for (int n = 0; n < remaining.size(); n++) {
+                if (remainingBounds[n] <= threshold) {
+                    survivors.add(remaining.get(n));
+                }
+            }
+            return survivors;
+        }
+
+        /**
+         * Matrix elements saved by not requesting the pruned candidates
+         */
+        public int prunedElements(List<Place> survivors) {
+            return (remaining.size() - survivors.size()) * originCount;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.midpoint.service;
+
+import com.midpoint.dto.BatchMidpointResult;
+import com.midpoint.dto.Coordinates;
+import com.midpoint.dto.MidpointRequest;
+import com.midpoint.dto.MidpointResponse;
+import com.midpoint.dto.TravelMode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Runs many midpoint groups concurrently with bounded parallelism.
+ * <p>
+ * Identical groups are computed once; overlapping upstream calls between different groups are
+ * shared by {@link MidpointService}'s in-flight deduplication. Results are emitted per group in
+ * completion order, each tagged with its index in the submitted batch.
+ */
+@Service
+public class MidpointBatchService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MidpointBatchService.class);
+
+    private final MidpointService midpointService;
+
+    @Value("${midpoint.batch.parallelism:4}")
+    private int parallelism = 4;
+
+    @Value("${midpoint.batch.max-groups:100}")
+    private int maxGroups = 100;
+
+    public MidpointBatchService(MidpointService midpointService) {
+        this.midpointService = midpointService;
+    }
+
+    public int getMaxGroups() {
+        return maxGroups;
+    }
+
+    /**
+     * Process every group and stream one result per group as it completes
+     */
+    public Flux<BatchMidpointResult> processBatch(List<MidpointRequest> groups) {
+        LOGGER.info("📦 [BATCH] Processing {} groups with parallelism {}", groups.size(), parallelism);
+
+        Map<String, Mono<MidpointResponse>> distinct = new HashMap<>();
+        List<Mono<MidpointResponse>> perGroup = new ArrayList<>(groups.size());
+        for (MidpointRequest group : groups) {
+            perGroup.add(distinct.computeIfAbsent(groupKey(group),
+                    key -> Mono.defer(() -> midpointService.findMidpointAndPlaces(group)).cache()));
+        }
+        if (distinct.size() < groups.size()) {
+            LOGGER.info("  🔁 {} duplicate groups collapsed into {} computations", groups.size() - distinct.size(), distinct.size());
+        }
+
+        long started = System.currentTimeMillis();
+        return Flux.range(0, groups.size())
+                .flatMap(index -> perGroup.get(index)
+                        .map(response -> BatchMidpointResult.success(index, response))
+                        .onErrorResume(error -> {
+                            LOGGER.warn("  ⚠️  [BATCH] Group {} failed: {}", index, error.getMessage());
+                            return Mono.just(BatchMidpointResult.failure(index, errorMessage(error)));
+                        }), parallelism)
+                .doOnComplete(() -> LOGGER.info("✅ [BATCH] {} groups completed in {} ms ({} upstream calls deduplicated so far)",
+                        groups.size(), System.currentTimeMillis() - started, midpointService.getDeduplicatedUpstreamCalls()));
+    }
+
+    /**
+     * Canonical form of a group: coordinates in order (origin indexes matter), filters as a set,
+     * travel modes with missing and trailing driving entries dropped, departure time as given
+     */
+    static String groupKey(MidpointRequest group) {
+        String coords = group.getCoords() == null ? "" : group.getCoords().stream()
+                .map(MidpointBatchService::coordinateKey)
+                .collect(Collectors.joining(";"));
+        String filters = group.getFilters() == null ? "" : String.join(",", new TreeSet<>(group.getFilters()));
+        String objective = group.getObjective() == null ? "" : group.getObjective().getValue();
+        String departure = group.getDepartureTime() == null ? "" : group.getDepartureTime().toString();
+        return coords + "|" + filters + "|" + objective + "|" + modesKey(group.getModes()) + "|" + departure;
+    }
+
+    private static String modesKey(List<TravelMode> modes) {
+        List<String> values = new ArrayList<>();
+        for (TravelMode mode : modes == null ? List.<TravelMode>of() : modes) {
+            values.add((mode != null ? mode : TravelMode.DRIVING).getValue());
+        }
+        while (!values.isEmpty() && TravelMode.DRIVING.getValue().equals(values.get(values.size() - 1))) {
+            values.remove(values.size() - 1);
+        }
+        return String.join(",", values);
+    }
+
+    private static String coordinateKey(Coordinates coordinates) {
+        return coordinates == null ? "null" : coordinates.getLat() + "," + coordinates.getLng();
+    }
+
+    private static String errorMessage(Throwable error) {
+        return error.getMessage() != null ? error.getMessage() : error.getClass().getSimpleName();
+    }
+}
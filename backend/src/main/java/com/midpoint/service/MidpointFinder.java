@@ -0,0 +1,16 @@
+package com.midpoint.service;
+
+import com.midpoint.dto.MidpointRequest;
+import com.midpoint.dto.MidpointResponse;
+import reactor.core.publisher.Mono;
+
+/**
+ * Finds the midpoint of a group and the places around it.
+ * <p>
+ * {@link MidpointService} is the reactive pipeline on WebClient; the {@code virtual-threads} build
+ * profile adds a blocking implementation that runs the same stages on virtual threads.
+ */
+public interface MidpointFinder {
+
+    Mono<MidpointResponse> findMidpointAndPlaces(MidpointRequest request);
+}
@@ -0,0 +1,349 @@
+package com.midpoint.service;
+
+import com.midpoint.dto.MidpointJob;
+import com.midpoint.dto.MidpointJobRequest;
+import com.midpoint.dto.MidpointResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Background midpoint computations for groups too large to hold a request open for.
+ * <p>
+ * Jobs wait in a bounded queue and at most {@code midpoint.jobs.concurrency} run at once. The queue
+ * is ordered by latest start time: the deadline (explicit, or {@code default-deadline-seconds}
+ * after submission) minus an estimate of the run time that grows with group size. Under equal
+ * deadlines the larger group therefore starts first, and a job without a deadline still moves up
+ * as it ages. A job whose deadline has passed before it starts is marked expired instead of run.
+ * Finished jobs are kept for {@code result-ttl-seconds}.
+ */
+@Service
+public class MidpointJobService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MidpointJobService.class);
+    private static final long SWEEP_INTERVAL_MILLIS = 60 * 1000L;
+    private static final Comparator<Job> LATEST_START_FIRST = Comparator
+            .comparingLong((Job job) -> job.latestStartMillis)
+            .thenComparingLong(job -> job.sequence);
+
+    private final MidpointService midpointService;
+    private final Clock clock;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    // Guarded by this
+    private final PriorityQueue<Job> queue = new PriorityQueue<>(LATEST_START_FIRST);
+    private int running;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong lastSweepMillis = new AtomicLong();
+    private final AtomicLong jobsCompleted = new AtomicLong();
+    private final AtomicLong jobsExpired = new AtomicLong();
+    private final AtomicLong jobsRejected = new AtomicLong();
+
+    @Value("${midpoint.jobs.concurrency:2}")
+    private int concurrency = 2;
+
+    @Value("${midpoint.jobs.max-queued:200}")
+    private int maxQueued = 200;
+
+    @Value("${midpoint.jobs.default-deadline-seconds:120}")
+    private long defaultDeadlineSeconds = 120;
+
+    @Value("${midpoint.jobs.estimated-millis-per-origin:250}")
+    private long estimatedMillisPerOrigin = 250;
+
+    @Value("${midpoint.jobs.result-ttl-seconds:600}")
+    private long resultTtlSeconds = 600;
+
+    @Autowired
+    public MidpointJobService(MidpointService midpointService) {
+        this(midpointService, Clock.systemUTC());
+    }
+
+    MidpointJobService(MidpointService midpointService, Clock clock) {
+        this.midpointService = midpointService;
+        this.clock = clock;
+        this.lastSweepMillis.set(clock.millis());
+    }
+
+    /**
+     * Queue a job and return its initial status
+     */
+    public MidpointJob submit(MidpointJobRequest request) {
+        if (request.getCoords() == null || request.getCoords().isEmpty()) {
+            throw new IllegalArgumentException("No coordinates provided");
+        }
+        if (request.getDeadlineSeconds() != null && request.getDeadlineSeconds() <= 0) {
+            throw new IllegalArgumentException("deadline_seconds must be positive");
+        }
+        // Reject bad travel options now rather than failing the job once it reaches the front of the queue
+        MidpointService.validate(request);
+        long now = clock.millis();
+        maybeSweep(now);
+
+        long deadlineSeconds = request.getDeadlineSeconds() != null ? request.getDeadlineSeconds() : defaultDeadlineSeconds;
+        long deadlineMillis = now + deadlineSeconds * 1000;
+        int groupSize = request.getCoords().size();
+        Job job = new Job(this, UUID.randomUUID().toString(), request, now, deadlineMillis,
+                deadlineMillis - groupSize * estimatedMillisPerOrigin, sequence.incrementAndGet());
+
+        synchronized (this) {
+            if (queue.size() >= maxQueued) {
+                jobsRejected.incrementAndGet();
+                throw new IllegalStateException("Midpoint job queue is full (" + maxQueued + ")");
+            }
+            jobs.put(job.id, job);
+            queue.add(job);
+        }
+        LOGGER.info("🗂️  [JOBS] Queued job {} ({} origins, deadline in {} s)", job.id, groupSize, deadlineSeconds);
+        job.publish();
+        dispatch();
+        return status(job);
+    }
+
+    /**
+     * Current status of a job, with the result once it has succeeded
+     */
+    public MidpointJob get(String jobId) {
+        return status(lookup(jobId));
+    }
+
+    /**
+     * Status changes of a job, starting with the current one and completing when it finishes
+     */
+    public Flux<MidpointJob> watch(String jobId) {
+        return lookup(jobId).updates.asFlux();
+    }
+
+    /**
+     * Cancel a queued or running job; finished jobs are left as they are
+     */
+    public MidpointJob cancel(String jobId) {
+        Job job = lookup(jobId);
+        boolean cancelled;
+        synchronized (this) {
+            cancelled = !job.finished();
+            if (cancelled) {
+                if (!queue.remove(job)) {
+                    running--;
+                    if (job.subscription != null) {
+                        job.subscription.dispose();
+                    }
+                }
+                job.complete(MidpointJob.CANCELLED, null, null, clock.millis());
+            }
+        }
+        if (cancelled) {
+            LOGGER.info("🛑 [JOBS] Cancelled job {}", job.id);
+            job.publish();
+            dispatch();
+        }
+        return status(job);
+    }
+
+    /**
+     * Jobs waiting to start
+     */
+    public synchronized int queuedJobs() {
+        return queue.size();
+    }
+
+    public synchronized int runningJobs() {
+        return running;
+    }
+
+    public long getJobsCompleted() {
+        return jobsCompleted.get();
+    }
+
+    /**
+     * Jobs dropped because their deadline passed while they were queued
+     */
+    public long getJobsExpired() {
+        return jobsExpired.get();
+    }
+
+    /**
+     * Submissions turned away because the queue was full
+     */
+    public long getJobsRejected() {
+        return jobsRejected.get();
+    }
+
+    /**
+     * Start queued jobs while there is capacity
+     */
+    private void dispatch() {
+        List<Job> expired = new ArrayList<>();
+        List<Job> started = new ArrayList<>();
+        synchronized (this) {
+            long now = clock.millis();
+            while (running < concurrency && !queue.isEmpty()) {
+                Job job = queue.poll();
+                if (job.deadlineMillis <= now) {
+                    job.complete(MidpointJob.EXPIRED, null, "Deadline passed before the job could start", now);
+                    jobsExpired.incrementAndGet();
+                    expired.add(job);
+                    continue;
+                }
+                running++;
+                job.status = MidpointJob.RUNNING;
+                job.startedMillis = now;
+                started.add(job);
+            }
+        }
+        for (Job job : expired) {
+            LOGGER.warn("⏰ [JOBS] Job {} expired in the queue", job.id);
+            job.publish();
+        }
+        for (Job job : started) {
+            job.publish();
+            run(job);
+        }
+    }
+
+    private void run(Job job) {
+        LOGGER.info("🚀 [JOBS] Starting job {} after {} ms in the queue", job.id, job.startedMillis - job.submittedMillis);
+        // Deferred so a synchronous failure (e.g. a departure that passed while queued) fails the job
+        // and frees its slot instead of throwing into the caller
+        Disposable subscription = Mono.defer(() -> midpointService.findMidpointAndPlaces(job.request))
+                .subscribe(
+                        response -> finish(job, MidpointJob.SUCCEEDED, response, null),
+                        error -> finish(job, MidpointJob.FAILED, null,
+                                error.getMessage() != null ? error.getMessage() : error.getClass().getSimpleName()),
+                        () -> finish(job, MidpointJob.FAILED, null, "No result"));
+        synchronized (this) {
+            if (job.finished()) {
+                // Cancelled before the subscription was recorded
+                subscription.dispose();
+            } else {
+                job.subscription = subscription;
+            }
+        }
+    }
+
+    private void finish(Job job, String status, MidpointResponse response, String error) {
+        synchronized (this) {
+            if (job.finished()) {
+                return;
+            }
+            running--;
+            job.complete(status, response, error, clock.millis());
+        }
+        jobsCompleted.incrementAndGet();
+        LOGGER.info("✅ [JOBS] Job {} {} in {} ms", job.id, status, job.completedMillis - job.startedMillis);
+        job.publish();
+        dispatch();
+    }
+
+    private Job lookup(String jobId) {
+        maybeSweep(clock.millis());
+        Job job = jobs.get(jobId);
+        if (job == null) {
+            throw new NoSuchElementException("Unknown midpoint job: " + jobId);
+        }
+        return job;
+    }
+
+    private MidpointJob status(Job job) {
+        MidpointJob status;
+        synchronized (this) {
+            status = new MidpointJob(job.id, job.status);
+            if (MidpointJob.QUEUED.equals(job.status)) {
+                int ahead = 0;
+                for (Job other : queue) {
+                    if (LATEST_START_FIRST.compare(other, job) < 0) {
+                        ahead++;
+                    }
+                }
+                status.setQueuePosition(ahead);
+            }
+        }
+        status.setGroupSize(job.request.getCoords().size());
+        status.setSubmittedAt(Instant.ofEpochMilli(job.submittedMillis));
+        status.setDeadline(Instant.ofEpochMilli(job.deadlineMillis));
+        status.setStartedAt(job.startedMillis > 0 ? Instant.ofEpochMilli(job.startedMillis) : null);
+        status.setCompletedAt(job.completedMillis > 0 ? Instant.ofEpochMilli(job.completedMillis) : null);
+        status.setResponse(job.response);
+        status.setError(job.error);
+        return status;
+    }
+
+    private void maybeSweep(long now) {
+        long last = lastSweepMillis.get();
+        if (now - last >= SWEEP_INTERVAL_MILLIS && lastSweepMillis.compareAndSet(last, now)) {
+            long cutoff = now - resultTtlSeconds * 1000;
+            jobs.values().removeIf(job -> job.finished() && job.completedMillis < cutoff);
+        }
+    }
+
+    private static final class Job {
+        private final String id;
+        private final MidpointJobRequest request;
+        private final long submittedMillis;
+        private final long deadlineMillis;
+        private final long latestStartMillis;
+        private final long sequence;
+        private final Sinks.Many<MidpointJob> updates = Sinks.many().replay().latest();
+        // Written under the service monitor
+        private volatile String status = MidpointJob.QUEUED;
+        private volatile long startedMillis;
+        private volatile long completedMillis;
+        private volatile MidpointResponse response;
+        private volatile String error;
+        private Disposable subscription;
+        private final MidpointJobService service;
+
+        private Job(MidpointJobService service, String id, MidpointJobRequest request, long submittedMillis, long deadlineMillis,
+                    long latestStartMillis, long sequence) {
+            this.service = service;
+            this.id = id;
+            this.request = request;
+            this.submittedMillis = submittedMillis;
+            this.deadlineMillis = deadlineMillis;
+            this.latestStartMillis = latestStartMillis;
+            this.sequence = sequence;
+        }
+
+        private boolean finished() {
+            return completedMillis > 0;
+        }
+
+        private void complete(String status, MidpointResponse response, String error, long now) {
+            this.response = response;
+            this.error = error;
+            this.completedMillis = now;
+            this.status = status;
+        }
+
+        /**
+         * Emit the current status; serialised so subscribers never see an older status after a newer one
+         */
+        private void publish() {
+            synchronized (updates) {
+                MidpointJob snapshot = service.status(this);
+                updates.tryEmitNext(snapshot);
+                if (snapshot.isFinished()) {
+                    updates.tryEmitComplete();
+                }
+            }
+        }
+    }
+}
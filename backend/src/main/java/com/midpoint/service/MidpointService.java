@@ -6,18 +6,28 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.midpoint.dto.*;
 import com.midpoint.exception.PlacesApiException;
 import com.midpoint.exception.PlacesResponseParsingException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Instant;
+import java.time.OffsetDateTime;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
-public class MidpointService {
+public class MidpointService implements MidpointFinder, MeterBinder {
     
     private static final Logger LOGGER = LoggerFactory.getLogger(MidpointService.class);
     private static final String ORIGIN_LABEL = "    Origin ";
@@ -25,21 +35,251 @@ public class MidpointService {
     private static final String RESULTS_KEY = "results";
     private static final String DISTANCE_KEY = "distance";
     private static final String DURATION_KEY = "duration";
+    private static final String DURATION_IN_TRAFFIC_KEY = "duration_in_traffic";
+    private static final List<String> DEFAULT_PLACE_TYPES =
+            List.of("restaurant", "cafe", "park", "gas_station", "shopping_mall", "movie_theater");
+    static final int MATRIX_MAX_ORIGINS = 25;
+    static final int MATRIX_MAX_DESTINATIONS = 25;
+    static final int MATRIX_MAX_ELEMENTS = 100;
+    private static final int MATRIX_TILE_CONCURRENCY = 4;
+    private static final String DEFAULT_MODE = "driving";
+    private static final int DEPARTURE_BUCKET_MINUTES = 15;
+    // Fixed 5-mile search radius around the midpoint
+    static final int SEARCH_RADIUS_METERS = (int) (5 * 1609.34);
     
     private final WebClient webClient;
     private final ObjectMapper objectMapper;
+    private final PlaceIndex placeIndex;
+    private final PlaceRanker placeRanker;
+    private final LowerBoundPruner lowerBoundPruner;
+    private final OriginClusterer originClusterer;
+    private final UpstreamDeduplicator upstreamDeduplicator;
+    private final TravelTimeCache travelTimeCache;
+    private final Map<String, AdaptiveConcurrencyLimiter> upstreamLimiters = new ConcurrentHashMap<>();
+    private final AtomicLong matrixElementsRequested = new AtomicLong();
+    private final Map<String, AtomicLong> matrixElementsRequestedByMode = new ConcurrentHashMap<>();
+    private final AtomicLong matrixElementsPruned = new AtomicLong();
+    private final AtomicLong placeIndexHits = new AtomicLong();
+    private final AtomicLong placeIndexMisses = new AtomicLong();
+    // Replaced by Spring's registry when the service is bound
+    private volatile MeterRegistry meterRegistry = Metrics.globalRegistry;
     
     @Value("${google.maps.api.key}")
     private String apiKey;
+
+    // Google Maps host; overridable so load tests can point both pipelines at a local stub
+    @Value("${google.maps.api.base-url:https://maps.googleapis.com}")
+    private String apiBaseUrl = "https://maps.googleapis.com";
+
+    // Adaptive concurrency limit per upstream endpoint
+    @Value("${google.maps.api.concurrency.enabled:true}")
+    private boolean upstreamLimitsEnabled = true;
+
+    @Value("${google.maps.api.concurrency.initial-limit:20}")
+    private int upstreamInitialLimit = 20;
+
+    @Value("${google.maps.api.concurrency.max-limit:200}")
+    private int upstreamMaxLimit = 200;
+
+    @Value("${google.maps.api.concurrency.max-queue:500}")
+    private int upstreamMaxQueue = 500;
+
+    @Value("${midpoint.place-index.enabled:true}")
+    private boolean placeIndexEnabled = true;
+
+    @Value("${midpoint.place-index.coverage-ttl-seconds:1800}")
+    private long placeIndexCoverageTtlSeconds = 1800;
+
+    @Value("${midpoint.place-index.entry-ttl-seconds:86400}")
+    private long placeIndexEntryTtlSeconds = 86400;
+
+    @Value("${midpoint.ranking.objective:max_time}")
+    private String rankingObjective = RankingObjective.MAX_TIME.getValue();
+
+    @Value("${midpoint.ranking.top-k:20}")
+    private int rankingTopK = 20;
+
+    @Value("${midpoint.pruning.enabled:true}")
+    private boolean pruningEnabled = true;
+
+    @Value("${midpoint.pruning.exact-top:10}")
+    private int pruningExactTop = 10;
+
+    @Value("${midpoint.pruning.max-speed-mps:40}")
+    private double pruningMaxSpeedMps = 40;
+
+    @Value("${midpoint.origin-clustering.enabled:true}")
+    private boolean originClusteringEnabled = true;
+
+    @Value("${midpoint.origin-clustering.tolerance-meters:150}")
+    private double originClusteringToleranceMeters = 150;
+
+    @Value("${midpoint.travel-cache.enabled:true}")
+    private boolean travelCacheEnabled = true;
+
+    @Value("${midpoint.travel-cache.ttl-seconds:900}")
+    private long travelCacheTtlSeconds = 900;
+
+    @Value("${midpoint.travel-cache.departure-ttl-seconds:86400}")
+    private long travelCacheDepartureTtlSeconds = 86400;
+
+    @Value("${midpoint.travel-cache.max-entries-per-mode:200000}")
+    private int travelCacheMaxEntriesPerMode = 200000;
+
+    // Fraction of requests that log per-origin, per-place and per-element detail at DEBUG
+    @Value("${midpoint.logging.detail-sample-rate:0.01}")
+    private double detailSampleRate = 0.01;
     
-    private static final String PLACES_NEARBY_SEARCH_URL = "https://maps.googleapis.com/maps/api/place/nearbysearch/json";
-    private static final String GEOCODING_URL = "https://maps.googleapis.com/maps/api/geocode/json";
-    private static final String DISTANCE_MATRIX_URL = "https://maps.googleapis.com/maps/api/distancematrix/json";
-    private static final String PLACE_PHOTO_URL = "https://maps.googleapis.com/maps/api/place/photo";
+    private static final String PLACES_NEARBY_SEARCH_PATH = "/maps/api/place/nearbysearch/json";
+    private static final String GEOCODING_PATH = "/maps/api/geocode/json";
+    private static final String DISTANCE_MATRIX_PATH = "/maps/api/distancematrix/json";
+    private static final String PLACE_PHOTO_PATH = "/maps/api/place/photo";
+    private static final String GEOCODE_ENDPOINT = "geocode";
+    private static final String NEARBY_SEARCH_ENDPOINT = "nearbysearch";
+    private static final String DISTANCE_MATRIX_ENDPOINT = "distancematrix";
 
     public MidpointService() {
-        this.webClient = WebClient.builder().build();
+        this.webClient = WebClient.builder().filter(new UpstreamMetrics(() -> meterRegistry)).build();
         this.objectMapper = new ObjectMapper();
+        this.placeIndex = new PlaceIndex();
+        this.placeRanker = new PlaceRanker();
+        this.lowerBoundPruner = new LowerBoundPruner();
+        this.originClusterer = new OriginClusterer();
+        this.upstreamDeduplicator = new UpstreamDeduplicator();
+        this.travelTimeCache = new TravelTimeCache();
+    }
+
+    /**
+     * Registers the service's counters; request, stage and upstream timers are recorded into the
+     * same registry as they happen
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.meterRegistry = registry;
+        for (TravelMode travelMode : TravelMode.values()) {
+            String mode = travelMode.getValue();
+            FunctionCounter.builder("midpoint.matrix.elements.requested", this, service -> service.getMatrixElementsRequested(mode))
+                    .description("Distance Matrix elements requested from Google")
+                    .tag("mode", mode)
+                    .register(registry);
+            FunctionCounter.builder("midpoint.travel_cache.lookups", this, service -> service.getTravelCacheHits(mode))
+                    .description("Travel-time cache lookups per Distance Matrix element")
+                    .tags("mode", mode, "result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("midpoint.travel_cache.lookups", this, service -> service.getTravelCacheMisses(mode))
+                    .description("Travel-time cache lookups per Distance Matrix element")
+                    .tags("mode", mode, "result", "miss")
+                    .register(registry);
+        }
+        FunctionCounter.builder("midpoint.matrix.elements.pruned", this, MidpointService::getMatrixElementsPruned)
+                .description("Distance Matrix elements skipped by lower-bound pruning")
+                .register(registry);
+        FunctionCounter.builder("midpoint.place_index.lookups", placeIndexHits, AtomicLong::get)
+                .description("Candidate searches answered by the place index")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("midpoint.place_index.lookups", placeIndexMisses, AtomicLong::get)
+                .description("Candidate searches answered by the place index")
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("midpoint.upstream.deduplicated", this, MidpointService::getDeduplicatedUpstreamCalls)
+                .description("Upstream calls served by joining an identical in-flight request")
+                .register(registry);
+        for (String endpoint : List.of(GEOCODE_ENDPOINT, NEARBY_SEARCH_ENDPOINT, DISTANCE_MATRIX_ENDPOINT)) {
+            AdaptiveConcurrencyLimiter.bindTo(registry, endpoint, upstreamLimiters);
+        }
+    }
+
+    MeterRegistry getMeterRegistry() {
+        return meterRegistry;
+    }
+
+    /**
+     * Upstream calls served by joining an identical in-flight request since startup
+     */
+    public long getDeduplicatedUpstreamCalls() {
+        return upstreamDeduplicator.getDeduplicatedCount();
+    }
+
+    /**
+     * GET a Google Maps endpoint, sharing the response with any identical request already in flight
+     * (e.g. overlapping groups in a batch)
+     */
+    private Mono<String> fetch(String endpoint, String url) {
+        return upstreamDeduplicator.dedupe(url, limited(endpoint, webClient.get()
+                .uri(url)
+                .retrieve()
+                .bodyToMono(String.class)));
+    }
+
+    /**
+     * Run an upstream call within its endpoint's adaptive concurrency limit
+     */
+    private Mono<String> limited(String endpoint, Mono<String> call) {
+        if (!upstreamLimitsEnabled) {
+            return call;
+        }
+        return upstreamLimiters.computeIfAbsent(endpoint, name -> new AdaptiveConcurrencyLimiter(
+                name, upstreamInitialLimit, upstreamMaxLimit, upstreamMaxQueue)).run(call);
+    }
+
+    /**
+     * Current limit, in-flight and queued calls per upstream endpoint used so far
+     */
+    public List<UpstreamLimitStats> getUpstreamLimits() {
+        return upstreamLimiters.values().stream()
+                .map(AdaptiveConcurrencyLimiter::stats)
+                .sorted(Comparator.comparing(UpstreamLimitStats::getEndpoint))
+                .toList();
+    }
+
+    /**
+     * Distance Matrix elements requested since startup
+     */
+    public long getMatrixElementsRequested() {
+        return matrixElementsRequested.get();
+    }
+
+    /**
+     * Distance Matrix elements requested for one travel mode since startup
+     */
+    public long getMatrixElementsRequested(String mode) {
+        AtomicLong requested = matrixElementsRequestedByMode.get(mode);
+        return requested != null ? requested.get() : 0;
+    }
+
+    /**
+     * Distance Matrix elements answered from the travel-time cache for one travel mode since startup
+     */
+    public long getTravelCacheHits(String mode) {
+        return modeNamespaces(mode).mapToLong(travelTimeCache::getHits).sum();
+    }
+
+    public long getTravelCacheMisses(String mode) {
+        return modeNamespaces(mode).mapToLong(travelTimeCache::getMisses).sum();
+    }
+
+    private Stream<String> modeNamespaces(String mode) {
+        return travelTimeCache.namespaces().stream()
+                .filter(namespace -> namespace.equals(mode) || namespace.startsWith(mode + "@"));
+    }
+
+    boolean isPlaceIndexEnabled() {
+        return placeIndexEnabled;
+    }
+
+    /**
+     * Candidates evaluated per request, and the number of places a response keeps
+     */
+    int getRankingTopK() {
+        return rankingTopK;
+    }
+
+    /**
+     * Distance Matrix elements skipped by lower-bound pruning since startup
+     */
+    public long getMatrixElementsPruned() {
+        return matrixElementsPruned.get();
     }
 
     /**
@@ -50,6 +290,7 @@ public class MidpointService {
             throw new IllegalArgumentException("No coordinates provided");
         }
 
+        GeometryEvent event = GeometryEvent.started();
         double x = 0;
         double y = 0;
         double z = 0;
@@ -63,16 +304,9 @@ public class MidpointService {
             z += Math.sin(latRad);
         }
 
-        int total = coords.size();
-        x = x / total;
-        y = y / total;
-        z = z / total;
-
-        double lngRad = Math.atan2(y, x);
-        double hyp = Math.sqrt(x * x + y * y);
-        double latRad = Math.atan2(z, hyp);
-
-        return new Coordinates(Math.toDegrees(latRad), Math.toDegrees(lngRad));
+        Coordinates centroid = GeoMath.fromVectorSum(x, y, z, coords.size());
+        event.commit("centroid", coords.size());
+        return centroid;
     }
 
     /**
@@ -126,6 +360,7 @@ public class MidpointService {
         }
 
         // Determine the maximum pairwise distance between any two inputs (miles)
+        GeometryEvent event = GeometryEvent.started();
         double maxMiles = 0;
         for (int i = 0; i < coords.size(); i++) {
             for (int j = i + 1; j < coords.size(); j++) {
@@ -133,6 +368,7 @@ public class MidpointService {
                 if (d > maxMiles) maxMiles = d;
             }
         }
+        event.commit("dynamic_radius", coords.size());
 
         double radiusMiles = Math.max(maxMiles * 0.3, 2); // 30% of distance, min 2 miles
         double radiusMeters = radiusMiles * 1609.34;
@@ -147,6 +383,7 @@ public class MidpointService {
         if (coords.size() < 2) return midpoint;
 
         // Find the farthest pair (diameter)
+        GeometryEvent event = GeometryEvent.started();
         double maxMiles = -1;
         Coordinates farA = coords.get(0);
         Coordinates farB = coords.get(1);
@@ -161,7 +398,16 @@ public class MidpointService {
                 }
             }
         }
+        event.commit("farthest_pair", coords.size());
 
+        return correctMidpoint(midpoint, farA, farB, maxMiles);
+    }
+
+    /**
+     * Validation step of {@link #validateAndCorrectMidpoint} given the farthest pair, for callers
+     * that already track it
+     */
+    Coordinates correctMidpoint(Coordinates midpoint, Coordinates farA, Coordinates farB, double maxMiles) {
         // Midpoint should be within half the farthest distance from each of the farthest endpoints
         double tolMiles = 0.25; // small tolerance
         double half = maxMiles / 2 + tolMiles;
@@ -180,79 +426,129 @@ public class MidpointService {
      * Reverse geocode coordinates to get address
      */
     public Mono<String> reverseGeocode(Coordinates coordinates) {
-        String url = String.format("%s?latlng=%s,%s&key=%s",
-                GEOCODING_URL, coordinates.getLat(), coordinates.getLng(), apiKey);
+        return fetch(GEOCODE_ENDPOINT, geocodeUrl(coordinates))
+                .map(response -> parseAddress(response, coordinates))
+                .onErrorReturn(fallbackAddress(coordinates));
+    }
 
-        return webClient.get()
-                .uri(url)
-                .retrieve()
-                .bodyToMono(String.class)
-                .map(response -> {
-                    try {
-                        JsonNode root = objectMapper.readTree(response);
-                        if ("OK".equals(root.get(STATUS_KEY).asText()) && 
-                            root.has(RESULTS_KEY) && root.get(RESULTS_KEY).isArray() && 
-                            root.get(RESULTS_KEY).size() > 0) {
-                            return root.get(RESULTS_KEY).get(0).get("formatted_address").asText();
-                        }
-                    } catch (JsonProcessingException e) {
-                        LOGGER.error("Error parsing reverse geocoding response", e);
-                    }
-                    return String.format("%.4f°, %.4f°", coordinates.getLat(), coordinates.getLng());
-                })
-                .onErrorReturn(String.format("%.4f°, %.4f°", coordinates.getLat(), coordinates.getLng()));
+    String geocodeUrl(Coordinates coordinates) {
+        return String.format("%s%s?latlng=%s,%s&key=%s",
+                apiBaseUrl, GEOCODING_PATH, coordinates.getLat(), coordinates.getLng(), apiKey);
+    }
+
+    /**
+     * First formatted address of a geocoding response, or the coordinates themselves
+     */
+    String parseAddress(String response, Coordinates coordinates) {
+        try {
+            JsonNode root = JsonParseEvent.readTree(objectMapper, GEOCODE_ENDPOINT, response);
+            if ("OK".equals(root.get(STATUS_KEY).asText()) && 
+                root.has(RESULTS_KEY) && root.get(RESULTS_KEY).isArray() && 
+                root.get(RESULTS_KEY).size() > 0) {
+                return root.get(RESULTS_KEY).get(0).get("formatted_address").asText();
+            }
+        } catch (JsonProcessingException e) {
+            LOGGER.error("Error parsing reverse geocoding response", e);
+        }
+        return fallbackAddress(coordinates);
+    }
+
+    static String fallbackAddress(Coordinates coordinates) {
+        return String.format("%.4f°, %.4f°", coordinates.getLat(), coordinates.getLng());
     }
 
     /**
      * Get photo URL from Google Places API
      */
     public String getPhotoUrl(String photoReference, int maxWidth) {
-        return String.format("%s?maxwidth=%d&photo_reference=%s&key=%s",
-                PLACE_PHOTO_URL, maxWidth, photoReference, apiKey);
+        return String.format("%s%s?maxwidth=%d&photo_reference=%s&key=%s",
+                apiBaseUrl, PLACE_PHOTO_PATH, maxWidth, photoReference, apiKey);
     }
 
     /**
      * Search for places near coordinates
      */
     public Mono<List<Place>> searchPlaces(Coordinates coordinates, List<String> types, int radiusMeters) {
-        String typeFilter = types.isEmpty() ? 
-            "restaurant|cafe|park|gas_station|shopping_mall|movie_theater" : 
-            String.join("|", types);
+        return fetch(NEARBY_SEARCH_ENDPOINT, searchUrl(coordinates, types, radiusMeters))
+                .map(response -> parseSearchResponse(response, coordinates, types, radiusMeters))
+                .onErrorReturn(new ArrayList<>());
+    }
 
-        String url = String.format("%s?location=%s,%s&radius=%d&type=%s&key=%s",
-                PLACES_NEARBY_SEARCH_URL, coordinates.getLat(), coordinates.getLng(), 
-                radiusMeters, typeFilter, apiKey);
+    String searchUrl(Coordinates coordinates, List<String> types, int radiusMeters) {
+        return String.format("%s%s?location=%s,%s&radius=%d&type=%s&key=%s",
+                apiBaseUrl, PLACES_NEARBY_SEARCH_PATH, coordinates.getLat(), coordinates.getLng(), 
+                radiusMeters, String.join("|", resolvePlaceTypes(types)), apiKey);
+    }
 
-        return webClient.get()
-                .uri(url)
-                .retrieve()
-                .bodyToMono(String.class)
-                .map(response -> {
-                    try {
-                        JsonNode root = objectMapper.readTree(response);
-                        if (!"OK".equals(root.get(STATUS_KEY).asText())) {
-                            throw new PlacesApiException(root.get(STATUS_KEY).asText());
-                        }
+    /**
+     * Places of a Nearby Search response sorted by distance, recorded in the place index
+     */
+    List<Place> parseSearchResponse(String response, Coordinates coordinates, List<String> types, int radiusMeters) {
+        try {
+            JsonNode root = JsonParseEvent.readTree(objectMapper, NEARBY_SEARCH_ENDPOINT, response);
+            if (!"OK".equals(root.get(STATUS_KEY).asText())) {
+                throw new PlacesApiException(root.get(STATUS_KEY).asText());
+            }
 
-                        List<Place> places = new ArrayList<>();
-                        JsonNode results = root.get(RESULTS_KEY);
-                        if (results != null && results.isArray()) {
-                            for (JsonNode placeNode : results) {
-                                Place place = parsePlaceFromNode(placeNode, coordinates);
-                                places.add(place);
-                            }
-                        }
+            List<Place> places = new ArrayList<>();
+            JsonNode results = root.get(RESULTS_KEY);
+            if (results != null && results.isArray()) {
+                for (JsonNode placeNode : results) {
+                    Place place = parsePlaceFromNode(placeNode, coordinates);
+                    places.add(place);
+                }
+            }
 
-                        // Sort by distance
-                        places.sort(Comparator.comparing(Place::getDistance));
-                        return places;
-                    } catch (JsonProcessingException e) {
-                        throw new PlacesResponseParsingException("Error parsing places response", e);
-                    } catch (PlacesApiException e) {
-                        throw e;
-                    }
-                })
-                .onErrorReturn(new ArrayList<>());
+            // Sort by distance
+            places.sort(Comparator.comparing(Place::getDistance));
+            if (placeIndexEnabled) {
+                placeIndex.record(places, coordinates, radiusMeters, PlaceIndex.coverageKey(resolvePlaceTypes(types)));
+            }
+            return places;
+        } catch (JsonProcessingException e) {
+            throw new PlacesResponseParsingException("Error parsing places response", e);
+        }
+    }
+
+    /**
+     * Candidate places around the midpoint: served from the place index when its coverage of the
+     * search circle is fresh, otherwise from Nearby Search
+     */
+    public Mono<List<Place>> findCandidatePlaces(Coordinates coordinates, List<String> types, int radiusMeters) {
+        return Mono.deferContextual(context -> {
+            List<Place> indexed = indexedCandidates(coordinates, types, radiusMeters);
+            if (placeIndexEnabled) {
+                RequestLog.from(context).set("place_index", indexed != null ? "hit" : "miss");
+            }
+            return indexed != null ? Mono.just(indexed) : searchPlaces(coordinates, types, radiusMeters);
+        });
+    }
+
+    /**
+     * Places from the place index when its coverage of the search circle is fresh, otherwise null
+     */
+    List<Place> indexedCandidates(Coordinates coordinates, List<String> types, int radiusMeters) {
+        List<String> searchTypes = resolvePlaceTypes(types);
+        if (!placeIndexEnabled) {
+            return null;
+        }
+        if (!placeIndex.isCovered(coordinates, radiusMeters,
+                PlaceIndex.coverageKey(searchTypes), placeIndexCoverageTtlSeconds * 1000)) {
+            placeIndexMisses.incrementAndGet();
+            return null;
+        }
+        placeIndexHits.incrementAndGet();
+        List<Place> places = placeIndex.findWithin(coordinates, radiusMeters, searchTypes,
+                placeIndexEntryTtlSeconds * 1000);
+        LOGGER.debug("  🗂️  Served {} places from the place index ({} indexed)", places.size(), placeIndex.size());
+        return places;
+    }
+
+    /**
+     * Place types to search for; the default activity mix when no filters are given
+     */
+    private List<String> resolvePlaceTypes(List<String> types) {
+        return types == null || types.isEmpty() ? DEFAULT_PLACE_TYPES : types;
     }
 
     /**
@@ -341,108 +637,486 @@ public class MidpointService {
             return Mono.just(places);
         }
 
-        LOGGER.info("🔍 [ISOCHRONE] Computing travel summaries");
-        LOGGER.info("  📍 Origins: {}", origins.size());
-        for (int i = 0; i < origins.size(); i++) {
-            Coordinates origin = origins.get(i);
-            LOGGER.info("{}{}: ({}, {})", ORIGIN_LABEL, i, origin.getLat(), origin.getLng());
+        return travelSummaryTiles(origins, places, mode)
+                .then(Mono.fromCallable(() -> {
+                    LOGGER.debug("✅ [ISOCHRONE] Travel summaries computed for {} places", places.size());
+                    return places;
+                }));
+    }
+
+    /**
+     * Split origins × places into Distance Matrix requests within the per-request limits
+     * (25 origins, 25 destinations, 100 elements) and emit each destination tile as soon as all of
+     * its origin rows are in. Tiles run with bounded concurrency; a failed request or missing row
+     * only leaves the affected summaries without a duration. Duplicate and nearby origins are
+     * collapsed first, and each cluster's row is fanned back out to every member's origin index.
+     */
+    public Flux<List<Place>> travelSummaryTiles(List<Coordinates> origins, List<Place> places, String mode) {
+        return travelSummaryTiles(origins, places, mode, null);
+    }
+
+    /**
+     * {@link #travelSummaryTiles(List, List, String)} for a planned departure; null departs now
+     */
+    public Flux<List<Place>> travelSummaryTiles(List<Coordinates> origins, List<Place> places, String mode,
+                                                OffsetDateTime departureTime) {
+        if (places.isEmpty() || origins.isEmpty()) {
+            return Flux.empty();
         }
-        LOGGER.info("  🎯 Destinations: {}", places.size());
-        for (int i = 0; i < Math.min(places.size(), 5); i++) {
-            Place place = places.get(i);
-            LOGGER.info("    Place {}: {} at ({}, {})",
-                    i,
-                    place.getName(),
-                    place.getCoordinates().getLat(),
-                    place.getCoordinates().getLng());
+        return Flux.deferContextual(context ->
+                travelSummaryTiles(origins, places, mode, departureTime, RequestLog.from(context)));
+    }
+
+    private Flux<List<Place>> travelSummaryTiles(List<Coordinates> origins, List<Place> places, String mode,
+                                                 OffsetDateTime departureTime, RequestLog log) {
+        String namespace = travelCacheNamespace(mode, departureTime);
+        if (log.isSampled() && LOGGER.isDebugEnabled()) {
+            LOGGER.debug("🔍 [ISOCHRONE] Computing travel summaries: {} origins, {} places, mode {}, departure {} (cache bucket {})",
+                    origins.size(), places.size(), mode, departureTime != null ? departureTime : "now", namespace);
+            for (int i = 0; i < origins.size(); i++) {
+                Coordinates origin = origins.get(i);
+                LOGGER.debug("{}{}: ({}, {})", ORIGIN_LABEL, i, origin.getLat(), origin.getLng());
+            }
+            for (int i = 0; i < places.size(); i++) {
+                Place place = places.get(i);
+                LOGGER.debug("    Place {}: {} at ({}, {})",
+                        i,
+                        place.getName(),
+                        place.getCoordinates().getLat(),
+                        place.getCoordinates().getLng());
+            }
         }
-        if (places.size() > 5) {
-            LOGGER.info("    ... and {} more places", places.size() - 5);
+
+        OriginClusterer.Clustering clustering = clusterOrigins(origins, log);
+        List<Coordinates> representatives = clustering.getRepresentatives();
+        Place.TravelSummary[][] cached = cachedGrid(representatives, places, namespace);
+        if (travelCacheEnabled) {
+            long hits = Arrays.stream(cached).flatMap(Arrays::stream).filter(Objects::nonNull).count();
+            log.count("travel_cache_hits", hits);
+            log.count("travel_cache_misses", (long) places.size() * representatives.size() - hits);
         }
-        LOGGER.info("  🚗 Mode: {}", mode);
 
-        // Build request parameters
-        String originsParam = origins.stream()
-                .map(coord -> coord.getLat() + "," + coord.getLng())
-                .collect(Collectors.joining("|"));
-        
-        String destinationsParam = places.stream()
-                .map(place -> place.getCoordinates().getLat() + "," + place.getCoordinates().getLng())
-                .collect(Collectors.joining("|"));
+        // Only origins with a missing element go upstream, and only to places missing one of them
+        List<Integer> fetchColumns = new ArrayList<>();
+        for (int j = 0; j < representatives.size(); j++) {
+            for (Place.TravelSummary[] row : cached) {
+                if (row[j] == null) {
+                    fetchColumns.add(j);
+                    break;
+                }
+            }
+        }
+        List<Place> fromCache = new ArrayList<>();
+        List<Place.TravelSummary[]> fromCacheRows = new ArrayList<>();
+        List<Place> toFetch = new ArrayList<>();
+        List<Place.TravelSummary[]> toFetchRows = new ArrayList<>();
+        for (int i = 0; i < places.size(); i++) {
+            boolean complete = Arrays.stream(cached[i]).noneMatch(Objects::isNull);
+            (complete ? fromCache : toFetch).add(places.get(i));
+            (complete ? fromCacheRows : toFetchRows).add(cached[i]);
+        }
+        log.count("cached_places", fromCache.size());
+
+        Flux<List<Place>> cachedTile = fromCache.isEmpty() ? Flux.empty() : Mono.fromCallable(() ->
+                applyTravelGrid(fromCache, fromCacheRows.toArray(Place.TravelSummary[][]::new), clustering, mode)).flux();
+        if (toFetch.isEmpty()) {
+            return cachedTile;
+        }
 
-        String url = String.format("%s?origins=%s&destinations=%s&mode=%s&key=%s",
-                DISTANCE_MATRIX_URL, originsParam, destinationsParam, mode, apiKey);
+        int destinationsPerTile = Math.max(1, Math.min(MATRIX_MAX_DESTINATIONS,
+                MATRIX_MAX_ELEMENTS / Math.min(fetchColumns.size(), MATRIX_MAX_ORIGINS)));
+        int originsPerRequest = Math.min(MATRIX_MAX_ORIGINS, MATRIX_MAX_ELEMENTS / destinationsPerTile);
 
-        if (LOGGER.isInfoEnabled()) {
-            LOGGER.info("  🔗 Distance Matrix API URL: {}", url.replace(apiKey, "***"));
+        List<Integer> tileStarts = new ArrayList<>();
+        for (int from = 0; from < toFetch.size(); from += destinationsPerTile) {
+            tileStarts.add(from);
         }
+        log.count("tiles", tileStarts.size());
+        LOGGER.debug("  🧩 {} matrix tile(s) of up to {} destinations × {} origins per request",
+                tileStarts.size(), destinationsPerTile, originsPerRequest);
 
-        return webClient.get()
-                .uri(url)
-                .retrieve()
-                .bodyToMono(String.class)
-                .map(response -> {
-                    try {
-                        JsonNode root = objectMapper.readTree(response);
-                        String apiStatus = root.has(STATUS_KEY) ? root.get(STATUS_KEY).asText() : "UNKNOWN";
-                        LOGGER.info("  📊 API Response Status: {}", apiStatus);
-                        
-                        if (!"OK".equals(apiStatus) || !root.has("rows")) {
-                            LOGGER.error("  ❌ [ISOCHRONE] API error or no rows - status: {}", apiStatus);
-                            return places;
-                        }
+        return Flux.concat(cachedTile, Flux.fromIterable(tileStarts)
+                .flatMap(from -> {
+                    int to = Math.min(toFetch.size(), from + destinationsPerTile);
+                    return computeTile(clustering, fetchColumns, toFetch.subList(from, to),
+                            toFetchRows.subList(from, to), mode, departureTime, originsPerRequest, log);
+                }, MATRIX_TILE_CONCURRENCY));
+    }
 
-                        List<Place> enhanced = new ArrayList<>();
-                        JsonNode rows = root.get("rows");
+    /**
+     * Travel summaries in different modes for one group: origins are grouped by mode, each mode's
+     * matrix is fetched in parallel, and the rows are merged back at the origins' indexes.
+     * Everyone driving (or any single mode) takes the plain {@link #travelSummaryTiles} path.
+     */
+    Flux<List<Place>> travelSummaryTiles(List<Coordinates> origins, List<String> modes, List<Place> places) {
+        return travelSummaryTiles(origins, modes, places, null);
+    }
 
-                        LOGGER.info("  ✅ Processing {} origin rows and {} destinations", rows.size(), places.size());
+    Flux<List<Place>> travelSummaryTiles(List<Coordinates> origins, List<String> modes, List<Place> places,
+                                         OffsetDateTime departureTime) {
+        Map<String, List<Integer>> originsByMode = new LinkedHashMap<>();
+        for (int j = 0; j < origins.size(); j++) {
+            originsByMode.computeIfAbsent(modes.get(j), mode -> new ArrayList<>()).add(j);
+        }
+        if (originsByMode.size() <= 1) {
+            return travelSummaryTiles(origins, places, modes.isEmpty() ? DEFAULT_MODE : modes.get(0), departureTime);
+        }
+        if (places.isEmpty()) {
+            return Flux.empty();
+        }
+        LOGGER.debug("  🚦 {} travel modes: {}", originsByMode.size(), originsByMode.keySet());
 
+        Place.TravelSummary[][] merged = new Place.TravelSummary[places.size()][origins.size()];
+        return Flux.fromIterable(originsByMode.entrySet())
+                .flatMap(entry -> {
+                    List<Integer> indexes = entry.getValue();
+                    List<Coordinates> modeOrigins = indexes.stream().map(origins::get).toList();
+                    List<Place> copies = places.stream().map(this::withoutTravelData).toList();
+                    return travelSummaryTiles(modeOrigins, copies, entry.getKey(), departureTime)
+                            .then(Mono.fromRunnable(() -> {
+                                for (int i = 0; i < copies.size(); i++) {
+                                    List<Place.TravelSummary> summaries = copies.get(i).getTravelSummaries();
+                                    for (int k = 0; summaries != null && k < summaries.size(); k++) {
+                                        Place.TravelSummary summary = summaries.get(k);
+                                        summary.setOriginIndex(indexes.get(k));
+                                        synchronized (merged) {
+                                            merged[i][indexes.get(k)] = summary;
+                                        }
+                                    }
+                                }
+                            }));
+                }, originsByMode.size())
+                .then(Mono.fromCallable(() -> {
+                    synchronized (merged) {
                         for (int i = 0; i < places.size(); i++) {
-                            Place place = places.get(i);
-                            List<Place.TravelSummary> travelSummaries = processPlaceTravelSummaries(
-                                    place, origins, rows, i, mode);
-                            place.setTravelSummaries(travelSummaries);
-                            enhanced.add(place);
+                            if (Arrays.stream(merged[i]).allMatch(Objects::isNull)) {
+                                continue;
+                            }
+                            List<Place.TravelSummary> summaries = new ArrayList<>(origins.size());
+                            for (int j = 0; j < origins.size(); j++) {
+                                summaries.add(merged[i][j] != null ? merged[i][j]
+                                        : new Place.TravelSummary(j, null, null, null, null, modes.get(j)));
+                            }
+                            places.get(i).setTravelSummaries(summaries);
                         }
-
-                        LOGGER.info("✅ [ISOCHRONE] Travel summaries computed for {} places", enhanced.size());
-                        return enhanced;
-                    } catch (JsonProcessingException e) {
-                        LOGGER.error("❌ [ISOCHRONE] Error parsing distance matrix response", e);
-                        return places;
                     }
+                    return places;
+                }))
+                .flux();
+    }
+
+    /**
+     * Reject a request whose travel options cannot be evaluated, with the same
+     * IllegalArgumentException {@link #findMidpointAndPlaces} would signal; lets callers answer 400
+     * or refuse to queue it before any work starts
+     */
+    public static void validate(MidpointRequest request) {
+        resolveModes(request);
+        resolveDeparture(request);
+    }
+
+    /**
+     * Per-origin Distance Matrix modes of a request, aligned with its coordinates
+     */
+    static List<String> resolveModes(MidpointRequest request) {
+        int size = request.getCoords() != null ? request.getCoords().size() : 0;
+        List<TravelMode> requested = request.getModes() != null ? request.getModes() : List.of();
+        if (requested.size() > size) {
+            throw new IllegalArgumentException("Got " + requested.size() + " travel modes for " + size + " coordinates");
+        }
+        List<String> modes = new ArrayList<>(size);
+        for (int j = 0; j < size; j++) {
+            TravelMode mode = j < requested.size() ? requested.get(j) : null;
+            modes.add(mode != null ? mode.getValue() : DEFAULT_MODE);
+        }
+        return modes;
+    }
+
+    /**
+     * Planned departure of a request, null to depart now; Google rejects departures in the past
+     */
+    static OffsetDateTime resolveDeparture(MidpointRequest request) {
+        OffsetDateTime departureTime = request.getDepartureTime();
+        if (departureTime != null && departureTime.toInstant().isBefore(Instant.now().minusSeconds(60))) {
+            throw new IllegalArgumentException("departure_time " + departureTime + " is in the past");
+        }
+        return departureTime;
+    }
+
+    /**
+     * Travel-time cache namespace: the mode alone for departures now, otherwise the mode plus the
+     * weekday class and 15-minute bucket of the departure's local time (e.g. driving@weekday-08:15),
+     * so a Tuesday 08:20 query is answered by Monday's 08:25 one. Walking and bicycling times do not
+     * depend on the departure and keep the plain mode namespace.
+     */
+    static String travelCacheNamespace(String mode, OffsetDateTime departureTime) {
+        if (departureTime == null || "walking".equals(mode) || "bicycling".equals(mode)) {
+            return mode;
+        }
+        String weekdayClass = switch (departureTime.getDayOfWeek()) {
+            case SATURDAY -> "saturday";
+            case SUNDAY -> "sunday";
+            default -> "weekday";
+        };
+        int bucketMinute = departureTime.getMinute() / DEPARTURE_BUCKET_MINUTES * DEPARTURE_BUCKET_MINUTES;
+        return String.format("%s@%s-%02d:%02d", mode, weekdayClass, departureTime.getHour(), bucketMinute);
+    }
+
+    /**
+     * [place][representative] grid of cached elements, null where the cache has none
+     */
+    private Place.TravelSummary[][] cachedGrid(List<Coordinates> representatives, List<Place> places, String namespace) {
+        Place.TravelSummary[][] grid = new Place.TravelSummary[places.size()][representatives.size()];
+        if (!travelCacheEnabled) {
+            return grid;
+        }
+        long maxAgeMillis = travelCacheTtlMillis(namespace);
+        for (int i = 0; i < places.size(); i++) {
+            Coordinates destination = places.get(i).getCoordinates();
+            for (int j = 0; j < representatives.size(); j++) {
+                grid[i][j] = travelTimeCache.get(namespace, representatives.get(j), destination, maxAgeMillis);
+            }
+        }
+        return grid;
+    }
+
+    private void cacheElement(String namespace, Coordinates origin, Coordinates destination, Place.TravelSummary summary) {
+        if (travelCacheEnabled) {
+            travelTimeCache.put(namespace, origin, destination, summary, travelCacheTtlMillis(namespace),
+                    travelCacheMaxEntriesPerMode);
+        }
+    }
+
+    /**
+     * Departure buckets hold typical-traffic predictions, which stay valid far longer than "now" times
+     */
+    private long travelCacheTtlMillis(String namespace) {
+        return (namespace.contains("@") ? travelCacheDepartureTtlSeconds : travelCacheTtlSeconds) * 1000;
+    }
+
+    /**
+     * Collapse origins within the configured tolerance and report the positional error introduced
+     */
+    private OriginClusterer.Clustering clusterOrigins(List<Coordinates> origins, RequestLog log) {
+        // A negative tolerance keeps every origin, including exact duplicates
+        double tolerance = originClusteringEnabled ? originClusteringToleranceMeters : -1;
+        OriginClusterer.Clustering clustering = originClusterer.cluster(origins, tolerance);
+        if (clustering.getCollapsedCount() > 0) {
+            log.count("collapsed_origins", clustering.getCollapsedCount());
+            LOGGER.debug("  🧲 Collapsed {} origins into {} representatives (max offset {} m, mean offset {} m)",
+                    origins.size(),
+                    clustering.getRepresentatives().size(),
+                    Math.round(clustering.getMaxOffsetMeters()),
+                    Math.round(clustering.getMeanOffsetMeters() * 10) / 10.0);
+        }
+        return clustering;
+    }
+
+    /**
+     * Fill one destination tile from as many origin-chunk requests as the element limit requires;
+     * {@code columns} are the representatives still missing an element, the rest come from the cache
+     */
+    private Mono<List<Place>> computeTile(OriginClusterer.Clustering clustering, List<Integer> columns, List<Place> tile,
+                                          List<Place.TravelSummary[]> cachedRows, String mode,
+                                          OffsetDateTime departureTime, int originsPerRequest, RequestLog log) {
+        List<Coordinates> representatives = clustering.getRepresentatives();
+        Place.TravelSummary[][] grid = new Place.TravelSummary[tile.size()][];
+        for (int i = 0; i < tile.size(); i++) {
+            grid[i] = cachedRows.get(i).clone();
+        }
+        String destinationsParam = destinationsParam(tile);
+        int chunks = (columns.size() + originsPerRequest - 1) / originsPerRequest;
+
+        return Flux.range(0, chunks)
+                .concatMap(chunk -> {
+                    int offset = chunk * originsPerRequest;
+                    List<Integer> chunkColumns = columns.subList(offset, Math.min(columns.size(), offset + originsPerRequest));
+                    List<Coordinates> originChunk = chunkColumns.stream().map(representatives::get).toList();
+                    return fetchMatrixRows(originChunk, destinationsParam, tile.size(), mode, departureTime, log)
+                            .doOnNext(rows -> fillTravelGrid(grid, rows, clustering, chunkColumns, tile, mode,
+                                    travelCacheNamespace(mode, departureTime), log));
                 })
-                .onErrorReturn(places)
-                .doOnError(error -> LOGGER.error("❌ [ISOCHRONE] Error calling Distance Matrix API", error));
+                .then(Mono.fromCallable(() -> applyTravelGrid(tile, grid, clustering, mode)));
     }
 
     /**
-     * Process travel summaries for a single place across all origins
+     * One origin's Distance Matrix row to every place, aligned with {@code places} (null where the
+     * API returned nothing), fetched in requests of up to 25 destinations
      */
-    private List<Place.TravelSummary> processPlaceTravelSummaries(
-            Place place, List<Coordinates> origins, JsonNode rows, int placeIndex, String mode) {
-        List<Place.TravelSummary> travelSummaries = new ArrayList<>();
-        LOGGER.info("  📍 Place: {}", place.getName());
-        
-        for (int j = 0; j < origins.size(); j++) {
-            JsonNode row = rows.get(j);
-            JsonNode elements = row.get("elements");
-            JsonNode element = elements.get(placeIndex);
-            
-            Place.TravelSummary summary = parseTravelSummaryFromElement(element, j, mode);
-            travelSummaries.add(summary);
+    Mono<List<Place.TravelSummary>> travelRow(Coordinates origin, int originIndex, List<Place> places, String mode) {
+        Place.TravelSummary[] row = new Place.TravelSummary[places.size()];
+        Place.TravelSummary[][] cached = cachedGrid(List.of(origin), places, mode);
+        List<Integer> missing = new ArrayList<>();
+        for (int i = 0; i < places.size(); i++) {
+            Place.TravelSummary summary = cached[i][0];
+            if (summary != null) {
+                row[i] = new Place.TravelSummary(originIndex, summary.getDistanceMeters(), summary.getDurationSeconds(),
+                        summary.getDistanceText(), summary.getDurationText(), mode);
+            } else {
+                missing.add(i);
+            }
+        }
+        int tiles = (missing.size() + MATRIX_MAX_DESTINATIONS - 1) / MATRIX_MAX_DESTINATIONS;
+        LOGGER.debug("🔍 [ISOCHRONE] Refreshing origin {} row for {} places ({} cached)",
+                originIndex, places.size(), places.size() - missing.size());
+
+        return Flux.range(0, tiles)
+                .flatMap(tile -> {
+                    List<Integer> indexes = missing.subList(tile * MATRIX_MAX_DESTINATIONS,
+                            Math.min(missing.size(), (tile + 1) * MATRIX_MAX_DESTINATIONS));
+                    List<Place> destinations = indexes.stream().map(places::get).toList();
+                    return fetchMatrixRows(List.of(origin), destinationsParam(destinations), destinations.size(), mode, null,
+                            RequestLog.UNTRACKED)
+                            .doOnNext(rows -> {
+                                JsonNode elements = rows.size() > 0 ? rows.get(0).get("elements") : null;
+                                if (elements == null) {
+                                    return;
+                                }
+                                for (int i = 0; i < Math.min(destinations.size(), elements.size()); i++) {
+                                    Place.TravelSummary summary = parseTravelSummaryFromElement(elements.get(i), originIndex, mode);
+                                    cacheElement(mode, origin, destinations.get(i).getCoordinates(), summary);
+                                    row[indexes.get(i)] = summary;
+                                }
+                            });
+                }, MATRIX_TILE_CONCURRENCY)
+                .then(Mono.fromCallable(() -> Arrays.asList(row)));
+    }
+
+    static String destinationsParam(List<Place> places) {
+        return places.stream()
+                .map(place -> place.getCoordinates().getLat() + "," + place.getCoordinates().getLng())
+                .collect(Collectors.joining("|"));
+    }
+
+    /**
+     * One Distance Matrix request; empty on API errors so the tile degrades instead of failing
+     */
+    private Mono<JsonNode> fetchMatrixRows(List<Coordinates> originChunk, String destinationsParam,
+                                           int destinationCount, String mode, OffsetDateTime departureTime,
+                                           RequestLog log) {
+        String url = matrixUrl(originChunk, destinationsParam, mode, departureTime);
+
+        if (log.isSampled() && LOGGER.isDebugEnabled()) {
+            LOGGER.debug("  🔗 Distance Matrix API URL: {}", url.replace(apiKey, "***"));
+        }
+        long elements = (long) originChunk.size() * destinationCount;
+        matrixElementsRequested.addAndGet(elements);
+        matrixElementsRequestedByMode.computeIfAbsent(mode, key -> new AtomicLong()).addAndGet(elements);
+        log.count("matrix_requests", 1);
+        log.count("matrix_elements", elements);
+
+        return fetch(DISTANCE_MATRIX_ENDPOINT, url)
+                .flatMap(response -> Mono.justOrEmpty(parseMatrixRows(response)))
+                .switchIfEmpty(Mono.fromRunnable(() -> log.count("matrix_failures", 1)))
+                .doOnError(error -> {
+                    log.count("matrix_failures", 1);
+                    LOGGER.error("❌ [ISOCHRONE] Error calling Distance Matrix API", error);
+                })
+                .onErrorResume(error -> Mono.empty());
+    }
+
+    String matrixUrl(List<Coordinates> originChunk, String destinationsParam, String mode, OffsetDateTime departureTime) {
+        String originsParam = originChunk.stream()
+                .map(coord -> coord.getLat() + "," + coord.getLng())
+                .collect(Collectors.joining("|"));
+
+        return String.format("%s%s?origins=%s&destinations=%s&mode=%s%s&key=%s",
+                apiBaseUrl, DISTANCE_MATRIX_PATH, originsParam, destinationsParam, mode,
+                departureTime != null ? "&departure_time=" + departureTime.toEpochSecond() : "", apiKey);
+    }
+
+    /**
+     * Rows of a Distance Matrix response, or null on API or parse errors
+     */
+    JsonNode parseMatrixRows(String response) {
+        try {
+            JsonNode root = JsonParseEvent.readTree(objectMapper, DISTANCE_MATRIX_ENDPOINT, response);
+            String apiStatus = root.has(STATUS_KEY) ? root.get(STATUS_KEY).asText() : "UNKNOWN";
+            LOGGER.debug("  📊 API Response Status: {}", apiStatus);
+
+            if (!"OK".equals(apiStatus) || !root.has("rows")) {
+                LOGGER.error("  ❌ [ISOCHRONE] API error or no rows - status: {}", apiStatus);
+                return null;
+            }
+            return root.get("rows");
+        } catch (JsonProcessingException e) {
+            LOGGER.error("❌ [ISOCHRONE] Error parsing distance matrix response", e);
+            return null;
+        }
+    }
+
+    /**
+     * Copy one response's rows into the tile grid at their representative's column and cache them
+     */
+    private void fillTravelGrid(Place.TravelSummary[][] grid, JsonNode rows, OriginClusterer.Clustering clustering,
+                                List<Integer> columns, List<Place> tile, String mode, String namespace,
+                                RequestLog log) {
+        if (log.isSampled()) {
+            LOGGER.debug("  ✅ Processing {} origin rows and {} destinations", rows.size(), grid.length);
+        }
+        for (int j = 0; j < Math.min(columns.size(), rows.size()); j++) {
+            JsonNode elements = rows.get(j).get("elements");
+            if (elements == null) {
+                continue;
+            }
+            int column = columns.get(j);
+            Coordinates origin = clustering.getRepresentatives().get(column);
+            for (int i = 0; i < Math.min(grid.length, elements.size()); i++) {
+                Place.TravelSummary summary = parseTravelSummaryFromElement(elements.get(i),
+                        clustering.originIndexOfRepresentative(column), mode, log);
+                cacheElement(namespace, origin, tile.get(i).getCoordinates(), summary);
+                grid[i][column] = summary;
+            }
         }
-        
-        return travelSummaries;
+    }
+
+    /**
+     * Fan each representative's summaries out to every origin in its cluster; places with no data
+     * at all are left untouched
+     */
+    private List<Place> applyTravelGrid(List<Place> tile, Place.TravelSummary[][] grid,
+                                        OriginClusterer.Clustering clustering, String mode) {
+        for (int i = 0; i < tile.size(); i++) {
+            Place.TravelSummary[] row = grid[i];
+            if (Arrays.stream(row).allMatch(Objects::isNull)) {
+                continue;
+            }
+            List<Place.TravelSummary> travelSummaries = new ArrayList<>(clustering.getOriginCount());
+            for (int j = 0; j < clustering.getOriginCount(); j++) {
+                Place.TravelSummary source = row[clustering.representativeOf(j)];
+                Place.TravelSummary summary = source != null
+                        ? new Place.TravelSummary(j, source.getDistanceMeters(), source.getDurationSeconds(),
+                                source.getDistanceText(), source.getDurationText(), mode)
+                        : new Place.TravelSummary(j, null, null, null, null, mode);
+                double offset = clustering.offsetMeters(j);
+                if (offset > 0) {
+                    summary.setRepresentativeOffsetMeters((int) Math.round(offset));
+                }
+                travelSummaries.add(summary);
+            }
+            tile.get(i).setTravelSummaries(travelSummaries);
+        }
+        return tile;
     }
 
     /**
      * Parse a travel summary from a distance matrix element
      */
-    private Place.TravelSummary parseTravelSummaryFromElement(JsonNode element, int originIndex, String mode) {
-        String status = element.get(STATUS_KEY).asText();
+    Place.TravelSummary parseTravelSummaryFromElement(JsonNode element, int originIndex, String mode) {
+        return parseTravelSummaryFromElement(element, originIndex, mode, RequestLog.UNTRACKED);
+    }
+
+    /**
+     * {@link #parseTravelSummaryFromElement(JsonNode, int, String)} within a tracked request: failed
+     * elements are counted, and detail is only logged if the request is sampled
+     */
+    Place.TravelSummary parseTravelSummaryFromElement(JsonNode element, int originIndex, String mode, RequestLog log) {
+        String status = element.has(STATUS_KEY) ? element.get(STATUS_KEY).asText() : "UNKNOWN";
         if (!"OK".equals(status)) {
-            LOGGER.warn("{}{} → ❌ Status: {}", ORIGIN_LABEL, originIndex, status);
+            log.count("element_failures", 1);
+            if (log.isSampled()) {
+                LOGGER.warn("{}{} → ❌ Status: {}", ORIGIN_LABEL, originIndex, status);
+            }
             return new Place.TravelSummary(originIndex, null, null, null, null, mode);
         }
         
@@ -460,83 +1134,291 @@ public class MidpointService {
         
         int durationSeconds = 0;
         String durationText = "";
-        boolean hasDuration = element.has(DURATION_KEY);
+        // Driving requests with a departure time also carry the traffic-aware duration
+        String durationKey = element.has(DURATION_IN_TRAFFIC_KEY) ? DURATION_IN_TRAFFIC_KEY : DURATION_KEY;
+        boolean hasDuration = element.has(durationKey);
         if (hasDuration) {
-            durationSeconds = element.get(DURATION_KEY).get("value").asInt();
-            durationText = element.get(DURATION_KEY).get("text").asText();
+            durationSeconds = element.get(durationKey).get("value").asInt();
+            durationText = element.get(durationKey).get("text").asText();
             summary.setDurationSeconds(durationSeconds);
             summary.setDurationText(durationText);
         }
 
-        if (hasDuration) {
-            double durationMinutes = durationSeconds / 60.0;
-            if (LOGGER.isInfoEnabled()) {
-                LOGGER.info("{}{} → ✅ {} ({} min), {}",
+        if (log.isSampled() && LOGGER.isDebugEnabled()) {
+            if (hasDuration) {
+                LOGGER.debug("{}{} → ✅ {} ({} min), {}",
                         ORIGIN_LABEL,
                         originIndex,
                         durationText,
-                        String.format("%.1f", durationMinutes),
+                        Math.round(durationSeconds / 6.0) / 10.0,
+                        distanceText);
+            } else {
+                LOGGER.debug("{}{} → ✅ (no duration), {}",
+                        ORIGIN_LABEL,
+                        originIndex,
                         distanceText);
             }
-        } else {
-            LOGGER.info("{}{} → ✅ (no duration), {}",
-                    ORIGIN_LABEL,
-                    originIndex,
-                    distanceText);
         }
 
         return summary;
     }
 
     /**
-     * Main method to find midpoint and nearby places
+     * The request's ranking objective, or the configured default
      */
-    public Mono<MidpointResponse> findMidpointAndPlaces(MidpointRequest request) {
-        int coordCount = request.getCoords() != null ? request.getCoords().size() : 0;
-        int filterCount = request.getFilters() != null ? request.getFilters().size() : 0;
-        LOGGER.info("🎯 [MIDPOINT] Starting midpoint calculation ({} coordinates, {} filters)", coordCount, filterCount);
+    RankingObjective resolveObjective(MidpointRequest request) {
+        return request.getObjective() != null
+                ? request.getObjective()
+                : RankingObjective.fromValue(rankingObjective);
+    }
+
+    /**
+     * Rank places by the request's objective (or the configured default) and keep the top K
+     */
+    List<Place> rankPlaces(List<Place> places, MidpointRequest request) {
+        RankingObjective objective = resolveObjective(request);
+        List<Place> ranked = placeRanker.rankTopK(places, request.getCoords().size(), objective, rankingTopK);
+        LOGGER.debug("  🏅 Ranked {} places by {} (keeping top {})", places.size(), objective.getValue(), ranked.size());
+        return ranked;
+    }
+
+    /**
+     * Fetch travel summaries for the candidates that can still make the top K
+     */
+    Mono<List<Place>> evaluateCandidates(List<Coordinates> origins, List<Place> candidates,
+                                                 String mode, RankingObjective objective) {
+        return evaluateCandidates(origins, Collections.nCopies(origins.size(), mode), null, candidates, objective);
+    }
+
+    /**
+     * Fetch travel summaries for the candidates that can still make the top K, each origin in its own
+     * mode, departing at {@code departureTime} (null for now). Pruned candidates are kept at the end,
+     * without travel data.
+     */
+    Mono<List<Place>> evaluateCandidates(List<Coordinates> origins, List<String> modes, OffsetDateTime departureTime,
+                                         List<Place> candidates, RankingObjective objective) {
+        return evaluateCandidateTiles(origins, modes, departureTime, candidates, objective)
+                .flatMapIterable(tile -> tile)
+                .collectList()
+                .doOnNext(evaluated -> LOGGER.debug("✅ [ISOCHRONE] Travel summaries computed for {} places", evaluated.size()))
+                .map(evaluated -> withPrunedCandidates(candidates, evaluated));
+    }
+
+    /**
+     * The evaluated places followed by copies of the top-k candidates pruned before evaluation. The
+     * copies have no travel data, so ranking puts them after every place with travel data, ordered
+     * by distance from the midpoint.
+     */
+    private List<Place> withPrunedCandidates(List<Place> candidates, List<Place> evaluated) {
+        Set<Place> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        seen.addAll(evaluated);
+        List<Place> places = new ArrayList<>(evaluated);
+        candidates.stream()
+                .limit(rankingTopK)
+                .filter(candidate -> !seen.contains(candidate))
+                .map(this::withoutTravelData)
+                .forEach(places::add);
+        return places;
+    }
+
+    /**
+     * Emit evaluated candidates tile by tile, for the candidates that can still make the top K.
+     * <p>
+     * Of the same top-k candidates the unpruned path would send, the {@code pruning.exact-top} with
+     * the smallest straight-line lower bound are evaluated first; the rest are only sent to the
+     * Distance Matrix if their bound does not exceed the first wave's worst real score. The leading
+     * {@code exact-top} places therefore match an unpruned evaluation, and no more elements are
+     * requested than without pruning. Pruned candidates are not emitted; see
+     * {@link #withPrunedCandidates}.
+     */
+    private Flux<List<Place>> evaluateCandidateTiles(List<Coordinates> origins, List<String> modes,
+                                                     OffsetDateTime departureTime, List<Place> candidates,
+                                                     RankingObjective objective) {
+        // Limit early to reduce Distance Matrix elements
+        List<Place> limitedPlaces = candidates.stream()
+                .limit(rankingTopK)
+                .toList();
+        int exactTop = Math.min(pruningExactTop, rankingTopK);
+        if (!pruningEnabled || !lowerBoundPruner.supports(objective) || limitedPlaces.size() <= exactTop) {
+            LOGGER.debug("  🔢 Limiting to {} places for travel time calculation", limitedPlaces.size());
+            return travelSummaryTiles(origins, modes, limitedPlaces, departureTime);
+        }
 
+        LowerBoundPruner.Plan plan = lowerBoundPruner.plan(origins, limitedPlaces, objective, exactTop, pruningMaxSpeedMps);
+        LOGGER.debug("  🔢 Evaluating {} of {} candidates first, {} held back for pruning",
+                plan.getFirstWave().size(), limitedPlaces.size(), plan.getRemaining().size());
+
+        Flux<List<Place>> secondWave = Flux.deferContextual(context -> {
+            double threshold = placeRanker.kthBestScore(plan.getFirstWave(), origins.size(), objective, exactTop);
+            List<Place> survivors = plan.survivors(threshold);
+            int prunedElements = plan.prunedElements(survivors);
+            matrixElementsPruned.addAndGet(prunedElements);
+            RequestLog log = RequestLog.from(context);
+            log.count("pruned_places", plan.getRemaining().size() - survivors.size());
+            log.count("pruned_elements", prunedElements);
+            LOGGER.debug("  ✂️  Pruned {} of {} candidates ({} matrix elements) by straight-line lower bound",
+                    plan.getRemaining().size() - survivors.size(), limitedPlaces.size(), prunedElements);
+            return travelSummaryTiles(origins, modes, survivors, departureTime);
+        });
+        return Flux.concat(travelSummaryTiles(origins, modes, plan.getFirstWave(), departureTime), secondWave);
+    }
+
+    /**
+     * Centroid of the request's coordinates, corrected if it does not lie between them
+     */
+    Coordinates resolveMidpoint(MidpointRequest request) {
+        return resolveMidpoint(request, RequestLog.UNTRACKED);
+    }
+
+    Coordinates resolveMidpoint(MidpointRequest request, RequestLog log) {
         // Calculate centroid from provided coordinates
-        Coordinates initialMidpoint = calculateCentroid(request.getCoords());
-        LOGGER.info("  📐 Initial centroid computed");
+        Coordinates initialMidpoint = log.time("centroid", () -> calculateCentroid(request.getCoords()));
+        LOGGER.debug("  📐 Initial centroid computed");
 
         // Validate that the midpoint is actually between the input locations; correct if needed
-        final Coordinates midpoint = validateAndCorrectMidpoint(initialMidpoint, request.getCoords());
+        Coordinates midpoint = log.time("validation", () -> validateAndCorrectMidpoint(initialMidpoint, request.getCoords()));
         boolean wasCorrected = Math.abs(midpoint.getLat() - initialMidpoint.getLat()) > 0.0001 ||
                                Math.abs(midpoint.getLng() - initialMidpoint.getLng()) > 0.0001;
         if (wasCorrected) {
             LOGGER.warn("  ⚠️  Midpoint corrected after validation");
         } else {
-            LOGGER.info("  ✅ Midpoint validated without correction");
-        }
-
-        // Get midpoint address
-        Mono<String> midpointAddressMono = reverseGeocode(midpoint)
-                .doOnNext(address -> LOGGER.info("  🏠 Midpoint address resolved"));
-
-        // Compute dynamic radius from the spread of user locations
-        // Fixed 5-mile radius as requested
-        int radiusMeters = (int) (5 * 1609.34); // 5 miles in meters
-        LOGGER.info("  📏 Search radius: 5 miles ({} meters)", radiusMeters);
-
-        // Search for places near midpoint with dynamic radius
-        Mono<List<Place>> placesMono = searchPlaces(midpoint, request.getFilters(), radiusMeters)
-                .doOnNext(places -> LOGGER.info("  🏢 Found {} places near midpoint", places.size()))
-                .flatMap(places -> {
-                    // Limit early to reduce Distance Matrix elements
-                    List<Place> limitedPlaces = places.stream()
-                            .limit(20)
-                            .toList();
-                    LOGGER.info("  🔢 Limiting to {} places for travel time calculation", limitedPlaces.size());
-
-                    // Compute per-origin travel summaries for these places
-                    return computeTravelSummaries(request.getCoords(), limitedPlaces, "driving");
-                });
+            LOGGER.debug("  ✅ Midpoint validated without correction");
+        }
+        return midpoint;
+    }
+
+    /**
+     * Validated midpoint of a tracked group, without the O(n²) farthest-pair scan
+     */
+    Coordinates resolveMidpoint(GroupGeometry geometry) {
+        Coordinates centroid = geometry.centroid();
+        GroupGeometry.Pair farthest = geometry.farthestPair();
+        if (farthest == null) {
+            return centroid;
+        }
+        return correctMidpoint(centroid, geometry.origin(farthest.getFirst()), geometry.origin(farthest.getSecond()),
+                farthest.getMiles());
+    }
+
+    /**
+     * Main method to find midpoint and nearby places
+     */
+    @Override
+    public Mono<MidpointResponse> findMidpointAndPlaces(MidpointRequest request) {
+        return Mono.defer(() -> {
+            RequestLog log = RequestLog.start("midpoint", detailSampleRate, meterRegistry);
+            int coordCount = request.getCoords() != null ? request.getCoords().size() : 0;
+            int filterCount = request.getFilters() != null ? request.getFilters().size() : 0;
+            LOGGER.debug("🎯 [MIDPOINT] Starting midpoint calculation ({} coordinates, {} filters)", coordCount, filterCount);
+            log.set("origins", coordCount);
 
-        return Mono.zip(midpointAddressMono, placesMono)
-                .map(tuple -> {
-                    LOGGER.info("✅ [MIDPOINT] Calculation complete - returning {} places", tuple.getT2().size());
-                    return new MidpointResponse(midpoint, tuple.getT1(), tuple.getT2(), radiusMeters);
+            final Coordinates midpoint = resolveMidpoint(request, log);
+            List<String> modes = resolveModes(request);
+            OffsetDateTime departureTime = resolveDeparture(request);
+
+            // Get midpoint address
+            Mono<String> midpointAddressMono = log.time("geocode", reverseGeocode(midpoint));
+
+            int radiusMeters = SEARCH_RADIUS_METERS;
+
+            // Search for places near midpoint, preferring fresh place index coverage over Nearby Search
+            Mono<List<Place>> placesMono = log.time("search", findCandidatePlaces(midpoint, request.getFilters(), radiusMeters))
+                    .doOnNext(places -> log.set("candidates", places.size()))
+                    .flatMap(places -> log.time("matrix",
+                            evaluateCandidates(request.getCoords(), modes, departureTime, places, resolveObjective(request))))
+                    .map(places -> log.time("rank", () -> rankPlaces(places, request)));
+
+            return Mono.zip(midpointAddressMono, placesMono)
+                    .map(tuple -> {
+                        log.set("places", tuple.getT2().size());
+                        return new MidpointResponse(midpoint, tuple.getT1(), tuple.getT2(), radiusMeters);
+                    })
+                    .doFinally(log::complete)
+                    .contextWrite(log::attachTo);
+        });
+    }
+
+    /**
+     * Same result as {@link #findMidpointAndPlaces}, streamed as each stage completes: the midpoint
+     * immediately, then the address and the candidate places (without travel data), then each
+     * Distance Matrix tile, then the final ranking
+     */
+    public Flux<MidpointEvent> streamMidpointAndPlaces(MidpointRequest request) {
+        return Flux.defer(() -> {
+            RequestLog log = RequestLog.start("stream", detailSampleRate, meterRegistry);
+            int coordCount = request.getCoords() != null ? request.getCoords().size() : 0;
+            LOGGER.debug("🎯 [MIDPOINT] Starting streamed midpoint calculation ({} coordinates)", coordCount);
+            log.set("origins", coordCount);
+
+            Coordinates midpoint = resolveMidpoint(request, log);
+            List<String> modes = resolveModes(request);
+            OffsetDateTime departureTime = resolveDeparture(request);
+            int radiusMeters = SEARCH_RADIUS_METERS;
+
+            Mono<MidpointEvent> addressEvent = log.time("geocode", reverseGeocode(midpoint))
+                    .map(MidpointEvent::address);
+
+            Flux<MidpointEvent> placeEvents = log.time("search", findCandidatePlaces(midpoint, request.getFilters(), radiusMeters))
+                    .flatMapMany(candidates -> {
+                        log.set("candidates", candidates.size());
+                        long matrixStart = System.nanoTime();
+                        List<Place> snapshots = candidates.stream()
+                                .map(this::withoutTravelData)
+                                .toList();
+                        // Tiles are emitted one at a time, so the list is never appended to concurrently
+                        List<Place> evaluated = new ArrayList<>();
+                        Flux<MidpointEvent> travelEvents = evaluateCandidateTiles(
+                                request.getCoords(), modes, departureTime, candidates, resolveObjective(request))
+                                .doOnNext(evaluated::addAll)
+                                // Ranking later sets each place's ranking while the writer may still be
+                                // serializing this event, so it carries copies
+                                .map(tile -> MidpointEvent.places(MidpointEvent.TRAVEL, tile.stream()
+                                        .map(this::withTravelData)
+                                        .toList()));
+                        Mono<MidpointEvent> rankedEvent = Mono.fromCallable(() -> {
+                            log.stage("matrix", matrixStart);
+                            List<Place> ranked = log.time("rank",
+                                    () -> rankPlaces(withPrunedCandidates(candidates, evaluated), request));
+                            log.set("places", ranked.size());
+                            return MidpointEvent.places(MidpointEvent.RANKED, ranked);
+                        });
+                        return Flux.concat(Mono.just(MidpointEvent.places(MidpointEvent.PLACES, snapshots)),
+                                travelEvents, rankedEvent);
+                    });
+
+            return Flux.concat(Mono.just(MidpointEvent.midpoint(midpoint, radiusMeters)),
+                    Flux.merge(addressEvent, placeEvents))
+                    .doFinally(log::complete)
+                    .contextWrite(log::attachTo);
+        })
+                .onErrorResume(error -> {
+                    LOGGER.error("❌ [MIDPOINT] Streamed calculation failed", error);
+                    return Mono.just(MidpointEvent.error(error.getMessage() != null
+                            ? error.getMessage() : error.getClass().getSimpleName()));
                 });
     }
+
+    /**
+     * Copy of a place with its travel summaries but without a ranking
+     */
+    private Place withTravelData(Place place) {
+        Place copy = withoutTravelData(place);
+        copy.setTravelSummaries(place.getTravelSummaries() != null ? List.copyOf(place.getTravelSummaries()) : null);
+        return copy;
+    }
+
+    /**
+     * Copy of a candidate without travel or ranking data, safe to serialize while the original is
+     * still being evaluated
+     */
+    Place withoutTravelData(Place place) {
+        Place copy = new Place(place.getPlaceId(), place.getName(), place.getAddress(), place.getCoordinates());
+        copy.setRating(place.getRating());
+        copy.setUserRatingsTotal(place.getUserRatingsTotal());
+        copy.setPriceLevel(place.getPriceLevel());
+        copy.setTypes(place.getTypes());
+        copy.setPhotos(place.getPhotos());
+        copy.setDistance(place.getDistance());
+        return copy;
+    }
 }
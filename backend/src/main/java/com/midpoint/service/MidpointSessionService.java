@@ -0,0 +1,406 @@
+package com.midpoint.service;
+
+import com.midpoint.dto.Coordinates;
+import com.midpoint.dto.MidpointRequest;
+import com.midpoint.dto.MidpointResponse;
+import com.midpoint.dto.MidpointSessionResponse;
+import com.midpoint.dto.Place;
+import com.midpoint.dto.RankingObjective;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Midpoint groups that stay open while participants move.
+ * <p>
+ * A session keeps the group's {@link GroupGeometry} and the last evaluated candidate pool. When
+ * one origin moves, the centroid and farthest pair are updated incrementally. If the midpoint
+ * shifts by at most {@code midpoint.session.reuse-distance-meters}, the pool is kept and only the
+ * moved origin's Distance Matrix row is requested before reranking. A bigger shift re-runs the
+ * search and the full matrix. Updates to one session are applied in arrival order, and each
+ * update produces new place objects, so earlier responses are never modified. Sessions use
+ * driving times departing now; requests with {@code modes} or {@code departure_time} are rejected.
+ * <p>
+ * A move costs O(n log n) in the pair set plus one matrix row. Each session holds all n(n−1)/2
+ * origin pairs, so the pairs held across all sessions are capped by
+ * {@code midpoint.session.max-pairs}; a session that would exceed it is refused like one over
+ * {@code max-sessions}.
+ */
+@Service
+public class MidpointSessionService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MidpointSessionService.class);
+    private static final String MODE = "driving";
+    private static final long SWEEP_INTERVAL_MILLIS = 60 * 1000L;
+
+    private final MidpointService midpointService;
+    private final Clock clock;
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweepMillis = new AtomicLong();
+    private final AtomicLong reservedPairs = new AtomicLong();
+    private final AtomicLong reusedUpdates = new AtomicLong();
+    private final AtomicLong fullRecomputes = new AtomicLong();
+
+    @Value("${midpoint.session.reuse-distance-meters:500}")
+    private double reuseDistanceMeters = 500;
+
+    @Value("${midpoint.session.idle-ttl-seconds:1800}")
+    private long idleTtlSeconds = 1800;
+
+    @Value("${midpoint.session.max-sessions:10000}")
+    private int maxSessions = 10000;
+
+    @Value("${midpoint.session.max-origins:200}")
+    private int maxOrigins = 200;
+
+    @Value("${midpoint.session.max-pairs:2000000}")
+    private long maxPairs = 2_000_000;
+
+    @Autowired
+    public MidpointSessionService(MidpointService midpointService) {
+        this(midpointService, Clock.systemUTC());
+    }
+
+    MidpointSessionService(MidpointService midpointService, Clock clock) {
+        this.midpointService = midpointService;
+        this.clock = clock;
+        this.lastSweepMillis.set(clock.millis());
+    }
+
+    /**
+     * Open a session with a full computation
+     */
+    public Mono<MidpointSessionResponse> create(MidpointRequest request) {
+        if (request.getCoords() == null || request.getCoords().isEmpty()) {
+            return Mono.error(new IllegalArgumentException("No coordinates provided"));
+        }
+        if (request.getCoords().size() > maxOrigins) {
+            // The session's geometry holds every pair of origins, so its memory grows with n²
+            return Mono.error(new IllegalArgumentException(
+                    "Midpoint sessions allow at most " + maxOrigins + " origins, got " + request.getCoords().size()));
+        }
+        if ((request.getModes() != null && !request.getModes().isEmpty()) || request.getDepartureTime() != null) {
+            // Sessions rank on driving times for departures now; silently dropping the options would mislead
+            return Mono.error(new IllegalArgumentException("Midpoint sessions do not support modes or departure_time"));
+        }
+        long now = clock.millis();
+        maybeSweep(now);
+        if (sessions.size() >= maxSessions) {
+            return Mono.error(new IllegalStateException("Too many active midpoint sessions"));
+        }
+        long pairs = pairCount(request.getCoords().size());
+        if (reservedPairs.addAndGet(pairs) > maxPairs) {
+            reservedPairs.addAndGet(-pairs);
+            return Mono.error(new IllegalStateException("Midpoint sessions are holding too many origin pairs"));
+        }
+
+        Session session = new Session(UUID.randomUUID().toString(), request,
+                new GroupGeometry(request.getCoords(), midpointService::calculateDistance), now);
+        LOGGER.info("🧭 [SESSION] Opening session {} with {} origins", session.id, session.geometry.size());
+        Sinks.One<Snapshot> settled = Sinks.one();
+        session.latest = settled.asMono();
+        sessions.put(session.id, session);
+        Mono<Snapshot> first = Mono.defer(() -> {
+            List<Coordinates> origins = session.geometry.origins();
+            return recompute(session, origins, midpointService.resolveMidpoint(session.geometry), 1);
+        })
+                .doOnNext(settled::tryEmitValue)
+                .doOnError(error -> {
+                    discard(session);
+                    settled.tryEmitError(error);
+                })
+                .cache();
+        // Started here, not by the caller, so the session settles even if the response is abandoned
+        first.subscribe(snapshot -> { }, error -> { });
+
+        return first.map(snapshot -> toResponse(session, snapshot));
+    }
+
+    /**
+     * Move one origin and return the updated result
+     */
+    public Mono<MidpointSessionResponse> moveOrigin(String sessionId, int originIndex, Coordinates to) {
+        return moveOrigins(sessionId, Map.of(originIndex, to));
+    }
+
+    /**
+     * Move several origins at once (e.g. updates coalesced over a short window) and return the
+     * result after all of them
+     */
+    public Mono<MidpointSessionResponse> moveOrigins(String sessionId, Map<Integer, Coordinates> moves) {
+        Session session = lookup(sessionId);
+        if (session == null) {
+            return Mono.error(new NoSuchElementException("Unknown midpoint session: " + sessionId));
+        }
+        for (Map.Entry<Integer, Coordinates> move : moves.entrySet()) {
+            Coordinates to = move.getValue();
+            if (move.getKey() < 0 || move.getKey() >= session.originCount || to == null
+                    || to.getLat() == null || to.getLng() == null) {
+                return Mono.error(new IllegalArgumentException("Invalid origin update for index " + move.getKey()));
+            }
+        }
+        Map<Integer, Coordinates> ordered = new TreeMap<>(moves);
+
+        // The session only holds the latest result's sink, never a chain of earlier moves, so each
+        // snapshot can be collected once the move after it has resolved
+        Sinks.One<Snapshot> settled = Sinks.one();
+        Mono<Snapshot> next;
+        synchronized (session) {
+            Mono<Snapshot> previous = session.latest;
+            session.latest = settled.asMono();
+            next = previous
+                    .flatMap(snapshot -> applyMoves(session, snapshot, ordered)
+                            // A failed move leaves the session at its previous state
+                            .doOnError(error -> settled.tryEmitValue(snapshot)))
+                    .doOnNext(settled::tryEmitValue)
+                    .doOnError(settled::tryEmitError)
+                    .cache();
+        }
+        // Started here so later moves, which wait for this one, never depend on the caller subscribing
+        next.subscribe(snapshot -> { }, error -> { });
+        return next.map(snapshot -> toResponse(session, snapshot));
+    }
+
+    /**
+     * Latest result of a session, waiting for any move still being applied
+     */
+    public Mono<MidpointSessionResponse> current(String sessionId) {
+        Session session = lookup(sessionId);
+        if (session == null) {
+            return Mono.error(new NoSuchElementException("Unknown midpoint session: " + sessionId));
+        }
+        Mono<Snapshot> latest;
+        synchronized (session) {
+            latest = session.latest;
+        }
+        return latest.map(snapshot -> toResponse(session, snapshot));
+    }
+
+    /**
+     * Number of origins in a session, or -1 if it does not exist
+     */
+    public int originCount(String sessionId) {
+        Session session = lookup(sessionId);
+        return session != null ? session.originCount : -1;
+    }
+
+    /**
+     * Close a session; false if it did not exist
+     */
+    public boolean close(String sessionId) {
+        Session session = sessionId != null ? sessions.get(sessionId) : null;
+        return session != null && discard(session);
+    }
+
+    public int activeSessions() {
+        return sessions.size();
+    }
+
+    /**
+     * Origin pairs held by all open sessions, bounded by {@code midpoint.session.max-pairs}
+     */
+    public long reservedPairs() {
+        return reservedPairs.get();
+    }
+
+    /**
+     * Origin moves answered from the session's candidate pool with a single matrix row
+     */
+    public long getReusedUpdates() {
+        return reusedUpdates.get();
+    }
+
+    /**
+     * Origin moves that shifted the midpoint too far to reuse the pool
+     */
+    public long getFullRecomputes() {
+        return fullRecomputes.get();
+    }
+
+    private Mono<Snapshot> applyMoves(Session session, Snapshot previous, Map<Integer, Coordinates> moves) {
+        GroupGeometry geometry = session.geometry;
+        Map<Integer, Coordinates> undo = new TreeMap<>();
+        moves.forEach((originIndex, to) -> {
+            undo.put(originIndex, geometry.origin(originIndex));
+            geometry.move(originIndex, to);
+        });
+        Coordinates midpoint = midpointService.resolveMidpoint(geometry);
+        List<Coordinates> origins = geometry.origins();
+        double shiftMeters = GeoMath.distanceMeters(previous.midpoint, midpoint);
+        int version = previous.version + 1;
+
+        Mono<Snapshot> update;
+        if (shiftMeters <= reuseDistanceMeters && !previous.pool.isEmpty()) {
+            LOGGER.debug("♻️  [SESSION] {} origins {} moved, midpoint shifted {} m; reusing {} candidates",
+                    session.id, moves.keySet(), Math.round(shiftMeters), previous.pool.size());
+            update = Flux.fromIterable(moves.entrySet())
+                    .flatMap(move -> midpointService.travelRow(move.getValue(), move.getKey(), previous.pool, MODE)
+                            .map(row -> Map.entry(move.getKey(), row)))
+                    .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+                    .map(rows -> {
+                        List<Place> pool = new ArrayList<>(previous.pool.size());
+                        for (int i = 0; i < previous.pool.size(); i++) {
+                            pool.add(withTravelSummaries(previous.pool.get(i), origins.size(), rows, i, midpoint));
+                        }
+                        List<Place> ranked = midpointService.rankPlaces(pool, session.requestFor(origins));
+                        reusedUpdates.incrementAndGet();
+                        return new Snapshot(version, midpoint, previous.address, pool, ranked, true);
+                    });
+        } else {
+            LOGGER.debug("🔄 [SESSION] {} origins {} moved, midpoint shifted {} m; recomputing",
+                    session.id, moves.keySet(), Math.round(shiftMeters));
+            update = recompute(session, origins, midpoint, version)
+                    .doOnNext(snapshot -> fullRecomputes.incrementAndGet());
+        }
+        return update.doOnError(error -> undo.forEach(geometry::move));
+    }
+
+    /**
+     * Search, full matrix and ranking for the current origins
+     */
+    private Mono<Snapshot> recompute(Session session, List<Coordinates> origins, Coordinates midpoint, int version) {
+        MidpointRequest request = session.requestFor(origins);
+        Mono<String> address = midpointService.reverseGeocode(midpoint);
+        Mono<List<Place>> pool = midpointService.findCandidatePlaces(midpoint, request.getFilters(), MidpointService.SEARCH_RADIUS_METERS)
+                .flatMap(candidates -> midpointService.evaluateCandidates(origins, candidates, MODE,
+                        midpointService.resolveObjective(request)));
+
+        return Mono.zip(address, pool)
+                .map(tuple -> {
+                    List<Place> ranked = midpointService.rankPlaces(tuple.getT2(), request);
+                    return new Snapshot(version, midpoint, tuple.getT1(), tuple.getT2(), ranked, false);
+                });
+    }
+
+    /**
+     * Copy of a pooled place with the moved origins' summaries replaced and the distance re-measured
+     * from the new midpoint
+     */
+    private Place withTravelSummaries(Place place, int originCount, Map<Integer, List<Place.TravelSummary>> rows,
+                                      int placeIndex, Coordinates midpoint) {
+        Place copy = midpointService.withoutTravelData(place);
+        if (place.getCoordinates() != null) {
+            copy.setDistance(midpointService.calculateDistance(midpoint, place.getCoordinates()));
+        }
+        List<Place.TravelSummary> summaries = new ArrayList<>(originCount);
+        for (int j = 0; j < originCount; j++) {
+            Place.TravelSummary existing = place.getTravelSummaries() != null && j < place.getTravelSummaries().size()
+                    ? place.getTravelSummaries().get(j) : null;
+            List<Place.TravelSummary> row = rows.get(j);
+            Place.TravelSummary summary = row != null ? row.get(placeIndex) : existing;
+            summaries.add(summary != null ? summary : new Place.TravelSummary(j, null, null, null, null, MODE));
+        }
+        copy.setTravelSummaries(summaries);
+        return copy;
+    }
+
+    private MidpointSessionResponse toResponse(Session session, Snapshot snapshot) {
+        MidpointResponse response = new MidpointResponse(snapshot.midpoint, snapshot.address, snapshot.ranked,
+                MidpointService.SEARCH_RADIUS_METERS);
+        return new MidpointSessionResponse(session.id, snapshot.version, snapshot.candidatesReused, response);
+    }
+
+    private Session lookup(String sessionId) {
+        Session session = sessionId != null ? sessions.get(sessionId) : null;
+        if (session == null) {
+            return null;
+        }
+        long now = clock.millis();
+        if (now - session.lastAccessMillis > idleTtlSeconds * 1000) {
+            discard(session);
+            return null;
+        }
+        session.lastAccessMillis = now;
+        return session;
+    }
+
+    private void maybeSweep(long now) {
+        long last = lastSweepMillis.get();
+        if (now - last >= SWEEP_INTERVAL_MILLIS && lastSweepMillis.compareAndSet(last, now)) {
+            long cutoff = now - idleTtlSeconds * 1000;
+            for (Session session : sessions.values()) {
+                if (session.lastAccessMillis < cutoff) {
+                    discard(session);
+                }
+            }
+        }
+    }
+
+    /**
+     * Remove a session and return its pairs to the budget; false if it was already gone
+     */
+    private boolean discard(Session session) {
+        if (!sessions.remove(session.id, session)) {
+            return false;
+        }
+        reservedPairs.addAndGet(-pairCount(session.originCount));
+        return true;
+    }
+
+    private static long pairCount(int origins) {
+        return (long) origins * (origins - 1) / 2;
+    }
+
+    private static final class Session {
+        private final String id;
+        private final List<String> filters;
+        private final RankingObjective objective;
+        private final GroupGeometry geometry;
+        private final int originCount;
+        private volatile long lastAccessMillis;
+        // Guarded by the session monitor; the result of the newest move, resolved or not
+        private Mono<Snapshot> latest;
+
+        private Session(String id, MidpointRequest request, GroupGeometry geometry, long now) {
+            this.id = id;
+            this.filters = request.getFilters();
+            this.objective = request.getObjective();
+            this.geometry = geometry;
+            this.originCount = geometry.size();
+            this.lastAccessMillis = now;
+        }
+
+        private MidpointRequest requestFor(List<Coordinates> origins) {
+            MidpointRequest request = new MidpointRequest(origins, filters);
+            request.setObjective(objective);
+            return request;
+        }
+    }
+
+    /**
+     * One version of a session's result; never mutated after it is built
+     */
+    private static final class Snapshot {
+        private final int version;
+        private final Coordinates midpoint;
+        private final String address;
+        private final List<Place> pool;
+        private final List<Place> ranked;
+        private final boolean candidatesReused;
+
+        private Snapshot(int version, Coordinates midpoint, String address, List<Place> pool, List<Place> ranked,
+                         boolean candidatesReused) {
+            this.version = version;
+            this.midpoint = midpoint;
+            this.address = address;
+            this.pool = pool;
+            this.ranked = ranked;
+            this.candidatesReused = candidatesReused;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.midpoint.service;
+
+import com.midpoint.dto.Coordinates;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collapses duplicate and nearby origins so only one representative per cluster is sent to the
+ * Distance Matrix.
+ * <p>
+ * Greedy leader clustering on a grid whose cells are one tolerance wide: each origin joins the
+ * first representative within the tolerance (checking its own and the eight neighbouring cells),
+ * otherwise it becomes a representative itself. Representatives are real participant locations, so
+ * routes stay routable, and every member is at most the tolerance away from its representative.
+ */
+public class OriginClusterer {
+
+    /**
+     * Cluster the origins; a tolerance of 0 collapses exact duplicates only
+     */
+    public Clustering cluster(List<Coordinates> origins, double toleranceMeters) {
+        int[] representativeOf = new int[origins.size()];
+        double[] offsetMeters = new double[origins.size()];
+        List<Integer> representatives = new ArrayList<>();
+        Map<Long, List<Integer>> cells = new HashMap<>();
+        double cellDegrees = Math.max(GeoMath.metersToLatDegrees(toleranceMeters), 1e-9);
+        // One longitude width for the whole group, sized at the highest latitude so no cell is
+        // narrower than the tolerance
+        double maxAbsLat = 0;
+        for (Coordinates origin : origins) {
+            maxAbsLat = Math.max(maxAbsLat, Math.abs(origin.getLat()));
+        }
+        double lngCellDegrees = Math.max(GeoMath.metersToLngDegrees(toleranceMeters, maxAbsLat), 1e-9);
+
+        for (int i = 0; i < origins.size(); i++) {
+            Coordinates origin = origins.get(i);
+            long latIdx = (long) Math.floor(origin.getLat() / cellDegrees);
+            long lngIdx = (long) Math.floor(origin.getLng() / lngCellDegrees);
+
+            int joined = -1;
+            double joinedOffset = 0;
+            for (long dLat = -1; dLat <= 1 && joined < 0; dLat++) {
+                for (long dLng = -1; dLng <= 1 && joined < 0; dLng++) {
+                    for (int rep : cells.getOrDefault(cellKey(latIdx + dLat, lngIdx + dLng), List.of())) {
+                        double offset = GeoMath.distanceMeters(origin, origins.get(rep));
+                        if (offset <= toleranceMeters) {
+                            joined = rep;
+                            joinedOffset = offset;
+                            break;
+                        }
+                    }
+                }
+            }
+
+            if (joined < 0) {
+                representatives.add(i);
+                cells.computeIfAbsent(cellKey(latIdx, lngIdx), key -> new ArrayList<>()).add(i);
+                representativeOf[i] = representatives.size() - 1;
+            } else {
+                representativeOf[i] = representativeOf[joined];
+                offsetMeters[i] = joinedOffset;
+            }
+        }
+
+        List<Coordinates> representativeCoords = new ArrayList<>(representatives.size());
+        for (int rep : representatives) {
+            representativeCoords.add(origins.get(rep));
+        }
+        return new Clustering(representativeCoords, representatives, representativeOf, offsetMeters);
+    }
+
+    private static long cellKey(long latIdx, long lngIdx) {
+        return (latIdx << 32) | (lngIdx & 0xffffffffL);
+    }
+
+    /**
+     * Mapping from every origin to its cluster representative, with the distance it was moved
+     */
+    public static final class Clustering {
+        private final List<Coordinates> representatives;
+        private final List<Integer> representativeOriginIndexes;
+        private final int[] representativeOf;
+        private final double[] offsetMeters;
+
+        private Clustering(List<Coordinates> representatives, List<Integer> representativeOriginIndexes,
+                           int[] representativeOf, double[] offsetMeters) {
+            this.representatives = representatives;
+            this.representativeOriginIndexes = representativeOriginIndexes;
+            this.representativeOf = representativeOf;
+            this.offsetMeters = offsetMeters;
+        }
+
+        /**
+         * Locations to send upstream, in first-seen order
+         */
+        public List<Coordinates> getRepresentatives() {
+            return representatives;
+        }
+
+        /**
+         * Original origin index of the given representative
+         */
+        public int originIndexOfRepresentative(int representative) {
+            return representativeOriginIndexes.get(representative);
+        }
+
+        /**
+         * Representative (index into {@link #getRepresentatives()}) serving the given origin
+         */
+        public int representativeOf(int originIndex) {
+            return representativeOf[originIndex];
+        }
+
+        /**
+         * Straight-line distance between an origin and its representative; 0 for representatives
+         * and exact duplicates
+         */
+        public double offsetMeters(int originIndex) {
+            return offsetMeters[originIndex];
+        }
+
+        public int getOriginCount() {
+            return representativeOf.length;
+        }
+
+        public int getCollapsedCount() {
+            return representativeOf.length - representatives.size();
+        }
+
+        public double getMaxOffsetMeters() {
+            double max = 0;
+            for (double offset : offsetMeters) {
+                max = Math.max(max, offset);
+            }
+            return max;
+        }
+
+        public double getMeanOffsetMeters() {
+            if (offsetMeters.length == 0) {
+                return 0;
+            }
+            double sum = 0;
+            for (double offset : offsetMeters) {
+                sum += offset;
+            }
+            return sum / offsetMeters.length;
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package com.midpoint.service;
+
+import com.midpoint.dto.Coordinates;
+import com.midpoint.dto.Place;
+
+import java.time.Clock;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongPredicate;
+
+/**
+ * In-memory grid index of every place returned by Nearby Search.
+ * <p>
+ * The world is split into fixed-size lat/lng cells. Each cell keeps the places located in it and,
+ * per search type key, the last time a Nearby Search covered the cell. A radius query can be
+ * answered locally once every cell whose center lies inside the query circle has fresh coverage
+ * for the same type key.
+ */
+public class PlaceIndex {
+
+    public static final double DEFAULT_CELL_SIZE_DEGREES = 0.01;
+    private static final long SWEEP_INTERVAL_MILLIS = 5 * 60 * 1000L;
+    private static final long MAX_RETENTION_MILLIS = 7 * 24 * 60 * 60 * 1000L;
+
+    private final double cellSizeDegrees;
+    private final Clock clock;
+    private final Map<Long, Cell> cells = new ConcurrentHashMap<>();
+    private final Map<String, Long> cellByPlaceId = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweepMillis = new AtomicLong();
+
+    public PlaceIndex() {
+        this(DEFAULT_CELL_SIZE_DEGREES, Clock.systemUTC());
+    }
+
+    public PlaceIndex(double cellSizeDegrees, Clock clock) {
+        if (cellSizeDegrees <= 0) {
+            throw new IllegalArgumentException("Cell size must be positive");
+        }
+        this.cellSizeDegrees = cellSizeDegrees;
+        this.clock = clock;
+        this.lastSweepMillis.set(clock.millis());
+    }
+
+    /**
+     * Canonical coverage key for a set of place types (sorted, de-duplicated, pipe separated)
+     */
+    public static String coverageKey(Collection<String> types) {
+        return String.join("|", new TreeSet<>(types));
+    }
+
+    /**
+     * Upsert the places returned by a Nearby Search and mark the searched circle as covered
+     */
+    public void record(List<Place> places, Coordinates center, int radiusMeters, String coverageKey) {
+        long now = clock.millis();
+        for (Place place : places) {
+            if (place.getPlaceId() == null || place.getCoordinates() == null) {
+                continue;
+            }
+            Entry entry = new Entry(place, now);
+            long key = cellKey(entry.lat, entry.lng);
+            Long previous = cellByPlaceId.put(entry.placeId, key);
+            if (previous != null && previous != key) {
+                Cell old = cells.get(previous);
+                if (old != null) {
+                    old.places.remove(entry.placeId);
+                }
+            }
+            cells.computeIfAbsent(key, k -> new Cell()).places.put(entry.placeId, entry);
+        }
+
+        forEachCellCenterWithin(center, radiusMeters, key -> {
+            cells.computeIfAbsent(key, k -> new Cell()).coverage.put(coverageKey, now);
+            return true;
+        });
+
+        maybeSweep(now);
+    }
+
+    /**
+     * Whether every cell centered inside the circle was covered for the key within the max age
+     */
+    public boolean isCovered(Coordinates center, int radiusMeters, String coverageKey, long maxAgeMillis) {
+        long cutoff = clock.millis() - maxAgeMillis;
+        return forEachCellCenterWithin(center, radiusMeters, key -> {
+            Cell cell = cells.get(key);
+            if (cell == null) {
+                return false;
+            }
+            Long coveredAt = cell.coverage.get(coverageKey);
+            return coveredAt != null && coveredAt >= cutoff;
+        });
+    }
+
+    /**
+     * Places matching any of the types within the radius, seen within the max age, nearest first.
+     * Returned places are fresh copies with their distance (miles) measured from the center.
+     */
+    public List<Place> findWithin(Coordinates center, int radiusMeters, Collection<String> types, long maxAgeMillis) {
+        long cutoff = clock.millis() - maxAgeMillis;
+        Set<String> wanted = types == null ? Collections.emptySet() : new HashSet<>(types);
+
+        double dLat = GeoMath.metersToLatDegrees(radiusMeters);
+        double dLng = GeoMath.metersToLngDegrees(radiusMeters, center.getLat());
+        long minLat = index(center.getLat() - dLat);
+        long maxLat = index(center.getLat() + dLat);
+        long minLng = index(center.getLng() - dLng);
+        long maxLng = index(center.getLng() + dLng);
+
+        List<Place> result = new ArrayList<>();
+        for (long i = minLat; i <= maxLat; i++) {
+            for (long j = minLng; j <= maxLng; j++) {
+                Cell cell = cells.get(pack(i, j));
+                if (cell == null) {
+                    continue;
+                }
+                for (Entry entry : cell.places.values()) {
+                    if (entry.lastSeenMillis < cutoff || !entry.matches(wanted)) {
+                        continue;
+                    }
+                    double meters = GeoMath.distanceMeters(center.getLat(), center.getLng(), entry.lat, entry.lng);
+                    if (meters <= radiusMeters) {
+                        result.add(entry.toPlace(meters / GeoMath.METERS_PER_MILE));
+                    }
+                }
+            }
+        }
+        result.sort(Comparator.comparing(Place::getDistance));
+        return result;
+    }
+
+    /**
+     * Drop places and coverage older than the given age
+     */
+    public void evictOlderThan(long maxAgeMillis) {
+        long cutoff = clock.millis() - maxAgeMillis;
+        cells.entrySet().removeIf(cellEntry -> {
+            Cell cell = cellEntry.getValue();
+            cell.places.values().removeIf(entry -> {
+                if (entry.lastSeenMillis < cutoff) {
+                    cellByPlaceId.remove(entry.placeId, cellEntry.getKey());
+                    return true;
+                }
+                return false;
+            });
+            cell.coverage.values().removeIf(coveredAt -> coveredAt < cutoff);
+            return cell.places.isEmpty() && cell.coverage.isEmpty();
+        });
+    }
+
+    public int size() {
+        return cellByPlaceId.size();
+    }
+
+    public int cellCount() {
+        return cells.size();
+    }
+
+    private void maybeSweep(long now) {
+        long last = lastSweepMillis.get();
+        if (now - last >= SWEEP_INTERVAL_MILLIS && lastSweepMillis.compareAndSet(last, now)) {
+            evictOlderThan(MAX_RETENTION_MILLIS);
+        }
+    }
+
+    /**
+     * Visit every cell whose center lies inside the circle (plus the cell holding the center itself),
+     * stopping at the first cell the predicate rejects
+     */
+    private boolean forEachCellCenterWithin(Coordinates center, int radiusMeters, LongPredicate visitor) {
+        double lat = center.getLat();
+        double lng = center.getLng();
+        long centerKey = cellKey(lat, lng);
+        if (!visitor.test(centerKey)) {
+            return false;
+        }
+
+        double dLat = GeoMath.metersToLatDegrees(radiusMeters);
+        double dLng = GeoMath.metersToLngDegrees(radiusMeters, lat);
+        for (long i = index(lat - dLat); i <= index(lat + dLat); i++) {
+            double cellLat = (i + 0.5) * cellSizeDegrees;
+            for (long j = index(lng - dLng); j <= index(lng + dLng); j++) {
+                long key = pack(i, j);
+                if (key == centerKey) {
+                    continue;
+                }
+                double cellLng = (j + 0.5) * cellSizeDegrees;
+                if (GeoMath.distanceMeters(lat, lng, cellLat, cellLng) <= radiusMeters && !visitor.test(key)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private long cellKey(double lat, double lng) {
+        return pack(index(lat), index(lng));
+    }
+
+    private long index(double degrees) {
+        return (long) Math.floor(degrees / cellSizeDegrees);
+    }
+
+    private static long pack(long latIndex, long lngIndex) {
+        return (latIndex << 32) | (lngIndex & 0xffffffffL);
+    }
+
+    private static final class Cell {
+        private final Map<String, Entry> places = new ConcurrentHashMap<>();
+        private final Map<String, Long> coverage = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Immutable snapshot of a place; callers get copies so later enrichment never leaks into the index
+     */
+    private static final class Entry {
+        private final String placeId;
+        private final String name;
+        private final String address;
+        private final double lat;
+        private final double lng;
+        private final Double rating;
+        private final Integer userRatingsTotal;
+        private final Integer priceLevel;
+        private final String[] types;
+        private final List<Place.Photo> photos;
+        private final long lastSeenMillis;
+
+        private Entry(Place place, long lastSeenMillis) {
+            this.placeId = place.getPlaceId();
+            this.name = place.getName();
+            this.address = place.getAddress();
+            this.lat = place.getCoordinates().getLat();
+            this.lng = place.getCoordinates().getLng();
+            this.rating = place.getRating();
+            this.userRatingsTotal = place.getUserRatingsTotal();
+            this.priceLevel = place.getPriceLevel();
+            this.types = place.getTypes() != null ? place.getTypes().clone() : null;
+            this.photos = place.getPhotos() != null ? List.copyOf(place.getPhotos()) : null;
+            this.lastSeenMillis = lastSeenMillis;
+        }
+
+        private boolean matches(Set<String> wanted) {
+            if (wanted.isEmpty()) {
+                return true;
+            }
+            if (types == null) {
+                return false;
+            }
+            for (String type : types) {
+                if (wanted.contains(type)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private Place toPlace(double distanceMiles) {
+            Place place = new Place(placeId, name, address, new Coordinates(lat, lng));
+            place.setRating(rating);
+            place.setUserRatingsTotal(userRatingsTotal);
+            place.setPriceLevel(priceLevel);
+            place.setTypes(types != null ? types.clone() : null);
+            place.setPhotos(photos != null ? new ArrayList<>(photos) : null);
+            place.setDistance(distanceMiles);
+            return place;
+        }
+    }
+}
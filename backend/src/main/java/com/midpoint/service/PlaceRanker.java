@@ -0,0 +1,158 @@
+package com.midpoint.service;
+
+import com.midpoint.dto.Place;
+import com.midpoint.dto.RankingObjective;
+
+import java.util.*;
+
+/**
+ * Ranks candidate places by a travel-time objective over their per-origin travel summaries.
+ * <p>
+ * Only the best K places are kept, using a bounded max-heap (worst retained place on top), so
+ * ranking n candidates costs O(n log K) instead of sorting the whole list. Places missing travel
+ * data for some origins rank after every fully reachable place; places without any travel data
+ * fall back to straight-line distance from the midpoint.
+ */
+public class PlaceRanker {
+
+    private static final Comparator<Scored> BEST_FIRST = Comparator
+            .comparingInt((Scored s) -> s.unreachable)
+            .thenComparingDouble(s -> s.score)
+            .thenComparingLong(s -> s.total)
+            .thenComparingDouble(s -> s.distance)
+            .thenComparing(s -> s.placeId);
+
+    /**
+     * Keep the best {@code k} places, best first, each annotated with its ranking rationale
+     */
+    public List<Place> rankTopK(List<Place> places, int originCount, RankingObjective objective, int k) {
+        if (k <= 0 || places.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        PriorityQueue<Scored> heap = selectTopK(places, originCount, objective, k);
+        Scored[] best = heap.toArray(new Scored[0]);
+        Arrays.sort(best, BEST_FIRST);
+
+        List<Place> ranked = new ArrayList<>(best.length);
+        for (int i = 0; i < best.length; i++) {
+            Place place = best[i].place;
+            place.setRanking(best[i].toRanking(i + 1, objective));
+            ranked.add(place);
+        }
+        return ranked;
+    }
+
+    /**
+     * Objective score of the K-th best place, i.e. the score any other place must beat to enter the
+     * top K. {@link Double#POSITIVE_INFINITY} while fewer than K places are reachable from every origin.
+     */
+    public double kthBestScore(List<Place> places, int originCount, RankingObjective objective, int k) {
+        if (k <= 0 || places.size() < k) {
+            return Double.POSITIVE_INFINITY;
+        }
+        Scored kth = selectTopK(places, originCount, objective, k).peek();
+        return kth.unreachable > 0 ? Double.POSITIVE_INFINITY : kth.score;
+    }
+
+    /**
+     * Bounded max-heap of the best K places; the worst retained place sits on top
+     */
+    private PriorityQueue<Scored> selectTopK(List<Place> places, int originCount, RankingObjective objective, int k) {
+        PriorityQueue<Scored> heap = new PriorityQueue<>(Math.min(k, places.size()) + 1, BEST_FIRST.reversed());
+        for (Place place : places) {
+            Scored scored = score(place, originCount, objective);
+            if (heap.size() < k) {
+                heap.add(scored);
+            } else if (BEST_FIRST.compare(scored, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(scored);
+            }
+        }
+        return heap;
+    }
+
+    private Scored score(Place place, int originCount, RankingObjective objective) {
+        int reachable = 0;
+        long total = 0;
+        int max = 0;
+        double sumSquares = 0;
+        List<Place.TravelSummary> summaries = place.getTravelSummaries();
+        if (summaries != null) {
+            for (Place.TravelSummary summary : summaries) {
+                Integer duration = summary.getDurationSeconds();
+                if (duration == null) {
+                    continue;
+                }
+                reachable++;
+                total += duration;
+                max = Math.max(max, duration);
+                sumSquares += (double) duration * duration;
+            }
+        }
+
+        Scored scored = new Scored(place);
+        scored.unreachable = Math.max(0, originCount - reachable);
+        if (reachable == 0) {
+            scored.score = Double.POSITIVE_INFINITY;
+            scored.total = Long.MAX_VALUE;
+            return scored;
+        }
+
+        double mean = (double) total / reachable;
+        double variance = Math.max(0, sumSquares / reachable - mean * mean);
+        scored.reachable = reachable;
+        scored.total = total;
+        scored.max = max;
+        scored.stddev = Math.sqrt(variance);
+        switch (objective) {
+            case TOTAL_TIME -> scored.score = total;
+            case VARIANCE -> scored.score = variance;
+            default -> scored.score = max;
+        }
+        return scored;
+    }
+
+    private static final class Scored {
+        private final Place place;
+        private final String placeId;
+        private final double distance;
+        private int unreachable;
+        private int reachable;
+        private double score;
+        private long total;
+        private int max;
+        private double stddev;
+
+        private Scored(Place place) {
+            this.place = place;
+            this.placeId = place.getPlaceId() != null ? place.getPlaceId() : "";
+            this.distance = place.getDistance() != null ? place.getDistance() : Double.MAX_VALUE;
+        }
+
+        private Place.Ranking toRanking(int rank, RankingObjective objective) {
+            Place.Ranking ranking = new Place.Ranking();
+            ranking.setRank(rank);
+            ranking.setObjective(objective);
+            ranking.setUnreachableOrigins(unreachable);
+            if (reachable == 0) {
+                ranking.setReason("No travel data; ranked by distance from the midpoint");
+                return ranking;
+            }
+
+            ranking.setScore(score);
+            ranking.setMaxDurationSeconds(max);
+            ranking.setTotalDurationSeconds((int) total);
+            ranking.setDurationStddevSeconds(stddev);
+
+            String reason = String.format("Longest trip %d min, total %d min, spread ±%d min across %d origin%s",
+                    Math.round(max / 60.0), Math.round(total / 60.0), Math.round(stddev / 60.0),
+                    reachable, reachable == 1 ? "" : "s");
+            if (unreachable > 0) {
+                reason += String.format("; %d origin%s without a route", unreachable, unreachable == 1 ? "" : "s");
+            }
+            ranking.setReason(reason);
+            return ranking;
+        }
+    }
+}
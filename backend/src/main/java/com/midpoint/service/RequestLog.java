@@ -0,0 +1,251 @@
+package com.midpoint.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Stage summary of one request, logged as a single INFO line when the request completes instead of
+ * a line per stage, origin, place and matrix element.
+ * <p>
+ * Stages add their timings and counts as they run. The log travels in the Reactor Context, so
+ * stages deep in the pipeline find it with {@link #from(ContextView)}. Element-level detail is
+ * logged at DEBUG only for the sampled fraction of requests; outside a tracked request,
+ * {@link #UNTRACKED} records nothing and lets all detail through.
+ * <p>
+ * With a meter registry, completion also records the request and stage timers, places per response
+ * and matrix elements per request, tagged only by operation, stage and outcome.
+ */
+public class RequestLog {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RequestLog.class);
+    static final String REQUESTS = "midpoint.requests";
+    static final String STAGES = "midpoint.stage";
+    static final String PLACES = "midpoint.response.places";
+    static final String MATRIX_ELEMENTS = "midpoint.request.matrix.elements";
+
+    public static final RequestLog UNTRACKED = new RequestLog(null, true);
+
+    private final String operation;
+    private final boolean sampled;
+    private final MeterRegistry registry;
+    private final long startNanos = System.nanoTime();
+    private final Map<String, Long> stageNanos = new LinkedHashMap<>();
+    private final Map<String, Object> counts = new LinkedHashMap<>();
+    private final AtomicBoolean completed = new AtomicBoolean();
+    private volatile ServerTiming timing = ServerTiming.NONE;
+
+    RequestLog(String operation, boolean sampled) {
+        this(operation, sampled, null);
+    }
+
+    RequestLog(String operation, boolean sampled, MeterRegistry registry) {
+        this.operation = operation;
+        this.sampled = sampled;
+        this.registry = registry;
+    }
+
+    /**
+     * Start tracking a request; {@code sampleRate} of requests also log element-level detail
+     */
+    public static RequestLog start(String operation, double sampleRate, MeterRegistry registry) {
+        return new RequestLog(operation, sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate,
+                registry);
+    }
+
+    /**
+     * The request's log from the Reactor Context, or {@link #UNTRACKED}
+     */
+    public static RequestLog from(ContextView context) {
+        return context.getOrDefault(RequestLog.class, UNTRACKED);
+    }
+
+    /**
+     * Context entry for {@code contextWrite}, making this log visible to every upstream stage
+     */
+    public Context context() {
+        return Context.of(RequestLog.class, this);
+    }
+
+    /**
+     * {@code contextWrite} function adding this log to the context and reporting its stages to the
+     * request's {@link ServerTiming}, if any
+     */
+    public Context attachTo(Context context) {
+        reportTo(ServerTiming.from(context));
+        return context.put(RequestLog.class, this);
+    }
+
+    /**
+     * Report stages and cache counts to {@code serverTiming}
+     */
+    public void reportTo(ServerTiming serverTiming) {
+        if (operation != null) {
+            this.timing = serverTiming;
+            serverTiming.attach(this);
+        }
+    }
+
+    /**
+     * Count a Google call made outside WebClient toward the request's Server-Timing header
+     */
+    public void upstreamCall() {
+        timing.upstreamCall();
+    }
+
+    /**
+     * Whether this request logs element-level detail
+     */
+    public boolean isSampled() {
+        return sampled;
+    }
+
+    /**
+     * Add the time since {@code sinceNanos} to a stage; a stage run more than once accumulates
+     */
+    public void stage(String name, long sinceNanos) {
+        if (operation == null) {
+            return;
+        }
+        long elapsed = System.nanoTime() - sinceNanos;
+        synchronized (this) {
+            stageNanos.merge(name, elapsed, Long::sum);
+        }
+    }
+
+    /**
+     * Time a stage from subscription until its result, error or cancellation. The time is taken
+     * before the result moves downstream; {@code doFinally} would only run once the rest of a
+     * synchronous pipeline had finished.
+     */
+    public <T> Mono<T> time(String name, Mono<T> stage) {
+        if (operation == null) {
+            return stage;
+        }
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            AtomicBoolean timed = new AtomicBoolean();
+            Runnable record = () -> {
+                if (timed.compareAndSet(false, true)) {
+                    stage(name, start);
+                }
+            };
+            return stage.doOnSuccess(value -> record.run())
+                    .doOnError(error -> record.run())
+                    .doOnCancel(record);
+        });
+    }
+
+    /**
+     * Time a synchronous stage
+     */
+    public <T> T time(String name, Supplier<T> stage) {
+        long start = System.nanoTime();
+        try {
+            return stage.get();
+        } finally {
+            stage(name, start);
+        }
+    }
+
+    public void count(String name, long delta) {
+        if (operation != null) {
+            synchronized (this) {
+                counts.merge(name, delta, (a, b) -> ((Number) a).longValue() + ((Number) b).longValue());
+            }
+        }
+    }
+
+    public void set(String name, Object value) {
+        if (operation != null) {
+            synchronized (this) {
+                counts.put(name, value);
+            }
+        }
+    }
+
+    /**
+     * Log the summary line and record the request's meters; only the first call per request counts
+     */
+    public void complete(SignalType signal) {
+        if (operation == null || !completed.compareAndSet(false, true)) {
+            return;
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+        String outcome = switch (signal) {
+            case ON_ERROR -> "failed";
+            case CANCEL -> "cancelled";
+            default -> "ok";
+        };
+        if (registry != null) {
+            record(outcome, elapsedNanos);
+        }
+        if (LOGGER.isInfoEnabled()) {
+            LOGGER.info("📋 [{}] {} in {} ms | {}", operation.toUpperCase(), outcome, millis(elapsedNanos), summary());
+        }
+    }
+
+    private synchronized void record(String outcome, long elapsedNanos) {
+        Timer.builder(REQUESTS)
+                .description("Midpoint requests, from start to the last result")
+                .tags("operation", operation, "outcome", outcome)
+                .register(registry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        stageNanos.forEach((stage, nanos) -> Timer.builder(STAGES)
+                .description("Time per pipeline stage within a request")
+                .tags("operation", operation, "stage", stage)
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS));
+        if (!"ok".equals(outcome)) {
+            return;
+        }
+        if (counts.get("places") instanceof Number places) {
+            DistributionSummary.builder(PLACES)
+                    .description("Places per midpoint response")
+                    .tags("operation", operation)
+                    .register(registry)
+                    .record(places.doubleValue());
+        }
+        Object elements = counts.getOrDefault("matrix_elements", 0L);
+        DistributionSummary.builder(MATRIX_ELEMENTS)
+                .description("Distance Matrix elements requested per request")
+                .tags("operation", operation)
+                .register(registry)
+                .record(((Number) elements).doubleValue());
+    }
+
+    synchronized Map<String, Long> stages() {
+        return new LinkedHashMap<>(stageNanos);
+    }
+
+    synchronized Object value(String name) {
+        return counts.get(name);
+    }
+
+    /**
+     * Stage timings, then counts, e.g. {@code geocode=3.1ms search=4.0ms origins=10 candidates=20}
+     */
+    synchronized String summary() {
+        StringBuilder line = new StringBuilder();
+        stageNanos.forEach((name, nanos) -> line.append(name).append('=').append(millis(nanos)).append("ms "));
+        counts.forEach((name, value) -> line.append(name).append('=').append(value).append(' '));
+        return line.toString().trim();
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 100_000.0) / 10.0;
+    }
+}
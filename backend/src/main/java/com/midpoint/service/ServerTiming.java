@@ -0,0 +1,82 @@
+package com.midpoint.service;
+
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Timing of one API request for its {@code Server-Timing} response header.
+ * <p>
+ * The controller puts it in the Reactor Context; Google calls made within the request count
+ * themselves here, and the request's {@link RequestLog} attaches itself so its stage timings and
+ * cache counts make up the header. {@link #NONE} is used outside a timed request and records nothing.
+ */
+public class ServerTiming {
+
+    public static final String HEADER = "Server-Timing";
+    public static final ServerTiming NONE = new ServerTiming();
+
+    private final long startNanos = System.nanoTime();
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private volatile RequestLog log;
+
+    /**
+     * The request's timing from the Reactor Context, or {@link #NONE}
+     */
+    public static ServerTiming from(ContextView context) {
+        return context.getOrDefault(ServerTiming.class, NONE);
+    }
+
+    /**
+     * Context entry for {@code contextWrite}
+     */
+    public Context context() {
+        return Context.of(ServerTiming.class, this);
+    }
+
+    void attach(RequestLog requestLog) {
+        if (this != NONE) {
+            this.log = requestLog;
+        }
+    }
+
+    void upstreamCall() {
+        if (this != NONE) {
+            upstreamCalls.incrementAndGet();
+        }
+    }
+
+    /**
+     * Header value so far, e.g.
+     * {@code geocode;dur=48.1, search;dur=61.0, place-index;desc=miss, upstream;desc="calls=3", total;dur=212.4}
+     */
+    public String header() {
+        StringJoiner header = new StringJoiner(", ");
+        RequestLog requestLog = log;
+        if (requestLog != null) {
+            for (Map.Entry<String, Long> stage : requestLog.stages().entrySet()) {
+                header.add(stage.getKey() + ";dur=" + millis(stage.getValue()));
+            }
+            Object placeIndex = requestLog.value("place_index");
+            if (placeIndex != null) {
+                header.add("place-index;desc=" + placeIndex);
+            }
+            Object hits = requestLog.value("travel_cache_hits");
+            Object misses = requestLog.value("travel_cache_misses");
+            if (hits != null || misses != null) {
+                header.add("travel-cache;desc=\"hit=" + (hits != null ? hits : 0)
+                        + " miss=" + (misses != null ? misses : 0) + "\"");
+            }
+        }
+        header.add("upstream;desc=\"calls=" + upstreamCalls.get() + "\"");
+        header.add("total;dur=" + millis(System.nanoTime() - startNanos));
+        return header.toString();
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 100_000.0) / 10.0;
+    }
+}
@@ -0,0 +1,158 @@
+package com.midpoint.service;
+
+import com.midpoint.dto.Coordinates;
+import com.midpoint.dto.Place;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Distance Matrix elements by namespace, origin and destination.
+ * <p>
+ * Travel times differ by mode, so each mode is its own namespace with its own entries and hit and
+ * miss counts; a walking lookup can never be answered by a driving entry. Keys are the exact
+ * coordinates sent upstream. Only elements the API answered with a duration are stored, so failed
+ * elements are retried on the next request.
+ * <p>
+ * A namespace may be split further as {@code mode@bucket}, e.g. one per departure-time bucket. All
+ * namespaces of one mode share that mode's {@code maxEntries}, so adding buckets does not multiply
+ * the memory the cache can hold.
+ */
+public class TravelTimeCache {
+
+    private static final long SWEEP_INTERVAL_MILLIS = 60 * 1000L;
+
+    private final Clock clock;
+    private final Map<String, Namespace> namespaces = new ConcurrentHashMap<>();
+    private final Map<String, Mode> modes = new ConcurrentHashMap<>();
+
+    public TravelTimeCache() {
+        this(Clock.systemUTC());
+    }
+
+    public TravelTimeCache(Clock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Cached element no older than {@code maxAgeMillis}, or null
+     */
+    public Place.TravelSummary get(String namespace, Coordinates origin, Coordinates destination, long maxAgeMillis) {
+        Namespace entries = namespace(namespace);
+        Entry entry = entries.entries.get(key(origin, destination));
+        if (entry != null && clock.millis() - entry.storedMillis <= maxAgeMillis) {
+            entries.hits.incrementAndGet();
+            return entry.summary;
+        }
+        entries.misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Store an element, unless its mode already holds {@code maxEntries} across its namespaces.
+     * Expired entries are swept at most once a minute per mode, full or not, so a full mode
+     * skips stores until the next sweep frees room instead of scanning on every put.
+     */
+    public void put(String namespace, Coordinates origin, Coordinates destination, Place.TravelSummary summary,
+                    long maxAgeMillis, int maxEntries) {
+        if (summary == null || summary.getDurationSeconds() == null) {
+            return;
+        }
+        Namespace entries = namespace(namespace);
+        Mode mode = entries.mode;
+        long now = clock.millis();
+        long last = mode.lastSweepMillis.get();
+        if (now - last >= SWEEP_INTERVAL_MILLIS && mode.lastSweepMillis.compareAndSet(last, now)) {
+            sweep(mode, now);
+        }
+        if (mode.size.get() < maxEntries
+                && entries.entries.put(key(origin, destination), new Entry(summary, now, now + maxAgeMillis)) == null) {
+            mode.size.incrementAndGet();
+        }
+    }
+
+    public long getHits(String namespace) {
+        Namespace entries = namespaces.get(namespace);
+        return entries != null ? entries.hits.get() : 0;
+    }
+
+    public long getMisses(String namespace) {
+        Namespace entries = namespaces.get(namespace);
+        return entries != null ? entries.misses.get() : 0;
+    }
+
+    public int size(String namespace) {
+        Namespace entries = namespaces.get(namespace);
+        return entries != null ? entries.entries.size() : 0;
+    }
+
+    /**
+     * Entries held across all namespaces of a mode
+     */
+    public int modeSize(String mode) {
+        Mode entries = modes.get(mode);
+        return entries != null ? entries.size.get() : 0;
+    }
+
+    public Set<String> namespaces() {
+        return Set.copyOf(namespaces.keySet());
+    }
+
+    private Namespace namespace(String namespace) {
+        Namespace entries = namespaces.get(namespace);
+        if (entries != null) {
+            return entries;
+        }
+        int bucket = namespace.indexOf('@');
+        Mode mode = modes.computeIfAbsent(bucket >= 0 ? namespace.substring(0, bucket) : namespace, name -> new Mode());
+        return namespaces.computeIfAbsent(namespace, name -> {
+            Namespace created = new Namespace(mode);
+            mode.namespaces.add(created);
+            return created;
+        });
+    }
+
+    private static void sweep(Mode mode, long now) {
+        for (Namespace namespace : mode.namespaces) {
+            for (Map.Entry<String, Entry> entry : namespace.entries.entrySet()) {
+                if (now > entry.getValue().expiresMillis
+                        && namespace.entries.remove(entry.getKey(), entry.getValue())) {
+                    mode.size.decrementAndGet();
+                }
+            }
+        }
+    }
+
+    private static String key(Coordinates origin, Coordinates destination) {
+        return origin.getLat() + "," + origin.getLng() + "|" + destination.getLat() + "," + destination.getLng();
+    }
+
+    private static final class Namespace {
+        private final Mode mode;
+        private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+        private final AtomicLong hits = new AtomicLong();
+        private final AtomicLong misses = new AtomicLong();
+
+        private Namespace(Mode mode) {
+            this.mode = mode;
+        }
+    }
+
+    /**
+     * Namespaces of one mode and the entries they hold together
+     */
+    private static final class Mode {
+        private final List<Namespace> namespaces = new CopyOnWriteArrayList<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicLong lastSweepMillis = new AtomicLong();
+    }
+
+    private record Entry(Place.TravelSummary summary, long storedMillis, long expiresMillis) {
+    }
+}
@@ -0,0 +1,49 @@
+package com.midpoint.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for one Google Maps call, from request to the end of its response body
+ */
+@Name("com.midpoint.UpstreamCall")
+@Label("Upstream Call")
+@Category({"Midpoint", "Upstream"})
+@Description("Google Maps call, from request to the end of the response body")
+@StackTrace(false)
+class UpstreamCallEvent extends jdk.jfr.Event {
+
+    @Label("Endpoint")
+    String endpoint;
+
+    @Label("Status")
+    @Description("HTTP status, IO_ERROR or CANCELLED")
+    String status;
+
+    @Label("Response Size")
+    @DataAmount(DataAmount.BYTES)
+    long bytes;
+
+    /**
+     * An event timing from now; committing it costs nothing while the event is disabled
+     */
+    static UpstreamCallEvent started() {
+        UpstreamCallEvent event = new UpstreamCallEvent();
+        event.begin();
+        return event;
+    }
+
+    void commit(String endpoint, String status, long bytes) {
+        end();
+        if (shouldCommit()) {
+            this.endpoint = endpoint;
+            this.status = status;
+            this.bytes = Math.max(0, bytes);
+            commit();
+        }
+    }
+}
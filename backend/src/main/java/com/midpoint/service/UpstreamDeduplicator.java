@@ -0,0 +1,52 @@
+package com.midpoint.service;
+
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Single-flight for upstream calls: while a call for a key is in flight, later callers with the
+ * same key subscribe to it instead of issuing their own. The entry is dropped as soon as the call
+ * terminates, so nothing is cached beyond the overlap.
+ */
+public class UpstreamDeduplicator {
+
+    private final ConcurrentHashMap<String, Mono<String>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong deduplicated = new AtomicLong();
+
+    /**
+     * Join the in-flight call for {@code key}, or start {@code call} if there is none. The lookup
+     * happens on subscription, so assembling the returned Mono has no effect.
+     */
+    public Mono<String> dedupe(String key, Mono<String> call) {
+        return Mono.defer(() -> {
+            AtomicReference<Mono<String>> created = new AtomicReference<>();
+            Mono<String> shared = inFlight.computeIfAbsent(key, k -> {
+                AtomicReference<Mono<String>> self = new AtomicReference<>();
+                Mono<String> mono = call
+                        .doFinally(signal -> inFlight.remove(k, self.get()))
+                        .cache();
+                self.set(mono);
+                created.set(mono);
+                return mono;
+            });
+            if (created.get() == null) {
+                deduplicated.incrementAndGet();
+            }
+            return shared;
+        });
+    }
+
+    /**
+     * Calls served by joining another caller's in-flight request since startup
+     */
+    public long getDeduplicatedCount() {
+        return deduplicated.get();
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+}
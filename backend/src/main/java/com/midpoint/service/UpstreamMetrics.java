@@ -0,0 +1,123 @@
+package com.midpoint.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * WebClient filter timing every Google Maps call from request to the end of its response body,
+ * tagged by endpoint, HTTP status and outcome, with the response size in bytes.
+ * <p>
+ * Tags come from fixed sets: the endpoint is derived from the URL path and anything unknown is
+ * {@code other}, so neither query strings nor API keys ever reach a tag. Each call also counts
+ * toward the request's {@link ServerTiming} and is recorded as an {@link UpstreamCallEvent} for
+ * Flight Recorder.
+ */
+public class UpstreamMetrics implements ExchangeFilterFunction {
+
+    static final String REQUESTS = "midpoint.upstream.requests";
+    static final String RESPONSE_BYTES = "midpoint.upstream.response.bytes";
+    private static final Set<String> ENDPOINTS =
+            Set.of("autocomplete", "details", "geocode", "nearbysearch", "distancematrix");
+
+    private final Supplier<MeterRegistry> registry;
+
+    public UpstreamMetrics(Supplier<MeterRegistry> registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        String endpoint = endpointOf(request.url());
+        return Mono.deferContextual(context -> {
+            ServerTiming.from(context).upstreamCall();
+            long start = System.nanoTime();
+            UpstreamCallEvent event = UpstreamCallEvent.started();
+            AtomicBoolean recorded = new AtomicBoolean();
+            return next.exchange(request)
+                    .map(response -> {
+                        AtomicLong bytes = new AtomicLong();
+                        HttpStatusCode status = response.statusCode();
+                        return response.mutate()
+                                .body(body -> body
+                                        .doOnNext(buffer -> bytes.addAndGet(buffer.readableByteCount()))
+                                        .doFinally(signal -> record(recorded, event, endpoint,
+                                                String.valueOf(status.value()), outcome(status), start, bytes.get())))
+                                .build();
+                    })
+                    .doOnError(error -> record(recorded, event, endpoint, "IO_ERROR", "UNKNOWN", start, -1))
+                    .doOnCancel(() -> record(recorded, event, endpoint, "CANCELLED", "UNKNOWN", start, -1));
+        });
+    }
+
+    /**
+     * Record a call made outside WebClient; {@code statusCode} 0 means no response arrived
+     */
+    void record(URI url, int statusCode, long startNanos, long bytes, UpstreamCallEvent event) {
+        if (statusCode == 0) {
+            record(new AtomicBoolean(), event, endpointOf(url), "IO_ERROR", "UNKNOWN", startNanos, -1);
+            return;
+        }
+        HttpStatusCode status = HttpStatusCode.valueOf(statusCode);
+        record(new AtomicBoolean(), event, endpointOf(url), String.valueOf(statusCode), outcome(status), startNanos, bytes);
+    }
+
+    private void record(AtomicBoolean recorded, UpstreamCallEvent event, String endpoint, String status,
+                        String outcome, long startNanos, long bytes) {
+        if (!recorded.compareAndSet(false, true)) {
+            return;
+        }
+        event.commit(endpoint, status, bytes);
+        MeterRegistry meters = registry.get();
+        Timer.builder(REQUESTS)
+                .description("Google Maps calls, from request to the end of the response body")
+                .tags(Tags.of("endpoint", endpoint, "status", status, "outcome", outcome))
+                .register(meters)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        if (bytes >= 0) {
+            DistributionSummary.builder(RESPONSE_BYTES)
+                    .description("Google Maps response body size")
+                    .baseUnit("bytes")
+                    .tags("endpoint", endpoint)
+                    .register(meters)
+                    .record(bytes);
+        }
+    }
+
+    /**
+     * Endpoint name from a Maps API path: {@code /maps/api/geocode/json} is {@code geocode},
+     * {@code /v1/places:autocomplete} is {@code autocomplete}
+     */
+    static String endpointOf(URI url) {
+        String path = url.getPath() != null ? url.getPath() : "";
+        if (path.endsWith("/json")) {
+            path = path.substring(0, path.length() - "/json".length());
+        }
+        String name = path.substring(Math.max(path.lastIndexOf('/'), path.lastIndexOf(':')) + 1);
+        return ENDPOINTS.contains(name) ? name : "other";
+    }
+
+    private static String outcome(HttpStatusCode status) {
+        if (status.is2xxSuccessful()) {
+            return "SUCCESS";
+        }
+        if (status.is4xxClientError()) {
+            return "CLIENT_ERROR";
+        }
+        return status.is5xxServerError() ? "SERVER_ERROR" : "UNKNOWN";
+    }
+}
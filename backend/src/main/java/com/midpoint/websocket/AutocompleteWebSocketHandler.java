@@ -0,0 +1,85 @@
+package com.midpoint.websocket;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.midpoint.dto.AutocompleteQuery;
+import com.midpoint.service.AutocompleteChannel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+import reactor.core.Disposable;
+import reactor.core.publisher.Sinks;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Servlet WebSocket adapter for {@link AutocompleteChannel}: each text frame is an
+ * {@link AutocompleteQuery}, each reply frame an {@code AutocompleteReply}
+ */
+public class AutocompleteWebSocketHandler extends TextWebSocketHandler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AutocompleteWebSocketHandler.class);
+    private static final int SEND_TIME_LIMIT_MILLIS = 5_000;
+    private static final int SEND_BUFFER_LIMIT_BYTES = 256 * 1024;
+
+    private final AutocompleteChannel autocompleteChannel;
+    private final ObjectMapper objectMapper;
+    private final Map<String, Connection> connections = new ConcurrentHashMap<>();
+
+    public AutocompleteWebSocketHandler(AutocompleteChannel autocompleteChannel, ObjectMapper objectMapper) {
+        this.autocompleteChannel = autocompleteChannel;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        WebSocketSession outbound = new ConcurrentWebSocketSessionDecorator(
+                session, SEND_TIME_LIMIT_MILLIS, SEND_BUFFER_LIMIT_BYTES);
+        Sinks.Many<AutocompleteQuery> keystrokes = Sinks.many().unicast().onBackpressureBuffer();
+        Disposable replies = autocompleteChannel.connect(keystrokes.asFlux())
+                .subscribe(reply -> send(outbound, reply),
+                        error -> LOGGER.error("❌ Autocomplete channel failed for session {}", session.getId(), error));
+        connections.put(session.getId(), new Connection(keystrokes, replies));
+        LOGGER.debug("🔌 Autocomplete WebSocket opened: {}", session.getId());
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+        Connection connection = connections.get(session.getId());
+        if (connection == null) {
+            return;
+        }
+        try {
+            AutocompleteQuery query = objectMapper.readValue(message.getPayload(), AutocompleteQuery.class);
+            connection.keystrokes.emitNext(query, Sinks.EmitFailureHandler.FAIL_FAST);
+        } catch (JsonProcessingException e) {
+            LOGGER.warn("⚠️  Ignoring malformed autocomplete frame on session {}", session.getId());
+        }
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        Connection connection = connections.remove(session.getId());
+        if (connection != null) {
+            connection.replies.dispose();
+        }
+        LOGGER.debug("🔌 Autocomplete WebSocket closed: {} ({})", session.getId(), status);
+    }
+
+    private void send(WebSocketSession session, Object reply) {
+        try {
+            session.sendMessage(new TextMessage(objectMapper.writeValueAsString(reply)));
+        } catch (IOException e) {
+            LOGGER.warn("⚠️  Could not send autocomplete reply on session {}: {}", session.getId(), e.getMessage());
+        }
+    }
+
+    private record Connection(Sinks.Many<AutocompleteQuery> keystrokes, Disposable replies) {
+    }
+}
@@ -0,0 +1,158 @@
+package com.midpoint.websocket;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.midpoint.dto.Coordinates;
+import com.midpoint.dto.LiveUpdate;
+import com.midpoint.dto.LocationUpdate;
+import com.midpoint.service.LiveGroup;
+import com.midpoint.service.LiveGroupRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Servlet WebSocket adapter for {@link LiveGroupRegistry}: clients connect to
+ * {@code /ws/midpoint/sessions/{sessionId}}, send {@link LocationUpdate} frames and receive
+ * {@link LiveUpdate} frames.
+ * <p>
+ * A servlet send may block for up to the send time limit, so updates are queued per connection and
+ * written on the bounded-elastic scheduler, one drain at a time, instead of on the thread that
+ * published them.
+ */
+public class LiveSessionWebSocketHandler extends TextWebSocketHandler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LiveSessionWebSocketHandler.class);
+    private static final int SEND_TIME_LIMIT_MILLIS = 5_000;
+    private static final int SEND_BUFFER_LIMIT_BYTES = 1024 * 1024;
+    private static final CloseStatus UNKNOWN_SESSION = new CloseStatus(4404, "Unknown midpoint session");
+
+    private final LiveGroupRegistry registry;
+    private final ObjectMapper objectMapper;
+    private final Map<String, Connection> connections = new ConcurrentHashMap<>();
+
+    public LiveSessionWebSocketHandler(LiveGroupRegistry registry, ObjectMapper objectMapper) {
+        this.registry = registry;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws IOException {
+        String path = session.getUri() != null ? session.getUri().getPath() : "";
+        String sessionId = path.substring(path.lastIndexOf('/') + 1);
+        ConcurrentWebSocketSessionDecorator outbound = new ConcurrentWebSocketSessionDecorator(
+                session, SEND_TIME_LIMIT_MILLIS, SEND_BUFFER_LIMIT_BYTES);
+        Connection connection = new Connection(sessionId, outbound);
+        try {
+            connection.group = registry.join(sessionId, connection);
+        } catch (NoSuchElementException e) {
+            session.close(UNKNOWN_SESSION);
+            return;
+        } catch (IllegalStateException e) {
+            LOGGER.warn("⚠️  [LIVE] Turning away WebSocket {}: {}", session.getId(), e.getMessage());
+            session.close(CloseStatus.SERVICE_OVERLOAD);
+            return;
+        }
+        connections.put(session.getId(), connection);
+        LOGGER.debug("🔌 Live session WebSocket opened: {} -> {}", session.getId(), sessionId);
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+        Connection connection = connections.get(session.getId());
+        if (connection == null) {
+            return;
+        }
+        try {
+            LocationUpdate update = objectMapper.readValue(message.getPayload(), LocationUpdate.class);
+            int originIndex = update.getOriginIndex() != null ? update.getOriginIndex() : -1;
+            connection.group.submit(originIndex, new Coordinates(update.getLat(), update.getLng()));
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            LiveUpdate error = new LiveUpdate(LiveUpdate.ERROR, connection.sessionId, null);
+            error.setError(e instanceof JsonProcessingException ? "Malformed location update" : e.getMessage());
+            connection.send(error);
+        }
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        Connection connection = connections.remove(session.getId());
+        if (connection != null) {
+            registry.leave(connection.sessionId, connection);
+        }
+        LOGGER.debug("🔌 Live session WebSocket closed: {} ({})", session.getId(), status);
+    }
+
+    private final class Connection implements LiveGroup.Subscriber {
+        private final String sessionId;
+        private final ConcurrentWebSocketSessionDecorator outbound;
+        private final Queue<String> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger queuedBytes = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile LiveGroup group;
+
+        private Connection(String sessionId, ConcurrentWebSocketSessionDecorator outbound) {
+            this.sessionId = sessionId;
+            this.outbound = outbound;
+        }
+
+        @Override
+        public int pendingBytes() {
+            return queuedBytes.get() + outbound.getBufferSize();
+        }
+
+        @Override
+        public void send(LiveUpdate update) {
+            try {
+                String json = objectMapper.writeValueAsString(update);
+                queuedBytes.addAndGet(json.length());
+                queue.add(json);
+                scheduleDrain();
+            } catch (JsonProcessingException e) {
+                LOGGER.warn("⚠️  Could not send live update on session {}: {}", outbound.getId(), e.getMessage());
+            }
+        }
+
+        private void scheduleDrain() {
+            if (!queue.isEmpty() && draining.compareAndSet(false, true)) {
+                Schedulers.boundedElastic().schedule(this::drain);
+            }
+        }
+
+        private void drain() {
+            String json;
+            while ((json = queue.poll()) != null) {
+                queuedBytes.addAndGet(-json.length());
+                if (!outbound.isOpen()) {
+                    continue;
+                }
+                try {
+                    outbound.sendMessage(new TextMessage(json));
+                } catch (IOException e) {
+                    LOGGER.warn("⚠️  Could not send live update on session {}: {}", outbound.getId(), e.getMessage());
+                }
+            }
+            draining.set(false);
+            LiveGroup joined = group;
+            if (joined != null) {
+                joined.drained(this);
+            }
+            // Frames queued after the last poll but before the flag was cleared
+            scheduleDrain();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.midpoint.websocket;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.midpoint.dto.AutocompleteQuery;
+import com.midpoint.service.AutocompleteChannel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.reactive.socket.WebSocketHandler;
+import org.springframework.web.reactive.socket.WebSocketMessage;
+import org.springframework.web.reactive.socket.WebSocketSession;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive (Netty) WebSocket adapter for {@link AutocompleteChannel}, the counterpart of
+ * {@link AutocompleteWebSocketHandler}: inbound frames feed the channel directly and its replies are
+ * the outbound stream, so backpressure reaches the socket without a send buffer
+ */
+public class ReactiveAutocompleteWebSocketHandler implements WebSocketHandler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReactiveAutocompleteWebSocketHandler.class);
+
+    private final AutocompleteChannel autocompleteChannel;
+    private final ObjectMapper objectMapper;
+
+    public ReactiveAutocompleteWebSocketHandler(AutocompleteChannel autocompleteChannel, ObjectMapper objectMapper) {
+        this.autocompleteChannel = autocompleteChannel;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Mono<Void> handle(WebSocketSession session) {
+        LOGGER.debug("🔌 Autocomplete WebSocket opened: {}", session.getId());
+        return session.send(autocompleteChannel.connect(session.receive()
+                        .map(WebSocketMessage::getPayloadAsText)
+                        .flatMap(payload -> parse(session, payload)))
+                .flatMap(reply -> encode(session, reply)))
+                .doFinally(signal -> LOGGER.debug("🔌 Autocomplete WebSocket closed: {} ({})", session.getId(), signal));
+    }
+
+    private Mono<AutocompleteQuery> parse(WebSocketSession session, String payload) {
+        try {
+            return Mono.just(objectMapper.readValue(payload, AutocompleteQuery.class));
+        } catch (JsonProcessingException e) {
+            LOGGER.warn("⚠️  Ignoring malformed autocomplete frame on session {}", session.getId());
+            return Mono.empty();
+        }
+    }
+
+    private Mono<WebSocketMessage> encode(WebSocketSession session, Object reply) {
+        try {
+            return Mono.just(session.textMessage(objectMapper.writeValueAsString(reply)));
+        } catch (JsonProcessingException e) {
+            LOGGER.warn("⚠️  Could not send autocomplete reply on session {}: {}", session.getId(), e.getMessage());
+            return Mono.empty();
+        }
+    }
+}
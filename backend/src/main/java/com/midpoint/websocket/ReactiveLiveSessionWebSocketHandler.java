@@ -0,0 +1,118 @@
+package com.midpoint.websocket;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.midpoint.dto.Coordinates;
+import com.midpoint.dto.LiveUpdate;
+import com.midpoint.dto.LocationUpdate;
+import com.midpoint.service.LiveGroup;
+import com.midpoint.service.LiveGroupRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.reactive.socket.CloseStatus;
+import org.springframework.web.reactive.socket.WebSocketHandler;
+import org.springframework.web.reactive.socket.WebSocketMessage;
+import org.springframework.web.reactive.socket.WebSocketSession;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reactive (Netty) WebSocket adapter for {@link LiveGroupRegistry}, the counterpart of
+ * {@link LiveSessionWebSocketHandler}. Updates are queued in a per-connection sink; the bytes still
+ * queued there are what the group compares against its subscriber buffer limit.
+ */
+public class ReactiveLiveSessionWebSocketHandler implements WebSocketHandler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReactiveLiveSessionWebSocketHandler.class);
+    private static final CloseStatus UNKNOWN_SESSION = new CloseStatus(4404, "Unknown midpoint session");
+
+    private final LiveGroupRegistry registry;
+    private final ObjectMapper objectMapper;
+
+    public ReactiveLiveSessionWebSocketHandler(LiveGroupRegistry registry, ObjectMapper objectMapper) {
+        this.registry = registry;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Mono<Void> handle(WebSocketSession session) {
+        String path = session.getHandshakeInfo().getUri().getPath();
+        String sessionId = path.substring(path.lastIndexOf('/') + 1);
+        Connection connection = new Connection(session, sessionId);
+        try {
+            connection.group = registry.join(sessionId, connection);
+        } catch (NoSuchElementException e) {
+            return session.close(UNKNOWN_SESSION);
+        } catch (IllegalStateException e) {
+            LOGGER.warn("⚠️  [LIVE] Turning away WebSocket {}: {}", session.getId(), e.getMessage());
+            return session.close(CloseStatus.SERVICE_OVERLOAD);
+        }
+        LOGGER.debug("🔌 Live session WebSocket opened: {} -> {}", session.getId(), sessionId);
+
+        Mono<Void> inbound = session.receive()
+                .map(WebSocketMessage::getPayloadAsText)
+                .doOnNext(connection::receive)
+                .doFinally(signal -> connection.outbound.tryEmitComplete())
+                .then();
+        Mono<Void> outbound = session.send(connection.outbound.asFlux()
+                .map(json -> {
+                    if (connection.pendingBytes.addAndGet(-json.length()) == 0) {
+                        // Off this stack: a resync snapshot is emitted into the sink this frame came from
+                        Schedulers.parallel().schedule(() -> connection.group.drained(connection));
+                    }
+                    return session.textMessage(json);
+                }));
+        return Mono.zip(inbound, outbound).then()
+                .doFinally(signal -> {
+                    registry.leave(sessionId, connection);
+                    LOGGER.debug("🔌 Live session WebSocket closed: {} ({})", session.getId(), signal);
+                });
+    }
+
+    private final class Connection implements LiveGroup.Subscriber {
+        private final WebSocketSession session;
+        private final String sessionId;
+        private final Sinks.Many<String> outbound = Sinks.many().unicast().onBackpressureBuffer();
+        private final AtomicInteger pendingBytes = new AtomicInteger();
+        private volatile LiveGroup group;
+
+        private Connection(WebSocketSession session, String sessionId) {
+            this.session = session;
+            this.sessionId = sessionId;
+        }
+
+        private void receive(String payload) {
+            try {
+                LocationUpdate update = objectMapper.readValue(payload, LocationUpdate.class);
+                int originIndex = update.getOriginIndex() != null ? update.getOriginIndex() : -1;
+                group.submit(originIndex, new Coordinates(update.getLat(), update.getLng()));
+            } catch (JsonProcessingException | IllegalArgumentException e) {
+                LiveUpdate error = new LiveUpdate(LiveUpdate.ERROR, sessionId, null);
+                error.setError(e instanceof JsonProcessingException ? "Malformed location update" : e.getMessage());
+                send(error);
+            }
+        }
+
+        @Override
+        public int pendingBytes() {
+            return pendingBytes.get();
+        }
+
+        @Override
+        public void send(LiveUpdate update) {
+            try {
+                String json = objectMapper.writeValueAsString(update);
+                pendingBytes.addAndGet(json.length());
+                // Publishers may race (a join snapshot and a group diff); busy-loop the rare contended emit
+                outbound.emitNext(json, Sinks.EmitFailureHandler.busyLooping(Duration.ofMillis(100)));
+            } catch (JsonProcessingException | Sinks.EmissionException e) {
+                LOGGER.warn("⚠️  Could not send live update on session {}: {}", session.getId(), e.getMessage());
+            }
+        }
+    }
+}
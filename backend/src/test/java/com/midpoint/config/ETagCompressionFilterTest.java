@@ -0,0 +1,90 @@
+package com.midpoint.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.server.Compression;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ETagCompressionFilterTest {
+
+    private static final String BODY = "{\"places\":[" + "{\"name\":\"Place\"},".repeat(200) + "{}]}";
+
+    private final ETagCompressionFilter filter = new ETagCompressionFilter(compression());
+
+    @Test
+    void testCompressesETaggedJson() throws Exception {
+        MockHttpServletResponse response = run(request("gzip, deflate"), chain(200, "\"abc\"", BODY));
+
+        assertEquals("gzip", response.getHeader("Content-Encoding"));
+        assertTrue(response.getContentAsByteArray().length < BODY.length());
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            assertEquals(BODY, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void testLeavesIdentityClientsSmallBodiesAndNotModifiedAlone() throws Exception {
+        MockHttpServletResponse identity = run(request(null), chain(200, "\"abc\"", BODY));
+        assertNull(identity.getHeader("Content-Encoding"));
+        assertEquals(BODY, identity.getContentAsString());
+
+        MockHttpServletResponse small = run(request("gzip"), chain(200, "\"abc\"", "{}"));
+        assertNull(small.getHeader("Content-Encoding"));
+        assertEquals("{}", small.getContentAsString());
+
+        MockHttpServletResponse notModified = run(request("gzip"), chain(304, "\"abc\"", ""));
+        assertNull(notModified.getHeader("Content-Encoding"));
+        assertEquals(0, notModified.getContentAsByteArray().length);
+    }
+
+    @Test
+    void testLeavesUntaggedResponsesToTheServer() throws Exception {
+        MockHttpServletResponse response = run(request("gzip"), chain(200, null, BODY));
+
+        assertNull(response.getHeader("Content-Encoding"));
+        assertEquals(BODY, response.getContentAsString());
+    }
+
+    private MockHttpServletResponse run(MockHttpServletRequest request, FilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String acceptEncoding) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/places/midpoint");
+        if (acceptEncoding != null) {
+            request.addHeader("Accept-Encoding", acceptEncoding);
+        }
+        return request;
+    }
+
+    private static FilterChain chain(int status, String etag, String body) {
+        return (request, response) -> {
+            HttpServletResponse http = (HttpServletResponse) response;
+            http.setStatus(status);
+            if (etag != null) {
+                http.setHeader("ETag", etag);
+            }
+            http.setContentType("application/json");
+            http.getOutputStream().write(body.getBytes(StandardCharsets.UTF_8));
+        };
+    }
+
+    private static Compression compression() {
+        Compression compression = new Compression();
+        compression.setEnabled(true);
+        compression.setMimeTypes(new String[]{"application/json", "application/cbor"});
+        compression.setMinResponseSize(DataSize.ofKilobytes(2));
+        return compression;
+    }
+}
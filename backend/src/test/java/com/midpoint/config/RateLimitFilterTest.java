@@ -0,0 +1,70 @@
+package com.midpoint.config;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitFilterTest {
+
+    private final ClientRateLimiter limiter =
+            new ClientRateLimiter(new TokenBucketStore(Duration.ofMinutes(10)), 4, 0.5, 2, 0.5);
+    private final RateLimitFilter filter = new RateLimitFilter(limiter);
+    private final AtomicInteger passed = new AtomicInteger();
+    private final FilterChain chain = (request, response) -> passed.incrementAndGet();
+
+    @Test
+    void testSessionTokenOverItsRateGets429WithRetryAfter() throws Exception {
+        assertEquals(200, run("10.0.0.1", "s-1").getStatus());
+        assertEquals(200, run("10.0.0.1", "s-1").getStatus());
+
+        MockHttpServletResponse limited = run("10.0.0.1", "s-1");
+
+        assertEquals(429, limited.getStatus());
+        assertEquals("2", limited.getHeader("Retry-After"));
+        assertEquals(2, passed.get());
+        assertEquals(1, limiter.getLimitedBySession());
+        // Another session from the same IP still has IP budget left
+        assertEquals(200, run("10.0.0.1", "s-2").getStatus());
+    }
+
+    @Test
+    void testIpOverItsRateGets429WhateverTheSession() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            assertEquals(200, run("10.0.0.2", "s-" + i).getStatus());
+        }
+
+        assertEquals(429, run("10.0.0.2", "s-new").getStatus());
+        assertEquals(429, run("10.0.0.2", null).getStatus());
+        assertEquals(200, run("10.0.0.3", null).getStatus());
+        assertEquals(2, limiter.getLimitedByIp());
+    }
+
+    @Test
+    void testHealthIsNeverLimited() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/places/health");
+            request.setRemoteAddr("10.0.0.4");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request, response, chain);
+            assertEquals(200, response.getStatus());
+        }
+    }
+
+    private MockHttpServletResponse run(String ip, String sessionToken) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/places/autocomplete");
+        request.setRemoteAddr(ip);
+        request.setParameter("input", "pizza");
+        if (sessionToken != null) {
+            request.setParameter("sessionToken", sessionToken);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
@@ -0,0 +1,94 @@
+package com.midpoint.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketStoreTest {
+
+    private final AtomicLong clock = new AtomicLong(1_700_000_000_000L);
+    private final TokenBucketStore store = new TokenBucketStore(clock::get, Duration.ofMinutes(10));
+
+    @Test
+    void testTryAcquire_AllowsCapacityThenReportsWait() {
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, store.tryAcquire("ip:1.2.3.4", 5, 2));
+        }
+
+        // 2 tokens per second: the next token is 500 ms away
+        assertEquals(500, store.tryAcquire("ip:1.2.3.4", 5, 2));
+        assertEquals(0, store.tryAcquire("ip:5.6.7.8", 5, 2));
+    }
+
+    @Test
+    void testTryAcquire_RefillsOverTimeUpToCapacity() {
+        for (int i = 0; i < 3; i++) {
+            store.tryAcquire("session:abc", 3, 10);
+        }
+        assertTrue(store.tryAcquire("session:abc", 3, 10) > 0);
+
+        clock.addAndGet(250);
+        assertEquals(0, store.tryAcquire("session:abc", 3, 10));
+        assertEquals(0, store.tryAcquire("session:abc", 3, 10));
+        assertTrue(store.tryAcquire("session:abc", 3, 10) > 0);
+
+        // A long pause refills to capacity, not beyond
+        clock.addAndGet(60_000);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, store.tryAcquire("session:abc", 3, 10));
+        }
+        assertTrue(store.tryAcquire("session:abc", 3, 10) > 0);
+    }
+
+    @Test
+    void testTryAcquire_ConcurrentCallersNeverExceedCapacity() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Integer>> callers = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                callers.add(() -> {
+                    int allowed = 0;
+                    for (int i = 0; i < 10_000; i++) {
+                        if (store.tryAcquire("ip:hot", 1000, 0.001) == 0) {
+                            allowed++;
+                        }
+                    }
+                    return allowed;
+                });
+            }
+            int total = 0;
+            for (Future<Integer> allowed : pool.invokeAll(callers)) {
+                total += allowed.get();
+            }
+            assertEquals(1000, total);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void testSweep_RemovesOnlyIdleBuckets() {
+        store.tryAcquire("ip:idle", 10, 1);
+        clock.addAndGet(Duration.ofMinutes(9).toMillis());
+        store.tryAcquire("ip:active", 10, 1);
+        clock.addAndGet(Duration.ofMinutes(2).toMillis());
+
+        assertEquals(1, store.sweep());
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void testTryAcquire_RejectsCapacityThatDoesNotFit() {
+        assertThrows(IllegalArgumentException.class,
+                () -> store.tryAcquire("ip:x", TokenBucketStore.MAX_CAPACITY + 1, 1));
+    }
+}
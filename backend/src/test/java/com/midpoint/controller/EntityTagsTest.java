@@ -0,0 +1,66 @@
+package com.midpoint.controller;
+
+import com.midpoint.dto.Coordinates;
+import com.midpoint.dto.MidpointRequest;
+import com.midpoint.dto.MidpointResponse;
+import com.midpoint.dto.ResponseViews;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntityTagsTest {
+
+    private final MidpointRequest request = new MidpointRequest(
+            List.of(new Coordinates(40.7128, -74.0060), new Coordinates(40.7589, -73.9851)), List.of("restaurant"));
+    private final MidpointResponse result = new MidpointResponse(
+            new Coordinates(40.7350, -73.9950), "New York, NY, USA", List.of(), 8047);
+
+    @Test
+    void testTagIsStableAndQuoted() {
+        String tag = EntityTags.of(request, result, null, "json");
+
+        assertEquals(tag, EntityTags.of(request, result, null, "json"));
+        assertTrue(tag.startsWith("\"") && tag.endsWith("\""));
+        assertFalse(tag.startsWith("W/"));
+    }
+
+    @Test
+    void testTagChangesWithResultViewAndRepresentation() {
+        String tag = EntityTags.of(request, result, null, "json");
+        MidpointResponse moved = new MidpointResponse(
+                new Coordinates(40.7351, -73.9950), "New York, NY, USA", List.of(), 8047);
+
+        assertNotEquals(tag, EntityTags.of(request, moved, null, "json"));
+        assertNotEquals(tag, EntityTags.of(request, result, ResponseViews.Markers.class, "json"));
+        assertNotEquals(tag, EntityTags.of(request, result, null, "cbor"));
+        assertNotEquals(tag, EntityTags.of(request, result, null, "json+gzip"));
+    }
+
+    @Test
+    void testCanonicalFormIgnoresMapOrder() {
+        assertEquals(EntityTags.of(Map.of("a", 1, "b", 2), result, null, "json"),
+                EntityTags.of(Map.of("b", 2, "a", 1), result, null, "json"));
+    }
+
+    @Test
+    void testRepresentation() {
+        assertEquals("json", EntityTags.representation(null, null));
+        assertEquals("json+gzip", EntityTags.representation("*/*", "gzip, deflate, br"));
+        assertEquals("cbor", EntityTags.representation("application/cbor", "identity"));
+        assertEquals("smile+gzip", EntityTags.representation("application/x-jackson-smile", "GZIP"));
+    }
+
+    @Test
+    void testIfNoneMatch() {
+        String tag = EntityTags.of(request, result, null, "json");
+
+        assertTrue(EntityTags.matches(tag, tag));
+        assertTrue(EntityTags.matches("\"other\", W/" + tag, tag));
+        assertTrue(EntityTags.matches("*", tag));
+        assertFalse(EntityTags.matches("\"other\"", tag));
+        assertFalse(EntityTags.matches(null, tag));
+    }
+}
@@ -0,0 +1,93 @@
+package com.midpoint.controller;
+
+import com.midpoint.dto.*;
+import com.midpoint.service.MidpointBatchService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@WebFluxTest(
+    controllers = MidpointBatchController.class,
+    excludeAutoConfiguration = {
+        org.springframework.boot.autoconfigure.security.reactive.ReactiveSecurityAutoConfiguration.class,
+        org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration.class,
+        org.springframework.boot.autoconfigure.security.servlet.SecurityFilterAutoConfiguration.class
+    }
+)
+class MidpointBatchControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private MidpointBatchService midpointBatchService;
+
+    @MockBean
+    private SecurityFilterChain securityFilterChain;
+
+    @Test
+    void testFindMidpoints_StreamsOneLinePerGroup() {
+        MidpointRequest group = new MidpointRequest(List.of(new Coordinates(40.0, -74.0)), List.of("cafe"));
+        MidpointResponse response = new MidpointResponse(new Coordinates(40.0, -74.0), "Address", List.of(), 8046);
+        when(midpointBatchService.getMaxGroups()).thenReturn(100);
+        when(midpointBatchService.processBatch(anyList())).thenReturn(Flux.just(
+            BatchMidpointResult.success(1, response),
+            BatchMidpointResult.failure(0, "No coordinates provided")));
+
+        List<BatchMidpointResult> results = webTestClient.post()
+            .uri("/api/places/midpoint/batch")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(new BatchMidpointRequest(List.of(group, group)))
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+            .returnResult(BatchMidpointResult.class)
+            .getResponseBody()
+            .collectList()
+            .block();
+
+        assertEquals(2, results.size());
+        assertEquals(1, results.get(0).getGroupIndex());
+        assertEquals("Address", results.get(0).getResponse().getMidpointAddress());
+        assertEquals("No coordinates provided", results.get(1).getError());
+    }
+
+    @Test
+    void testFindMidpoints_RejectsEmptyBatch() {
+        when(midpointBatchService.getMaxGroups()).thenReturn(100);
+
+        webTestClient.post()
+            .uri("/api/places/midpoint/batch")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(new BatchMidpointRequest(Collections.emptyList()))
+            .exchange()
+            .expectStatus().isBadRequest();
+
+        verify(midpointBatchService, never()).processBatch(anyList());
+    }
+
+    @Test
+    void testFindMidpoints_RejectsOversizedBatch() {
+        MidpointRequest group = new MidpointRequest(List.of(new Coordinates(40.0, -74.0)), null);
+        when(midpointBatchService.getMaxGroups()).thenReturn(1);
+
+        webTestClient.post()
+            .uri("/api/places/midpoint/batch")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(new BatchMidpointRequest(List.of(group, group)))
+            .exchange()
+            .expectStatus().isBadRequest();
+    }
+}
@@ -0,0 +1,89 @@
+package com.midpoint.controller;
+
+import com.midpoint.dto.*;
+import com.midpoint.service.MidpointJobService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@WebFluxTest(
+    controllers = MidpointJobController.class,
+    excludeAutoConfiguration = {
+        org.springframework.boot.autoconfigure.security.reactive.ReactiveSecurityAutoConfiguration.class,
+        org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration.class,
+        org.springframework.boot.autoconfigure.security.servlet.SecurityFilterAutoConfiguration.class
+    }
+)
+class MidpointJobControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private MidpointJobService midpointJobService;
+
+    @MockBean
+    private SecurityFilterChain securityFilterChain;
+
+    @Test
+    void testSubmitReturnsAcceptedAndPollReturnsResult() {
+        MidpointJob queued = new MidpointJob("j-1", MidpointJob.QUEUED);
+        queued.setQueuePosition(0);
+        MidpointJob done = new MidpointJob("j-1", MidpointJob.SUCCEEDED);
+        done.setResponse(new MidpointResponse(new Coordinates(40.73, -73.99), "Address", List.of(), 8046));
+        when(midpointJobService.submit(any(MidpointJobRequest.class))).thenReturn(queued);
+        when(midpointJobService.get("j-1")).thenReturn(done);
+
+        webTestClient.post()
+            .uri("/api/places/midpoint/jobs")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue("{\"coords\":[{\"lat\":40.7,\"lng\":-74.0},{\"lat\":40.76,\"lng\":-73.98}],\"deadline_seconds\":30}")
+            .exchange()
+            .expectStatus().isAccepted()
+            .expectHeader().valueEquals("Location", "/api/places/midpoint/jobs/j-1")
+            .expectBody()
+            .jsonPath("$.job_id").isEqualTo("j-1")
+            .jsonPath("$.status").isEqualTo("queued")
+            .jsonPath("$.queue_position").isEqualTo(0);
+        verify(midpointJobService).submit(argThat(request -> request.getDeadlineSeconds() == 30));
+
+        webTestClient.get()
+            .uri("/api/places/midpoint/jobs/j-1")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.status").isEqualTo("succeeded")
+            .jsonPath("$.response.midpoint_address").isEqualTo("Address");
+    }
+
+    @Test
+    void testErrorsMapToStatusCodes() {
+        when(midpointJobService.submit(any(MidpointJobRequest.class)))
+            .thenThrow(new IllegalStateException("Midpoint job queue is full (200)"));
+        when(midpointJobService.get("missing")).thenThrow(new NoSuchElementException("Unknown midpoint job: missing"));
+
+        webTestClient.post()
+            .uri("/api/places/midpoint/jobs")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue("{\"coords\":[{\"lat\":40.7,\"lng\":-74.0}]}")
+            .exchange()
+            .expectStatus().isEqualTo(503);
+
+        webTestClient.get()
+            .uri("/api/places/midpoint/jobs/missing")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus().isNotFound();
+    }
+}
@@ -0,0 +1,110 @@
+package com.midpoint.controller;
+
+import com.midpoint.dto.*;
+import com.midpoint.service.MidpointSessionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@WebFluxTest(
+    controllers = MidpointSessionController.class,
+    excludeAutoConfiguration = {
+        org.springframework.boot.autoconfigure.security.reactive.ReactiveSecurityAutoConfiguration.class,
+        org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration.class,
+        org.springframework.boot.autoconfigure.security.servlet.SecurityFilterAutoConfiguration.class
+    }
+)
+class MidpointSessionControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private MidpointSessionService midpointSessionService;
+
+    @MockBean
+    private SecurityFilterChain securityFilterChain;
+
+    private final MidpointResponse response =
+        new MidpointResponse(new Coordinates(40.73, -73.99), "Address", List.of(), 8046);
+
+    @Test
+    void testCreateAndMove() {
+        when(midpointSessionService.create(any(MidpointRequest.class)))
+            .thenReturn(Mono.just(new MidpointSessionResponse("s-1", 1, false, response)));
+        when(midpointSessionService.moveOrigin(eq("s-1"), eq(1), any(Coordinates.class)))
+            .thenReturn(Mono.just(new MidpointSessionResponse("s-1", 2, true, response)));
+
+        webTestClient.post()
+            .uri("/api/places/midpoint/sessions")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(new MidpointRequest(List.of(new Coordinates(40.7, -74.0), new Coordinates(40.76, -73.98)), null))
+            .exchange()
+            .expectStatus().isCreated()
+            .expectBody()
+            .jsonPath("$.session_id").isEqualTo("s-1")
+            .jsonPath("$.version").isEqualTo(1)
+            .jsonPath("$.response.midpoint_address").isEqualTo("Address");
+
+        webTestClient.put()
+            .uri("/api/places/midpoint/sessions/s-1/origins/1")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(new Coordinates(40.761, -73.98))
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.version").isEqualTo(2)
+            .jsonPath("$.candidates_reused").isEqualTo(true);
+    }
+
+    @Test
+    void testMoveErrorsMapToStatusCodes() {
+        when(midpointSessionService.moveOrigin(eq("missing"), anyInt(), any(Coordinates.class)))
+            .thenReturn(Mono.error(new NoSuchElementException("Unknown midpoint session: missing")));
+        when(midpointSessionService.moveOrigin(eq("s-1"), eq(9), any(Coordinates.class)))
+            .thenReturn(Mono.error(new IllegalArgumentException("Invalid origin update for index 9")));
+        when(midpointSessionService.create(any(MidpointRequest.class)))
+            .thenReturn(Mono.error(new IllegalStateException("Too many active midpoint sessions")));
+
+        webTestClient.put()
+            .uri("/api/places/midpoint/sessions/missing/origins/0")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(new Coordinates(40.7, -74.0))
+            .exchange()
+            .expectStatus().isNotFound();
+
+        webTestClient.put()
+            .uri("/api/places/midpoint/sessions/s-1/origins/9")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(new Coordinates(40.7, -74.0))
+            .exchange()
+            .expectStatus().isBadRequest();
+
+        webTestClient.post()
+            .uri("/api/places/midpoint/sessions")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(new MidpointRequest(List.of(new Coordinates(40.7, -74.0)), null))
+            .exchange()
+            .expectStatus().isEqualTo(503);
+    }
+
+    @Test
+    void testCloseSession() {
+        when(midpointSessionService.close("s-1")).thenReturn(true);
+        when(midpointSessionService.close("missing")).thenReturn(false);
+
+        webTestClient.delete().uri("/api/places/midpoint/sessions/s-1").exchange().expectStatus().isNoContent();
+        webTestClient.delete().uri("/api/places/midpoint/sessions/missing").exchange().expectStatus().isNotFound();
+    }
+}
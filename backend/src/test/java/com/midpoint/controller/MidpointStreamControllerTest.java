@@ -0,0 +1,96 @@
+package com.midpoint.controller;
+
+import com.midpoint.dto.*;
+import com.midpoint.service.MidpointService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(
+    controllers = MidpointStreamController.class,
+    excludeAutoConfiguration = {
+        org.springframework.boot.autoconfigure.security.reactive.ReactiveSecurityAutoConfiguration.class,
+        org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration.class,
+        org.springframework.boot.autoconfigure.security.servlet.SecurityFilterAutoConfiguration.class
+    }
+)
+class MidpointStreamControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private MidpointService midpointService;
+
+    @MockBean
+    private SecurityFilterChain securityFilterChain;
+
+    private final MidpointRequest request = new MidpointRequest(
+        List.of(new Coordinates(40.7128, -74.0060), new Coordinates(40.7589, -73.9851)), List.of("cafe"));
+
+    @Test
+    void testStreamMidpoint_NdjsonLinePerEvent() {
+        when(midpointService.streamMidpointAndPlaces(any(MidpointRequest.class))).thenReturn(events());
+
+        List<MidpointEvent> events = webTestClient.post()
+            .uri("/api/places/midpoint/stream")
+            .accept(MediaType.APPLICATION_NDJSON)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(request)
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+            .returnResult(MidpointEvent.class)
+            .getResponseBody()
+            .collectList()
+            .block();
+
+        assertEquals(3, events.size());
+        assertEquals(MidpointEvent.MIDPOINT, events.get(0).getType());
+        assertEquals("New York, NY, USA", events.get(1).getMidpointAddress());
+        assertEquals(MidpointEvent.RANKED, events.get(2).getType());
+    }
+
+    @Test
+    void testStreamMidpoint_ServerSentEventsNamedByType() {
+        when(midpointService.streamMidpointAndPlaces(any(MidpointRequest.class))).thenReturn(events());
+
+        List<ServerSentEvent<MidpointEvent>> events = webTestClient.post()
+            .uri("/api/places/midpoint/stream")
+            .accept(MediaType.TEXT_EVENT_STREAM)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(request)
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM)
+            .returnResult(new ParameterizedTypeReference<ServerSentEvent<MidpointEvent>>() {})
+            .getResponseBody()
+            .collectList()
+            .block();
+
+        assertEquals(3, events.size());
+        assertEquals("midpoint", events.get(0).event());
+        assertEquals("address", events.get(1).event());
+        assertEquals(40.7, events.get(0).data().getMidpoint().getLat(), 0.1);
+    }
+
+    private Flux<MidpointEvent> events() {
+        return Flux.just(
+            MidpointEvent.midpoint(new Coordinates(40.7359, -73.9955), 8046),
+            MidpointEvent.address("New York, NY, USA"),
+            MidpointEvent.places(MidpointEvent.RANKED, List.of()));
+    }
+}
@@ -129,6 +129,29 @@ class PlacesController2Test {
             });
     }
 
+    @Test
+    void testGetPlaceDetails_ListViewOmitsContactFields() {
+        PlaceDetails details = new PlaceDetails();
+        details.setPlaceId("test-place-id");
+        details.setName("Test Place");
+        details.setFormattedAddress("123 Test St, New York, NY, USA");
+        details.setWebsite("https://example.com");
+        details.setFormattedPhoneNumber("(212) 555-0100");
+
+        when(googleMapsService.getPlaceDetails(eq("test-place-id"), anyString()))
+            .thenReturn(Mono.just(details));
+
+        webTestClient.get()
+            .uri("/api/places/details?placeId=test-place-id&view=list")
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.place_id").isEqualTo("test-place-id")
+            .jsonPath("$.formattedAddress").isEqualTo("123 Test St, New York, NY, USA")
+            .jsonPath("$.website").doesNotExist()
+            .jsonPath("$.formattedPhoneNumber").doesNotExist();
+    }
+
     @Test
     void testGetPlaceDetails_WithSessionToken() {
         PlaceDetails details = new PlaceDetails();
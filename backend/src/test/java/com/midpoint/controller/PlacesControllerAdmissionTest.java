@@ -0,0 +1,77 @@
+package com.midpoint.controller;
+
+import com.midpoint.dto.MidpointRequest;
+import com.midpoint.service.GoogleMapsService;
+import com.midpoint.service.MidpointService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(
+    controllers = PlacesController.class,
+    properties = {
+        "midpoint.admission.midpoint.max-concurrent=1",
+        "midpoint.admission.retry-after-seconds=2"
+    },
+    excludeAutoConfiguration = {
+        org.springframework.boot.autoconfigure.security.reactive.ReactiveSecurityAutoConfiguration.class,
+        org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration.class,
+        org.springframework.boot.autoconfigure.security.servlet.SecurityFilterAutoConfiguration.class
+    }
+)
+class PlacesControllerAdmissionTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private PlacesController placesController;
+
+    @MockBean
+    private GoogleMapsService googleMapsService;
+
+    @MockBean
+    private MidpointService midpointService;
+
+    @MockBean
+    private SecurityFilterChain securityFilterChain;
+
+    @Test
+    void testMidpointOverTheLimitIsShedWithRetryAfter() {
+        when(midpointService.findMidpointAndPlaces(any(MidpointRequest.class))).thenReturn(Mono.never());
+        // Hold the only midpoint slot
+        Disposable inFlight = placesController.findMidpointByQuery("40.7,-74.0;40.76,-73.98",
+                null, null, null, null, null, new HttpHeaders()).subscribe();
+
+        webTestClient.get()
+            .uri("/api/places/midpoint?coords=40.7,-74.0;40.76,-73.98")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus().isEqualTo(503)
+            .expectHeader().valueEquals(HttpHeaders.RETRY_AFTER, "2")
+            // Server-Timing is off unless configured
+            .expectHeader().doesNotExist("Server-Timing");
+
+        webTestClient.get()
+            .uri("/api/places/admission")
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$[?(@.group == 'midpoint')].in_flight").isEqualTo(1)
+            .jsonPath("$[?(@.group == 'midpoint')].accepted").isEqualTo(1)
+            .jsonPath("$[?(@.group == 'midpoint')].shed").isEqualTo(1)
+            .jsonPath("$[?(@.group == 'details')].max_concurrent").isEqualTo(128);
+
+        inFlight.dispose();
+    }
+}
@@ -1,5 +1,8 @@
 package com.midpoint.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import com.midpoint.dto.*;
 import com.midpoint.service.GoogleMapsService;
 import com.midpoint.service.MidpointService;
@@ -12,12 +15,15 @@ import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Mono;
 
+import java.time.OffsetDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @WebFluxTest(
@@ -97,6 +103,50 @@ class PlacesControllerMidpointTest {
             .expectStatus().isBadRequest();
     }
 
+    @Test
+    void testFindMidpoint_MoreModesThanCoordsIsBadRequest() {
+        MidpointRequest request = new MidpointRequest(List.of(new Coordinates(40.7128, -74.0060)), null);
+        request.setModes(List.of(TravelMode.DRIVING, TravelMode.WALKING));
+
+        webTestClient.post()
+            .uri("/api/places/midpoint")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(request)
+            .exchange()
+            .expectStatus().isBadRequest();
+
+        verify(midpointService, never()).findMidpointAndPlaces(any(MidpointRequest.class));
+    }
+
+    @Test
+    void testFindMidpoint_PastDepartureIsBadRequest() {
+        MidpointRequest request = new MidpointRequest(List.of(
+            new Coordinates(40.7128, -74.0060), new Coordinates(40.7589, -73.9851)), null);
+        request.setDepartureTime(OffsetDateTime.now().minusHours(1));
+
+        webTestClient.post()
+            .uri("/api/places/midpoint")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(request)
+            .exchange()
+            .expectStatus().isBadRequest();
+
+        verify(midpointService, never()).findMidpointAndPlaces(any(MidpointRequest.class));
+    }
+
+    @Test
+    void testFindMidpoint_SynchronousFailureIsBadRequest() {
+        when(midpointService.findMidpointAndPlaces(any(MidpointRequest.class)))
+            .thenThrow(new IllegalArgumentException("No coordinates provided"));
+
+        webTestClient.post()
+            .uri("/api/places/midpoint")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(new MidpointRequest(List.of(new Coordinates(40.7128, -74.0060)), null))
+            .exchange()
+            .expectStatus().isBadRequest();
+    }
+
     @Test
     void testHealth() {
         webTestClient.get()
@@ -233,6 +283,242 @@ class PlacesControllerMidpointTest {
             });
     }
 
+    @Test
+    void testFindMidpoint_MarkersViewOmitsListFields() {
+        MidpointRequest request = new MidpointRequest();
+        request.setCoords(Arrays.asList(
+            new Coordinates(40.7128, -74.0060),
+            new Coordinates(40.7589, -73.9851)
+        ));
+        MidpointResponse response = new MidpointResponse(
+            new Coordinates(40.7350, -73.9950), "New York, NY, USA", Arrays.asList(createTestPlace()), 8047);
+
+        when(midpointService.findMidpointAndPlaces(any(MidpointRequest.class)))
+            .thenReturn(Mono.just(response));
+
+        webTestClient.post()
+            .uri("/api/places/midpoint?view=markers")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(request)
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.midpoint.lat").isEqualTo(40.7350)
+            .jsonPath("$.places[0].place_id").isEqualTo("test-place-id")
+            .jsonPath("$.places[0].coordinates.lng").isEqualTo(-74.0060)
+            .jsonPath("$.places[0].address").doesNotExist()
+            .jsonPath("$.places[0].rating").doesNotExist();
+    }
+
+    @Test
+    void testFindMidpoint_UnknownViewIsBadRequest() {
+        MidpointRequest request = new MidpointRequest();
+        request.setCoords(Arrays.asList(new Coordinates(40.7128, -74.0060)));
+
+        webTestClient.post()
+            .uri("/api/places/midpoint?view=everything")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(request)
+            .exchange()
+            .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void testFindMidpoint_NegotiatesCbor() throws Exception {
+        MidpointRequest request = new MidpointRequest();
+        request.setCoords(Arrays.asList(
+            new Coordinates(40.7128, -74.0060),
+            new Coordinates(40.7589, -73.9851)
+        ));
+        MidpointResponse response = new MidpointResponse(
+            new Coordinates(40.7350, -73.9950), "New York, NY, USA", Arrays.asList(createTestPlace()), 8047);
+
+        when(midpointService.findMidpointAndPlaces(any(MidpointRequest.class)))
+            .thenReturn(Mono.just(response));
+
+        byte[] body = webTestClient.post()
+            .uri("/api/places/midpoint?view=markers")
+            .accept(MediaType.APPLICATION_CBOR)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(request)
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR)
+            .expectBody(byte[].class)
+            .returnResult()
+            .getResponseBody();
+
+        JsonNode decoded = new CBORMapper().readTree(body);
+        assertEquals("test-place-id", decoded.get("places").get(0).get("place_id").asText());
+        assertFalse(decoded.get("places").get(0).has("address"));
+    }
+
+    @Test
+    void testFindMidpoint_NegotiatesSmile() throws Exception {
+        MidpointRequest request = new MidpointRequest();
+        request.setCoords(Arrays.asList(new Coordinates(40.7128, -74.0060)));
+        MidpointResponse response = new MidpointResponse(
+            new Coordinates(40.7128, -74.0060), "New York, NY, USA", Arrays.asList(createTestPlace()), 8047);
+
+        when(midpointService.findMidpointAndPlaces(any(MidpointRequest.class)))
+            .thenReturn(Mono.just(response));
+
+        byte[] body = webTestClient.post()
+            .uri("/api/places/midpoint")
+            .accept(MediaType.parseMediaType("application/x-jackson-smile"))
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(request)
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody(byte[].class)
+            .returnResult()
+            .getResponseBody();
+
+        MidpointResponse decoded = new SmileMapper().readValue(body, MidpointResponse.class);
+        assertEquals("New York, NY, USA", decoded.getMidpointAddress());
+        assertEquals(4.5, decoded.getPlaces().get(0).getRating());
+    }
+
+    @Test
+    void testFindMidpoint_RevalidatesWithETag() {
+        MidpointRequest request = new MidpointRequest();
+        request.setCoords(Arrays.asList(
+            new Coordinates(40.7128, -74.0060),
+            new Coordinates(40.7589, -73.9851)
+        ));
+        MidpointResponse response = new MidpointResponse(
+            new Coordinates(40.7350, -73.9950), "New York, NY, USA", Arrays.asList(createTestPlace()), 8047);
+
+        when(midpointService.findMidpointAndPlaces(any(MidpointRequest.class)))
+            .thenReturn(Mono.just(response));
+
+        String etag = webTestClient.post()
+            .uri("/api/places/midpoint")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(request)
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().valueMatches("ETag", "\"[A-Za-z0-9_-]+\"")
+            .expectHeader().valueEquals("Cache-Control", "no-cache, private")
+            .returnResult(String.class)
+            .getResponseHeaders()
+            .getETag();
+
+        webTestClient.post()
+            .uri("/api/places/midpoint")
+            .header("If-None-Match", etag)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(request)
+            .exchange()
+            .expectStatus().isNotModified()
+            .expectHeader().valueEquals("ETag", etag)
+            .expectBody().isEmpty();
+
+        // A different view is a different representation
+        webTestClient.post()
+            .uri("/api/places/midpoint?view=markers")
+            .header("If-None-Match", etag)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(request)
+            .exchange()
+            .expectStatus().isOk();
+    }
+
+    @Test
+    void testFindMidpointByQuery_Success() {
+        MidpointResponse response = new MidpointResponse(
+            new Coordinates(40.7350, -73.9950), "New York, NY, USA", Arrays.asList(createTestPlace()), 8047);
+
+        when(midpointService.findMidpointAndPlaces(argThat(request ->
+                request.getCoords().size() == 2
+                    && request.getCoords().get(1).getLng() == -73.9851
+                    && request.getFilters().equals(List.of("restaurant", "cafe"))
+                    && request.getObjective() == RankingObjective.TOTAL_TIME)))
+            .thenReturn(Mono.just(response));
+
+        String etag = webTestClient.get()
+            .uri("/api/places/midpoint?coords=40.7128,-74.0060;40.7589,-73.9851&filters=restaurant,cafe&objective=total_time")
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody(MidpointResponse.class)
+            .value(body -> assertEquals("New York, NY, USA", body.getMidpointAddress()))
+            .returnResult()
+            .getResponseHeaders()
+            .getETag();
+
+        webTestClient.get()
+            .uri("/api/places/midpoint?coords=40.7128,-74.0060;40.7589,-73.9851&filters=restaurant,cafe&objective=total_time")
+            .header("If-None-Match", "W/" + etag)
+            .exchange()
+            .expectStatus().isNotModified();
+    }
+
+    @Test
+    void testFindMidpointByQuery_InvalidCoords() {
+        webTestClient.get()
+            .uri("/api/places/midpoint?coords=40.7128;40.7589,-73.9851")
+            .exchange()
+            .expectStatus().isBadRequest();
+
+        webTestClient.get()
+            .uri("/api/places/midpoint?coords=40.7128,-74.0060&objective=fastest")
+            .exchange()
+            .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void testFindMidpoint_DepartureTimeKeepsItsLocalOffset() {
+        when(midpointService.findMidpointAndPlaces(any(MidpointRequest.class)))
+            .thenReturn(Mono.just(new MidpointResponse(new Coordinates(40.735, -73.995), "Address", List.of(), 8047)));
+
+        webTestClient.post()
+            .uri("/api/places/midpoint")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue("{\"coords\":[{\"lat\":40.7,\"lng\":-74.0},{\"lat\":40.76,\"lng\":-73.98}]," +
+                "\"modes\":[\"transit\",\"driving\"],\"departure_time\":\"2030-06-07T18:30:00-04:00\"}")
+            .exchange()
+            .expectStatus().isOk();
+
+        verify(midpointService).findMidpointAndPlaces(argThat(request ->
+            request.getDepartureTime().getHour() == 18
+                && request.getDepartureTime().getOffset().getTotalSeconds() == -4 * 3600
+                && request.getModes().equals(List.of(TravelMode.TRANSIT, TravelMode.DRIVING))));
+    }
+
+    @Test
+    void testFindMidpointByQuery_ModesAndDepartureTime() {
+        when(midpointService.findMidpointAndPlaces(any(MidpointRequest.class)))
+            .thenReturn(Mono.just(new MidpointResponse(new Coordinates(40.735, -73.995), "Address", List.of(), 8047)));
+
+        webTestClient.get()
+            .uri("/api/places/midpoint?coords=40.7,-74.0;40.76,-73.98&modes=transit,driving"
+                + "&departure_time=2030-06-07T18:30:00-04:00")
+            .exchange()
+            .expectStatus().isOk();
+
+        verify(midpointService).findMidpointAndPlaces(argThat(request ->
+            request.getModes().equals(List.of(TravelMode.TRANSIT, TravelMode.DRIVING))
+                && request.getDepartureTime().getHour() == 18
+                && request.getDepartureTime().getOffset().getTotalSeconds() == -4 * 3600));
+    }
+
+    @Test
+    void testFindMidpointByQuery_InvalidModesOrDepartureTime() {
+        // Unknown mode, unparseable time, more modes than origins, and a departure in the past
+        for (String query : List.of(
+                "modes=teleport",
+                "departure_time=tomorrow",
+                "modes=walking,driving,transit",
+                "departure_time=2020-06-07T18:30:00Z")) {
+            webTestClient.get()
+                .uri("/api/places/midpoint?coords=40.7,-74.0;40.76,-73.98&" + query)
+                .exchange()
+                .expectStatus().isBadRequest();
+        }
+
+        verify(midpointService, never()).findMidpointAndPlaces(any());
+    }
+
     private Place createTestPlace() {
         Place place = new Place();
         place.setPlaceId("test-place-id");
@@ -0,0 +1,80 @@
+package com.midpoint.controller;
+
+import com.midpoint.dto.Coordinates;
+import com.midpoint.dto.MidpointRequest;
+import com.midpoint.dto.MidpointResponse;
+import com.midpoint.service.GoogleMapsService;
+import com.midpoint.service.MidpointService;
+import com.midpoint.service.RequestLog;
+import com.midpoint.service.ServerTiming;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(
+    controllers = PlacesController.class,
+    properties = "midpoint.server-timing.enabled=true",
+    excludeAutoConfiguration = {
+        org.springframework.boot.autoconfigure.security.reactive.ReactiveSecurityAutoConfiguration.class,
+        org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration.class,
+        org.springframework.boot.autoconfigure.security.servlet.SecurityFilterAutoConfiguration.class
+    }
+)
+class PlacesControllerServerTimingTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private GoogleMapsService googleMapsService;
+
+    @MockBean
+    private MidpointService midpointService;
+
+    @MockBean
+    private SecurityFilterChain securityFilterChain;
+
+    @Test
+    void testMidpointResponseCarriesStageTimings() {
+        when(midpointService.findMidpointAndPlaces(any(MidpointRequest.class))).thenAnswer(invocation -> {
+            RequestLog log = RequestLog.start("midpoint", 0, null);
+            log.time("geocode", () -> "New York");
+            log.set("place_index", "hit");
+            return Mono.just(new MidpointResponse(new Coordinates(40.73, -73.99), "New York", List.of(), 8046))
+                    .contextWrite(log::attachTo);
+        });
+
+        webTestClient.get()
+            .uri("/api/places/midpoint?coords=40.7,-74.0;40.76,-73.98")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().value(ServerTiming.HEADER, value -> assertTrue(
+                    value.matches("geocode;dur=\\d+\\.\\d, place-index;desc=hit, upstream;desc=\"calls=0\", total;dur=\\d+\\.\\d"),
+                    value));
+    }
+
+    @Test
+    void testAutocompleteResponseCarriesTotal() {
+        when(googleMapsService.getPlaceAutocomplete(anyString(), anyString())).thenReturn(Mono.just(List.of()));
+
+        webTestClient.get()
+            .uri("/api/places/autocomplete?input=coffee")
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().value(ServerTiming.HEADER, value -> assertTrue(
+                    value.startsWith("upstream;desc=\"calls=0\", total;dur="), value));
+    }
+}
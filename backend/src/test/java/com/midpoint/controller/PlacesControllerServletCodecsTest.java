@@ -0,0 +1,78 @@
+package com.midpoint.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.midpoint.dto.PlaceDetails;
+import com.midpoint.service.GoogleMapsService;
+import com.midpoint.service.MidpointService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Mono;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * The servlet runtime negotiates CBOR and Smile through Spring MVC's default converters, without
+ * the WebFlux-only {@code BinaryCodecsConfig}
+ */
+@WebMvcTest(
+    controllers = PlacesController.class,
+    excludeAutoConfiguration = {
+        org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration.class,
+        org.springframework.boot.autoconfigure.security.servlet.SecurityFilterAutoConfiguration.class
+    }
+)
+class PlacesControllerServletCodecsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private GoogleMapsService googleMapsService;
+
+    @MockBean
+    private MidpointService midpointService;
+
+    @MockBean
+    private SecurityFilterChain securityFilterChain;
+
+    @Test
+    void testDetails_NegotiatesCborAndSmileOnServlet() throws Exception {
+        PlaceDetails details = new PlaceDetails();
+        details.setPlaceId("test-place-id");
+        details.setName("Test Place");
+        details.setGeometry(new PlaceDetails.Geometry(new PlaceDetails.Geometry.Location(40.7128, -74.0060)));
+        when(googleMapsService.getPlaceDetails(eq("test-place-id"), anyString())).thenReturn(Mono.just(details));
+
+        JsonNode cbor = new CBORMapper().readTree(details(MediaType.APPLICATION_CBOR_VALUE));
+        assertEquals("Test Place", cbor.get("name").asText());
+        assertEquals(40.7128, cbor.get("geometry").get("location").get("lat").asDouble());
+
+        JsonNode smile = new SmileMapper().readTree(details("application/x-jackson-smile"));
+        assertEquals("test-place-id", smile.get("place_id").asText());
+    }
+
+    private byte[] details(String accept) throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/places/details")
+                .param("placeId", "test-place-id")
+                .accept(accept))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        return mockMvc.perform(asyncDispatch(started))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(accept))
+            .andReturn().getResponse().getContentAsByteArray();
+    }
+}
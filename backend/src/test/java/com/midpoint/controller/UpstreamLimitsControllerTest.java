@@ -0,0 +1,57 @@
+package com.midpoint.controller;
+
+import com.midpoint.dto.UpstreamLimitStats;
+import com.midpoint.service.GoogleMapsService;
+import com.midpoint.service.MidpointService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(
+    controllers = UpstreamLimitsController.class,
+    excludeAutoConfiguration = {
+        org.springframework.boot.autoconfigure.security.reactive.ReactiveSecurityAutoConfiguration.class,
+        org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration.class,
+        org.springframework.boot.autoconfigure.security.servlet.SecurityFilterAutoConfiguration.class
+    }
+)
+class UpstreamLimitsControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private GoogleMapsService googleMapsService;
+
+    @MockBean
+    private MidpointService midpointService;
+
+    @MockBean
+    private SecurityFilterChain securityFilterChain;
+
+    @Test
+    void testUpstreamLimitsListsBothServices() {
+        when(googleMapsService.getUpstreamLimits())
+            .thenReturn(List.of(new UpstreamLimitStats("autocomplete", 24, 3, 0, 0L, 0L, 41.5)));
+        when(midpointService.getUpstreamLimits())
+            .thenReturn(List.of(new UpstreamLimitStats("distancematrix", 12, 12, 7, 2L, 1L, 180.0)));
+
+        webTestClient.get()
+            .uri("/api/places/upstream-limits")
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$[0].endpoint").isEqualTo("autocomplete")
+            .jsonPath("$[1].endpoint").isEqualTo("distancematrix")
+            .jsonPath("$[1].in_flight").isEqualTo(12)
+            .jsonPath("$[1].queued").isEqualTo(7)
+            .jsonPath("$[1].average_latency_ms").isEqualTo(180.0);
+    }
+}
@@ -0,0 +1,108 @@
+package com.midpoint.service;
+
+import com.midpoint.exception.UpstreamQueueFullException;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    @Test
+    void testRun_QueuesOverTheLimitAndAdmitsInOrder() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("geocode", 1, 10, 10);
+        Sinks.One<String> first = Sinks.one();
+        AtomicInteger secondSubscribed = new AtomicInteger();
+
+        Disposable running = limiter.run(first.asMono()).subscribe();
+        List<String> results = new ArrayList<>();
+        limiter.run(Mono.fromSupplier(() -> {
+            secondSubscribed.incrementAndGet();
+            return "second";
+        })).subscribe(results::add);
+
+        assertEquals(0, secondSubscribed.get());
+        assertEquals(1, limiter.stats().getInFlight());
+        assertEquals(1, limiter.stats().getQueued());
+
+        first.tryEmitValue("first");
+
+        assertEquals(List.of("second"), results);
+        assertEquals(0, limiter.stats().getInFlight());
+        assertEquals(0, limiter.stats().getQueued());
+        running.dispose();
+    }
+
+    @Test
+    void testRun_RejectsWhenTheQueueIsFull() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("details", 1, 10, 1);
+        Disposable running = limiter.run(Mono.never()).subscribe();
+        Disposable queued = limiter.run(Mono.never()).subscribe();
+
+        StepVerifier.create(limiter.run(Mono.just("x")))
+            .expectError(UpstreamQueueFullException.class)
+            .verify();
+        assertEquals(1L, limiter.stats().getRejected());
+
+        // A cancelled waiter leaves the queue
+        queued.dispose();
+        assertEquals(0, limiter.stats().getQueued());
+        running.dispose();
+        assertEquals(0, limiter.stats().getInFlight());
+    }
+
+    @Test
+    void testRun_ErrorsCutTheLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("distancematrix", 20, 100, 10);
+
+        for (int i = 0; i < 5; i++) {
+            StepVerifier.create(limiter.run(Mono.error(new IllegalStateException("503"))))
+                .expectError(IllegalStateException.class)
+                .verify();
+        }
+
+        assertEquals(11, limiter.stats().getLimit());
+        assertEquals(5L, limiter.stats().getDropped());
+    }
+
+    @Test
+    void testSample_LimitGrowsAtSteadyLatencyAndShrinksWhenLatencyRises() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("nearbysearch", 10, 100, 100);
+        List<Disposable> held = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            held.add(limiter.run(Mono.never()).subscribe());
+        }
+
+        for (int i = 0; i < 20; i++) {
+            limiter.sample(TimeUnit.MILLISECONDS.toNanos(30));
+        }
+        int grown = limiter.stats().getLimit();
+        assertTrue(grown > 20, "limit should grow at steady latency but was " + grown);
+
+        for (int i = 0; i < 20; i++) {
+            limiter.sample(TimeUnit.MILLISECONDS.toNanos(300));
+        }
+        assertTrue(limiter.stats().getLimit() < grown / 2, "limit should shrink when latency rises");
+
+        held.forEach(Disposable::dispose);
+    }
+
+    @Test
+    void testSample_UnusedLimitDoesNotGrow() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("autocomplete", 20, 100, 100);
+
+        for (int i = 0; i < 20; i++) {
+            limiter.sample(TimeUnit.MILLISECONDS.toNanos(30));
+        }
+
+        assertEquals(20, limiter.stats().getLimit());
+    }
+}
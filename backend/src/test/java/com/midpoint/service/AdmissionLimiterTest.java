@@ -0,0 +1,83 @@
+package com.midpoint.service;
+
+import com.midpoint.dto.AdmissionStats;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionLimiterTest {
+
+    private final AdmissionLimiter limiter = new AdmissionLimiter().limit("midpoint", 2).limit("details", 1);
+
+    @Test
+    void testAdmit_ShedsOverTheLimitWithoutSubscribing() {
+        Sinks.One<String> slow = Sinks.one();
+        Disposable first = limiter.admit("midpoint", slow::asMono, () -> "shed").subscribe();
+        Disposable second = limiter.admit("midpoint", slow::asMono, () -> "shed").subscribe();
+
+        StepVerifier.create(limiter.admit("midpoint", () -> Mono.error(new AssertionError("subscribed")), () -> "shed"))
+            .expectNext("shed")
+            .verifyComplete();
+        assertEquals(2, slow.currentSubscriberCount());
+
+        first.dispose();
+        second.dispose();
+    }
+
+    @Test
+    void testAdmit_ReleasesSlotsOnCompletionAndCancellation() {
+        Sinks.One<String> slow = Sinks.one();
+        limiter.admit("details", () -> Mono.just("done"), () -> "shed").block();
+        Disposable cancelled = limiter.admit("details", slow::asMono, () -> "shed").subscribe();
+        cancelled.dispose();
+
+        StepVerifier.create(limiter.admit("details", () -> Mono.just("admitted"), () -> "shed"))
+            .expectNext("admitted")
+            .verifyComplete();
+    }
+
+    @Test
+    void testStats_CountsAcceptedAndShedPerGroup() {
+        Sinks.One<String> slow = Sinks.one();
+        Disposable held = limiter.admit("details", slow::asMono, () -> "shed").subscribe();
+        limiter.admit("details", () -> Mono.just("x"), () -> "shed").block();
+        limiter.admit("midpoint", () -> Mono.just("x"), () -> "shed").block();
+
+        List<AdmissionStats> stats = limiter.stats();
+
+        assertEquals(List.of("details", "midpoint"), stats.stream().map(AdmissionStats::getGroup).toList());
+        assertEquals(1, stats.get(0).getInFlight());
+        assertEquals(1L, stats.get(0).getAccepted());
+        assertEquals(1L, stats.get(0).getShed());
+        assertEquals(0, stats.get(1).getInFlight());
+        assertEquals(1L, stats.get(1).getAccepted());
+        assertEquals(0L, stats.get(1).getShed());
+        held.dispose();
+    }
+
+    @Test
+    void testBindTo_ExposesCountersPerGroup() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        limiter.bindTo(registry);
+        Sinks.One<String> slow = Sinks.one();
+        Disposable held = limiter.admit("details", slow::asMono, () -> "shed").subscribe();
+        limiter.admit("details", () -> Mono.just("x"), () -> "shed").block();
+
+        assertEquals(1.0, registry.get("midpoint.admission.in_flight").tag("group", "details").gauge().value());
+        assertEquals(1.0, registry.get("midpoint.admission.max_concurrent").tag("group", "details").gauge().value());
+        assertEquals(1.0, registry.get("midpoint.admission.requests")
+                .tags("group", "details", "result", "accepted").functionCounter().count());
+        assertEquals(1.0, registry.get("midpoint.admission.requests")
+                .tags("group", "details", "result", "shed").functionCounter().count());
+        assertEquals(0.0, registry.get("midpoint.admission.requests")
+                .tags("group", "midpoint", "result", "shed").functionCounter().count());
+        held.dispose();
+    }
+}
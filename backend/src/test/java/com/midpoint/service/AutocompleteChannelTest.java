@@ -0,0 +1,91 @@
+package com.midpoint.service;
+
+import com.midpoint.dto.AutocompleteQuery;
+import com.midpoint.dto.PlacePrediction;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AutocompleteChannelTest {
+
+    @Mock
+    private GoogleMapsService googleMapsService;
+
+    @InjectMocks
+    private AutocompleteChannel autocompleteChannel;
+
+    @Test
+    void testConnect_DebouncesBurstOfKeystrokes() {
+        when(googleMapsService.getPlaceAutocomplete(eq("Star"), eq("sess")))
+            .thenReturn(Mono.just(List.of(new PlacePrediction())));
+
+        StepVerifier.withVirtualTime(() -> {
+                Sinks.Many<AutocompleteQuery> keystrokes = Sinks.many().unicast().onBackpressureBuffer();
+                return autocompleteChannel.connect(keystrokes.asFlux())
+                    .doOnSubscribe(s -> {
+                        keystrokes.tryEmitNext(new AutocompleteQuery("S", "sess"));
+                        keystrokes.tryEmitNext(new AutocompleteQuery("St", "sess"));
+                        keystrokes.tryEmitNext(new AutocompleteQuery("Sta", "sess"));
+                        keystrokes.tryEmitNext(new AutocompleteQuery("Star", "sess"));
+                    })
+                    .take(1);
+            })
+            .thenAwait(Duration.ofMillis(250))
+            .assertNext(reply -> {
+                assertEquals("Star", reply.getInput());
+                assertEquals(1, reply.getPredictions().size());
+            })
+            .verifyComplete();
+
+        verify(googleMapsService, times(1)).getPlaceAutocomplete(anyString(), anyString());
+        assertEquals(3, autocompleteChannel.getDebouncedKeystrokes());
+        assertEquals(1, autocompleteChannel.getLookupsStarted());
+    }
+
+    @Test
+    void testConnect_NewLookupCancelsPendingOne() {
+        AtomicBoolean firstCancelled = new AtomicBoolean();
+        when(googleMapsService.getPlaceAutocomplete(eq("Sta"), anyString()))
+            .thenReturn(Mono.<List<PlacePrediction>>never().doOnCancel(() -> firstCancelled.set(true)));
+        when(googleMapsService.getPlaceAutocomplete(eq("Starbucks"), anyString()))
+            .thenReturn(Mono.just(List.of()));
+
+        Sinks.Many<AutocompleteQuery> keystrokes = Sinks.many().unicast().onBackpressureBuffer();
+        StepVerifier.withVirtualTime(() -> autocompleteChannel.connect(keystrokes.asFlux()))
+            .then(() -> keystrokes.tryEmitNext(new AutocompleteQuery("Sta", null)))
+            .thenAwait(Duration.ofMillis(300))
+            .then(() -> keystrokes.tryEmitNext(new AutocompleteQuery("Starbucks", null)))
+            .thenAwait(Duration.ofMillis(300))
+            .assertNext(reply -> assertEquals("Starbucks", reply.getInput()))
+            .then(keystrokes::tryEmitComplete)
+            .verifyComplete();
+
+        assertTrue(firstCancelled.get());
+    }
+
+    @Test
+    void testConnect_IgnoresBlankInput() {
+        Sinks.Many<AutocompleteQuery> keystrokes = Sinks.many().unicast().onBackpressureBuffer();
+        StepVerifier.withVirtualTime(() -> autocompleteChannel.connect(keystrokes.asFlux()))
+            .then(() -> keystrokes.tryEmitNext(new AutocompleteQuery("  ", "sess")))
+            .thenAwait(Duration.ofSeconds(1))
+            .then(keystrokes::tryEmitComplete)
+            .verifyComplete();
+
+        verifyNoInteractions(googleMapsService);
+    }
+}
@@ -0,0 +1,67 @@
+package com.midpoint.service;
+
+import com.midpoint.dto.Coordinates;
+import com.midpoint.dto.MidpointRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightRecorderEventsTest {
+
+    @Test
+    void testMidpointRequestRecordsUpstreamParseAndGeometryEvents() throws IOException {
+        MidpointService service = new MidpointService();
+        ReflectionTestUtils.setField(service, "apiKey", "test-key");
+        ReflectionTestUtils.setField(service, "webClient", RequestLogTest.stubWebClient().mutate()
+                .filter(new UpstreamMetrics(SimpleMeterRegistry::new))
+                .build());
+        MidpointRequest request = new MidpointRequest(List.of(
+                new Coordinates(40.70, -74.00), new Coordinates(40.75, -73.95), new Coordinates(40.80, -73.90)),
+                List.of("restaurant"));
+        Path file = Files.createTempFile("midpoint", ".jfr");
+
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable(UpstreamCallEvent.class);
+            recording.enable(JsonParseEvent.class);
+            recording.enable(GeometryEvent.class);
+            recording.start();
+            service.findMidpointAndPlaces(request).block();
+            recording.stop();
+            recording.dump(file);
+            events = RecordingFile.readAllEvents(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+
+        Map<String, List<RecordedEvent>> byType = events.stream()
+                .collect(Collectors.groupingBy(event -> event.getEventType().getName()));
+        List<RecordedEvent> upstream = byType.get("com.midpoint.UpstreamCall");
+        assertEquals(List.of("distancematrix", "geocode", "nearbysearch"), sortedValues(upstream, "endpoint"));
+        assertTrue(upstream.stream().allMatch(event -> "200".equals(event.getString("status"))
+                && event.getLong("bytes") > 0));
+        List<RecordedEvent> parses = byType.get("com.midpoint.JsonParse");
+        assertEquals(List.of("distancematrix", "geocode", "nearbysearch"), sortedValues(parses, "parser"));
+        assertTrue(parses.stream().noneMatch(event -> event.getBoolean("failed")));
+        List<RecordedEvent> geometry = byType.get("com.midpoint.Geometry");
+        assertEquals(List.of("centroid", "farthest_pair"), sortedValues(geometry, "algorithm"));
+        assertTrue(geometry.stream().allMatch(event -> event.getInt("n") == 3));
+    }
+
+    private static List<String> sortedValues(List<RecordedEvent> events, String field) {
+        assertNotNull(events);
+        return events.stream().map(event -> event.getString(field)).sorted().toList();
+    }
+}
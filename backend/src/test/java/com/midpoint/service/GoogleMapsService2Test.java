@@ -13,9 +13,11 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 import reactor.test.StepVerifier;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -99,6 +101,33 @@ class GoogleMapsService2Test {
 
 
 
+    @Test
+    void testGetPlaceAutocomplete_NewerKeystrokeCancelsSupersededCall() {
+        Sinks.One<String> slowUpstream = Sinks.one();
+        AtomicBoolean slowCancelled = new AtomicBoolean();
+        String fastResponse = "{\"suggestions\":[{\"placePrediction\":{\"placeId\":\"p1\",\"text\":{\"text\":\"Starbucks, NYC\"}}}]}";
+
+        when(webClient.post()).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.uri(anyString())).thenReturn(requestBodySpec);
+        when(requestBodySpec.header(anyString(), anyString())).thenReturn(requestBodySpec);
+        when(requestBodySpec.bodyValue(anyString())).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToMono(String.class))
+            .thenReturn(slowUpstream.asMono().doOnCancel(() -> slowCancelled.set(true)))
+            .thenReturn(Mono.just(fastResponse));
+
+        StepVerifier.create(googleMapsService.getPlaceAutocomplete("Star", "sess-typing"))
+            .then(() -> StepVerifier.create(googleMapsService.getPlaceAutocomplete("Starbucks", "sess-typing"))
+                .assertNext(list -> assertEquals(1, list.size()))
+                .verifyComplete())
+            .assertNext(list -> assertTrue(list.isEmpty()))
+            .verifyComplete();
+
+        assertTrue(slowCancelled.get());
+        assertEquals(1, googleMapsService.getSupersededAutocompleteCalls());
+        assertEquals(1, googleMapsService.getCancelledAutocompleteCalls());
+    }
+
     @Test
     void testGetPlaceDetails_Success() {
         String placeId = "abc123";
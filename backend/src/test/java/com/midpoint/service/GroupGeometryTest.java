@@ -0,0 +1,109 @@
+package com.midpoint.service;
+
+import com.midpoint.dto.Coordinates;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GroupGeometryTest {
+
+    private final MidpointService midpointService = new MidpointService();
+
+    @Test
+    void testIncrementalStateMatchesFullRecompute() {
+        Random random = new Random(7);
+        List<Coordinates> origins = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            origins.add(randomNear(random, 40.73, -73.99, 0.2));
+        }
+        GroupGeometry geometry = new GroupGeometry(origins, midpointService::calculateDistance);
+
+        for (int step = 0; step < 200; step++) {
+            int index = random.nextInt(origins.size());
+            Coordinates to = randomNear(random, 40.73, -73.99, step % 10 == 0 ? 1.0 : 0.2);
+            origins.set(index, to);
+            geometry.move(index, to);
+
+            Coordinates expectedCentroid = midpointService.calculateCentroid(origins);
+            assertEquals(expectedCentroid.getLat(), geometry.centroid().getLat(), 1e-9);
+            assertEquals(expectedCentroid.getLng(), geometry.centroid().getLng(), 1e-9);
+
+            double maxMiles = -1;
+            int farA = -1;
+            int farB = -1;
+            for (int i = 0; i < origins.size(); i++) {
+                for (int j = i + 1; j < origins.size(); j++) {
+                    double d = midpointService.calculateDistance(origins.get(i), origins.get(j));
+                    if (d > maxMiles) {
+                        maxMiles = d;
+                        farA = i;
+                        farB = j;
+                    }
+                }
+            }
+            GroupGeometry.Pair farthest = geometry.farthestPair();
+            assertEquals(farA, farthest.getFirst());
+            assertEquals(farB, farthest.getSecond());
+            assertEquals(maxMiles, farthest.getMiles(), 1e-12);
+
+            Coordinates expectedMidpoint = midpointService.validateAndCorrectMidpoint(expectedCentroid, origins);
+            Coordinates midpoint = midpointService.resolveMidpoint(geometry);
+            assertEquals(expectedMidpoint.getLat(), midpoint.getLat(), 1e-9);
+            assertEquals(expectedMidpoint.getLng(), midpoint.getLng(), 1e-9);
+        }
+    }
+
+    @Test
+    void testCentroidSumsAreRebuiltInsteadOfDrifting() {
+        Random random = new Random(11);
+        List<Coordinates> origins = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            origins.add(randomNear(random, 0, 0, 90));
+        }
+        GroupGeometry geometry = new GroupGeometry(origins, midpointService::calculateDistance);
+
+        // Each subtract/add round-trip leaves rounding error; after every n moves the sums are rebuilt
+        for (int step = 0; step < 99_999; step++) {
+            int index = step % origins.size();
+            Coordinates to = randomNear(random, 0, 0, 90);
+            origins.set(index, to);
+            geometry.move(index, to);
+        }
+
+        Coordinates expected = midpointService.calculateCentroid(origins);
+        assertEquals(expected.getLat(), geometry.centroid().getLat());
+        assertEquals(expected.getLng(), geometry.centroid().getLng());
+    }
+
+    @Test
+    void testTiesResolveToFirstPairInIndexOrder() {
+        Coordinates a = new Coordinates(40.0, -74.0);
+        Coordinates b = new Coordinates(40.1, -74.0);
+        GroupGeometry geometry = new GroupGeometry(List.of(a, b, a, b), midpointService::calculateDistance);
+
+        assertEquals(0, geometry.farthestPair().getFirst());
+        assertEquals(1, geometry.farthestPair().getSecond());
+
+        geometry.move(0, b);
+        assertEquals(0, geometry.farthestPair().getFirst());
+        assertEquals(2, geometry.farthestPair().getSecond());
+    }
+
+    @Test
+    void testSingleOriginHasNoPair() {
+        GroupGeometry geometry = new GroupGeometry(List.of(new Coordinates(40.7, -74.0)), midpointService::calculateDistance);
+
+        assertNull(geometry.farthestPair());
+        assertEquals(40.7, geometry.centroid().getLat(), 1e-9);
+        assertThrows(IllegalArgumentException.class,
+                () -> new GroupGeometry(List.of(), midpointService::calculateDistance));
+    }
+
+    private static Coordinates randomNear(Random random, double lat, double lng, double spread) {
+        return new Coordinates(lat + (random.nextDouble() - 0.5) * spread, lng + (random.nextDouble() - 0.5) * spread);
+    }
+}
@@ -0,0 +1,53 @@
+package com.midpoint.service;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatestRequestTrackerTest {
+
+    private final LatestRequestTracker tracker = new LatestRequestTracker();
+
+    @Test
+    void testLatestOnly_NewerCallSupersedesInFlightCall() {
+        Sinks.One<String> first = Sinks.one();
+
+        StepVerifier.create(tracker.latestOnly("session", first.asMono()))
+            .then(() -> StepVerifier.create(tracker.latestOnly("session", Mono.just("second")))
+                .expectNext("second")
+                .verifyComplete())
+            .verifyComplete();
+
+        assertEquals(1, tracker.getSupersededCount());
+        assertEquals(1, tracker.getCancelledCount());
+        assertEquals(0, tracker.inFlightCount());
+        assertEquals(0, first.currentSubscriberCount());
+    }
+
+    @Test
+    void testLatestOnly_CompletedCallsAreNotSuperseded() {
+        StepVerifier.create(tracker.latestOnly("session", Mono.just("a"))).expectNext("a").verifyComplete();
+        StepVerifier.create(tracker.latestOnly("session", Mono.just("b"))).expectNext("b").verifyComplete();
+
+        assertEquals(0, tracker.getSupersededCount());
+        assertEquals(0, tracker.getCancelledCount());
+    }
+
+    @Test
+    void testLatestOnly_KeysAreIndependent() {
+        Sinks.One<String> first = Sinks.one();
+
+        StepVerifier.create(tracker.latestOnly("a", first.asMono()))
+            .then(() -> StepVerifier.create(tracker.latestOnly("b", Mono.just("other")))
+                .expectNext("other")
+                .verifyComplete())
+            .then(() -> first.tryEmitValue("first"))
+            .expectNext("first")
+            .verifyComplete();
+
+        assertEquals(0, tracker.getSupersededCount());
+    }
+}
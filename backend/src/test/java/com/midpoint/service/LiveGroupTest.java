@@ -0,0 +1,224 @@
+package com.midpoint.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.midpoint.dto.Coordinates;
+import com.midpoint.dto.LiveUpdate;
+import com.midpoint.dto.MidpointResponse;
+import com.midpoint.dto.MidpointSessionResponse;
+import com.midpoint.dto.Place;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class LiveGroupTest {
+
+    private static final Coordinates MIDPOINT = new Coordinates(40.7359, -73.9911);
+
+    private MidpointSessionService sessionService;
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        sessionService = mock(MidpointSessionService.class);
+        objectMapper = new ObjectMapper();
+        when(sessionService.originCount("s1")).thenReturn(2);
+        when(sessionService.originCount("s2")).thenReturn(2);
+        when(sessionService.originCount("missing")).thenReturn(-1);
+        when(sessionService.current(anyString()))
+                .thenReturn(Mono.just(response(1, place("a", 600), place("b", 700), place("c", 800))));
+    }
+
+    @Test
+    void testUpdatesWithinWindowAreCoalescedIntoOneRecompute() {
+        when(sessionService.moveOrigins(eq("s1"), anyMap()))
+                .thenReturn(Mono.just(response(2, place("a", 600), place("b", 700), place("c", 800))));
+        LiveGroup group = new LiveGroup("s1", sessionService, objectMapper, Duration.ofMillis(100), 1024);
+
+        group.submit(0, new Coordinates(40.70, -74.00));
+        group.submit(0, new Coordinates(40.71, -74.00));
+        group.submit(1, new Coordinates(40.76, -73.98));
+        group.submit(0, new Coordinates(40.72, -74.00));
+
+        waitUntil(() -> group.getRecomputes() == 1);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<Integer, Coordinates>> moves = ArgumentCaptor.forClass(Map.class);
+        verify(sessionService, timeout(1000)).moveOrigins(eq("s1"), moves.capture());
+        assertEquals(2, moves.getValue().size());
+        assertEquals(40.72, moves.getValue().get(0).getLat());
+        assertEquals(40.76, moves.getValue().get(1).getLat());
+        assertEquals(4, group.getUpdatesReceived());
+        assertEquals(2, group.getUpdatesCoalesced());
+        assertThrows(IllegalArgumentException.class, () -> group.submit(2, new Coordinates(40.7, -74.0)));
+    }
+
+    @Test
+    void testSubscribersGetSnapshotThenDiffOfChangedPlaces() {
+        // b's travel time changes, c drops out, d comes in, b now leads
+        when(sessionService.moveOrigins(eq("s1"), anyMap()))
+                .thenReturn(Mono.just(response(2, place("b", 500), place("a", 600), place("d", 900))));
+        LiveGroup group = new LiveGroup("s1", sessionService, objectMapper, Duration.ofMillis(10), 1024);
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+
+        group.join(subscriber);
+        group.submit(0, new Coordinates(40.72, -74.00));
+        waitUntil(() -> subscriber.updates.size() == 2);
+
+        LiveUpdate snapshot = subscriber.updates.get(0);
+        assertEquals(LiveUpdate.SNAPSHOT, snapshot.getType());
+        assertEquals(3, snapshot.getPlaces().size());
+
+        LiveUpdate diff = subscriber.updates.get(1);
+        assertEquals(LiveUpdate.DIFF, diff.getType());
+        assertEquals(2, diff.getVersion());
+        assertEquals(List.of("b", "d"), diff.getPlaces().stream().map(Place::getPlaceId).toList());
+        assertEquals(List.of("c"), diff.getRemovedPlaceIds());
+        assertEquals(List.of("b", "a", "d"), diff.getOrder());
+        assertNull(diff.getMidpointAddress());
+    }
+
+    @Test
+    void testSlowSubscriberSkipsDiffsAndIsResyncedWithSnapshot() {
+        AtomicInteger version = new AtomicInteger(1);
+        when(sessionService.moveOrigins(eq("s1"), anyMap())).thenAnswer(invocation ->
+                Mono.just(response(version.incrementAndGet(), place("a", 600 + version.get()))));
+        LiveGroup group = new LiveGroup("s1", sessionService, objectMapper, Duration.ofMillis(10), 1024);
+        RecordingSubscriber fast = new RecordingSubscriber();
+        RecordingSubscriber slow = new RecordingSubscriber();
+        group.join(fast);
+        group.join(slow);
+
+        slow.pendingBytes = 4096;
+        group.submit(0, new Coordinates(40.72, -74.00));
+        waitUntil(() -> fast.updates.size() == 2);
+        assertEquals(1, slow.updates.size());
+        assertEquals(1, group.getUpdatesSkipped());
+
+        slow.pendingBytes = 0;
+        group.submit(1, new Coordinates(40.76, -73.98));
+        waitUntil(() -> fast.updates.size() == 3);
+        assertEquals(LiveUpdate.DIFF, fast.updates.get(2).getType());
+        LiveUpdate resync = slow.updates.get(1);
+        assertEquals(LiveUpdate.SNAPSHOT, resync.getType());
+        assertEquals(3, resync.getVersion());
+    }
+
+    @Test
+    void testSubscriberThatSkippedTheLastUpdateIsResyncedWhenItDrains() {
+        when(sessionService.moveOrigins(eq("s1"), anyMap()))
+                .thenReturn(Mono.just(response(2, place("a", 500))));
+        LiveGroup group = new LiveGroup("s1", sessionService, objectMapper, Duration.ofMillis(10), 1024);
+        RecordingSubscriber slow = new RecordingSubscriber();
+        group.join(slow);
+
+        slow.pendingBytes = 4096;
+        group.submit(0, new Coordinates(40.72, -74.00));
+        waitUntil(() -> group.getUpdatesSkipped() == 1);
+        group.drained(slow);
+        assertEquals(1, slow.updates.size());
+
+        // No further updates arrive; the drain alone brings it up to date
+        slow.pendingBytes = 0;
+        group.drained(slow);
+        assertEquals(2, slow.updates.size());
+        LiveUpdate resync = slow.updates.get(1);
+        assertEquals(LiveUpdate.SNAPSHOT, resync.getType());
+        assertEquals(2, resync.getVersion());
+
+        group.drained(slow);
+        assertEquals(2, slow.updates.size());
+    }
+
+    @Test
+    void testPublishBeforeWelcomeSendsSnapshotNotDiff() {
+        when(sessionService.moveOrigins(eq("s1"), anyMap()))
+                .thenReturn(Mono.just(response(2, place("a", 500))));
+        LiveGroup group = new LiveGroup("s1", sessionService, objectMapper, Duration.ofMillis(10), 1024);
+        RecordingSubscriber first = new RecordingSubscriber();
+        RecordingSubscriber late = new RecordingSubscriber();
+        group.join(first);
+
+        // Enrolled but not yet welcomed when a recompute is published
+        LiveGroup.Member member = group.enroll(late);
+        group.submit(0, new Coordinates(40.72, -74.00));
+        waitUntil(() -> first.updates.size() == 2);
+        group.welcome(member);
+
+        assertEquals(LiveUpdate.DIFF, first.updates.get(1).getType());
+        assertEquals(1, late.updates.size());
+        assertEquals(LiveUpdate.SNAPSHOT, late.updates.get(0).getType());
+        assertEquals(2, late.updates.get(0).getVersion());
+    }
+
+    @Test
+    void testRegistryCapsLiveGroupsAndDropsEmptyOnes() {
+        LiveGroupRegistry registry = new LiveGroupRegistry(sessionService, objectMapper);
+        ReflectionTestUtils.setField(registry, "maxSessions", 1);
+        RecordingSubscriber first = new RecordingSubscriber();
+        RecordingSubscriber second = new RecordingSubscriber();
+
+        LiveGroup group = registry.join("s1", first);
+        assertSame(group, registry.join("s1", second));
+        assertThrows(IllegalStateException.class, () -> registry.join("s2", new RecordingSubscriber()));
+        assertThrows(NoSuchElementException.class, () -> registry.join("missing", new RecordingSubscriber()));
+
+        registry.leave("s1", first);
+        assertEquals(1, registry.activeGroups());
+        registry.leave("s1", second);
+        assertEquals(0, registry.activeGroups());
+        assertNotNull(registry.join("s2", new RecordingSubscriber()));
+    }
+
+    private static MidpointSessionResponse response(int version, Place... places) {
+        MidpointResponse response = new MidpointResponse(MIDPOINT, "New York, NY, USA", List.of(places), 1500);
+        return new MidpointSessionResponse("s1", version, version > 1, response);
+    }
+
+    private static Place place(String id, int durationSeconds) {
+        Place place = new Place(id, "Place " + id, "Address " + id, MIDPOINT);
+        place.setTravelSummaries(List.of(
+                new Place.TravelSummary(0, 5000, durationSeconds, "3 mi", "10 mins", "driving")));
+        return place;
+    }
+
+    private static void waitUntil(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(2).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Timed out waiting for live group");
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(e);
+            }
+        }
+    }
+
+    private static final class RecordingSubscriber implements LiveGroup.Subscriber {
+        private final List<LiveUpdate> updates = new CopyOnWriteArrayList<>();
+        private volatile int pendingBytes;
+
+        @Override
+        public int pendingBytes() {
+            return pendingBytes;
+        }
+
+        @Override
+        public void send(LiveUpdate update) {
+            updates.add(update);
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package com.midpoint.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.midpoint.dto.Coordinates;
+import com.midpoint.dto.LiveUpdate;
+import com.midpoint.dto.LocationUpdate;
+import com.midpoint.dto.MidpointRequest;
+import com.midpoint.dto.Place;
+import com.midpoint.dto.RankingObjective;
+import jakarta.websocket.ContainerProvider;
+import jakarta.websocket.WebSocketContainer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Thousands of live sessions on one instance, each with two participants pushing bursts of
+ * location updates over WebSocket. Upstream calls are stubbed with a fixed latency so the test
+ * measures the session machinery, not Google. Client and server share the JVM, so on small
+ * machines the numbers are a lower bound.
+ * <p>
+ * Opt-in: {@code mvn test -Dtest=LiveSessionLoadTest -DloadTests=true [-Dlive.groups=2000]
+ * [-Dlive.burst=5]}
+ */
+@EnabledIfSystemProperty(named = "loadTests", matches = "true")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "midpoint.live.websocket.enabled=true",
+        "midpoint.live.max-sessions=100000",
+        "midpoint.live.coalesce-millis=100",
+        "midpoint.rate-limit.enabled=false",
+        "logging.level.com.midpoint=WARN",
+        "logging.level.org.springframework.web=WARN"
+})
+class LiveSessionLoadTest {
+
+    private static final int GROUPS = Integer.getInteger("live.groups", 2000);
+    private static final int BURST = Integer.getInteger("live.burst", 5);
+    private static final Duration UPSTREAM_LATENCY = Duration.ofMillis(30);
+    private static final Coordinates CENTER = new Coordinates(40.7359, -73.9911);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private MidpointSessionService sessionService;
+
+    @Autowired
+    private LiveGroupRegistry registry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void testThousandsOfLiveSessionsConverge() throws Exception {
+        List<String> sessionIds = new ArrayList<>();
+        for (int g = 0; g < GROUPS; g++) {
+            MidpointRequest request = new MidpointRequest(
+                    List.of(jitter(CENTER, 3000), jitter(CENTER, 3000)), List.of("restaurant"));
+            sessionIds.add(sessionService.create(request).block().getSessionId());
+        }
+
+        // Snapshots of 20 places exceed the client's default 8 KB frame buffer, which is allocated per connection
+        WebSocketContainer container = ContainerProvider.getWebSocketContainer();
+        container.setDefaultMaxTextMessageBufferSize(64 * 1024);
+        StandardWebSocketClient client = new StandardWebSocketClient(container);
+        client.setUserProperties(Map.of("org.apache.tomcat.websocket.IO_TIMEOUT_MS", "60000"));
+        List<Participant> participants = new ArrayList<>();
+        long connectStart = System.nanoTime();
+        for (int batch = 0; batch < sessionIds.size(); batch += 50) {
+            List<CompletableFuture<WebSocketSession>> pending = new ArrayList<>();
+            for (String sessionId : sessionIds.subList(batch, Math.min(batch + 50, sessionIds.size()))) {
+                for (int originIndex = 0; originIndex < 2; originIndex++) {
+                    Participant participant = new Participant(sessionId, originIndex);
+                    participants.add(participant);
+                    pending.add(client.execute(participant,
+                            "ws://localhost:" + port + "/ws/midpoint/sessions/" + sessionId)
+                            .thenApply(session -> participant.session = session));
+                }
+            }
+            CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)).get(60, TimeUnit.SECONDS);
+        }
+        long connectMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - connectStart);
+        awaitQuiet(participants, connectStart, Duration.ofSeconds(60));
+        assertTrue(participants.stream().allMatch(p -> p.version > 0), "Every participant gets a snapshot");
+        assertEquals(GROUPS, registry.activeGroups());
+
+        long recomputesBefore = sessionService.getReusedUpdates() + sessionService.getFullRecomputes();
+        long burstStart = System.nanoTime();
+        for (int i = 0; i < BURST; i++) {
+            for (Participant participant : participants) {
+                Coordinates to = jitter(CENTER, 3000);
+                participant.send(new LocationUpdate(participant.originIndex, to.getLat(), to.getLng()));
+            }
+        }
+        long burstEnd = System.nanoTime();
+        awaitQuiet(participants, burstEnd, Duration.ofSeconds(120));
+        long recomputes = sessionService.getReusedUpdates() + sessionService.getFullRecomputes() - recomputesBefore;
+
+        List<Long> convergeMillis = new ArrayList<>();
+        for (int i = 0; i < participants.size(); i += 2) {
+            Participant first = participants.get(i);
+            Participant second = participants.get(i + 1);
+            assertNull(first.error, first.error);
+            assertEquals(first.version, second.version, "Both participants converge on the same version");
+            assertTrue(first.version > 1, "Every group recomputed at least once");
+            convergeMillis.add(TimeUnit.NANOSECONDS.toMillis(
+                    Math.max(first.lastFrameNanos.get(), second.lastFrameNanos.get()) - burstEnd));
+        }
+        Collections.sort(convergeMillis);
+        long sent = (long) participants.size() * BURST;
+        long frames = participants.stream().mapToLong(p -> p.frames).sum();
+
+        System.out.printf("[live-load] groups=%d connections=%d connect=%dms%n",
+                GROUPS, participants.size(), connectMillis);
+        System.out.printf("[live-load] updates=%d sent in %dms, recomputes=%d (%.1f updates per recompute), frames=%d%n",
+                sent, TimeUnit.NANOSECONDS.toMillis(burstEnd - burstStart), recomputes,
+                (double) sent / recomputes, frames);
+        System.out.printf("[live-load] convergence after last update: p50=%dms p99=%dms max=%dms%n",
+                convergeMillis.get(convergeMillis.size() / 2),
+                convergeMillis.get((int) (convergeMillis.size() * 0.99)),
+                convergeMillis.get(convergeMillis.size() - 1));
+
+        assertTrue(recomputes < sent, "Updates are coalesced");
+        for (Participant participant : participants) {
+            participant.session.close();
+        }
+    }
+
+    /**
+     * Upstream stages answered locally after a fixed delay (a Mockito spy would record every call
+     * and its arguments, which skews a load test)
+     */
+    @TestConfiguration
+    static class StubbedUpstream {
+        @Bean
+        @Primary
+        MidpointService stubbedMidpointService() {
+            return new MidpointService() {
+                @Override
+                public Mono<String> reverseGeocode(Coordinates coordinates) {
+                    return Mono.just("New York, NY, USA").delayElement(UPSTREAM_LATENCY);
+                }
+
+                @Override
+                public Mono<List<Place>> findCandidatePlaces(Coordinates at, List<String> types, int radiusMeters) {
+                    List<Place> places = new ArrayList<>();
+                    for (int i = 0; i < 20; i++) {
+                        places.add(new Place("place-" + i, "Place " + i, "Address " + i, jitter(at, 800)));
+                    }
+                    return Mono.just(places).delayElement(UPSTREAM_LATENCY);
+                }
+
+                @Override
+                Mono<List<Place>> evaluateCandidates(List<Coordinates> origins, List<Place> candidates,
+                                                     String mode, RankingObjective objective) {
+                    for (Place place : candidates) {
+                        List<Place.TravelSummary> summaries = new ArrayList<>();
+                        for (int j = 0; j < origins.size(); j++) {
+                            summaries.add(summary(j, origins.get(j), place));
+                        }
+                        place.setTravelSummaries(summaries);
+                    }
+                    return Mono.just(candidates).delayElement(UPSTREAM_LATENCY);
+                }
+
+                @Override
+                Mono<List<Place.TravelSummary>> travelRow(Coordinates origin, int originIndex, List<Place> places,
+                                                          String mode) {
+                    List<Place.TravelSummary> row = new ArrayList<>();
+                    for (Place place : places) {
+                        row.add(summary(originIndex, origin, place));
+                    }
+                    return Mono.just(row).delayElement(UPSTREAM_LATENCY);
+                }
+            };
+        }
+    }
+
+    private static Place.TravelSummary summary(int originIndex, Coordinates origin, Place place) {
+        int meters = (int) GeoMath.distanceMeters(origin, place.getCoordinates());
+        return new Place.TravelSummary(originIndex, meters, meters / 10, meters + " m", meters / 10 + " s", "driving");
+    }
+
+    private static Coordinates jitter(Coordinates around, double meters) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return new Coordinates(
+                around.getLat() + GeoMath.metersToLatDegrees(random.nextDouble(-meters, meters)),
+                around.getLng() + GeoMath.metersToLngDegrees(random.nextDouble(-meters, meters), around.getLat()));
+    }
+
+    /**
+     * Wait until every participant has received a frame since {@code sinceNanos} and none has
+     * received one for a second
+     */
+    private static void awaitQuiet(List<Participant> participants, long sinceNanos, Duration limit)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + limit.toNanos();
+        while (true) {
+            long oldest = participants.stream().mapToLong(p -> p.lastFrameNanos.get()).min().orElse(0);
+            long newest = participants.stream().mapToLong(p -> p.lastFrameNanos.get()).max().orElse(0);
+            if (oldest > sinceNanos && System.nanoTime() - newest > TimeUnit.SECONDS.toNanos(1)) {
+                return;
+            }
+            assertTrue(System.nanoTime() < deadline, "Live sessions did not go quiet");
+            Thread.sleep(100);
+        }
+    }
+
+    private final class Participant extends TextWebSocketHandler {
+        private final String sessionId;
+        private final int originIndex;
+        private final AtomicLong lastFrameNanos = new AtomicLong();
+        private volatile WebSocketSession session;
+        private volatile int version;
+        private volatile long frames;
+        private volatile String error;
+
+        private Participant(String sessionId, int originIndex) {
+            this.sessionId = sessionId;
+            this.originIndex = originIndex;
+        }
+
+        @Override
+        protected synchronized void handleTextMessage(WebSocketSession session, TextMessage message) throws Exception {
+            LiveUpdate update = objectMapper.readValue(message.getPayload(), LiveUpdate.class);
+            frames++;
+            if (LiveUpdate.ERROR.equals(update.getType())) {
+                error = sessionId + ": " + update.getError();
+            } else {
+                version = Math.max(version, update.getVersion());
+            }
+            lastFrameNanos.set(System.nanoTime());
+        }
+
+        private synchronized void send(LocationUpdate update) throws Exception {
+            session.sendMessage(new TextMessage(objectMapper.writeValueAsString(update)));
+        }
+    }
+}
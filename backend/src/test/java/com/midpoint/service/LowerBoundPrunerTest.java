@@ -0,0 +1,90 @@
+package com.midpoint.service;
+
+import com.midpoint.dto.Coordinates;
+import com.midpoint.dto.Place;
+import com.midpoint.dto.RankingObjective;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LowerBoundPrunerTest {
+
+    private final LowerBoundPruner pruner = new LowerBoundPruner();
+
+    private final List<Coordinates> origins = List.of(
+            new Coordinates(40.0, -74.0),
+            new Coordinates(40.0, -73.9));
+
+    @Test
+    void testSupports_OnlyMonotoneObjectives() {
+        assertTrue(pruner.supports(RankingObjective.MAX_TIME));
+        assertTrue(pruner.supports(RankingObjective.TOTAL_TIME));
+        assertFalse(pruner.supports(RankingObjective.VARIANCE));
+    }
+
+    @Test
+    void testLowerBoundMatrix_DistanceOverSpeed() {
+        Place place = place("p", 40.0, -74.0);
+        Place noCoords = new Place("none", "None", "addr", null);
+
+        double[][] bounds = pruner.lowerBoundMatrix(origins, List.of(place, noCoords), 20.0);
+
+        assertEquals(0.0, bounds[0][0], 1e-9);
+        double expected = GeoMath.distanceMeters(origins.get(1), place.getCoordinates()) / 20.0;
+        assertEquals(expected, bounds[1][0], 1e-9);
+        assertEquals(0.0, bounds[1][1], 1e-9);
+    }
+
+    @Test
+    void testPlan_FirstWaveHoldsSmallestBounds() {
+        Place far = place("far", 41.0, -73.95);
+        Place middle = place("middle", 40.0, -73.95);
+        Place near = place("near", 40.01, -73.95);
+        Place farther = place("farther", 42.0, -73.95);
+
+        LowerBoundPruner.Plan plan = pruner.plan(origins, List.of(far, middle, near, farther),
+                RankingObjective.MAX_TIME, 2, 40.0);
+
+        assertEquals(List.of("middle", "near"), ids(plan.getFirstWave()));
+        assertEquals(List.of("far", "farther"), ids(plan.getRemaining()));
+    }
+
+    @Test
+    void testSurvivors_PrunesOnlyBoundsAboveThreshold() {
+        Place near = place("near", 40.0, -73.95);
+        Place mid = place("mid", 40.5, -73.95);
+        Place far = place("far", 41.5, -73.95);
+
+        LowerBoundPruner.Plan plan = pruner.plan(origins, List.of(near, mid, far), RankingObjective.TOTAL_TIME, 1, 40.0);
+        double midBound = GeoMath.distanceMeters(origins.get(0), mid.getCoordinates()) / 40.0
+                + GeoMath.distanceMeters(origins.get(1), mid.getCoordinates()) / 40.0;
+
+        List<Place> survivors = plan.survivors(midBound);
+        assertEquals(List.of("mid"), ids(survivors));
+        assertEquals(2, plan.prunedElements(survivors));
+
+        assertEquals(2, plan.survivors(Double.POSITIVE_INFINITY).size());
+        assertEquals(0, plan.prunedElements(plan.survivors(Double.POSITIVE_INFINITY)));
+    }
+
+    @Test
+    void testPlan_FewerCandidatesThanK() {
+        LowerBoundPruner.Plan plan = pruner.plan(origins, List.of(place("only", 40.0, -74.0)),
+                RankingObjective.MAX_TIME, 5, 40.0);
+
+        assertEquals(1, plan.getFirstWave().size());
+        assertTrue(plan.getRemaining().isEmpty());
+        assertTrue(plan.survivors(0).isEmpty());
+    }
+
+    private Place place(String id, double lat, double lng) {
+        return new Place(id, "Place " + id, "addr", new Coordinates(lat, lng));
+    }
+
+    private List<String> ids(List<Place> places) {
+        return places.stream().map(Place::getPlaceId).collect(Collectors.toList());
+    }
+}
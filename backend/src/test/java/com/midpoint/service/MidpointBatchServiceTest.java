@@ -0,0 +1,106 @@
+package com.midpoint.service;
+
+import com.midpoint.dto.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MidpointBatchServiceTest {
+
+    @Mock
+    private MidpointService midpointService;
+
+    @InjectMocks
+    private MidpointBatchService midpointBatchService;
+
+    @Test
+    void testProcessBatch_OneResultPerGroupWithIndex() {
+        MidpointRequest first = group(40.0, -74.0);
+        MidpointRequest second = group(41.0, -73.0);
+        when(midpointService.findMidpointAndPlaces(any(MidpointRequest.class)))
+            .thenAnswer(invocation -> Mono.just(response(invocation.getArgument(0))));
+
+        List<BatchMidpointResult> results = midpointBatchService.processBatch(List.of(first, second))
+            .collectList()
+            .block();
+
+        assertEquals(2, results.size());
+        Map<Integer, BatchMidpointResult> byIndex = new HashMap<>();
+        results.forEach(result -> byIndex.put(result.getGroupIndex(), result));
+        assertEquals(40.0, byIndex.get(0).getResponse().getMidpoint().getLat());
+        assertEquals(41.0, byIndex.get(1).getResponse().getMidpoint().getLat());
+        assertNull(byIndex.get(0).getError());
+    }
+
+    @Test
+    void testProcessBatch_IdenticalGroupsComputedOnce() {
+        MidpointRequest first = group(40.0, -74.0);
+        first.setFilters(Arrays.asList("cafe", "restaurant"));
+        MidpointRequest duplicate = group(40.0, -74.0);
+        duplicate.setFilters(Arrays.asList("restaurant", "cafe"));
+        when(midpointService.findMidpointAndPlaces(any(MidpointRequest.class)))
+            .thenAnswer(invocation -> Mono.just(response(invocation.getArgument(0))));
+
+        StepVerifier.create(midpointBatchService.processBatch(List.of(first, duplicate)))
+            .expectNextCount(2)
+            .verifyComplete();
+
+        verify(midpointService, times(1)).findMidpointAndPlaces(any(MidpointRequest.class));
+    }
+
+    @Test
+    void testProcessBatch_FailedGroupDoesNotFailBatch() {
+        MidpointRequest good = group(40.0, -74.0);
+        MidpointRequest bad = group(41.0, -73.0);
+        when(midpointService.findMidpointAndPlaces(good)).thenReturn(Mono.just(response(good)));
+        when(midpointService.findMidpointAndPlaces(bad)).thenThrow(new IllegalArgumentException("No coordinates provided"));
+
+        List<BatchMidpointResult> results = midpointBatchService.processBatch(List.of(good, bad))
+            .collectList()
+            .block();
+
+        assertEquals(2, results.size());
+        BatchMidpointResult failed = results.stream().filter(r -> r.getGroupIndex() == 1).findFirst().orElseThrow();
+        assertEquals("No coordinates provided", failed.getError());
+        assertNull(failed.getResponse());
+    }
+
+    @Test
+    void testGroupKey_OriginOrderMatters() {
+        MidpointRequest ab = new MidpointRequest(Arrays.asList(new Coordinates(1.0, 2.0), new Coordinates(3.0, 4.0)), null);
+        MidpointRequest ba = new MidpointRequest(Arrays.asList(new Coordinates(3.0, 4.0), new Coordinates(1.0, 2.0)), null);
+
+        assertNotEquals(MidpointBatchService.groupKey(ab), MidpointBatchService.groupKey(ba));
+    }
+
+    @Test
+    void testGroupKey_TravelModesMatterButDefaultDrivingDoesNot() {
+        MidpointRequest driving = new MidpointRequest(Arrays.asList(new Coordinates(1.0, 2.0), new Coordinates(3.0, 4.0)), null);
+        MidpointRequest explicit = new MidpointRequest(driving.getCoords(), null);
+        explicit.setModes(Arrays.asList(TravelMode.DRIVING, null));
+        MidpointRequest walking = new MidpointRequest(driving.getCoords(), null);
+        walking.setModes(Arrays.asList(TravelMode.DRIVING, TravelMode.WALKING));
+
+        assertEquals(MidpointBatchService.groupKey(driving), MidpointBatchService.groupKey(explicit));
+        assertNotEquals(MidpointBatchService.groupKey(driving), MidpointBatchService.groupKey(walking));
+    }
+
+    private MidpointRequest group(double lat, double lng) {
+        return new MidpointRequest(new ArrayList<>(List.of(new Coordinates(lat, lng))), new ArrayList<>(List.of("restaurant")));
+    }
+
+    private MidpointResponse response(MidpointRequest request) {
+        return new MidpointResponse(request.getCoords().get(0), "Address", List.of(), 8046);
+    }
+}
@@ -0,0 +1,188 @@
+package com.midpoint.service;
+
+import com.midpoint.dto.Coordinates;
+import com.midpoint.dto.MidpointJob;
+import com.midpoint.dto.MidpointJobRequest;
+import com.midpoint.dto.MidpointRequest;
+import com.midpoint.dto.MidpointResponse;
+import com.midpoint.dto.TravelMode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class MidpointJobServiceTest {
+
+    private MidpointService midpointService;
+    private MutableClock clock;
+    private MidpointJobService jobService;
+    private final List<MidpointRequest> started = new ArrayList<>();
+    private final List<Sinks.One<MidpointResponse>> results = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        midpointService = mock(MidpointService.class);
+        clock = new MutableClock(Instant.parse("2025-01-01T12:00:00Z"));
+        jobService = new MidpointJobService(midpointService, clock);
+        ReflectionTestUtils.setField(jobService, "concurrency", 1);
+
+        when(midpointService.findMidpointAndPlaces(any())).thenAnswer(invocation -> {
+            Sinks.One<MidpointResponse> result = Sinks.one();
+            started.add(invocation.getArgument(0));
+            results.add(result);
+            return result.asMono();
+        });
+    }
+
+    @Test
+    void testQueueOrdersByDeadlineLessEstimatedRunTime() {
+        MidpointJob blocker = jobService.submit(group(2, null));
+        MidpointJobRequest small = group(2, null);
+        MidpointJobRequest large = group(10, null);
+        MidpointJobRequest urgent = group(2, 30);
+        jobService.submit(small);
+        jobService.submit(large);
+        MidpointJob urgentJob = jobService.submit(urgent);
+
+        assertEquals(MidpointJob.RUNNING, jobService.get(blocker.getJobId()).getStatus());
+        assertEquals(0, urgentJob.getQueuePosition());
+        assertEquals(3, jobService.queuedJobs());
+
+        for (int i = 0; i < 4; i++) {
+            results.get(i).tryEmitValue(response());
+        }
+        // Same default deadline: the 10-origin group needs longer, so it must start before the 2-origin one
+        assertEquals(List.of(urgent, large, small), started.subList(1, 4));
+        assertEquals(4, jobService.getJobsCompleted());
+        MidpointJob done = jobService.get(urgentJob.getJobId());
+        assertEquals(MidpointJob.SUCCEEDED, done.getStatus());
+        assertEquals("Address", done.getResponse().getMidpointAddress());
+    }
+
+    @Test
+    void testJobPastItsDeadlineExpiresWithoutRunning() {
+        jobService.submit(group(2, null));
+        MidpointJob late = jobService.submit(group(3, 5));
+
+        clock.advance(10_000);
+        results.get(0).tryEmitValue(response());
+
+        assertEquals(MidpointJob.EXPIRED, jobService.get(late.getJobId()).getStatus());
+        assertEquals(1, jobService.getJobsExpired());
+        verify(midpointService, times(1)).findMidpointAndPlaces(any());
+    }
+
+    @Test
+    void testQueueIsBoundedAndResultsExpireAfterTtl() {
+        ReflectionTestUtils.setField(jobService, "maxQueued", 1);
+        MidpointJob first = jobService.submit(group(2, null));
+        jobService.submit(group(2, null));
+        assertThrows(IllegalStateException.class, () -> jobService.submit(group(2, null)));
+        assertEquals(1, jobService.getJobsRejected());
+        assertThrows(IllegalArgumentException.class, () -> jobService.submit(group(0, null)));
+
+        results.get(0).tryEmitError(new RuntimeException("upstream down"));
+        MidpointJob failed = jobService.get(first.getJobId());
+        assertEquals(MidpointJob.FAILED, failed.getStatus());
+        assertEquals("upstream down", failed.getError());
+
+        clock.advance(601_000);
+        assertThrows(NoSuchElementException.class, () -> jobService.get(first.getJobId()));
+    }
+
+    @Test
+    void testWatchStreamsStatusChangesAndCancel() {
+        MidpointJob running = jobService.submit(group(2, null));
+        MidpointJob queued = jobService.submit(group(2, null));
+
+        StepVerifier.create(jobService.watch(queued.getJobId()).map(MidpointJob::getStatus))
+                .expectNext(MidpointJob.QUEUED)
+                .then(() -> results.get(0).tryEmitValue(response()))
+                .expectNext(MidpointJob.RUNNING)
+                .then(() -> jobService.cancel(queued.getJobId()))
+                .expectNext(MidpointJob.CANCELLED)
+                .verifyComplete();
+
+        assertEquals(MidpointJob.SUCCEEDED, jobService.get(running.getJobId()).getStatus());
+        assertEquals(0, jobService.runningJobs());
+    }
+
+    @Test
+    void testInvalidJobsAreRejectedOrFailedWithoutLeakingTheirSlot() {
+        MidpointJobRequest tooManyModes = group(1, null);
+        tooManyModes.setModes(List.of(TravelMode.DRIVING, TravelMode.WALKING));
+        assertThrows(IllegalArgumentException.class, () -> jobService.submit(tooManyModes));
+        assertEquals(0, jobService.queuedJobs());
+
+        // Valid when submitted but failing as it starts, like a departure that passed in the queue
+        doThrow(new IllegalArgumentException("departure_time is in the past"))
+                .doAnswer(invocation -> {
+                    Sinks.One<MidpointResponse> result = Sinks.one();
+                    started.add(invocation.getArgument(0));
+                    results.add(result);
+                    return result.asMono();
+                })
+                .when(midpointService).findMidpointAndPlaces(any());
+        MidpointJob failing = jobService.submit(group(2, null));
+        assertEquals(MidpointJob.FAILED, jobService.get(failing.getJobId()).getStatus());
+        assertEquals("departure_time is in the past", jobService.get(failing.getJobId()).getError());
+        assertEquals(0, jobService.runningJobs());
+
+        MidpointJob valid = jobService.submit(group(2, null));
+        assertEquals(MidpointJob.RUNNING, jobService.get(valid.getJobId()).getStatus());
+        results.get(0).tryEmitValue(response());
+        assertEquals(MidpointJob.SUCCEEDED, jobService.get(valid.getJobId()).getStatus());
+    }
+
+    private static MidpointJobRequest group(int size, Integer deadlineSeconds) {
+        List<Coordinates> coords = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            coords.add(new Coordinates(40.70 + i * 0.01, -74.00));
+        }
+        return new MidpointJobRequest(coords, List.of("restaurant"), deadlineSeconds);
+    }
+
+    private static MidpointResponse response() {
+        return new MidpointResponse(new Coordinates(40.73, -73.99), "Address", List.of(), 8046);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(long millis) {
+            now = now.plusMillis(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
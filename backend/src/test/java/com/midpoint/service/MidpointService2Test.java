@@ -16,9 +16,12 @@ import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -901,6 +904,485 @@ class MidpointService2Test {
     }
 
 
+    @Test
+    void testFindMidpointAndPlaces_ServedFromPlaceIndexWhenCovered() {
+        MidpointRequest request = new MidpointRequest();
+        request.setCoords(Arrays.asList(
+            new Coordinates(40.7128, -74.0060),
+            new Coordinates(40.7589, -73.9851)
+        ));
+        request.setFilters(Arrays.asList("restaurant"));
+        // Keep the second matrix call upstream; the travel-time cache is covered separately
+        ReflectionTestUtils.setField(midpointService, "travelCacheEnabled", false);
+
+        String geocodeResponse = "{\"status\":\"OK\",\"results\":[{\"formatted_address\":\"New York, NY, USA\"}]}";
+        String placesResponse = "{\"status\":\"OK\",\"results\":[{" +
+            "\"place_id\":\"test-id\"," +
+            "\"name\":\"Test Restaurant\"," +
+            "\"vicinity\":\"123 Main St\"," +
+            "\"types\":[\"restaurant\",\"food\"]," +
+            "\"geometry\":{\"location\":{\"lat\":40.7360,\"lng\":-73.9950}}" +
+            "}]}";
+        String distanceMatrixResponse = "{\"status\":\"OK\",\"rows\":[" +
+            "{\"elements\":[{\"status\":\"OK\",\"distance\":{\"value\":1000,\"text\":\"1 km\"},\"duration\":{\"value\":300,\"text\":\"5 mins\"}}]}," +
+            "{\"elements\":[{\"status\":\"OK\",\"distance\":{\"value\":2000,\"text\":\"2 km\"},\"duration\":{\"value\":600,\"text\":\"10 mins\"}}]}" +
+            "]}";
+
+        doReturn(requestHeadersUriSpec).when(webClient).get();
+        when(requestHeadersUriSpec.uri(anyString())).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToMono(String.class))
+            .thenReturn(Mono.just(geocodeResponse))
+            .thenReturn(Mono.just(placesResponse))
+            .thenReturn(Mono.just(distanceMatrixResponse))
+            .thenReturn(Mono.just(geocodeResponse))
+            .thenReturn(Mono.just(distanceMatrixResponse));
+
+        StepVerifier.create(midpointService.findMidpointAndPlaces(request))
+            .assertNext(response -> assertEquals(1, response.getPlaces().size()))
+            .verifyComplete();
+
+        StepVerifier.create(midpointService.findMidpointAndPlaces(request))
+            .assertNext(response -> {
+                assertEquals(1, response.getPlaces().size());
+                assertEquals("test-id", response.getPlaces().get(0).getPlaceId());
+                assertEquals(2, response.getPlaces().get(0).getTravelSummaries().size());
+            })
+            .verifyComplete();
+
+        // geocode + search + matrix, then geocode + matrix with the search served locally
+        verify(requestHeadersUriSpec, times(1)).uri(contains("nearbysearch"));
+        verify(webClient, times(5)).get();
+    }
+
+    @Test
+    void testFindMidpointAndPlaces_PrunesCandidatesThatCannotReachTopK() {
+        ReflectionTestUtils.setField(midpointService, "rankingTopK", 3);
+        ReflectionTestUtils.setField(midpointService, "pruningExactTop", 2);
+        MidpointRequest request = new MidpointRequest();
+        request.setCoords(Arrays.asList(
+            new Coordinates(40.7128, -74.0060),
+            new Coordinates(40.7589, -73.9851)
+        ));
+        request.setFilters(Arrays.asList("restaurant"));
+
+        String geocodeResponse = "{\"status\":\"OK\",\"results\":[{\"formatted_address\":\"New York, NY, USA\"}]}";
+        String placesResponse = "{\"status\":\"OK\",\"results\":[" +
+            "{\"place_id\":\"near-1\",\"name\":\"Near 1\",\"vicinity\":\"1 Main St\"," +
+            "\"geometry\":{\"location\":{\"lat\":40.7360,\"lng\":-73.9950}}}," +
+            "{\"place_id\":\"far\",\"name\":\"Far\",\"vicinity\":\"Far Away\"," +
+            "\"geometry\":{\"location\":{\"lat\":41.7360,\"lng\":-73.9950}}}," +
+            "{\"place_id\":\"near-2\",\"name\":\"Near 2\",\"vicinity\":\"2 Main St\"," +
+            "\"geometry\":{\"location\":{\"lat\":40.7370,\"lng\":-73.9960}}}" +
+            "]}";
+        String element = "{\"status\":\"OK\",\"distance\":{\"value\":3000,\"text\":\"3 km\"},\"duration\":{\"value\":600,\"text\":\"10 mins\"}}";
+        String distanceMatrixResponse = "{\"status\":\"OK\",\"rows\":[" +
+            "{\"elements\":[" + element + "," + element + "]}," +
+            "{\"elements\":[" + element + "," + element + "]}" +
+            "]}";
+
+        doReturn(requestHeadersUriSpec).when(webClient).get();
+        when(requestHeadersUriSpec.uri(anyString())).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToMono(String.class))
+            .thenReturn(Mono.just(geocodeResponse))
+            .thenReturn(Mono.just(placesResponse))
+            .thenReturn(Mono.just(distanceMatrixResponse));
+
+        StepVerifier.create(midpointService.findMidpointAndPlaces(request))
+            .assertNext(response -> {
+                // The pruned candidate is still returned, last and without travel data
+                assertEquals(3, response.getPlaces().size());
+                Place far = response.getPlaces().get(2);
+                assertEquals("far", far.getPlaceId());
+                assertNull(far.getTravelSummaries());
+                assertEquals(3, far.getRanking().getRank());
+            })
+            .verifyComplete();
+
+        // The far candidate's straight-line bound (~110 km) exceeds the 10-minute K-th best score
+        verify(requestHeadersUriSpec, times(1)).uri(contains("distancematrix"));
+        assertEquals(4, midpointService.getMatrixElementsRequested());
+        assertEquals(2, midpointService.getMatrixElementsPruned());
+    }
+
+    @Test
+    void testFindMidpointAndPlaces_PrunesAFullNearbySearchPage() {
+        MidpointRequest request = new MidpointRequest();
+        request.setCoords(Arrays.asList(
+            new Coordinates(40.7128, -74.0060),
+            new Coordinates(40.7589, -73.9851)
+        ));
+        request.setFilters(Arrays.asList("restaurant"));
+
+        // A full 20-result page at the default top-k: ten places near the midpoint, ten ~110 km north
+        StringBuilder results = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            double lat = (i % 2 == 0 ? 40.7360 : 41.7360) + i * 0.0001;
+            results.append(i > 0 ? "," : "")
+                .append("{\"place_id\":\"place-").append(i).append("\",\"name\":\"Place ").append(i)
+                .append("\",\"vicinity\":\"addr\",\"geometry\":{\"location\":{\"lat\":").append(lat)
+                .append(",\"lng\":-73.9950}}}");
+        }
+        String element = "{\"status\":\"OK\",\"distance\":{\"value\":3000,\"text\":\"3 km\"},\"duration\":{\"value\":600,\"text\":\"10 mins\"}}";
+        String row = "{\"elements\":[" + String.join(",", Collections.nCopies(10, element)) + "]}";
+
+        doReturn(requestHeadersUriSpec).when(webClient).get();
+        when(requestHeadersUriSpec.uri(anyString())).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToMono(String.class))
+            .thenReturn(Mono.just("{\"status\":\"OK\",\"results\":[{\"formatted_address\":\"New York, NY, USA\"}]}"))
+            .thenReturn(Mono.just("{\"status\":\"OK\",\"results\":[" + results + "]}"))
+            .thenReturn(Mono.just("{\"status\":\"OK\",\"rows\":[" + row + "," + row + "]}"));
+
+        StepVerifier.create(midpointService.findMidpointAndPlaces(request))
+            .assertNext(response -> {
+                assertEquals(20, response.getPlaces().size());
+                assertTrue(response.getPlaces().subList(0, 10).stream().allMatch(place -> place.getTravelSummaries() != null));
+                assertTrue(response.getPlaces().subList(10, 20).stream().allMatch(place -> place.getTravelSummaries() == null));
+            })
+            .verifyComplete();
+
+        // 20 elements instead of the 40 an unpruned evaluation of the page would request
+        verify(requestHeadersUriSpec, times(1)).uri(contains("distancematrix"));
+        assertEquals(20, midpointService.getMatrixElementsRequested());
+        assertEquals(20, midpointService.getMatrixElementsPruned());
+    }
+
+    @Test
+    void testComputeTravelSummaries_SplitsOriginsAcrossRequestsWithinElementLimit() {
+        List<Coordinates> origins = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            origins.add(new Coordinates(40.70 + i * 0.01, -74.0));
+        }
+        List<Place> places = new ArrayList<>(Arrays.asList(createTestPlace(), createTestPlace2()));
+
+        StringBuilder rows = new StringBuilder();
+        for (int i = 0; i < 25; i++) {
+            if (i > 0) {
+                rows.append(",");
+            }
+            rows.append("{\"elements\":[" +
+                "{\"status\":\"OK\",\"distance\":{\"value\":1000,\"text\":\"1 km\"},\"duration\":{\"value\":300,\"text\":\"5 mins\"}}," +
+                "{\"status\":\"OK\",\"distance\":{\"value\":2000,\"text\":\"2 km\"},\"duration\":{\"value\":600,\"text\":\"10 mins\"}}" +
+                "]}");
+        }
+        String distanceMatrixResponse = "{\"status\":\"OK\",\"rows\":[" + rows + "]}";
+
+        doReturn(requestHeadersUriSpec).when(webClient).get();
+        when(requestHeadersUriSpec.uri(anyString())).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToMono(String.class)).thenReturn(Mono.just(distanceMatrixResponse));
+
+        StepVerifier.create(midpointService.computeTravelSummaries(origins, places, "driving"))
+            .assertNext(result -> {
+                assertEquals(30, result.get(0).getTravelSummaries().size());
+                Place.TravelSummary last = result.get(1).getTravelSummaries().get(29);
+                assertEquals(29, last.getOriginIndex());
+                assertEquals(600, last.getDurationSeconds());
+            })
+            .verifyComplete();
+
+        // 30 origins × 2 destinations: 25 origins in the first request, 5 in the second
+        verify(webClient, times(2)).get();
+        assertEquals(60, midpointService.getMatrixElementsRequested());
+    }
+
+    @Test
+    void testComputeTravelSummaries_FansClusteredOriginsOutToEveryMember() {
+        List<Coordinates> origins = Arrays.asList(
+            new Coordinates(40.7128, -74.0060),
+            new Coordinates(40.7589, -73.9851),
+            new Coordinates(40.7128, -74.0060),
+            new Coordinates(40.7129, -74.0061)
+        );
+        List<Place> places = new ArrayList<>(Arrays.asList(createTestPlace()));
+        String distanceMatrixResponse = "{\"status\":\"OK\",\"rows\":[" +
+            "{\"elements\":[{\"status\":\"OK\",\"distance\":{\"value\":1000,\"text\":\"1 km\"},\"duration\":{\"value\":300,\"text\":\"5 mins\"}}]}," +
+            "{\"elements\":[{\"status\":\"OK\",\"distance\":{\"value\":2000,\"text\":\"2 km\"},\"duration\":{\"value\":600,\"text\":\"10 mins\"}}]}" +
+            "]}";
+
+        doReturn(requestHeadersUriSpec).when(webClient).get();
+        when(requestHeadersUriSpec.uri(anyString())).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToMono(String.class)).thenReturn(Mono.just(distanceMatrixResponse));
+
+        StepVerifier.create(midpointService.computeTravelSummaries(origins, places, "driving"))
+            .assertNext(result -> {
+                List<Place.TravelSummary> summaries = result.get(0).getTravelSummaries();
+                assertEquals(4, summaries.size());
+                assertEquals(300, summaries.get(2).getDurationSeconds());
+                assertEquals(2, summaries.get(2).getOriginIndex());
+                assertNull(summaries.get(2).getRepresentativeOffsetMeters());
+                assertEquals(300, summaries.get(3).getDurationSeconds());
+                assertTrue(summaries.get(3).getRepresentativeOffsetMeters() > 0);
+                assertEquals(600, summaries.get(1).getDurationSeconds());
+            })
+            .verifyComplete();
+
+        // Only the two representatives were sent upstream
+        verify(requestHeadersUriSpec).uri(argThat((String url) -> url.contains("origins=40.7128,-74.006|40.7589,-73.9851&")));
+        assertEquals(2, midpointService.getMatrixElementsRequested());
+    }
+
+
+    @Test
+    void testTravelSummaryTiles_MergesPerModeMatricesAtOriginIndexes() {
+        List<Coordinates> origins = Arrays.asList(
+            new Coordinates(40.7128, -74.0060),
+            new Coordinates(40.7306, -73.9866),
+            new Coordinates(40.7589, -73.9851)
+        );
+        List<String> modes = Arrays.asList("driving", "walking", "driving");
+        List<Place> places = new ArrayList<>(Arrays.asList(createTestPlace()));
+        String drivingResponse = "{\"status\":\"OK\",\"rows\":[" +
+            "{\"elements\":[{\"status\":\"OK\",\"distance\":{\"value\":1000,\"text\":\"1 km\"},\"duration\":{\"value\":300,\"text\":\"5 mins\"}}]}," +
+            "{\"elements\":[{\"status\":\"OK\",\"distance\":{\"value\":2000,\"text\":\"2 km\"},\"duration\":{\"value\":600,\"text\":\"10 mins\"}}]}" +
+            "]}";
+        String walkingResponse = "{\"status\":\"OK\",\"rows\":[" +
+            "{\"elements\":[{\"status\":\"OK\",\"distance\":{\"value\":1200,\"text\":\"1.2 km\"},\"duration\":{\"value\":900,\"text\":\"15 mins\"}}]}" +
+            "]}";
+
+        List<String> urls = new ArrayList<>();
+        doReturn(requestHeadersUriSpec).when(webClient).get();
+        when(requestHeadersUriSpec.uri(anyString())).thenAnswer(invocation -> {
+            urls.add(invocation.getArgument(0));
+            return requestHeadersSpec;
+        });
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToMono(String.class)).thenAnswer(invocation ->
+            Mono.just(urls.get(urls.size() - 1).contains("mode=walking") ? walkingResponse : drivingResponse));
+
+        StepVerifier.create(midpointService.travelSummaryTiles(origins, modes, places).collectList())
+            .assertNext(tiles -> {
+                List<Place.TravelSummary> summaries = places.get(0).getTravelSummaries();
+                assertEquals(3, summaries.size());
+                assertEquals(List.of(0, 1, 2), summaries.stream().map(Place.TravelSummary::getOriginIndex).toList());
+                assertEquals(List.of(300, 900, 600), summaries.stream().map(Place.TravelSummary::getDurationSeconds).toList());
+                assertEquals(modes, summaries.stream().map(Place.TravelSummary::getMode).toList());
+            })
+            .verifyComplete();
+
+        // One request per mode, each with only that mode's origins
+        assertEquals(2, urls.size());
+        assertTrue(urls.stream().anyMatch(url -> url.contains("mode=walking") && url.contains("origins=40.7306,-73.9866&")));
+        assertEquals(2, midpointService.getMatrixElementsRequested("driving"));
+        assertEquals(1, midpointService.getMatrixElementsRequested("walking"));
+    }
+
+    @Test
+    void testComputeTravelSummaries_RepeatedRequestServedFromTravelTimeCache() {
+        List<Coordinates> origins = Arrays.asList(
+            new Coordinates(40.7128, -74.0060),
+            new Coordinates(40.7589, -73.9851)
+        );
+        String distanceMatrixResponse = "{\"status\":\"OK\",\"rows\":[" +
+            "{\"elements\":[{\"status\":\"OK\",\"distance\":{\"value\":1000,\"text\":\"1 km\"},\"duration\":{\"value\":300,\"text\":\"5 mins\"}}]}," +
+            "{\"elements\":[{\"status\":\"OK\",\"distance\":{\"value\":2000,\"text\":\"2 km\"},\"duration\":{\"value\":600,\"text\":\"10 mins\"}}]}" +
+            "]}";
+
+        doReturn(requestHeadersUriSpec).when(webClient).get();
+        when(requestHeadersUriSpec.uri(anyString())).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToMono(String.class)).thenReturn(Mono.just(distanceMatrixResponse));
+
+        StepVerifier.create(midpointService.computeTravelSummaries(origins, new ArrayList<>(List.of(createTestPlace())), "driving"))
+            .expectNextCount(1)
+            .verifyComplete();
+        StepVerifier.create(midpointService.computeTravelSummaries(origins, new ArrayList<>(List.of(createTestPlace())), "driving"))
+            .assertNext(result -> assertEquals(600, result.get(0).getTravelSummaries().get(1).getDurationSeconds()))
+            .verifyComplete();
+        // A walking lookup for the same pairs is its own namespace and goes upstream
+        StepVerifier.create(midpointService.computeTravelSummaries(origins, new ArrayList<>(List.of(createTestPlace())), "walking"))
+            .expectNextCount(1)
+            .verifyComplete();
+
+        verify(webClient, times(2)).get();
+        assertEquals(2, midpointService.getTravelCacheHits("driving"));
+        assertEquals(2, midpointService.getMatrixElementsRequested("driving"));
+        assertEquals(0, midpointService.getTravelCacheHits("walking"));
+        assertEquals(2, midpointService.getMatrixElementsRequested("walking"));
+    }
+
+    @Test
+    void testTravelCacheNamespace_BucketsDeparturesByQuarterHourAndWeekdayClass() {
+        // 2030-06-03 is a Monday
+        OffsetDateTime monday = OffsetDateTime.parse("2030-06-03T08:20:00-04:00");
+
+        assertEquals("driving", MidpointService.travelCacheNamespace("driving", null));
+        assertEquals("driving@weekday-08:15", MidpointService.travelCacheNamespace("driving", monday));
+        assertEquals("driving@weekday-08:15", MidpointService.travelCacheNamespace("driving", monday.plusDays(3).plusMinutes(9)));
+        assertEquals("driving@weekday-08:30", MidpointService.travelCacheNamespace("driving", monday.plusMinutes(10)));
+        assertEquals("driving@saturday-08:15", MidpointService.travelCacheNamespace("driving", monday.plusDays(5)));
+        assertEquals("transit@sunday-08:15", MidpointService.travelCacheNamespace("transit", monday.plusDays(6)));
+        assertEquals("walking", MidpointService.travelCacheNamespace("walking", monday));
+    }
+
+    @Test
+    void testTravelSummaryTiles_DepartureTimePassedThroughAndBucketCached() {
+        List<Coordinates> origins = Arrays.asList(new Coordinates(40.7128, -74.0060));
+        OffsetDateTime tuesday = OffsetDateTime.parse("2030-06-04T17:35:00-04:00");
+        String distanceMatrixResponse = "{\"status\":\"OK\",\"rows\":[{\"elements\":[{\"status\":\"OK\"," +
+            "\"distance\":{\"value\":1000,\"text\":\"1 km\"},\"duration\":{\"value\":300,\"text\":\"5 mins\"}," +
+            "\"duration_in_traffic\":{\"value\":540,\"text\":\"9 mins\"}}]}]}";
+
+        doReturn(requestHeadersUriSpec).when(webClient).get();
+        when(requestHeadersUriSpec.uri(anyString())).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToMono(String.class)).thenReturn(Mono.just(distanceMatrixResponse));
+
+        List<Place> first = new ArrayList<>(List.of(createTestPlace()));
+        StepVerifier.create(midpointService.travelSummaryTiles(origins, first, "driving", tuesday).then())
+            .verifyComplete();
+        assertEquals(540, first.get(0).getTravelSummaries().get(0).getDurationSeconds());
+
+        // Thursday 17:44 falls in the same weekday 17:30 bucket; "now" does not
+        List<Place> second = new ArrayList<>(List.of(createTestPlace()));
+        StepVerifier.create(midpointService.travelSummaryTiles(origins, second, "driving", tuesday.plusDays(2).plusMinutes(9)).then())
+            .verifyComplete();
+        assertEquals(540, second.get(0).getTravelSummaries().get(0).getDurationSeconds());
+        StepVerifier.create(midpointService.travelSummaryTiles(origins, new ArrayList<>(List.of(createTestPlace())), "driving").then())
+            .verifyComplete();
+
+        verify(requestHeadersUriSpec).uri(contains("&departure_time=" + tuesday.toEpochSecond() + "&"));
+        verify(webClient, times(2)).get();
+        assertEquals(1, midpointService.getTravelCacheHits("driving"));
+    }
+
+    @Test
+    void testFindMidpointAndPlaces_SignalsTooManyModesAsError() {
+        MidpointRequest request = new MidpointRequest(List.of(new Coordinates(40.7, -74.0)), null);
+        request.setModes(List.of(TravelMode.DRIVING, TravelMode.WALKING));
+
+        assertThrows(IllegalArgumentException.class, () -> MidpointService.validate(request));
+        StepVerifier.create(midpointService.findMidpointAndPlaces(request))
+            .expectError(IllegalArgumentException.class)
+            .verify();
+        verifyNoInteractions(webClient);
+    }
+
+    @Test
+    void testResolveDeparture_RejectsPastDepartures() {
+        MidpointRequest request = new MidpointRequest(List.of(new Coordinates(40.7, -74.0)), null);
+        assertNull(MidpointService.resolveDeparture(request));
+
+        request.setDepartureTime(OffsetDateTime.now().minusHours(1));
+        assertThrows(IllegalArgumentException.class, () -> MidpointService.resolveDeparture(request));
+        assertThrows(IllegalArgumentException.class, () -> MidpointService.validate(request));
+        StepVerifier.create(midpointService.findMidpointAndPlaces(request))
+            .expectError(IllegalArgumentException.class)
+            .verify();
+    }
+
+    @Test
+    void testTravelRow_FetchesOnlyTheMovedOriginInDestinationTiles() {
+        List<Place> places = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            places.add(new Place("place-" + i, "Place " + i, "addr", new Coordinates(40.70 + i * 0.001, -74.0)));
+        }
+        StringBuilder elements = new StringBuilder();
+        for (int i = 0; i < 25; i++) {
+            if (i > 0) {
+                elements.append(",");
+            }
+            elements.append("{\"status\":\"OK\",\"distance\":{\"value\":1000,\"text\":\"1 km\"},\"duration\":{\"value\":")
+                .append(100 + i).append(",\"text\":\"2 mins\"}}");
+        }
+        String distanceMatrixResponse = "{\"status\":\"OK\",\"rows\":[{\"elements\":[" + elements + "]}]}";
+
+        doReturn(requestHeadersUriSpec).when(webClient).get();
+        when(requestHeadersUriSpec.uri(anyString())).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToMono(String.class)).thenReturn(Mono.just(distanceMatrixResponse));
+
+        StepVerifier.create(midpointService.travelRow(new Coordinates(40.75, -73.98), 3, places, "driving"))
+            .assertNext(row -> {
+                assertEquals(30, row.size());
+                assertEquals(3, row.get(0).getOriginIndex());
+                assertEquals(100, row.get(0).getDurationSeconds());
+                // Second request covers places 25..29 from the start of its own element list
+                assertEquals(104, row.get(29).getDurationSeconds());
+            })
+            .verifyComplete();
+
+        verify(requestHeadersUriSpec, times(2)).uri(argThat((String url) -> url.contains("origins=40.75,-73.98&")));
+        assertEquals(30, midpointService.getMatrixElementsRequested());
+    }
+
+    @Test
+    void testStreamMidpointAndPlaces_EmitsEachStageAsItCompletes() {
+        MidpointRequest request = new MidpointRequest();
+        request.setCoords(Arrays.asList(
+            new Coordinates(40.7128, -74.0060),
+            new Coordinates(40.7589, -73.9851)
+        ));
+        request.setFilters(Arrays.asList("restaurant"));
+
+        String geocodeResponse = "{\"status\":\"OK\",\"results\":[{\"formatted_address\":\"New York, NY, USA\"}]}";
+        String placesResponse = "{\"status\":\"OK\",\"results\":[{" +
+            "\"place_id\":\"test-id\"," +
+            "\"name\":\"Test Restaurant\"," +
+            "\"vicinity\":\"123 Main St\"," +
+            "\"geometry\":{\"location\":{\"lat\":40.7360,\"lng\":-73.9950}}" +
+            "}]}";
+        String distanceMatrixResponse = "{\"status\":\"OK\",\"rows\":[" +
+            "{\"elements\":[{\"status\":\"OK\",\"distance\":{\"value\":1000,\"text\":\"1 km\"},\"duration\":{\"value\":300,\"text\":\"5 mins\"}}]}," +
+            "{\"elements\":[{\"status\":\"OK\",\"distance\":{\"value\":2000,\"text\":\"2 km\"},\"duration\":{\"value\":600,\"text\":\"10 mins\"}}]}" +
+            "]}";
+
+        doReturn(requestHeadersUriSpec).when(webClient).get();
+        when(requestHeadersUriSpec.uri(anyString())).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToMono(String.class))
+            .thenReturn(Mono.just(geocodeResponse))
+            .thenReturn(Mono.just(placesResponse))
+            .thenReturn(Mono.just(distanceMatrixResponse));
+
+        AtomicReference<MidpointEvent> travel = new AtomicReference<>();
+        StepVerifier.create(midpointService.streamMidpointAndPlaces(request))
+            .assertNext(event -> {
+                assertEquals(MidpointEvent.MIDPOINT, event.getType());
+                assertNotNull(event.getMidpoint());
+                assertEquals(8046, event.getRadiusMeters());
+            })
+            .assertNext(event -> {
+                assertEquals(MidpointEvent.ADDRESS, event.getType());
+                assertEquals("New York, NY, USA", event.getMidpointAddress());
+            })
+            .assertNext(event -> {
+                assertEquals(MidpointEvent.PLACES, event.getType());
+                assertEquals(1, event.getPlaces().size());
+                assertNull(event.getPlaces().get(0).getTravelSummaries());
+            })
+            .assertNext(event -> {
+                assertEquals(MidpointEvent.TRAVEL, event.getType());
+                assertEquals(2, event.getPlaces().get(0).getTravelSummaries().size());
+                travel.set(event);
+            })
+            .assertNext(event -> {
+                assertEquals(MidpointEvent.RANKED, event.getType());
+                assertEquals(1, event.getPlaces().get(0).getRanking().getRank());
+                assertNotSame(travel.get().getPlaces().get(0), event.getPlaces().get(0));
+            })
+            .verifyComplete();
+
+        // Ranking must not reach into the already emitted travel event
+        assertNull(travel.get().getPlaces().get(0).getRanking());
+    }
+
+    @Test
+    void testStreamMidpointAndPlaces_InvalidRequestEndsWithErrorEvent() {
+        MidpointRequest request = new MidpointRequest();
+        request.setCoords(new ArrayList<>());
+
+        StepVerifier.create(midpointService.streamMidpointAndPlaces(request))
+            .assertNext(event -> {
+                assertEquals(MidpointEvent.ERROR, event.getType());
+                assertEquals("No coordinates provided", event.getError());
+            })
+            .verifyComplete();
+    }
+
     private Place createTestPlace() {
         Place place = new Place();
         place.setPlaceId("test-id");
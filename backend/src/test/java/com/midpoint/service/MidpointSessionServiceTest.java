@@ -0,0 +1,234 @@
+package com.midpoint.service;
+
+import com.midpoint.dto.Coordinates;
+import com.midpoint.dto.MidpointRequest;
+import com.midpoint.dto.MidpointSessionResponse;
+import com.midpoint.dto.Place;
+import com.midpoint.dto.TravelMode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class MidpointSessionServiceTest {
+
+    private static final Coordinates ORIGIN_A = new Coordinates(40.7128, -74.0060);
+    private static final Coordinates ORIGIN_B = new Coordinates(40.7589, -73.9851);
+
+    private MidpointService midpointService;
+    private MutableClock clock;
+    private MidpointSessionService sessionService;
+
+    @BeforeEach
+    void setUp() {
+        midpointService = spy(new MidpointService());
+        clock = new MutableClock(Instant.parse("2025-01-01T12:00:00Z"));
+        sessionService = new MidpointSessionService(midpointService, clock);
+
+        doReturn(Mono.just("New York, NY, USA")).when(midpointService).reverseGeocode(any());
+        doAnswer(invocation -> Mono.just(candidates()))
+                .when(midpointService).findCandidatePlaces(any(), any(), anyInt());
+        doAnswer(invocation -> {
+            List<Coordinates> origins = invocation.getArgument(0);
+            List<Place> places = invocation.getArgument(1);
+            for (int i = 0; i < places.size(); i++) {
+                List<Place.TravelSummary> summaries = new ArrayList<>();
+                for (int j = 0; j < origins.size(); j++) {
+                    summaries.add(new Place.TravelSummary(j, 5000, 600 + 60 * i, "3 mi", "10 mins", "driving"));
+                }
+                places.get(i).setTravelSummaries(summaries);
+            }
+            return Mono.just(places);
+        }).when(midpointService).evaluateCandidates(anyList(), anyList(), anyString(), any());
+        // After the move, origin 1 is next to place-4 and far from everything else
+        doAnswer(invocation -> {
+            int originIndex = invocation.getArgument(1);
+            List<Place> places = invocation.getArgument(2);
+            List<Place.TravelSummary> row = new ArrayList<>();
+            for (Place place : places) {
+                int duration = "place-4".equals(place.getPlaceId()) ? 100 : 5000;
+                row.add(new Place.TravelSummary(originIndex, 1000, duration, "1 mi", "x", "driving"));
+            }
+            return Mono.just(row);
+        }).when(midpointService).travelRow(any(), anyInt(), anyList(), anyString());
+    }
+
+    @Test
+    void testSmallMoveReusesCandidatesAndFetchesOneRow() {
+        MidpointSessionResponse created = sessionService.create(request()).block();
+        assertEquals(1, created.getVersion());
+        assertFalse(created.getCandidatesReused());
+        assertEquals("place-0", created.getResponse().getPlaces().get(0).getPlaceId());
+
+        Coordinates moved = new Coordinates(40.7599, -73.9851);
+        MidpointSessionResponse updated = sessionService.moveOrigin(created.getSessionId(), 1, moved).block();
+
+        assertEquals(2, updated.getVersion());
+        assertTrue(updated.getCandidatesReused());
+        assertEquals("place-4", updated.getResponse().getPlaces().get(0).getPlaceId());
+        assertEquals(100, updated.getResponse().getPlaces().get(0).getTravelSummaries().get(1).getDurationSeconds());
+        assertEquals(840, updated.getResponse().getPlaces().get(0).getTravelSummaries().get(0).getDurationSeconds());
+        verify(midpointService, times(1)).findCandidatePlaces(any(), any(), anyInt());
+        verify(midpointService).travelRow(eq(moved), eq(1), anyList(), eq("driving"));
+        assertEquals(1, sessionService.getReusedUpdates());
+
+        // The first response is a separate snapshot and keeps its data
+        assertEquals("place-0", created.getResponse().getPlaces().get(0).getPlaceId());
+        assertEquals(600, created.getResponse().getPlaces().get(0).getTravelSummaries().get(1).getDurationSeconds());
+    }
+
+    @Test
+    void testLargeMoveRecomputes() {
+        MidpointSessionResponse created = sessionService.create(request()).block();
+
+        MidpointSessionResponse updated = sessionService
+                .moveOrigin(created.getSessionId(), 1, new Coordinates(40.95, -73.70)).block();
+
+        assertFalse(updated.getCandidatesReused());
+        assertNotEquals(created.getResponse().getMidpoint().getLat(), updated.getResponse().getMidpoint().getLat());
+        verify(midpointService, times(2)).findCandidatePlaces(any(), any(), anyInt());
+        verify(midpointService, never()).travelRow(any(), anyInt(), anyList(), anyString());
+        assertEquals(1, sessionService.getFullRecomputes());
+    }
+
+    @Test
+    void testConsecutiveMovesApplyInOrder() {
+        String sessionId = sessionService.create(request()).block().getSessionId();
+
+        Mono<MidpointSessionResponse> first = sessionService.moveOrigin(sessionId, 0, new Coordinates(40.7130, -74.0060));
+        Mono<MidpointSessionResponse> second = sessionService.moveOrigin(sessionId, 1, new Coordinates(40.7590, -73.9851));
+
+        // Subscribing to the later move alone still runs the earlier one first
+        assertEquals(3, second.block().getVersion());
+        assertEquals(2, first.block().getVersion());
+    }
+
+    @Test
+    void testFailedMoveLeavesSessionAtPreviousSnapshot() {
+        String sessionId = sessionService.create(request()).block().getSessionId();
+        doReturn(Mono.error(new IllegalStateException("matrix unavailable")))
+                .when(midpointService).travelRow(any(), anyInt(), anyList(), anyString());
+
+        StepVerifier.create(sessionService.moveOrigin(sessionId, 1, new Coordinates(40.7599, -73.9851)))
+                .expectError(IllegalStateException.class)
+                .verify();
+
+        MidpointSessionResponse current = sessionService.current(sessionId).block();
+        assertEquals(1, current.getVersion());
+        assertEquals("place-0", current.getResponse().getPlaces().get(0).getPlaceId());
+    }
+
+    @Test
+    void testRejectsUnknownSessionsBadIndexesAndIdleSessions() {
+        StepVerifier.create(sessionService.moveOrigin("missing", 0, ORIGIN_A))
+                .expectError(NoSuchElementException.class)
+                .verify();
+
+        String sessionId = sessionService.create(request()).block().getSessionId();
+        StepVerifier.create(sessionService.moveOrigin(sessionId, 2, ORIGIN_A))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+        StepVerifier.create(sessionService.create(new MidpointRequest(List.of(), null)))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+        MidpointRequest walking = request();
+        walking.setModes(List.of(TravelMode.WALKING));
+        StepVerifier.create(sessionService.create(walking))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+        MidpointRequest planned = request();
+        planned.setDepartureTime(OffsetDateTime.parse("2030-06-07T18:30:00-04:00"));
+        StepVerifier.create(sessionService.create(planned))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+        ReflectionTestUtils.setField(sessionService, "maxOrigins", 2);
+        StepVerifier.create(sessionService.create(new MidpointRequest(List.of(ORIGIN_A, ORIGIN_B, ORIGIN_A), null)))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+        assertEquals(1, sessionService.activeSessions());
+
+        clock.advance(1801 * 1000L);
+        StepVerifier.create(sessionService.moveOrigin(sessionId, 0, ORIGIN_A))
+                .expectError(NoSuchElementException.class)
+                .verify();
+        assertEquals(0, sessionService.activeSessions());
+    }
+
+    @Test
+    void testPairBudgetIsSharedAcrossSessions() {
+        ReflectionTestUtils.setField(sessionService, "maxPairs", 4L);
+        MidpointRequest three = new MidpointRequest(List.of(ORIGIN_A, ORIGIN_B, ORIGIN_A), List.of("restaurant"));
+        String first = sessionService.create(three).block().getSessionId();
+        assertEquals(3, sessionService.reservedPairs());
+
+        // A second group of three would hold six pairs in total
+        StepVerifier.create(sessionService.create(three))
+                .expectError(IllegalStateException.class)
+                .verify();
+        assertEquals(3, sessionService.reservedPairs());
+        assertNotNull(sessionService.create(request()).block());
+        assertEquals(4, sessionService.reservedPairs());
+
+        assertTrue(sessionService.close(first));
+        assertEquals(1, sessionService.reservedPairs());
+        assertNotNull(sessionService.create(three).block());
+
+        clock.advance(1801 * 1000L);
+        sessionService.create(new MidpointRequest(List.of(ORIGIN_A), List.of("restaurant"))).block();
+        assertEquals(0, sessionService.reservedPairs());
+        assertEquals(1, sessionService.activeSessions());
+    }
+
+    private static MidpointRequest request() {
+        return new MidpointRequest(List.of(ORIGIN_A, ORIGIN_B), List.of("restaurant"));
+    }
+
+    private static List<Place> candidates() {
+        List<Place> places = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            places.add(new Place("place-" + i, "Place " + i, "addr", new Coordinates(40.735 + i * 0.001, -73.995)));
+        }
+        return places;
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(long millis) {
+            now = now.plusMillis(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.midpoint.service;
+
+import com.midpoint.dto.Coordinates;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OriginClustererTest {
+
+    private final OriginClusterer clusterer = new OriginClusterer();
+
+    @Test
+    void testCluster_CollapsesExactDuplicatesAtZeroTolerance() {
+        List<Coordinates> origins = List.of(
+                new Coordinates(40.7128, -74.0060),
+                new Coordinates(40.7589, -73.9851),
+                new Coordinates(40.7128, -74.0060));
+
+        OriginClusterer.Clustering clustering = clusterer.cluster(origins, 0);
+
+        assertEquals(2, clustering.getRepresentatives().size());
+        assertEquals(0, clustering.representativeOf(2));
+        assertEquals(0.0, clustering.offsetMeters(2));
+        assertEquals(1, clustering.getCollapsedCount());
+    }
+
+    @Test
+    void testCluster_GroupsNearbyOriginsWithinTolerance() {
+        List<Coordinates> origins = List.of(
+                new Coordinates(40.7128, -74.0060),
+                new Coordinates(40.7129, -74.0061),   // ~14 m away
+                new Coordinates(40.7589, -73.9851),
+                new Coordinates(40.7590, -73.9850));  // ~14 m away
+
+        OriginClusterer.Clustering clustering = clusterer.cluster(origins, 50);
+
+        assertEquals(2, clustering.getRepresentatives().size());
+        assertEquals(0, clustering.representativeOf(1));
+        assertEquals(1, clustering.representativeOf(3));
+        assertEquals(2, clustering.originIndexOfRepresentative(1));
+        assertTrue(clustering.offsetMeters(1) > 0 && clustering.offsetMeters(1) < 50);
+        assertEquals(Math.max(clustering.offsetMeters(1), clustering.offsetMeters(3)), clustering.getMaxOffsetMeters(), 1e-9);
+    }
+
+    @Test
+    void testCluster_NegativeToleranceKeepsEveryOrigin() {
+        List<Coordinates> origins = List.of(new Coordinates(1.0, 1.0), new Coordinates(1.0, 1.0));
+
+        OriginClusterer.Clustering clustering = clusterer.cluster(origins, -1);
+
+        assertEquals(2, clustering.getRepresentatives().size());
+        assertEquals(0, clustering.getCollapsedCount());
+    }
+
+    @Test
+    void testCluster_EveryMemberWithinToleranceOfRepresentative() {
+        Random random = new Random(7);
+        List<Coordinates> origins = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            origins.add(new Coordinates(59.9 + random.nextDouble() * 0.02, 10.7 + random.nextDouble() * 0.04));
+        }
+
+        OriginClusterer.Clustering clustering = clusterer.cluster(origins, 200);
+
+        assertTrue(clustering.getRepresentatives().size() < origins.size());
+        for (int i = 0; i < origins.size(); i++) {
+            Coordinates representative = clustering.getRepresentatives().get(clustering.representativeOf(i));
+            double offset = GeoMath.distanceMeters(origins.get(i), representative);
+            assertTrue(offset <= 200, "origin " + i + " is " + offset + " m from its representative");
+            assertEquals(offset, clustering.offsetMeters(i), 1e-6);
+        }
+        assertTrue(clustering.getMeanOffsetMeters() <= clustering.getMaxOffsetMeters());
+    }
+}
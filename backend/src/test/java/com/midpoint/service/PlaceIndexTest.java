@@ -0,0 +1,174 @@
+package com.midpoint.service;
+
+import com.midpoint.dto.Coordinates;
+import com.midpoint.dto.Place;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlaceIndexTest {
+
+    private static final Coordinates CENTER = new Coordinates(40.7350, -73.9950);
+    private static final int RADIUS = 8046;
+    private static final long HOUR = 60 * 60 * 1000L;
+
+    private MutableClock clock;
+    private PlaceIndex index;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2025-01-01T12:00:00Z"));
+        index = new PlaceIndex(PlaceIndex.DEFAULT_CELL_SIZE_DEGREES, clock);
+    }
+
+    @Test
+    void testCoverageKey_IsCanonical() {
+        assertEquals(PlaceIndex.coverageKey(Arrays.asList("restaurant", "cafe")),
+                PlaceIndex.coverageKey(Arrays.asList("cafe", "restaurant", "cafe")));
+    }
+
+    @Test
+    void testIsCovered_FalseWhenEmpty() {
+        assertFalse(index.isCovered(CENTER, RADIUS, "restaurant", HOUR));
+    }
+
+    @Test
+    void testRecord_MarksSearchCircleCovered() {
+        index.record(List.of(place("a", 40.7360, -73.9940, "restaurant")), CENTER, RADIUS, "restaurant");
+
+        assertTrue(index.isCovered(CENTER, RADIUS, "restaurant", HOUR));
+        assertTrue(index.isCovered(CENTER, 2000, "restaurant", HOUR));
+        assertFalse(index.isCovered(CENTER, RADIUS, "cafe", HOUR));
+        // A circle reaching beyond the searched one is not covered
+        assertFalse(index.isCovered(new Coordinates(40.80, -73.9950), RADIUS, "restaurant", HOUR));
+    }
+
+    @Test
+    void testIsCovered_ExpiresWithAge() {
+        index.record(List.of(place("a", 40.7360, -73.9940, "restaurant")), CENTER, RADIUS, "restaurant");
+
+        clock.advance(2 * HOUR);
+
+        assertFalse(index.isCovered(CENTER, RADIUS, "restaurant", HOUR));
+        assertTrue(index.isCovered(CENTER, RADIUS, "restaurant", 3 * HOUR));
+    }
+
+    @Test
+    void testFindWithin_FiltersByRadiusAndTypeNearestFirst() {
+        index.record(Arrays.asList(
+                place("far", 40.7500, -73.9800, "restaurant"),
+                place("near", 40.7352, -73.9951, "restaurant", "food"),
+                place("cafe", 40.7355, -73.9955, "cafe"),
+                place("outside", 40.9000, -73.9950, "restaurant")
+        ), CENTER, RADIUS, "restaurant");
+
+        List<Place> found = index.findWithin(CENTER, RADIUS, List.of("restaurant"), HOUR);
+
+        assertEquals(2, found.size());
+        assertEquals("near", found.get(0).getPlaceId());
+        assertEquals("far", found.get(1).getPlaceId());
+        assertTrue(found.get(0).getDistance() < found.get(1).getDistance());
+    }
+
+    @Test
+    void testFindWithin_ReturnsCopies() {
+        Place original = place("a", 40.7360, -73.9940, "restaurant");
+        index.record(List.of(original), CENTER, RADIUS, "restaurant");
+
+        Place first = index.findWithin(CENTER, RADIUS, List.of("restaurant"), HOUR).get(0);
+        first.setTravelSummaries(Collections.singletonList(new Place.TravelSummary()));
+        first.setName("changed");
+
+        Place second = index.findWithin(CENTER, RADIUS, List.of("restaurant"), HOUR).get(0);
+        assertNotSame(first, second);
+        assertEquals("Place a", second.getName());
+        assertNull(second.getTravelSummaries());
+    }
+
+    @Test
+    void testRecord_MovesPlaceBetweenCells() {
+        index.record(List.of(place("a", 40.7360, -73.9940, "restaurant")), CENTER, RADIUS, "restaurant");
+        index.record(List.of(place("a", 40.7600, -73.9700, "restaurant")), CENTER, RADIUS, "restaurant");
+
+        List<Place> found = index.findWithin(CENTER, RADIUS, List.of("restaurant"), HOUR);
+        assertEquals(1, found.size());
+        assertEquals(40.7600, found.get(0).getCoordinates().getLat(), 1e-9);
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void testFindWithin_SkipsEntriesOlderThanMaxAge() {
+        index.record(List.of(place("old", 40.7360, -73.9940, "restaurant")), CENTER, RADIUS, "restaurant");
+        clock.advance(2 * HOUR);
+        index.record(List.of(place("new", 40.7370, -73.9930, "restaurant")), CENTER, RADIUS, "restaurant");
+
+        List<Place> found = index.findWithin(CENTER, RADIUS, List.of("restaurant"), HOUR);
+
+        assertEquals(1, found.size());
+        assertEquals("new", found.get(0).getPlaceId());
+    }
+
+    @Test
+    void testEvictOlderThan_DropsPlacesAndCoverage() {
+        index.record(List.of(place("a", 40.7360, -73.9940, "restaurant")), CENTER, RADIUS, "restaurant");
+        clock.advance(2 * HOUR);
+
+        index.evictOlderThan(HOUR);
+
+        assertEquals(0, index.size());
+        assertEquals(0, index.cellCount());
+        assertFalse(index.isCovered(CENTER, RADIUS, "restaurant", 3 * HOUR));
+    }
+
+    @Test
+    void testRecord_SkipsPlacesWithoutCoordinates() {
+        Place noGeometry = new Place("x", "No Geometry", "Somewhere", null);
+
+        index.record(List.of(noGeometry), CENTER, RADIUS, "restaurant");
+
+        assertEquals(0, index.size());
+    }
+
+    private Place place(String id, double lat, double lng, String... types) {
+        Place place = new Place(id, "Place " + id, "123 Test St", new Coordinates(lat, lng));
+        place.setTypes(types);
+        place.setRating(4.0);
+        return place;
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(long millis) {
+            now = now.plusMillis(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.midpoint.service;
+
+import com.midpoint.dto.Coordinates;
+import com.midpoint.dto.Place;
+import com.midpoint.dto.RankingObjective;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlaceRankerTest {
+
+    private final PlaceRanker ranker = new PlaceRanker();
+
+    @Test
+    void testRankTopK_MaxTimePrefersFairestPlace() {
+        Place lopsided = place("lopsided", 0.1, 60, 1800);   // total 31 min, max 30 min
+        Place balanced = place("balanced", 0.5, 900, 960);    // total 31 min, max 16 min
+
+        List<Place> ranked = ranker.rankTopK(List.of(lopsided, balanced), 2, RankingObjective.MAX_TIME, 5);
+
+        assertEquals("balanced", ranked.get(0).getPlaceId());
+        assertEquals(1, ranked.get(0).getRanking().getRank());
+        assertEquals(960, ranked.get(0).getRanking().getMaxDurationSeconds());
+        assertEquals(RankingObjective.MAX_TIME, ranked.get(0).getRanking().getObjective());
+    }
+
+    @Test
+    void testRankTopK_TotalTimePrefersShortestSum() {
+        Place a = place("a", 0.1, 100, 1000);   // total 1100
+        Place b = place("b", 0.2, 500, 500);    // total 1000
+
+        List<Place> ranked = ranker.rankTopK(List.of(a, b), 2, RankingObjective.TOTAL_TIME, 5);
+
+        assertEquals("b", ranked.get(0).getPlaceId());
+        assertEquals(1000.0, ranked.get(0).getRanking().getScore());
+        assertEquals(1000, ranked.get(0).getRanking().getTotalDurationSeconds());
+    }
+
+    @Test
+    void testRankTopK_VarianceBreaksTiesOnTotalTime() {
+        Place even = place("even", 0.1, 600, 600);
+        Place evenButFar = place("evenButFar", 0.1, 1200, 1200);
+        Place uneven = place("uneven", 0.1, 100, 700);
+
+        List<Place> ranked = ranker.rankTopK(List.of(uneven, evenButFar, even), 2, RankingObjective.VARIANCE, 5);
+
+        assertEquals(List.of("even", "evenButFar", "uneven"), ids(ranked));
+        assertEquals(0.0, ranked.get(0).getRanking().getDurationStddevSeconds(), 1e-9);
+        assertEquals(300.0, ranked.get(2).getRanking().getDurationStddevSeconds(), 1e-9);
+    }
+
+    @Test
+    void testRankTopK_UnreachableOriginsRankLast() {
+        Place partial = place("partial", 0.1, 60, null);
+        Place complete = place("complete", 0.9, 3000, 3000);
+
+        List<Place> ranked = ranker.rankTopK(List.of(partial, complete), 2, RankingObjective.MAX_TIME, 5);
+
+        assertEquals(List.of("complete", "partial"), ids(ranked));
+        assertEquals(1, ranked.get(1).getRanking().getUnreachableOrigins());
+        assertTrue(ranked.get(1).getRanking().getReason().contains("1 origin without a route"));
+    }
+
+    @Test
+    void testRankTopK_WithoutTravelDataFallsBackToDistance() {
+        Place far = new Place("far", "Far", "addr", new Coordinates(0.0, 0.0));
+        far.setDistance(3.0);
+        Place near = new Place("near", "Near", "addr", new Coordinates(0.0, 0.0));
+        near.setDistance(1.0);
+
+        List<Place> ranked = ranker.rankTopK(List.of(far, near), 2, RankingObjective.MAX_TIME, 5);
+
+        assertEquals(List.of("near", "far"), ids(ranked));
+        assertNull(ranked.get(0).getRanking().getScore());
+        assertEquals("No travel data; ranked by distance from the midpoint", ranked.get(0).getRanking().getReason());
+    }
+
+    @Test
+    void testRankTopK_LimitsToK() {
+        List<Place> places = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            places.add(place("p" + i, i, 60 * (30 - i), 60 * (30 - i)));
+        }
+
+        List<Place> ranked = ranker.rankTopK(places, 2, RankingObjective.MAX_TIME, 20);
+
+        assertEquals(20, ranked.size());
+        assertEquals("p29", ranked.get(0).getPlaceId());
+        assertEquals(20, ranked.get(19).getRanking().getRank());
+    }
+
+    @Test
+    void testRankTopK_EmptyOrZeroK() {
+        assertTrue(ranker.rankTopK(List.of(), 2, RankingObjective.MAX_TIME, 5).isEmpty());
+        assertTrue(ranker.rankTopK(List.of(place("a", 0.1, 60, 60)), 2, RankingObjective.MAX_TIME, 0).isEmpty());
+    }
+
+    @Test
+    void testRankTopK_MatchesFullSortOnThousandsOfCandidates() {
+        Random random = new Random(42);
+        List<Place> places = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            Integer[] durations = new Integer[6];
+            for (int j = 0; j < durations.length; j++) {
+                durations[j] = random.nextInt(20) == 0 ? null : 60 + random.nextInt(3600);
+            }
+            places.add(place("p" + i, random.nextDouble() * 5, durations));
+        }
+
+        for (RankingObjective objective : RankingObjective.values()) {
+            List<String> topK = ids(ranker.rankTopK(places, 6, objective, 20));
+            List<String> fullSort = ids(ranker.rankTopK(places, 6, objective, places.size())).subList(0, 20);
+            assertEquals(fullSort, topK, "objective " + objective);
+        }
+    }
+
+    private Place place(String id, double distance, Integer... durations) {
+        Place place = new Place(id, "Place " + id, "addr", new Coordinates(40.0, -74.0));
+        place.setDistance(distance);
+        List<Place.TravelSummary> summaries = new ArrayList<>();
+        for (int i = 0; i < durations.length; i++) {
+            summaries.add(new Place.TravelSummary(i, null, durations[i], null, null, "driving"));
+        }
+        place.setTravelSummaries(summaries);
+        return place;
+    }
+
+    private List<String> ids(List<Place> places) {
+        return places.stream().map(Place::getPlaceId).collect(Collectors.toList());
+    }
+}
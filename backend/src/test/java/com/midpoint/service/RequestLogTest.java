@@ -0,0 +1,162 @@
+package com.midpoint.service;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.midpoint.dto.Coordinates;
+import com.midpoint.dto.MidpointRequest;
+import com.midpoint.dto.MidpointResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestLogTest {
+
+    private final ListAppender<ILoggingEvent> summaries = new ListAppender<>();
+    private final ListAppender<ILoggingEvent> serviceEvents = new ListAppender<>();
+
+    @BeforeEach
+    void setUp() {
+        summaries.start();
+        serviceEvents.start();
+        ((Logger) LoggerFactory.getLogger(RequestLog.class)).addAppender(summaries);
+        ((Logger) LoggerFactory.getLogger(MidpointService.class)).addAppender(serviceEvents);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ((Logger) LoggerFactory.getLogger(RequestLog.class)).detachAppender(summaries);
+        ((Logger) LoggerFactory.getLogger(MidpointService.class)).detachAppender(serviceEvents);
+    }
+
+    @Test
+    void testSummaryListsStagesThenCounts() {
+        RequestLog log = new RequestLog("midpoint", false);
+        log.count("matrix_elements", 100);
+        log.stage("geocode", System.nanoTime());
+        log.count("matrix_elements", 50);
+        log.set("places", 20);
+        log.stage("geocode", System.nanoTime());
+
+        assertTrue(log.summary().matches("geocode=\\d+\\.\\d+ms matrix_elements=150 places=20"), log.summary());
+    }
+
+    @Test
+    void testCompleteLogsOnce() {
+        RequestLog log = new RequestLog("midpoint", false);
+        log.set("places", 3);
+
+        log.complete(SignalType.ON_COMPLETE);
+        log.complete(SignalType.CANCEL);
+
+        assertEquals(1, summaries.list.size());
+        assertEquals(Level.INFO, summaries.list.get(0).getLevel());
+        assertTrue(summaries.list.get(0).getFormattedMessage().contains("[MIDPOINT] ok in"));
+        assertTrue(summaries.list.get(0).getFormattedMessage().endsWith("places=3"));
+    }
+
+    @Test
+    void testCompleteRecordsMeters() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        RequestLog log = new RequestLog("midpoint", false, registry);
+        log.time("geocode", () -> "address");
+        log.count("matrix_elements", 40);
+        log.set("places", 7);
+
+        log.complete(SignalType.ON_COMPLETE);
+        new RequestLog("midpoint", false, registry).complete(SignalType.ON_ERROR);
+
+        assertEquals(1, registry.get(RequestLog.REQUESTS).tags("operation", "midpoint", "outcome", "ok").timer().count());
+        assertEquals(1, registry.get(RequestLog.REQUESTS).tags("operation", "midpoint", "outcome", "failed").timer().count());
+        assertEquals(1, registry.get(RequestLog.STAGES).tags("operation", "midpoint", "stage", "geocode").timer().count());
+        assertEquals(7, registry.get(RequestLog.PLACES).summary().totalAmount());
+        assertEquals(40, registry.get(RequestLog.MATRIX_ELEMENTS).summary().totalAmount());
+        // Failed requests only count toward the request timer
+        assertEquals(1, registry.get(RequestLog.PLACES).summary().count());
+    }
+
+    @Test
+    void testUntrackedRecordsNothing() {
+        RequestLog.UNTRACKED.count("matrix_elements", 100);
+        RequestLog.UNTRACKED.set("places", 20);
+        RequestLog.UNTRACKED.complete(SignalType.ON_COMPLETE);
+
+        assertEquals("", RequestLog.UNTRACKED.summary());
+        assertTrue(summaries.list.isEmpty());
+        assertTrue(RequestLog.UNTRACKED.isSampled());
+    }
+
+    @Test
+    void testSampleRate() {
+        for (int i = 0; i < 100; i++) {
+            assertFalse(RequestLog.start("midpoint", 0, null).isSampled());
+            assertTrue(RequestLog.start("midpoint", 1, null).isSampled());
+        }
+    }
+
+    @Test
+    void testMidpointRequestLogsOneSummaryLine() {
+        MidpointService service = new MidpointService();
+        ReflectionTestUtils.setField(service, "apiKey", "test-key");
+        ReflectionTestUtils.setField(service, "webClient", stubWebClient());
+        ReflectionTestUtils.setField(service, "detailSampleRate", 0.0);
+        MidpointRequest request = new MidpointRequest(List.of(
+                new Coordinates(40.70, -74.00), new Coordinates(40.75, -73.95), new Coordinates(40.80, -73.90)),
+                List.of("restaurant"));
+
+        MidpointResponse response = service.findMidpointAndPlaces(request).block();
+
+        assertNotNull(response);
+        assertEquals(2, response.getPlaces().size());
+        assertEquals(1, summaries.list.size());
+        String summary = summaries.list.get(0).getFormattedMessage();
+        assertTrue(summary.contains("origins=3 place_index=miss candidates=2"), summary);
+        assertTrue(summary.contains("matrix_requests=1 matrix_elements=6"), summary);
+        assertTrue(summary.contains("places=2"), summary);
+        for (String stage : List.of("centroid", "validation", "geocode", "search", "matrix", "rank")) {
+            assertTrue(summary.contains(stage + "="), summary);
+        }
+        // Per-element detail stays out of an unsampled request's log, even at DEBUG
+        assertTrue(serviceEvents.list.stream().noneMatch(event -> event.getLevel().isGreaterOrEqual(Level.INFO)));
+        assertTrue(serviceEvents.list.stream().noneMatch(event -> event.getFormattedMessage().contains("Origin ")));
+    }
+
+    static WebClient stubWebClient() {
+        return WebClient.builder()
+                .exchangeFunction(clientRequest -> {
+                    String path = clientRequest.url().getPath();
+                    String body;
+                    if (path.endsWith("/geocode/json")) {
+                        body = "{\"status\":\"OK\",\"results\":[{\"formatted_address\":\"New York, NY, USA\"}]}";
+                    } else if (path.endsWith("/nearbysearch/json")) {
+                        body = "{\"status\":\"OK\",\"results\":["
+                                + "{\"place_id\":\"a\",\"name\":\"A\",\"vicinity\":\"1 A St\",\"geometry\":{\"location\":{\"lat\":40.75,\"lng\":-73.95}}},"
+                                + "{\"place_id\":\"b\",\"name\":\"B\",\"vicinity\":\"2 B St\",\"geometry\":{\"location\":{\"lat\":40.76,\"lng\":-73.96}}}]}";
+                    } else {
+                        String element = "{\"status\":\"OK\",\"distance\":{\"value\":1000,\"text\":\"1 km\"},"
+                                + "\"duration\":{\"value\":300,\"text\":\"5 mins\"}}";
+                        String row = "{\"elements\":[" + element + "," + element + "]}";
+                        body = "{\"status\":\"OK\",\"rows\":[" + row + "," + row + "," + row + "]}";
+                    }
+                    return Mono.just(ClientResponse.create(HttpStatus.OK)
+                            .header(HttpHeaders.CONTENT_TYPE, "application/json")
+                            .body(body)
+                            .build());
+                })
+                .build();
+    }
+}
@@ -0,0 +1,203 @@
+package com.midpoint.service;
+
+import com.midpoint.dto.Coordinates;
+import com.midpoint.dto.Place;
+import com.midpoint.dto.RankingObjective;
+import io.netty.channel.ChannelOption;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The same HTTP load against the servlet (Tomcat) and reactive (Netty) runtimes. Upstream stages
+ * are stubbed with a fixed latency, so the midpoint scenario measures the web stack, ranking and
+ * serialization rather than Google; the health scenario is the bare request path. Client and server
+ * share the JVM, so on small machines the numbers are a lower bound.
+ * <p>
+ * Opt-in: {@code mvn test -Dtest=RuntimeModeLoadTest -DloadTests=true [-Druntime.concurrency=128]
+ * [-Druntime.requests=20000]}
+ */
+@EnabledIfSystemProperty(named = "loadTests", matches = "true")
+class RuntimeModeLoadTest {
+
+    private static final int CONCURRENCY = Integer.getInteger("runtime.concurrency", 128);
+    private static final int REQUESTS = Integer.getInteger("runtime.requests", 20000);
+    private static final Duration UPSTREAM_LATENCY = Duration.ofMillis(30);
+    private static final String MIDPOINT_BODY = "{\"coords\":[{\"lat\":40.7128,\"lng\":-74.0060}," +
+            "{\"lat\":40.7589,\"lng\":-73.9851},{\"lat\":40.6782,\"lng\":-73.9442}],\"filters\":[\"restaurant\"]}";
+
+    @Nested
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+            "spring.main.web-application-type=servlet",
+            "midpoint.rate-limit.enabled=false",
+            "midpoint.admission.midpoint.max-concurrent=0",
+            "logging.level.com.midpoint=WARN",
+            "logging.level.org.springframework.web=WARN"
+    })
+    @Import(StubbedUpstream.class)
+    class Servlet {
+        @LocalServerPort
+        private int port;
+
+        @Test
+        void testLoad() {
+            runScenarios("servlet", port);
+        }
+    }
+
+    @Nested
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+            "spring.main.web-application-type=reactive",
+            "midpoint.rate-limit.enabled=false",
+            "midpoint.admission.midpoint.max-concurrent=0",
+            "logging.level.com.midpoint=WARN",
+            "logging.level.org.springframework.web=WARN"
+    })
+    @Import(StubbedUpstream.class)
+    class Reactive {
+        @LocalServerPort
+        private int port;
+
+        @Test
+        void testLoad() {
+            runScenarios("reactive", port);
+        }
+    }
+
+    private static void runScenarios(String runtime, int port) {
+        ConnectionProvider connections = ConnectionProvider.builder("runtime-load")
+                .maxConnections(CONCURRENCY)
+                .pendingAcquireMaxCount(-1)
+                .build();
+        // Own event loops: by default the client would share Reactor Netty's loops with the Netty server
+        LoopResources loops = LoopResources.create("runtime-load", 2, true);
+        WebClient client = WebClient.builder()
+                .baseUrl("http://localhost:" + port)
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connections)
+                        .runOn(loops)
+                        .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 30_000)))
+                .build();
+        try {
+            // Warm up JIT and connection pools before measuring
+            run(client, "health", REQUESTS / 4);
+            run(client, "midpoint", REQUESTS / 4);
+
+            for (String scenario : List.of("health", "midpoint")) {
+                Result result = run(client, scenario, REQUESTS);
+                System.out.printf("[runtime-load] runtime=%s scenario=%s concurrency=%d requests=%d errors=%d " +
+                                "throughput=%.0f req/s p50=%.1fms p99=%.1fms max=%.1fms%n",
+                        runtime, scenario, CONCURRENCY, REQUESTS, result.errors, result.throughput(),
+                        result.percentile(0.50), result.percentile(0.99), result.percentile(1.0));
+                assertEquals(0, result.errors, runtime + " " + scenario + " requests failed");
+            }
+        } finally {
+            connections.dispose();
+            loops.dispose();
+        }
+    }
+
+    private static Result run(WebClient client, String scenario, int requests) {
+        long[] latencies = new long[requests];
+        AtomicLong errors = new AtomicLong();
+        long start = System.nanoTime();
+        Flux.range(0, requests)
+                .flatMap(i -> {
+                    long sent = System.nanoTime();
+                    return request(client, scenario)
+                            .doOnError(error -> errors.incrementAndGet())
+                            .onErrorResume(error -> Mono.just(0))
+                            .doOnNext(length -> latencies[i] = System.nanoTime() - sent);
+                }, CONCURRENCY)
+                .blockLast(Duration.ofMinutes(10));
+        return new Result(latencies, errors.get(), System.nanoTime() - start);
+    }
+
+    private static Mono<Integer> request(WebClient client, String scenario) {
+        WebClient.RequestHeadersSpec<?> spec = "health".equals(scenario)
+                ? client.get().uri("/api/places/health")
+                : client.post().uri("/api/places/midpoint").contentType(MediaType.APPLICATION_JSON).bodyValue(MIDPOINT_BODY);
+        return spec.retrieve()
+                .bodyToMono(String.class)
+                .map(String::length);
+    }
+
+    private record Result(long[] latencies, long errors, long elapsedNanos) {
+        double throughput() {
+            return latencies.length / (elapsedNanos / 1e9);
+        }
+
+        double percentile(double p) {
+            long[] sorted = latencies.clone();
+            Arrays.sort(sorted);
+            int index = Math.min(sorted.length - 1, (int) (sorted.length * p));
+            return sorted[index] / (double) TimeUnit.MILLISECONDS.toNanos(1);
+        }
+    }
+
+    /**
+     * Geocoding, Nearby Search and the Distance Matrix answered locally after a fixed delay
+     */
+    @TestConfiguration
+    static class StubbedUpstream {
+        @Bean
+        @Primary
+        MidpointService stubbedMidpointService() {
+            return new MidpointService() {
+                @Override
+                public Mono<String> reverseGeocode(Coordinates coordinates) {
+                    return Mono.just("New York, NY, USA").delayElement(UPSTREAM_LATENCY);
+                }
+
+                @Override
+                public Mono<List<Place>> findCandidatePlaces(Coordinates at, List<String> types, int radiusMeters) {
+                    List<Place> places = new ArrayList<>();
+                    for (int i = 0; i < 20; i++) {
+                        places.add(new Place("place-" + i, "Place " + i, "Address " + i,
+                                new Coordinates(at.getLat() + i * 0.001, at.getLng() - i * 0.001)));
+                    }
+                    return Mono.just(places).delayElement(UPSTREAM_LATENCY);
+                }
+
+                @Override
+                Mono<List<Place>> evaluateCandidates(List<Coordinates> origins, List<String> modes,
+                                                     OffsetDateTime departureTime, List<Place> candidates,
+                                                     RankingObjective objective) {
+                    for (Place place : candidates) {
+                        List<Place.TravelSummary> summaries = new ArrayList<>();
+                        for (int j = 0; j < origins.size(); j++) {
+                            int meters = (int) GeoMath.distanceMeters(origins.get(j), place.getCoordinates());
+                            summaries.add(new Place.TravelSummary(j, meters, meters / 10, meters + " m",
+                                    meters / 10 + " s", modes.get(j)));
+                        }
+                        place.setTravelSummaries(summaries);
+                    }
+                    return Mono.just(candidates).delayElement(UPSTREAM_LATENCY);
+                }
+            };
+        }
+    }
+}
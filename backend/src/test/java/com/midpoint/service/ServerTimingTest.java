@@ -0,0 +1,56 @@
+package com.midpoint.service;
+
+import com.midpoint.dto.Coordinates;
+import com.midpoint.dto.MidpointRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServerTimingTest {
+
+    @Test
+    void testHeaderWithoutRequestLog() {
+        ServerTiming timing = new ServerTiming();
+        timing.upstreamCall();
+
+        assertTrue(timing.header().matches("upstream;desc=\"calls=1\", total;dur=\\d+\\.\\d"), timing.header());
+    }
+
+    @Test
+    void testNoneRecordsNothing() {
+        RequestLog log = new RequestLog("midpoint", false);
+        log.reportTo(ServerTiming.NONE);
+        log.upstreamCall();
+
+        assertTrue(ServerTiming.NONE.header().startsWith("upstream;desc=\"calls=0\""));
+    }
+
+    @Test
+    void testMidpointRequestReportsStagesCachesAndUpstreamCalls() {
+        MidpointService service = new MidpointService();
+        ReflectionTestUtils.setField(service, "apiKey", "test-key");
+        ReflectionTestUtils.setField(service, "webClient", RequestLogTest.stubWebClient().mutate()
+                .filter(new UpstreamMetrics(SimpleMeterRegistry::new))
+                .build());
+        MidpointRequest request = new MidpointRequest(List.of(
+                new Coordinates(40.70, -74.00), new Coordinates(40.75, -73.95), new Coordinates(40.80, -73.90)),
+                List.of("restaurant"));
+        ServerTiming timing = new ServerTiming();
+
+        service.findMidpointAndPlaces(request).contextWrite(timing.context()).block();
+
+        String header = timing.header();
+        for (String stage : List.of("centroid", "validation", "geocode", "search", "matrix", "rank")) {
+            assertTrue(header.matches(".*\\b" + stage + ";dur=\\d+\\.\\d.*"), header);
+        }
+        assertTrue(header.contains("place-index;desc=miss"), header);
+        assertTrue(header.contains("travel-cache;desc=\"hit=0 miss=6\""), header);
+        // Reverse geocode, Nearby Search and one Distance Matrix request
+        assertTrue(header.contains("upstream;desc=\"calls=3\""), header);
+        assertTrue(header.matches(".*total;dur=\\d+\\.\\d$"), header);
+    }
+}
@@ -0,0 +1,106 @@
+package com.midpoint.service;
+
+import com.midpoint.dto.Coordinates;
+import com.midpoint.dto.Place;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TravelTimeCacheTest {
+
+    private static final Coordinates ORIGIN = new Coordinates(40.7128, -74.0060);
+    private static final Place.TravelSummary SUMMARY = new Place.TravelSummary(0, 3000, 600, "3 km", "10 mins", "driving");
+    private static final long TTL_MILLIS = 60_000;
+
+    @Test
+    void testDepartureBucketsShareTheirModesLimit() {
+        TravelTimeCache cache = new TravelTimeCache(Clock.fixed(Instant.parse("2025-01-01T12:00:00Z"), ZoneOffset.UTC));
+
+        for (int bucket = 0; bucket < 10; bucket++) {
+            for (int i = 0; i < 5; i++) {
+                cache.put("driving@weekday-" + bucket, ORIGIN, destination(i), SUMMARY, TTL_MILLIS, 20);
+            }
+        }
+        cache.put("walking", ORIGIN, destination(0), SUMMARY, TTL_MILLIS, 20);
+
+        assertEquals(20, cache.modeSize("driving"));
+        assertEquals(5, cache.size("driving@weekday-3"));
+        assertEquals(0, cache.size("driving@weekday-4"));
+        assertEquals(1, cache.modeSize("walking"));
+        assertNotNull(cache.get("driving@weekday-0", ORIGIN, destination(0), TTL_MILLIS));
+    }
+
+    @Test
+    void testFullModeMakesRoomByDroppingExpiredEntriesOfAnyBucket() {
+        MutableClock clock = new MutableClock(Instant.parse("2025-01-01T12:00:00Z"));
+        TravelTimeCache cache = new TravelTimeCache(clock);
+        for (int i = 0; i < 3; i++) {
+            cache.put("driving@weekday-08:00", ORIGIN, destination(i), SUMMARY, TTL_MILLIS, 3);
+        }
+        cache.put("driving", ORIGIN, destination(9), SUMMARY, TTL_MILLIS, 3);
+        assertEquals(0, cache.size("driving"));
+
+        clock.advance(TTL_MILLIS + 1);
+        cache.put("driving", ORIGIN, destination(9), SUMMARY, TTL_MILLIS, 3);
+
+        assertEquals(1, cache.modeSize("driving"));
+        assertEquals(0, cache.size("driving@weekday-08:00"));
+        assertNotNull(cache.get("driving", ORIGIN, destination(9), TTL_MILLIS));
+    }
+
+    @Test
+    void testFullModeSkipsStoresUntilTheNextSweep() {
+        MutableClock clock = new MutableClock(Instant.parse("2025-01-01T12:00:00Z"));
+        TravelTimeCache cache = new TravelTimeCache(clock);
+        for (int i = 0; i < 3; i++) {
+            cache.put("driving", ORIGIN, destination(i), SUMMARY, 1000, 3);
+        }
+
+        // Expired, but the mode was swept less than a minute ago
+        clock.advance(2000);
+        cache.put("driving", ORIGIN, destination(9), SUMMARY, 1000, 3);
+        assertEquals(3, cache.modeSize("driving"));
+        assertNull(cache.get("driving", ORIGIN, destination(9), TTL_MILLIS));
+
+        clock.advance(58_000);
+        cache.put("driving", ORIGIN, destination(9), SUMMARY, 1000, 3);
+        assertEquals(1, cache.modeSize("driving"));
+        assertNotNull(cache.get("driving", ORIGIN, destination(9), TTL_MILLIS));
+    }
+
+    private static Coordinates destination(int i) {
+        return new Coordinates(40.73 + i * 0.001, -73.99);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(long millis) {
+            now = now.plusMillis(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.midpoint.service;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UpstreamDeduplicatorTest {
+
+    private final UpstreamDeduplicator deduplicator = new UpstreamDeduplicator();
+
+    @Test
+    void testDedupe_ConcurrentCallersShareOneSubscription() {
+        AtomicInteger subscriptions = new AtomicInteger();
+        Sinks.One<String> upstream = Sinks.one();
+        Mono<String> call = upstream.asMono().doOnSubscribe(s -> subscriptions.incrementAndGet());
+
+        Mono<String> first = deduplicator.dedupe("url", call);
+        Mono<String> second = deduplicator.dedupe("url", call);
+
+        StepVerifier.create(Mono.zip(first, second))
+            .then(() -> upstream.tryEmitValue("body"))
+            .assertNext(tuple -> {
+                assertEquals("body", tuple.getT1());
+                assertEquals("body", tuple.getT2());
+            })
+            .verifyComplete();
+
+        assertEquals(1, subscriptions.get());
+        assertEquals(1, deduplicator.getDeduplicatedCount());
+        assertEquals(0, deduplicator.inFlightCount());
+    }
+
+    @Test
+    void testDedupe_CompletedCallIsNotReused() {
+        AtomicInteger calls = new AtomicInteger();
+        Mono<String> call = Mono.fromCallable(() -> "body-" + calls.incrementAndGet());
+
+        StepVerifier.create(deduplicator.dedupe("url", call)).expectNext("body-1").verifyComplete();
+        StepVerifier.create(deduplicator.dedupe("url", call)).expectNext("body-2").verifyComplete();
+
+        assertEquals(0, deduplicator.getDeduplicatedCount());
+    }
+
+    @Test
+    void testDedupe_ErrorReachesEveryCallerAndClearsEntry() {
+        Sinks.One<String> upstream = Sinks.one();
+
+        Mono<String> first = deduplicator.dedupe("url", upstream.asMono());
+        Mono<String> second = deduplicator.dedupe("url", upstream.asMono());
+
+        StepVerifier.create(Mono.zipDelayError(first.onErrorReturn("failed"), second.onErrorReturn("failed")))
+            .then(() -> upstream.tryEmitError(new RuntimeException("boom")))
+            .assertNext(tuple -> {
+                assertEquals("failed", tuple.getT1());
+                assertEquals("failed", tuple.getT2());
+            })
+            .verifyComplete();
+
+        assertEquals(0, deduplicator.inFlightCount());
+    }
+
+    @Test
+    void testDedupe_DifferentKeysDoNotShare() {
+        AtomicInteger calls = new AtomicInteger();
+        Sinks.One<String> upstream = Sinks.one();
+        Mono<String> call = upstream.asMono().doOnSubscribe(s -> calls.incrementAndGet());
+
+        StepVerifier.create(Mono.zip(deduplicator.dedupe("a", call), deduplicator.dedupe("b", call)))
+            .then(() -> upstream.tryEmitValue("body"))
+            .expectNextCount(1)
+            .verifyComplete();
+
+        assertEquals(2, calls.get());
+    }
+}
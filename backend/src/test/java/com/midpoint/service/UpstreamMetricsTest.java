@@ -0,0 +1,75 @@
+package com.midpoint.service;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.net.URI;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UpstreamMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void testEndpointOf_UsesFixedNames() {
+        assertEquals("geocode", UpstreamMetrics.endpointOf(
+                URI.create("https://maps.googleapis.com/maps/api/geocode/json?latlng=1,2&key=secret")));
+        assertEquals("distancematrix", UpstreamMetrics.endpointOf(
+                URI.create("https://maps.googleapis.com/maps/api/distancematrix/json?origins=1,2")));
+        assertEquals("details", UpstreamMetrics.endpointOf(
+                URI.create("https://maps.googleapis.com/maps/api/place/details/json?place_id=abc")));
+        assertEquals("autocomplete", UpstreamMetrics.endpointOf(
+                URI.create("https://places.googleapis.com/v1/places:autocomplete")));
+        assertEquals("other", UpstreamMetrics.endpointOf(URI.create("https://example.com/abc123/json")));
+    }
+
+    @Test
+    void testFilter_RecordsLatencyStatusAndBytes() {
+        String body = "{\"status\":\"OK\",\"results\":[]}";
+        webClient(Mono.just(ClientResponse.create(HttpStatus.OK).body(body).build()))
+                .get().uri("https://maps.googleapis.com/maps/api/geocode/json?key=secret")
+                .retrieve().bodyToMono(String.class).block();
+
+        Timer timer = registry.get(UpstreamMetrics.REQUESTS)
+                .tags("endpoint", "geocode", "status", "200", "outcome", "SUCCESS").timer();
+        assertEquals(1, timer.count());
+        assertEquals(body.length(), registry.get(UpstreamMetrics.RESPONSE_BYTES)
+                .tag("endpoint", "geocode").summary().totalAmount());
+        // Only fixed tags: the URL and key never appear
+        assertTrue(registry.getMeters().stream()
+                .flatMap(meter -> meter.getId().getTags().stream())
+                .noneMatch(tag -> tag.getValue().contains("secret")));
+    }
+
+    @Test
+    void testFilter_RecordsErrorStatusesAndIoErrors() {
+        assertThrows(WebClientResponseException.class, () ->
+                webClient(Mono.just(ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).body("busy").build()))
+                        .get().uri("https://maps.googleapis.com/maps/api/distancematrix/json")
+                        .retrieve().bodyToMono(String.class).block());
+        assertThrows(RuntimeException.class, () ->
+                webClient(Mono.error(new IOException("reset")))
+                        .get().uri("https://maps.googleapis.com/maps/api/distancematrix/json")
+                        .retrieve().bodyToMono(String.class).block());
+
+        assertEquals(1, registry.get(UpstreamMetrics.REQUESTS)
+                .tags("endpoint", "distancematrix", "status", "503", "outcome", "SERVER_ERROR").timer().count());
+        assertEquals(1, registry.get(UpstreamMetrics.REQUESTS)
+                .tags("endpoint", "distancematrix", "status", "IO_ERROR").timer().count());
+    }
+
+    private WebClient webClient(Mono<ClientResponse> response) {
+        return WebClient.builder()
+                .exchangeFunction(request -> response)
+                .filter(new UpstreamMetrics(() -> registry))
+                .build();
+    }
+}
@@ -0,0 +1,59 @@
+package com.midpoint.websocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.midpoint.dto.LiveUpdate;
+import com.midpoint.service.LiveGroup;
+import com.midpoint.service.LiveGroupRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class LiveSessionWebSocketHandlerTest {
+
+    @Test
+    void testSendsDoNotBlockThePublishingThread() throws Exception {
+        LiveGroupRegistry registry = mock(LiveGroupRegistry.class);
+        when(registry.join(eq("s1"), any())).thenReturn(mock(LiveGroup.class));
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getUri()).thenReturn(URI.create("ws://localhost/ws/midpoint/sessions/s1"));
+        when(session.getId()).thenReturn("ws-1");
+        when(session.isOpen()).thenReturn(true);
+
+        // The socket is stuck until released, like a slow client under a 5 s send time limit
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> written = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            written.add(((TextMessage) invocation.getArgument(0)).getPayload());
+            return null;
+        }).when(session).sendMessage(any());
+
+        new LiveSessionWebSocketHandler(registry, new ObjectMapper()).afterConnectionEstablished(session);
+        ArgumentCaptor<LiveGroup.Subscriber> subscriber = ArgumentCaptor.forClass(LiveGroup.Subscriber.class);
+        verify(registry).join(eq("s1"), subscriber.capture());
+
+        long start = System.nanoTime();
+        for (int version = 1; version <= 3; version++) {
+            subscriber.getValue().send(new LiveUpdate(LiveUpdate.DIFF, "s1", version));
+        }
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+        assertTrue(subscriber.getValue().pendingBytes() > 0);
+
+        release.countDown();
+        verify(session, timeout(2000).times(3)).sendMessage(any());
+        assertEquals(3, written.size());
+        assertTrue(written.get(0).contains("\"version\":1"));
+        assertTrue(written.get(2).contains("\"version\":3"));
+    }
+}
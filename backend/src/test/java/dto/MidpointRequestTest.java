@@ -1,7 +1,9 @@
 package dto;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.midpoint.dto.Coordinates;
 import com.midpoint.dto.MidpointRequest;
+import com.midpoint.dto.RankingObjective;
 import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
@@ -72,4 +74,15 @@ class MidpointRequestTest {
         assertEquals(2, request.getFilters().size());
         assertEquals("restaurant", request.getFilters().get(1));
     }
+
+    @Test
+    void testJacksonDeserialization_Objective() throws Exception {
+        String json = "{\"coords\":[{\"lat\":1.0,\"lng\":2.0}],\"filters\":[],\"objective\":\"total_time\"}";
+
+        MidpointRequest request = new ObjectMapper().readValue(json, MidpointRequest.class);
+
+        assertEquals(RankingObjective.TOTAL_TIME, request.getObjective());
+        assertEquals(RankingObjective.VARIANCE, RankingObjective.fromValue("variance"));
+        assertThrows(IllegalArgumentException.class, () -> RankingObjective.fromValue("fastest"));
+    }
 }
@@ -0,0 +1,130 @@
+package dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.midpoint.dto.*;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseViewsTest {
+
+    // Same setting Spring's Jackson2ObjectMapperBuilder applies: unannotated fields stay out of views
+    private final ObjectMapper mapper = JsonMapper.builder()
+            .disable(MapperFeature.DEFAULT_VIEW_INCLUSION)
+            .build();
+
+    @Test
+    void testForName_ParsesKnownViews() {
+        assertNull(ResponseViews.forName(null));
+        assertEquals(ResponseViews.Markers.class, ResponseViews.forName("markers"));
+        assertEquals(ResponseViews.Listing.class, ResponseViews.forName("LIST"));
+        assertEquals(ResponseViews.Full.class, ResponseViews.forName("full"));
+        assertThrows(IllegalArgumentException.class, () -> ResponseViews.forName("thumbnail"));
+    }
+
+    @Test
+    void testMarkersView_OnlyIdNameAndCoordinates() throws Exception {
+        JsonNode place = mapper.readTree(mapper.writerWithView(ResponseViews.Markers.class)
+                .writeValueAsString(response(1, 2))).get("places").get(0);
+
+        assertEquals("place-0", place.get("place_id").asText());
+        assertTrue(place.has("name"));
+        assertEquals(40.7, place.get("coordinates").get("lat").asDouble(), 0.1);
+        assertFalse(place.has("address"));
+        assertFalse(place.has("photos"));
+        assertFalse(place.has("travel_summaries"));
+        assertFalse(place.has("ranking"));
+    }
+
+    @Test
+    void testListView_AddsRowFieldsButNotTravelOrPhotos() throws Exception {
+        JsonNode place = mapper.readTree(mapper.writerWithView(ResponseViews.Listing.class)
+                .writeValueAsString(response(1, 2))).get("places").get(0);
+
+        assertTrue(place.has("address"));
+        assertTrue(place.has("rating"));
+        assertEquals(1, place.get("ranking").get("rank").asInt());
+        assertFalse(place.has("photos"));
+        assertFalse(place.has("types"));
+        assertFalse(place.has("travel_summaries"));
+    }
+
+    @Test
+    void testFullView_MatchesUnviewedSerialization() throws Exception {
+        MidpointResponse response = response(3, 4);
+
+        JsonNode full = mapper.readTree(mapper.writerWithView(ResponseViews.Full.class).writeValueAsString(response));
+        JsonNode unviewed = mapper.readTree(mapper.writeValueAsString(response));
+
+        assertEquals(unviewed, full);
+    }
+
+    @Test
+    void testPayloadSizesPerView() throws Exception {
+        // Typical response: 20 ranked places for a group of 4
+        MidpointResponse response = response(20, 4);
+
+        int markers = mapper.writerWithView(ResponseViews.Markers.class).writeValueAsBytes(response).length;
+        int list = mapper.writerWithView(ResponseViews.Listing.class).writeValueAsBytes(response).length;
+        int full = mapper.writerWithView(ResponseViews.Full.class).writeValueAsBytes(response).length;
+
+        assertTrue(markers < list && list < full);
+        assertTrue(markers * 5 < full, "markers view should be a small fraction of the full payload");
+    }
+
+    @Test
+    void testBinaryEncodingsRoundTripAndShrinkPayload() throws Exception {
+        MidpointResponse response = response(20, 4);
+        ObjectMapper cbor = Jackson2ObjectMapperBuilder.cbor().build();
+        ObjectMapper smile = Jackson2ObjectMapperBuilder.smile().build();
+
+        byte[] json = mapper.writerWithView(ResponseViews.Full.class).writeValueAsBytes(response);
+        byte[] cborBytes = cbor.writerWithView(ResponseViews.Full.class).writeValueAsBytes(response);
+        byte[] smileBytes = smile.writerWithView(ResponseViews.Full.class).writeValueAsBytes(response);
+
+        assertTrue(cborBytes.length < json.length);
+        assertTrue(smileBytes.length < json.length);
+        assertEquals(mapper.readTree(json), mapper.valueToTree(cbor.readValue(cborBytes, MidpointResponse.class)));
+        assertEquals(mapper.readTree(json), mapper.valueToTree(smile.readValue(smileBytes, MidpointResponse.class)));
+    }
+
+    private MidpointResponse response(int placeCount, int originCount) {
+        List<Place> places = new ArrayList<>();
+        for (int i = 0; i < placeCount; i++) {
+            Place place = new Place("place-" + i, "Place " + i, i + " Main St, New York, NY 10001, USA",
+                    new Coordinates(40.7 + i * 0.001, -73.99 - i * 0.001));
+            place.setRating(4.2);
+            place.setUserRatingsTotal(1200 + i);
+            place.setPriceLevel(2);
+            place.setDistance(0.4 + i * 0.1);
+            place.setTypes(new String[]{"restaurant", "food", "point_of_interest", "establishment"});
+            List<Place.Photo> photos = new ArrayList<>();
+            for (int p = 0; p < 3; p++) {
+                String reference = "AUjq9jmrEXAMPLEPHOTOREFERENCE" + i + "x" + p + "aBcDeFgHiJkLmNoPqRsTuVwXyZ0123456789";
+                photos.add(new Place.Photo(reference, 3024, 4032,
+                        "https://maps.googleapis.com/maps/api/place/photo?maxwidth=400&photo_reference=" + reference + "&key=API_KEY"));
+            }
+            place.setPhotos(photos);
+            List<Place.TravelSummary> summaries = new ArrayList<>();
+            for (int o = 0; o < originCount; o++) {
+                summaries.add(new Place.TravelSummary(o, 5000 + o * 700, 900 + o * 120, "3.1 mi", "15 mins", "driving"));
+            }
+            place.setTravelSummaries(summaries);
+            Place.Ranking ranking = new Place.Ranking();
+            ranking.setRank(i + 1);
+            ranking.setObjective(RankingObjective.MAX_TIME);
+            ranking.setScore(1260.0);
+            ranking.setReason("Longest trip 21 min, total 72 min, spread ±3 min across 4 origins");
+            place.setRanking(ranking);
+            places.add(place);
+        }
+        return new MidpointResponse(new Coordinates(40.7359, -73.9955), "New York, NY, USA", places, 8046);
+    }
+}
@@ -0,0 +1,245 @@
+package com.midpoint.service;
+
+import ch.qos.logback.classic.Level;
+import com.midpoint.dto.Coordinates;
+import com.midpoint.dto.MidpointRequest;
+import com.midpoint.dto.MidpointResponse;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The reactive {@link MidpointService} and the blocking {@link VirtualThreadMidpointService} under
+ * the same load, both talking HTTP to a local Google Maps stub that answers after a fixed latency.
+ * Origins are randomized per request and the place index, travel-time cache, clustering and pruning
+ * are off, so every request makes the same upstream calls in both pipelines: one geocode, one
+ * Nearby Search and one Distance Matrix request per tile.
+ * <p>
+ * The load run is opt-in, JDK 21: {@code mvn -Pvirtual-threads test -Dtest=MidpointFinderLoadTest
+ * -DloadTests=true [-Dfinder.concurrency=128] [-Dfinder.requests=5000]}
+ */
+class MidpointFinderLoadTest {
+
+    private static final int CONCURRENCY = Integer.getInteger("finder.concurrency", 128);
+    private static final int REQUESTS = Integer.getInteger("finder.requests", 5000);
+    private static final long UPSTREAM_LATENCY_MILLIS = 30;
+    private static final int PLACES = 20;
+
+    private static HttpServer upstream;
+
+    @BeforeAll
+    static void startUpstream() throws IOException {
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+        // Keep pooled keep-alive connections open; the default idle cap closes them under reuse
+        System.setProperty("sun.net.httpserver.maxIdleConnections", "4096");
+        upstream = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 4096);
+        upstream.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        upstream.createContext("/", MidpointFinderLoadTest::answer);
+        upstream.start();
+    }
+
+    @AfterAll
+    static void stopUpstream() {
+        upstream.stop(0);
+    }
+
+    @Test
+    void testPipelinesReturnTheSameResponse() {
+        MidpointRequest request = randomRequest(12);
+        MidpointResponse reactive = newMidpointService().findMidpointAndPlaces(request).block();
+        MidpointResponse blocking = new VirtualThreadMidpointService(newMidpointService())
+                .findMidpointAndPlaces(request).block();
+
+        assertNotNull(reactive);
+        assertNotNull(blocking);
+        assertTrue(complete(blocking, 12));
+        assertEquals(reactive.getMidpointAddress(), blocking.getMidpointAddress());
+        assertEquals(reactive.getPlaces().stream().map(place -> place.getPlaceId()).toList(),
+                blocking.getPlaces().stream().map(place -> place.getPlaceId()).toList());
+        for (int i = 0; i < reactive.getPlaces().size(); i++) {
+            assertEquals(reactive.getPlaces().get(i).getTravelSummaries().stream().map(summary -> summary.getDurationSeconds()).toList(),
+                    blocking.getPlaces().get(i).getTravelSummaries().stream().map(summary -> summary.getDurationSeconds()).toList());
+        }
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "loadTests", matches = "true")
+    void testLoad() {
+        MidpointService reactive = newMidpointService();
+        VirtualThreadMidpointService blocking = new VirtualThreadMidpointService(newMidpointService());
+
+        // Warm up JIT and connection pools before measuring
+        for (MidpointFinder finder : List.of(reactive, blocking)) {
+            run(finder, 3, REQUESTS / 4);
+            run(finder, 12, REQUESTS / 4);
+        }
+
+        for (int groupSize : new int[]{3, 12}) {
+            for (MidpointFinder finder : List.of(reactive, blocking)) {
+                String pipeline = finder == reactive ? "reactive" : "virtual-threads";
+                Result result = run(finder, groupSize, REQUESTS);
+                System.out.printf("[finder-load] pipeline=%s origins=%d concurrency=%d requests=%d errors=%d " +
+                                "degraded=%d throughput=%.0f req/s p50=%.1fms p99=%.1fms cpu=%.2fms/req%n",
+                        pipeline, groupSize, CONCURRENCY, REQUESTS, result.errors, result.degraded,
+                        result.throughput(), result.percentile(0.50), result.percentile(0.99),
+                        result.cpuNanos / (double) REQUESTS / TimeUnit.MILLISECONDS.toNanos(1));
+                assertEquals(0, result.errors, pipeline + " requests failed");
+            }
+        }
+    }
+
+    private static MidpointService newMidpointService() {
+        MidpointService service = new MidpointService();
+        ReflectionTestUtils.setField(service, "apiKey", "test-key");
+        ReflectionTestUtils.setField(service, "apiBaseUrl", "http://127.0.0.1:" + upstream.getAddress().getPort());
+        ReflectionTestUtils.setField(service, "placeIndexEnabled", false);
+        ReflectionTestUtils.setField(service, "travelCacheEnabled", false);
+        ReflectionTestUtils.setField(service, "originClusteringEnabled", false);
+        ReflectionTestUtils.setField(service, "pruningEnabled", false);
+        return service;
+    }
+
+    private static Result run(MidpointFinder finder, int groupSize, int requests) {
+        long[] latencies = new long[requests];
+        AtomicLong errors = new AtomicLong();
+        AtomicLong degraded = new AtomicLong();
+        com.sun.management.OperatingSystemMXBean os =
+                (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+        long cpuStart = os.getProcessCpuTime();
+        long start = System.nanoTime();
+        Flux.range(0, requests)
+                .flatMap(i -> {
+                    long sent = System.nanoTime();
+                    return Mono.defer(() -> finder.findMidpointAndPlaces(randomRequest(groupSize)))
+                            .doOnNext(response -> {
+                                if (!complete(response, groupSize)) {
+                                    degraded.incrementAndGet();
+                                }
+                            })
+                            .doOnError(error -> errors.incrementAndGet())
+                            .onErrorResume(error -> Mono.empty())
+                            .doFinally(signal -> latencies[i] = System.nanoTime() - sent);
+                }, CONCURRENCY)
+                .blockLast(Duration.ofMinutes(10));
+        return new Result(latencies, errors.get(), degraded.get(), System.nanoTime() - start,
+                os.getProcessCpuTime() - cpuStart);
+    }
+
+    /**
+     * All places came back with a travel time from every origin
+     */
+    private static boolean complete(MidpointResponse response, int groupSize) {
+        return response.getPlaces().size() == PLACES && response.getPlaces().stream()
+                .allMatch(place -> place.getTravelSummaries() != null
+                        && place.getTravelSummaries().size() == groupSize && place.getTravelSummaries().stream()
+                        .allMatch(summary -> summary.getDurationSeconds() != null));
+    }
+
+    private static MidpointRequest randomRequest(int groupSize) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<Coordinates> coords = new ArrayList<>();
+        for (int i = 0; i < groupSize; i++) {
+            coords.add(new Coordinates(40.6 + random.nextDouble() * 0.2, -74.05 + random.nextDouble() * 0.2));
+        }
+        return new MidpointRequest(coords, List.of("restaurant"));
+    }
+
+    private static void answer(HttpExchange exchange) throws IOException {
+        try {
+            Thread.sleep(UPSTREAM_LATENCY_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        String path = exchange.getRequestURI().getPath();
+        String query = URLDecoder.decode(exchange.getRequestURI().getRawQuery(), StandardCharsets.UTF_8);
+        String body;
+        if (path.endsWith("/geocode/json")) {
+            body = "{\"status\":\"OK\",\"results\":[{\"formatted_address\":\"New York, NY, USA\"}]}";
+        } else if (path.endsWith("/nearbysearch/json")) {
+            body = placesBody();
+        } else {
+            body = matrixBody(count(query, "origins"), count(query, "destinations"));
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static int count(String query, String parameter) {
+        for (String pair : query.split("&")) {
+            if (pair.startsWith(parameter + "=")) {
+                return pair.split("\\|").length;
+            }
+        }
+        return 0;
+    }
+
+    private static String placesBody() {
+        StringBuilder body = new StringBuilder("{\"status\":\"OK\",\"results\":[");
+        for (int i = 0; i < PLACES; i++) {
+            body.append(i > 0 ? "," : "")
+                    .append("{\"place_id\":\"place-").append(i).append("\",\"name\":\"Place ").append(i)
+                    .append("\",\"vicinity\":\"Address ").append(i).append("\",\"rating\":4.").append(i % 10)
+                    .append(",\"types\":[\"restaurant\"],\"geometry\":{\"location\":{\"lat\":")
+                    .append(40.7 + i * 0.001).append(",\"lng\":").append(-73.95 - i * 0.001).append("}}}");
+        }
+        return body.append("]}").toString();
+    }
+
+    private static String matrixBody(int origins, int destinations) {
+        StringBuilder body = new StringBuilder("{\"status\":\"OK\",\"rows\":[");
+        for (int r = 0; r < origins; r++) {
+            body.append(r > 0 ? "," : "").append("{\"elements\":[");
+            for (int e = 0; e < destinations; e++) {
+                int meters = 1000 + 100 * r + 10 * e;
+                body.append(e > 0 ? "," : "")
+                        .append("{\"status\":\"OK\",\"distance\":{\"value\":").append(meters)
+                        .append(",\"text\":\"").append(meters).append(" m\"},\"duration\":{\"value\":")
+                        .append(meters / 10).append(",\"text\":\"").append(meters / 10).append(" s\"}}");
+            }
+            body.append("]}");
+        }
+        return body.append("]}").toString();
+    }
+
+    private record Result(long[] latencies, long errors, long degraded, long elapsedNanos, long cpuNanos) {
+        double throughput() {
+            return latencies.length / (elapsedNanos / 1e9);
+        }
+
+        double percentile(double p) {
+            long[] sorted = latencies.clone();
+            Arrays.sort(sorted);
+            int index = Math.min(sorted.length - 1, (int) (sorted.length * p));
+            return sorted[index] / (double) TimeUnit.MILLISECONDS.toNanos(1);
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.midpoint.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.midpoint.dto.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Blocking midpoint pipeline for virtual threads, built only by the {@code virtual-threads} Maven
+ * profile (JDK 21) and active with {@code midpoint.runtime=virtual-threads}.
+ * <p>
+ * Each request runs top to bottom on one virtual thread with {@link HttpClient#send}; the stages
+ * that are independent in the reactive pipeline fork onto a per-request virtual-thread executor and
+ * are joined before it closes: the reverse geocode runs alongside the place search, and every
+ * Distance Matrix tile is its own fork. URL building, parsing, the place index and ranking are
+ * shared with {@link MidpointService}; origin clustering, lower-bound pruning and the travel-time
+ * cache are not, so every candidate is sent to the Distance Matrix.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "midpoint.runtime", havingValue = "virtual-threads")
+public class VirtualThreadMidpointService implements MidpointFinder {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(VirtualThreadMidpointService.class);
+
+    private final MidpointService pipeline;
+    private final HttpClient httpClient;
+    private final UpstreamMetrics upstreamMetrics;
+    // Every call hops onto its own virtual thread: blocking inline, even on a virtual caller, would
+    // stall whatever reactive chain subscribed (e.g. a flatMap would stop requesting more work)
+    private final Scheduler virtualThreads = Schedulers.fromExecutorService(
+            Executors.newVirtualThreadPerTaskExecutor(), "midpoint-virtual");
+
+    @Value("${midpoint.virtual-threads.request-timeout-seconds:10}")
+    private long requestTimeoutSeconds = 10;
+
+    @Value("${midpoint.logging.detail-sample-rate:0.01}")
+    private double detailSampleRate = 0.01;
+
+    @Autowired
+    public VirtualThreadMidpointService(MidpointService pipeline) {
+        this(pipeline, HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build());
+    }
+
+    VirtualThreadMidpointService(MidpointService pipeline, HttpClient httpClient) {
+        this.pipeline = pipeline;
+        this.httpClient = httpClient;
+        this.upstreamMetrics = new UpstreamMetrics(pipeline::getMeterRegistry);
+    }
+
+    @Override
+    public Mono<MidpointResponse> findMidpointAndPlaces(MidpointRequest request) {
+        return Mono.deferContextual(context -> Mono.fromCallable(() -> find(request, ServerTiming.from(context))))
+                .subscribeOn(virtualThreads);
+    }
+
+    /**
+     * Same result as {@link MidpointService#findMidpointAndPlaces}, blocking the calling thread
+     */
+    MidpointResponse find(MidpointRequest request) throws InterruptedException, ExecutionException {
+        return find(request, ServerTiming.NONE);
+    }
+
+    private MidpointResponse find(MidpointRequest request, ServerTiming timing)
+            throws InterruptedException, ExecutionException {
+        RequestLog log = RequestLog.start("midpoint", detailSampleRate, pipeline.getMeterRegistry());
+        log.reportTo(timing);
+        SignalType outcome = SignalType.ON_ERROR;
+        int coordCount = request.getCoords() != null ? request.getCoords().size() : 0;
+        LOGGER.debug("🎯 [MIDPOINT] Starting blocking midpoint calculation ({} coordinates)", coordCount);
+        log.set("origins", coordCount);
+
+        // Resolved inside the try so a rejected request is still completed in the request log
+        try (ExecutorService forks = Executors.newVirtualThreadPerTaskExecutor()) {
+            Coordinates midpoint = pipeline.resolveMidpoint(request, log);
+            List<String> modes = MidpointService.resolveModes(request);
+            OffsetDateTime departureTime = MidpointService.resolveDeparture(request);
+            int radiusMeters = MidpointService.SEARCH_RADIUS_METERS;
+
+            Future<String> address = forks.submit(() -> reverseGeocode(midpoint, log));
+
+            long searchStart = System.nanoTime();
+            List<Place> candidates = findCandidatePlaces(midpoint, request.getFilters(), radiusMeters, log).stream()
+                    .limit(pipeline.getRankingTopK())
+                    .toList();
+            log.stage("search", searchStart);
+            log.set("candidates", candidates.size());
+            long matrixStart = System.nanoTime();
+            computeTravelSummaries(request.getCoords(), modes, departureTime, candidates, forks, log);
+            log.stage("matrix", matrixStart);
+            List<Place> ranked = log.time("rank", () -> pipeline.rankPlaces(candidates, request));
+            log.set("places", ranked.size());
+
+            MidpointResponse response = new MidpointResponse(midpoint, address.get(), ranked, radiusMeters);
+            outcome = SignalType.ON_COMPLETE;
+            return response;
+        } finally {
+            log.complete(outcome);
+        }
+    }
+
+    private String reverseGeocode(Coordinates coordinates, RequestLog log) throws InterruptedException {
+        long start = System.nanoTime();
+        try {
+            return pipeline.parseAddress(get(pipeline.geocodeUrl(coordinates), log), coordinates);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("⚠️ Reverse geocoding failed: {}", e.getMessage());
+            return MidpointService.fallbackAddress(coordinates);
+        } finally {
+            log.stage("geocode", start);
+        }
+    }
+
+    private List<Place> findCandidatePlaces(Coordinates coordinates, List<String> types, int radiusMeters,
+                                            RequestLog log) throws InterruptedException {
+        List<Place> indexed = pipeline.indexedCandidates(coordinates, types, radiusMeters);
+        if (pipeline.isPlaceIndexEnabled()) {
+            log.set("place_index", indexed != null ? "hit" : "miss");
+        }
+        if (indexed != null) {
+            return indexed;
+        }
+        try {
+            String response = get(pipeline.searchUrl(coordinates, types, radiusMeters), log);
+            return pipeline.parseSearchResponse(response, coordinates, types, radiusMeters);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("⚠️ Nearby Search failed: {}", e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Fill every candidate's travel summaries, one fork per Distance Matrix request. Origins are
+     * grouped by mode; elements of failed requests keep an empty summary.
+     */
+    private void computeTravelSummaries(List<Coordinates> origins, List<String> modes, OffsetDateTime departureTime,
+                                        List<Place> candidates, ExecutorService forks, RequestLog log)
+            throws InterruptedException, ExecutionException {
+        Place.TravelSummary[][] grid = new Place.TravelSummary[candidates.size()][origins.size()];
+        if (!candidates.isEmpty()) {
+            Map<String, List<Integer>> originsByMode = new LinkedHashMap<>();
+            for (int j = 0; j < origins.size(); j++) {
+                originsByMode.computeIfAbsent(modes.get(j), mode -> new ArrayList<>()).add(j);
+            }
+
+            List<Future<?>> tiles = new ArrayList<>();
+            for (Map.Entry<String, List<Integer>> group : originsByMode.entrySet()) {
+                List<Integer> originIndexes = group.getValue();
+                int destinationsPerTile = Math.max(1, Math.min(MidpointService.MATRIX_MAX_DESTINATIONS,
+                        MidpointService.MATRIX_MAX_ELEMENTS / Math.min(originIndexes.size(), MidpointService.MATRIX_MAX_ORIGINS)));
+                int originsPerRequest = Math.min(MidpointService.MATRIX_MAX_ORIGINS,
+                        MidpointService.MATRIX_MAX_ELEMENTS / destinationsPerTile);
+                for (int d = 0; d < candidates.size(); d += destinationsPerTile) {
+                    int firstPlace = d;
+                    List<Place> tile = candidates.subList(d, Math.min(candidates.size(), d + destinationsPerTile));
+                    for (int o = 0; o < originIndexes.size(); o += originsPerRequest) {
+                        List<Integer> chunk = originIndexes.subList(o, Math.min(originIndexes.size(), o + originsPerRequest));
+                        tiles.add(forks.submit(() -> {
+                            fillTile(origins, chunk, group.getKey(), departureTime, tile, firstPlace, grid, log);
+                            return null;
+                        }));
+                    }
+                }
+            }
+            for (Future<?> tile : tiles) {
+                tile.get();
+            }
+        }
+
+        for (int i = 0; i < candidates.size(); i++) {
+            List<Place.TravelSummary> summaries = new ArrayList<>();
+            for (int j = 0; j < origins.size(); j++) {
+                summaries.add(grid[i][j] != null ? grid[i][j]
+                        : new Place.TravelSummary(j, null, null, null, null, modes.get(j)));
+            }
+            candidates.get(i).setTravelSummaries(summaries);
+        }
+    }
+
+    private void fillTile(List<Coordinates> origins, List<Integer> originIndexes, String mode,
+                          OffsetDateTime departureTime, List<Place> tile, int firstPlace,
+                          Place.TravelSummary[][] grid, RequestLog log) throws InterruptedException {
+        List<Coordinates> chunk = originIndexes.stream().map(origins::get).toList();
+        String url = pipeline.matrixUrl(chunk, MidpointService.destinationsParam(tile), mode, departureTime);
+        log.count("matrix_requests", 1);
+        log.count("matrix_elements", (long) chunk.size() * tile.size());
+        JsonNode rows;
+        try {
+            rows = pipeline.parseMatrixRows(get(url, log));
+        } catch (IOException | RuntimeException e) {
+            log.count("matrix_failures", 1);
+            LOGGER.error("❌ [ISOCHRONE] Error calling Distance Matrix API", e);
+            return;
+        }
+        if (rows == null) {
+            log.count("matrix_failures", 1);
+            return;
+        }
+        for (int r = 0; r < rows.size() && r < originIndexes.size(); r++) {
+            int originIndex = originIndexes.get(r);
+            JsonNode elements = rows.get(r).get("elements");
+            for (int i = 0; i < tile.size() && elements != null && i < elements.size(); i++) {
+                // Each fork owns distinct grid cells, and joining its Future publishes them
+                grid[firstPlace + i][originIndex] = pipeline.parseTravelSummaryFromElement(elements.get(i), originIndex, mode, log);
+            }
+        }
+    }
+
+    private String get(String url, RequestLog log) throws IOException, InterruptedException {
+        log.upstreamCall();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url.replace("|", "%7C")))
+                .timeout(Duration.ofSeconds(requestTimeoutSeconds))
+                .GET()
+                .build();
+        long start = System.nanoTime();
+        UpstreamCallEvent event = UpstreamCallEvent.started();
+        HttpResponse<byte[]> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException | RuntimeException e) {
+            upstreamMetrics.record(request.uri(), 0, start, -1, event);
+            throw e;
+        }
+        upstreamMetrics.record(request.uri(), response.statusCode(), start, response.body().length, event);
+        if (response.statusCode() >= 400) {
+            throw new IOException("HTTP " + response.statusCode());
+        }
+        return new String(response.body(), StandardCharsets.UTF_8);
+    }
+}